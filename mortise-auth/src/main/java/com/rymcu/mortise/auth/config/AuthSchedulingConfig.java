@@ -0,0 +1,47 @@
+package com.rymcu.mortise.auth.config;
+
+import com.rymcu.mortise.auth.util.JwtTokenUtil;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.time.Duration;
+
+/**
+ * 认证模块定时任务配置
+ * <p>
+ * 开启已注销 Token 预过滤器的定时重建等任务，并按需注册 JWT 密钥环的定时重新加载
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+@Configuration
+@EnableScheduling
+public class AuthSchedulingConfig implements SchedulingConfigurer {
+
+    private final JwtTokenUtil jwtTokenUtil;
+
+    private final ObjectProvider<JwtKeyringProperties> keyringProperties;
+
+    public AuthSchedulingConfig(JwtTokenUtil jwtTokenUtil, ObjectProvider<JwtKeyringProperties> keyringProperties) {
+        this.jwtTokenUtil = jwtTokenUtil;
+        this.keyringProperties = keyringProperties;
+    }
+
+    /**
+     * 配置了 {@code jwt.keyring.refresh-interval} 时按该间隔重新加载密钥环；
+     * 间隔默认为 0（不刷新），无法直接写在 {@code @Scheduled} 上，因此在这里按需注册
+     */
+    @Override
+    public void configureTasks(@NonNull ScheduledTaskRegistrar registrar) {
+        JwtKeyringProperties properties = keyringProperties.getIfAvailable();
+        Duration interval = properties != null ? properties.getRefreshInterval() : null;
+        if (interval != null && interval.isPositive()) {
+            registrar.addFixedDelayTask(new FixedDelayTask(jwtTokenUtil::reloadKeys, interval, interval));
+        }
+    }
+}
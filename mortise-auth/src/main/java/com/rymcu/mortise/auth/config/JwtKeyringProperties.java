@@ -0,0 +1,71 @@
+package com.rymcu.mortise.auth.config;
+
+import com.rymcu.mortise.auth.model.JwtKeyDefinition;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JWT 签名密钥环配置属性
+ * <p>
+ * 未配置 {@code active-kid} 时沿用 {@code jwt.secret} 的 HMAC 签名，行为与之前一致。
+ * 配置后以该密钥签名并在 Token 头部写入 kid，验签按 kid 查找密钥环中预先解析好的密钥。
+ * </p>
+ *
+ * <p>不停机轮换步骤：</p>
+ * <ol>
+ *   <li>把新密钥（公钥）加入所有节点的密钥环，此时只用于验签</li>
+ *   <li>所有节点加载完成后，把 {@code active-kid} 切换为新密钥</li>
+ *   <li>超过一个 Token 有效期后，从密钥环移除旧密钥</li>
+ * </ol>
+ *
+ * <p>配置示例（密钥可用 {@code openssl genpkey -algorithm ed25519} 生成）：</p>
+ * <pre>
+ * jwt:
+ *   keyring:
+ *     active-kid: ed-2025-10
+ *     legacy-hmac-enabled: true
+ *     refresh-interval: 1m
+ *     keys:
+ *       - kid: ed-2025-10
+ *         algorithm: EdDSA
+ *         private-key: ${JWT_ED_2025_10_PRIVATE_KEY}
+ *         public-key: MCowBQYDK2VwAyEA...
+ *       - kid: es-2025-07
+ *         algorithm: ES256
+ *         public-key: MFkwEwYHKoZIzj0CAQYIKoZIzj0DAQcDQgAE...
+ * </pre>
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "jwt.keyring")
+public class JwtKeyringProperties {
+
+    /**
+     * 当前签名密钥的 kid，为空时使用 {@code jwt.secret} 签名
+     */
+    private String activeKid;
+
+    /**
+     * 是否接受没有 kid 的 Token（以 {@code jwt.secret} 验签），切换到密钥环后保留旧会话；
+     * 旧 Token 全部过期后可关闭
+     */
+    private boolean legacyHmacEnabled = true;
+
+    /**
+     * 重新加载密钥环（含 {@link com.rymcu.mortise.auth.spi.JwtKeySource} 提供的密钥）的间隔，为 0 时仅在启动时加载
+     */
+    private Duration refreshInterval = Duration.ZERO;
+
+    /**
+     * 配置文件中的密钥
+     */
+    private List<JwtKeyDefinition> keys = new ArrayList<>();
+}
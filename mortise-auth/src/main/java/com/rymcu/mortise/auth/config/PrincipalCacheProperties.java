@@ -0,0 +1,53 @@
+package com.rymcu.mortise.auth.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 认证主体缓存配置属性
+ * <p>
+ * JWT 过滤器按 Token 缓存已加载的 UserDetails，避免每个请求都查询用户、角色和菜单
+ * </p>
+ *
+ * <p>配置示例：</p>
+ * <pre>
+ * mortise:
+ *   auth:
+ *     principal-cache:
+ *       enabled: true
+ *       ttl: 5m
+ *       maximum-size: 10000
+ *       invalidation-channel: mortise:auth:principal:invalidation
+ * </pre>
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "mortise.auth.principal-cache")
+public class PrincipalCacheProperties {
+
+    /**
+     * 是否启用认证主体缓存，关闭后每个请求都重新加载用户详情
+     */
+    private boolean enabled = true;
+
+    /**
+     * 缓存条目的最长存活时间；失效通知丢失时，权限变更最迟在该时间后生效
+     */
+    private Duration ttl = Duration.ofMinutes(5);
+
+    /**
+     * 每个节点最多缓存的主体数量
+     */
+    private long maximumSize = 10000;
+
+    /**
+     * 跨节点失效通知使用的 Redis 频道
+     */
+    private String invalidationChannel = "mortise:auth:principal:invalidation";
+}
@@ -0,0 +1,66 @@
+package com.rymcu.mortise.auth.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Token 黑名单本地预过滤配置属性
+ * <p>
+ * 本地布隆过滤器判定 jti 一定未被注销时跳过 Redis 黑名单查询，可能命中时再以 Redis 为准
+ * </p>
+ *
+ * <p>配置示例：</p>
+ * <pre>
+ * mortise:
+ *   auth:
+ *     revoked-token-filter:
+ *       enabled: true
+ *       bucket-count: 6
+ *       expected-insertions: 10000
+ *       false-positive-rate: 0.001
+ *       channel: mortise:auth:token:revoked
+ *       rebuild-interval: 10m
+ * </pre>
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "mortise.auth.revoked-token-filter")
+public class RevokedTokenFilterProperties {
+
+    /**
+     * 是否启用本地预过滤，关闭后每次黑名单检查都访问 Redis
+     */
+    private boolean enabled = true;
+
+    /**
+     * Token 有效期被划分的时间桶数量，桶越多过期元素老化越及时
+     */
+    private int bucketCount = 6;
+
+    /**
+     * 每个时间桶预计容纳的注销 Token 数量
+     */
+    private int expectedInsertions = 10000;
+
+    /**
+     * 期望误判率，误判只会多一次 Redis 查询
+     */
+    private double falsePositiveRate = 0.001;
+
+    /**
+     * 跨节点同步注销 Token 使用的 Redis 频道
+     */
+    private String channel = "mortise:auth:token:revoked";
+
+    /**
+     * 从黑名单索引重建过滤器的间隔，兜底丢失的同步通知，须大于 0；启动完成后立即执行首次重建，
+     * 连续两个间隔未能成功重建时黑名单检查全部访问 Redis
+     */
+    private Duration rebuildInterval = Duration.ofMinutes(10);
+}
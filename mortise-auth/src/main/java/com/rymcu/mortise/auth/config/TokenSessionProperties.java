@@ -0,0 +1,41 @@
+package com.rymcu.mortise.auth.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Token 会话登记配置属性
+ * <p>
+ * 每个账号的会话登记在一个 Redis Hash 中（field 为 jti），支持多设备同时在线
+ * </p>
+ *
+ * <p>配置示例：</p>
+ * <pre>
+ * mortise:
+ *   auth:
+ *     session:
+ *       max-sessions: 5
+ *       touch-interval: 1m
+ * </pre>
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "mortise.auth.session")
+public class TokenSessionProperties {
+
+    /**
+     * 每个账号的最大并发会话数，超出时注销最久未活动的会话，为 0 时不限制
+     */
+    private int maxSessions = 5;
+
+    /**
+     * 同一会话两次更新最近活动时间的最小间隔，避免每个请求都写 Redis
+     */
+    private Duration touchInterval = Duration.ofMinutes(1);
+}
@@ -10,6 +10,8 @@ import com.rymcu.mortise.auth.repository.DynamicClientRegistrationRepository;
 import com.rymcu.mortise.auth.service.CustomUserDetailsService;
 import com.rymcu.mortise.auth.service.SmsCodeService;
 import com.rymcu.mortise.auth.spi.SecurityConfigurer;
+import com.rymcu.mortise.auth.support.PermissionRegistry;
+import com.rymcu.mortise.auth.support.PermissionSetMethodSecurityExpressionHandler;
 import com.rymcu.mortise.auth.support.UnifiedOAuth2AccessTokenResponseClient;
 import com.rymcu.mortise.auth.support.UnifiedOAuth2AuthorizationRequestResolver;
 import com.rymcu.mortise.auth.support.UnifiedOAuth2UserService;
@@ -21,6 +23,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.annotation.Order;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.config.Customizer;
@@ -169,6 +172,16 @@ public class WebSecurityConfig {
         return idTokenDecoderFactory;
     }
 
+    /**
+     * 方法安全表达式处理器：{@code @PreAuthorize} 中的权限与角色检查基于权限位图完成
+     * <p>
+     * 声明为 static，避免方法安全基础设施提前初始化本配置类
+     */
+    @Bean
+    public static MethodSecurityExpressionHandler methodSecurityExpressionHandler(PermissionRegistry permissionRegistry) {
+        return new PermissionSetMethodSecurityExpressionHandler(permissionRegistry);
+    }
+
     /**
      * Security 过滤器链配置
      * <p>
@@ -27,6 +27,24 @@ public class AuthCacheConstant {
      */
     public static final String JWT_TOKEN_BLACKLIST_CACHE = "jwt:blacklist";
 
+    /**
+     * JWT Token 黑名单索引
+     * <p>
+     * Redis Sorted Set，member 为 jti，score 为过期时间戳（毫秒），用于重建本地预过滤器，避免扫描黑名单键
+     * 缓存 key 格式: jwt:blacklist-index
+     * </p>
+     */
+    public static final String JWT_TOKEN_BLACKLIST_INDEX = "jwt:blacklist-index";
+
+    /**
+     * JWT 会话登记
+     * <p>
+     * 每个账号一个 Redis Hash，field 为 jti，value 为会话信息 JSON
+     * 缓存 key 格式: jwt:session:{account}
+     * </p>
+     */
+    public static final String JWT_SESSION_CACHE = "jwt:session";
+
     // ==================== OAuth2 缓存 ====================
 
     /**
@@ -0,0 +1,50 @@
+package com.rymcu.mortise.auth.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 认证主体变更事件
+ * <p>
+ * 用户的角色、菜单权限、状态或密码变更后由业务模块发布，
+ * 认证主体缓存在事务提交后失效对应用户（或整个用户类型）的缓存
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+@Getter
+public class PrincipalChangedEvent extends ApplicationEvent {
+
+    /**
+     * 用户类型（如 "system", "member"）
+     */
+    private final String userType;
+
+    /**
+     * 用户 ID，为 null 时表示该用户类型下的所有用户
+     */
+    private final Long userId;
+
+    /**
+     * 单个用户变更
+     *
+     * @param source   事件源
+     * @param userType 用户类型
+     * @param userId   用户 ID
+     */
+    public PrincipalChangedEvent(Object source, String userType, Long userId) {
+        super(source);
+        this.userType = userType;
+        this.userId = userId;
+    }
+
+    /**
+     * 影响该用户类型下所有用户的变更（如角色菜单绑定、菜单权限标识修改）
+     *
+     * @param source   事件源
+     * @param userType 用户类型
+     */
+    public PrincipalChangedEvent(Object source, String userType) {
+        this(source, userType, null);
+    }
+}
@@ -0,0 +1,31 @@
+package com.rymcu.mortise.auth.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 注销账号全部 Token 事件
+ * <p>
+ * 重置密码、删除用户等业务在事务中发布，Token 管理器在事务提交后注销该账号的全部会话，
+ * 事务回滚时用户保持登录
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+@Getter
+public class RevokeAllTokensEvent extends ApplicationEvent {
+
+    /**
+     * 账号
+     */
+    private final String account;
+
+    /**
+     * @param source  事件源
+     * @param account 账号
+     */
+    public RevokeAllTokensEvent(Object source, String account) {
+        super(source);
+        this.account = account;
+    }
+}
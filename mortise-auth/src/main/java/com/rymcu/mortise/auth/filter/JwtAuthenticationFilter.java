@@ -1,8 +1,11 @@
 package com.rymcu.mortise.auth.filter;
 
+import com.rymcu.mortise.auth.model.VerifiedToken;
 import com.rymcu.mortise.auth.resolver.UserTypeResolverChain;
 import com.rymcu.mortise.auth.service.CustomUserDetailsService;
+import com.rymcu.mortise.auth.service.PrincipalCacheService;
 import com.rymcu.mortise.auth.service.TokenManager;
+import com.rymcu.mortise.auth.service.TokenSessionService;
 import com.rymcu.mortise.auth.util.JwtTokenUtil;
 import jakarta.annotation.Resource;
 import jakarta.servlet.FilterChain;
@@ -47,6 +50,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Resource
     private UserTypeResolverChain userTypeResolverChain;
 
+    @Resource
+    private PrincipalCacheService principalCacheService;
+
+    @Resource
+    private TokenSessionService tokenSessionService;
+
     /**
      * 所有 CustomUserDetailsService 实现
      * <p>
@@ -100,15 +109,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (authToken != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
+                // 验签并解析 Token，本次请求的后续检查都复用该结果
+                VerifiedToken verifiedToken = jwtTokenUtil.parseToken(authToken);
+                if (verifiedToken == null) {
+                    chain.doFilter(request, response);
+                    return;
+                }
+
                 // 检查 Token 是否已被注销（黑名单检查）
-                if (tokenManager.isTokenRevoked(authToken)) {
+                if (tokenManager.isTokenRevoked(verifiedToken)) {
                     log.debug("Token 已被注销，拒绝认证");
                     chain.doFilter(request, response);
                     return;
                 }
 
                 // 从 Token 中获取用户名
-                String username = jwtTokenUtil.getUsernameFromToken(authToken);
+                String username = verifiedToken.subject();
 
                 if (username != null) {
                     // 使用 UserTypeResolverChain 确定用户类型
@@ -116,11 +132,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     CustomUserDetailsService userDetailsService = selectUserDetailsService(userType);
 
                     if (userDetailsService != null) {
-                        // 加载用户详情
-                        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                        // 加载用户详情（优先使用认证主体缓存）
+                        UserDetails userDetails = principalCacheService.getOrLoad(userType, verifiedToken,
+                                () -> userDetailsService.loadUserByUsername(username));
 
                         // 验证 Token
-                        if (jwtTokenUtil.validateToken(authToken, username)) {
+                        if (jwtTokenUtil.validateToken(verifiedToken, username)) {
                             // 创建认证对象
                             UsernamePasswordAuthenticationToken authentication =
                                     new UsernamePasswordAuthenticationToken(
@@ -135,6 +152,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
                             // 设置到安全上下文
                             SecurityContextHolder.getContext().setAuthentication(authentication);
+                            // 记录会话最近活动时间（按 touch-interval 限流）
+                            tokenSessionService.touch(username, verifiedToken.jti());
 
                             log.debug("JWT 认证成功: {} (用户类型: {}, 服务: {})",
                                     username,
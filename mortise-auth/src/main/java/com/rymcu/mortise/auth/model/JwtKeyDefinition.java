@@ -0,0 +1,48 @@
+package com.rymcu.mortise.auth.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * JWT 签名密钥定义
+ * <p>
+ * 非对称密钥使用 Base64 编码的 DER 或 PEM 文本：私钥为 PKCS#8 格式，公钥为 X.509 格式。
+ * 只有当前签名密钥需要私钥，仅用于验签的已退役密钥只需公钥。
+ * </p>
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JwtKeyDefinition {
+
+    /**
+     * 密钥标识，写入 Token 头部的 kid
+     */
+    private String kid;
+
+    /**
+     * 签名算法：ES256、EdDSA 或 HS256
+     */
+    private String algorithm;
+
+    /**
+     * 私钥（PKCS#8），ES256/EdDSA 签名时必填
+     */
+    private String privateKey;
+
+    /**
+     * 公钥（X.509），ES256/EdDSA 必填
+     */
+    private String publicKey;
+
+    /**
+     * HMAC 密钥，HS256 必填，至少 32 字节
+     */
+    private String secret;
+}
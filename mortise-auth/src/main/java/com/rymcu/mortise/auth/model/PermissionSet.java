@@ -0,0 +1,80 @@
+package com.rymcu.mortise.auth.model;
+
+import java.util.Arrays;
+
+/**
+ * 编译后的权限集合
+ * <p>
+ * 以 {@link com.rymcu.mortise.auth.support.PermissionRegistry} 分配的权限编号为下标的不可变位图，
+ * 成员检查为一次数组访问和一次位运算。
+ * </p>
+ *
+ * @author ronger
+ */
+public final class PermissionSet {
+
+    public static final PermissionSet EMPTY = new PermissionSet(new long[0], 0);
+
+    private final long[] words;
+
+    private final int size;
+
+    private PermissionSet(long[] words, int size) {
+        this.words = words;
+        this.size = size;
+    }
+
+    /**
+     * 由权限编号构建
+     *
+     * @param ids 权限编号（非负）
+     */
+    public static PermissionSet of(int... ids) {
+        int max = -1;
+        for (int id : ids) {
+            if (id < 0) {
+                throw new IllegalArgumentException("permission id must not be negative: " + id);
+            }
+            max = Math.max(max, id);
+        }
+        if (max < 0) {
+            return EMPTY;
+        }
+        long[] words = new long[(max >>> 6) + 1];
+        for (int id : ids) {
+            words[id >>> 6] |= 1L << id;
+        }
+        int size = 0;
+        for (long word : words) {
+            size += Long.bitCount(word);
+        }
+        return new PermissionSet(words, size);
+    }
+
+    /**
+     * 检查是否包含指定编号的权限
+     *
+     * @param id 权限编号，负数表示未注册的权限
+     */
+    public boolean contains(int id) {
+        int word = id >>> 6;
+        return id >= 0 && word < words.length && (words[word] & (1L << id)) != 0;
+    }
+
+    /**
+     * @return 权限数量
+     */
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof PermissionSet other && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+}
@@ -0,0 +1,52 @@
+package com.rymcu.mortise.auth.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Token 会话
+ * <p>
+ * 登记在账号的会话 Hash 中，时间均为毫秒时间戳
+ * </p>
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenSession {
+
+    /**
+     * Token 唯一标识
+     */
+    private String jti;
+
+    /**
+     * 登录设备的 User-Agent
+     */
+    private String userAgent;
+
+    /**
+     * 登录 IP
+     */
+    private String ip;
+
+    /**
+     * 登录时间
+     */
+    private long createdAt;
+
+    /**
+     * 最近活动时间，超出最大会话数时按此淘汰
+     */
+    private long lastSeenAt;
+
+    /**
+     * Token 过期时间
+     */
+    private long expiresAt;
+}
@@ -0,0 +1,50 @@
+package com.rymcu.mortise.auth.model;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+/**
+ * 已通过签名校验的 JWT
+ * <p>
+ * 由 {@link com.rymcu.mortise.auth.util.JwtTokenUtil#parseToken(String)} 解析一次后生成，
+ * 在同一请求内的黑名单检查、身份识别和过期检查之间传递，避免对同一个 Token 重复验签和解析。
+ * </p>
+ *
+ * @param token  原始 Token 字符串
+ * @param claims Token 中的全部声明
+ * @author ronger
+ */
+public record VerifiedToken(String token, Claims claims) {
+
+    /**
+     * @return 用户名（Subject）
+     */
+    public String subject() {
+        return claims.getSubject();
+    }
+
+    /**
+     * @return Token 唯一标识（jti），旧版本生成的 Token 可能为 null
+     */
+    public String jti() {
+        return claims.getId();
+    }
+
+    /**
+     * @return 过期时间
+     */
+    public Date expiration() {
+        return claims.getExpiration();
+    }
+
+    /**
+     * 检查 Token 是否过期
+     *
+     * @return true: 已过期（或缺少过期时间）, false: 未过期
+     */
+    public boolean isExpired() {
+        Date expirationDate = expiration();
+        return expirationDate == null || expirationDate.before(new Date());
+    }
+}
@@ -1,5 +1,7 @@
 package com.rymcu.mortise.auth.service;
 
+import java.util.Map;
+
 /**
  * 认证缓存服务接口
  * <p>
@@ -159,8 +161,17 @@ public interface AuthCacheService {
      */
     void addToBlacklist(String jti, long expireInSeconds);
 
+    /**
+     * 批量将 Token 加入黑名单，在一个 Redis 管道内写入
+     *
+     * @param expireInSecondsByJti jti -> 黑名单过期时间（秒），不大于 0 的条目会被忽略
+     */
+    void addToBlacklist(Map<String, Long> expireInSecondsByJti);
+
     /**
      * 检查 Token 是否在黑名单中
+     * <p>
+     * 先查询本地预过滤器，判定一定未注销时不访问 Redis
      *
      * @param jti Token 的唯一标识符 (JWT ID)
      * @return true: 在黑名单中（已注销），false: 不在黑名单中
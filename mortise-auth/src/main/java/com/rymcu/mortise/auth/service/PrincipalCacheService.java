@@ -0,0 +1,46 @@
+package com.rymcu.mortise.auth.service;
+
+import com.rymcu.mortise.auth.model.VerifiedToken;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.function.Supplier;
+
+/**
+ * 认证主体缓存服务
+ * <p>
+ * 以 Token 的 jti 为键缓存已加载的 UserDetails（含权限和账号状态），
+ * 用户的角色、菜单、状态或密码变更时按用户失效，并通过 Redis 通知其他节点。
+ * </p>
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+public interface PrincipalCacheService {
+
+    /**
+     * 获取 Token 对应的认证主体，缓存未命中或已失效时通过 loader 加载
+     * <p>
+     * loader 抛出的异常（如用户不存在、已禁用）原样抛出，不会被缓存
+     *
+     * @param userType      用户类型
+     * @param verifiedToken 已验证的 Token
+     * @param loader        用户详情加载函数
+     * @return 认证主体
+     */
+    UserDetails getOrLoad(String userType, VerifiedToken verifiedToken, Supplier<UserDetails> loader);
+
+    /**
+     * 失效指定用户的所有缓存主体（所有节点）
+     *
+     * @param userType 用户类型
+     * @param userId   用户 ID
+     */
+    void invalidateUser(String userType, Long userId);
+
+    /**
+     * 失效指定用户类型下所有缓存主体（所有节点）
+     *
+     * @param userType 用户类型
+     */
+    void invalidateUserType(String userType);
+}
@@ -11,7 +11,8 @@ import com.rymcu.mortise.auth.model.QRCodeResult;
  * 1. 前端调用 createQRCode() 生成二维码
  * 2. 用户扫描二维码
  * 3. 平台推送扫码事件到服务器，触发 handleScanEvent()
- * 4. 前端轮询获取登录状态和 Token
+ * 4. 状态变化经 {@link com.rymcu.mortise.auth.support.QrcodeStateBroadcaster} 推送给前端的 SSE 连接，
+ *    前端收到终态后获取登录结果（旧客户端仍可轮询状态接口）
  *
  * @author ronger
  * @since 1.0.0
@@ -37,7 +38,7 @@ public interface QRCodeLoginService {
      * 1. 更新二维码状态为"已扫描"
      * 2. 根据用户标识（如 openId）查找或创建用户
      * 3. 生成 JWT Token
-     * 4. 存储 Token 到缓存供前端轮询获取
+     * 4. 存储 Token 到缓存，状态更新会推送给等待中的前端
      *
      * @param sceneStr 场景值（与生成二维码时的 sceneStr 一致）
      * @param userId   扫码用户的唯一标识（如微信的 openId）
@@ -49,7 +50,7 @@ public interface QRCodeLoginService {
     /**
      * 取消二维码登录
      * <p>
-     * 清除二维码状态缓存，使二维码失效
+     * 清除二维码状态缓存，使二维码失效，并通知等待中的前端
      *
      * @param sceneStr 场景值
      */
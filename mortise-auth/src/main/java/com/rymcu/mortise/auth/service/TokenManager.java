@@ -1,6 +1,7 @@
 package com.rymcu.mortise.auth.service;
 
 import com.rymcu.mortise.auth.model.TokenModel;
+import com.rymcu.mortise.auth.model.VerifiedToken;
 
 /**
  * 对token进行操作的接口
@@ -37,6 +38,8 @@ public interface TokenManager {
 
     /**
      * 清除token
+     * <p>
+     * 移除账号登记的全部会话，仍未过期的 Token 加入黑名单
      *
      * @param account 登录用户账号
      */
@@ -47,7 +50,7 @@ public interface TokenManager {
      * <p>
      * 该方法会：
      * <ol>
-     *   <li>从缓存中删除 Token</li>
+     *   <li>移除该 Token 对应的会话，账号的其他会话不受影响</li>
      *   <li>将 Token 的 jti 加入黑名单，防止被注销的 Token 继续使用</li>
      * </ol>
      *
@@ -56,6 +59,15 @@ public interface TokenManager {
      */
     void revokeToken(String account, String token);
 
+    /**
+     * 注销账号的全部会话并加入黑名单（如重置密码、删除用户后）
+     * <p>
+     * 一次取出并删除全部会话，再在一个管道内写入黑名单；与 {@link #deleteToken(String)} 相同，额外记录注销日志
+     *
+     * @param account 用户账号
+     */
+    void revokeAllTokens(String account);
+
     /**
      * 检查 Token 是否已被注销（在黑名单中）
      *
@@ -64,6 +76,14 @@ public interface TokenManager {
      */
     boolean isTokenRevoked(String token);
 
+    /**
+     * 检查已验证的 Token 是否已被注销，直接使用其中的 jti，不再重复解析
+     *
+     * @param verifiedToken 已验证的 JWT Token
+     * @return true: 已被注销，false: 未被注销
+     */
+    boolean isTokenRevoked(VerifiedToken verifiedToken);
+
     /**
      * 刷新 Access Token
      * 使用 JWT 自带的刷新机制，验证旧 Token 并生成新 Token
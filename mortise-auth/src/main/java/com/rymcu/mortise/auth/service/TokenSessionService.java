@@ -0,0 +1,69 @@
+package com.rymcu.mortise.auth.service;
+
+import com.rymcu.mortise.auth.model.TokenSession;
+
+import java.util.List;
+
+/**
+ * Token 会话登记服务
+ * <p>
+ * 以账号为单位登记已签发的 Token，支持多设备同时在线、按 jti 判断会话有效、
+ * 超出最大会话数时淘汰最久未活动的会话，以及一次取出账号的全部会话用于批量注销。
+ * </p>
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+public interface TokenSessionService {
+
+    /**
+     * 登记会话
+     *
+     * @param account     账号
+     * @param session     新会话
+     * @param replacesJti 被替换的会话（如刷新前的 Token），可为 null
+     * @return 因超出最大会话数被淘汰的会话，调用方负责注销
+     */
+    List<TokenSession> register(String account, TokenSession session, String replacesJti);
+
+    /**
+     * 判断会话是否仍然登记
+     *
+     * @param account 账号
+     * @param jti     Token 唯一标识
+     * @return true: 会话有效
+     */
+    boolean isActive(String account, String jti);
+
+    /**
+     * 更新会话最近活动时间，同一会话在 touch-interval 内只写一次
+     *
+     * @param account 账号
+     * @param jti     Token 唯一标识
+     */
+    void touch(String account, String jti);
+
+    /**
+     * 查询账号的有效会话，按最近活动时间倒序
+     *
+     * @param account 账号
+     * @return 会话列表
+     */
+    List<TokenSession> findSessions(String account);
+
+    /**
+     * 移除单个会话
+     *
+     * @param account 账号
+     * @param jti     Token 唯一标识
+     */
+    void remove(String account, String jti);
+
+    /**
+     * 原子地取出并删除账号的全部会话
+     *
+     * @param account 账号
+     * @return 被删除的会话，调用方负责将仍未过期的会话加入黑名单
+     */
+    List<TokenSession> removeAll(String account);
+}
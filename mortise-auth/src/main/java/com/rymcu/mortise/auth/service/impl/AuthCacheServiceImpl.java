@@ -3,6 +3,8 @@ package com.rymcu.mortise.auth.service.impl;
 import com.rymcu.mortise.auth.constant.AuthCacheConstant;
 import com.rymcu.mortise.auth.constant.JwtConstants;
 import com.rymcu.mortise.auth.service.AuthCacheService;
+import com.rymcu.mortise.auth.support.QrcodeStateBroadcaster;
+import com.rymcu.mortise.auth.support.RevokedTokenFilter;
 import com.rymcu.mortise.cache.service.CacheService;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
@@ -10,6 +12,9 @@ import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -29,6 +34,12 @@ public class AuthCacheServiceImpl implements AuthCacheService {
     @Resource
     private CacheManager cacheManager;
 
+    @Resource
+    private RevokedTokenFilter revokedTokenFilter;
+
+    @Resource
+    private QrcodeStateBroadcaster qrcodeStateBroadcaster;
+
     @Override
     public void storeJwtToken(String account, String token) {
         cacheService.set(AuthCacheConstant.JWT_TOKEN_CACHE, account, token, JwtConstants.TOKEN_EXPIRES_MINUTE, TimeUnit.MINUTES);
@@ -160,6 +171,9 @@ public class AuthCacheServiceImpl implements AuthCacheService {
             cache.put(state, qrcodeState);
             log.info("存储 OAuth2 二维码状态：state={}, type={}", state,
                     qrcodeState != null ? qrcodeState.getClass().getSimpleName() : "null");
+            if (qrcodeState != null) {
+                qrcodeStateBroadcaster.publish(state, qrcodeState);
+            }
         } else {
             log.error("未找到缓存：{}", AuthCacheConstant.OAUTH2_QRCODE_STATE_CACHE);
         }
@@ -198,6 +212,7 @@ public class AuthCacheServiceImpl implements AuthCacheService {
         if (cache != null) {
             cache.evict(state);
             log.debug("删除 OAuth2 二维码状态：state={}", state);
+            qrcodeStateBroadcaster.publish(state, QrcodeStateBroadcaster.STATE_REMOVED);
         } else {
             log.error("未找到缓存：{}", AuthCacheConstant.OAUTH2_QRCODE_STATE_CACHE);
         }
@@ -287,18 +302,51 @@ public class AuthCacheServiceImpl implements AuthCacheService {
         
         // 使用 CacheService 存储黑名单，value 为 "1" 表示已注销
         cacheService.set(AuthCacheConstant.JWT_TOKEN_BLACKLIST_CACHE, jti, "1", expireInSeconds, TimeUnit.SECONDS);
+        // 写入 Redis 后再同步本地预过滤器，保证重建快照能覆盖到该 jti
+        revokedTokenFilter.revoked(jti, expireInSeconds);
         log.info("Token 已加入黑名单：jti={}, 过期时间={}秒", jti, expireInSeconds);
     }
 
+    @Override
+    public void addToBlacklist(Map<String, Long> expireInSecondsByJti) {
+        Map<String, Object> values = new HashMap<>();
+        Map<String, Duration> timeouts = new HashMap<>();
+        expireInSecondsByJti.forEach((jti, expireInSeconds) -> {
+            if (jti != null && !jti.isBlank() && expireInSeconds != null && expireInSeconds > 0) {
+                String key = AuthCacheConstant.JWT_TOKEN_BLACKLIST_CACHE + ":" + jti;
+                values.put(key, "1");
+                timeouts.put(key, Duration.ofSeconds(expireInSeconds));
+            }
+        });
+        if (values.isEmpty()) {
+            return;
+        }
+        cacheService.multiSet(values, timeouts);
+        Map<String, Long> revoked = new HashMap<>();
+        expireInSecondsByJti.forEach((jti, expireInSeconds) -> {
+            if (values.containsKey(AuthCacheConstant.JWT_TOKEN_BLACKLIST_CACHE + ":" + jti)) {
+                revoked.put(jti, expireInSeconds);
+            }
+        });
+        revokedTokenFilter.revoked(revoked);
+        log.info("Token 批量加入黑名单：count={}", values.size());
+    }
+
     @Override
     public boolean isBlacklisted(String jti) {
         if (jti == null || jti.trim().isEmpty()) {
             return false;
         }
-        
-        String value = cacheService.get(AuthCacheConstant.JWT_TOKEN_BLACKLIST_CACHE, jti, String.class);
-        boolean blacklisted = value != null;
-        
+
+        // 本地预过滤判定一定未注销时跳过 Redis 查询
+        if (!revokedTokenFilter.mightBeRevoked(jti)) {
+            return false;
+        }
+
+        // 只判断键是否存在，不读取和反序列化值
+        boolean blacklisted = Boolean.TRUE.equals(
+                cacheService.hasKey(AuthCacheConstant.JWT_TOKEN_BLACKLIST_CACHE + ":" + jti));
+
         if (blacklisted) {
             log.debug("Token 在黑名单中：jti={}", jti);
         }
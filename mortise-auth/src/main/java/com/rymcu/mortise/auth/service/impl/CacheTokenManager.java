@@ -1,16 +1,32 @@
 package com.rymcu.mortise.auth.service.impl;
 
+import com.rymcu.mortise.auth.event.RevokeAllTokensEvent;
 import com.rymcu.mortise.auth.model.TokenModel;
+import com.rymcu.mortise.auth.model.TokenSession;
+import com.rymcu.mortise.auth.model.VerifiedToken;
 import com.rymcu.mortise.auth.service.AuthCacheService;
 import com.rymcu.mortise.auth.service.TokenManager;
+import com.rymcu.mortise.auth.service.TokenSessionService;
 import com.rymcu.mortise.auth.util.JwtTokenUtil;
 import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 通过统一缓存服务存储和验证token的实现类
  * 优化版本：使用 CacheService 统一管理缓存操作
+ * <p>
+ * 每个账号的 Token 登记为独立会话（{@link TokenSessionService}），支持多设备同时在线，
+ * 有效性按 jti 检查，超出最大会话数时被淘汰的会话加入黑名单。
  *
  * @author ronger
  * @date 2024/04/13.
@@ -25,13 +41,16 @@ public class CacheTokenManager implements TokenManager {
     @Resource
     private JwtTokenUtil jwtTokenUtil;
 
+    @Resource
+    private TokenSessionService tokenSessionService;
+
     /**
      * 生成 ACCESS TOKEN
      * <p>
      * 功能:
      * 1. 参数验证
      * 2. 生成 JWT Token
-     * 3. 缓存 Token（支持单点登录控制）
+     * 3. 登记会话（携带当前请求的设备信息），超出最大会话数时注销最久未活动的会话
      * 4. 详细日志记录
      *
      * @param account 用户账号
@@ -47,22 +66,16 @@ public class CacheTokenManager implements TokenManager {
         }
 
         try {
-            // 2. 清理旧的 Token（可选：实现单点登录）
-            String existingToken = authCacheService.getJwtToken(account);
-            if (existingToken != null) {
-                log.debug("检测到用户已有 Token，将被新 Token 替换: account={}", account);
-            }
-
-            // 3. 生成新的 JWT Token
+            // 2. 生成新的 JWT Token
             String newToken = jwtTokenUtil.generateToken(account.trim());
             if (newToken == null) {
                 log.error("JWT Token 生成失败: account={}", account);
                 throw new RuntimeException("Token 生成失败");
             }
 
-            // 4. 缓存新 Token
-            authCacheService.storeJwtToken(account.trim(), newToken);
-            log.info("创建并缓存 Token 成功: account={}, tokenLength={}", account, newToken.length());
+            // 3. 登记会话
+            registerSession(account.trim(), newToken, null);
+            log.info("创建并登记 Token 成功: account={}, tokenLength={}", account, newToken.length());
             return newToken;
 
         } catch (IllegalArgumentException e) {
@@ -131,9 +144,8 @@ public class CacheTokenManager implements TokenManager {
      * <p>
      * 验证流程:
      * 1. 基础参数验证
-     * 2. JWT Token 自身验证（签名、过期等）
-     * 3. 缓存一致性验证（防止已注销 Token）
-     * 4. 用户名匹配验证
+     * 2. JWT Token 自身验证（签名、过期、用户名匹配）
+     * 3. 会话登记验证（按 jti 检查，防止已注销或被淘汰的 Token）
      *
      * @param model Token 模型
      * @return true: Token 有效, false: Token 无效
@@ -161,20 +173,15 @@ public class CacheTokenManager implements TokenManager {
 
         try {
             // 2. JWT Token 自身验证（签名、过期、格式等）
-            if (!jwtTokenUtil.validateToken(token, username)) {
+            VerifiedToken verifiedToken = jwtTokenUtil.parseToken(token);
+            if (!jwtTokenUtil.validateToken(verifiedToken, username)) {
                 log.debug("Token 验证失败: JWT 验证不通过, username={}", username);
                 return false;
             }
 
-            // 3. 缓存一致性验证（确保 Token 未被注销）
-            String cachedToken = authCacheService.getJwtToken(username);
-            if (cachedToken == null) {
-                log.debug("Token 验证失败: 缓存中不存在该用户的 Token, username={}", username);
-                return false;
-            }
-
-            if (!cachedToken.equals(token)) {
-                log.debug("Token 验证失败: Token 与缓存不匹配（可能已被替换或注销）, username={}", username);
+            // 3. 会话登记验证（确保 Token 未被注销或淘汰）
+            if (!tokenSessionService.isActive(username, verifiedToken.jti())) {
+                log.debug("Token 验证失败: 会话不存在（可能已被注销或淘汰）, username={}", username);
                 return false;
             }
 
@@ -188,13 +195,15 @@ public class CacheTokenManager implements TokenManager {
         }
     }
 
+    /**
+     * 删除账号的全部会话，并将其中仍未过期的 Token 加入黑名单
+     * <p>
+     * 认证过滤器只检查黑名单，不逐请求检查会话登记，仅删除会话无法让已签发的 Token 失效
+     */
     @Override
     public void deleteToken(String account) {
-        // 使用统一缓存服务删除token
-        Boolean deleted = authCacheService.removeJwtToken(account);
-        if (Boolean.TRUE.equals(deleted)) {
-            log.debug("删除 Token 成功: account={}", account);
-        }
+        int revoked = removeAndRevokeSessions(account);
+        log.debug("删除 Token 成功: account={}, sessions={}", account, revoked);
     }
 
     @Override
@@ -223,20 +232,47 @@ public class CacheTokenManager implements TokenManager {
                 log.warn("无法获取 Token 的 jti，跳过黑名单处理: account={}", account);
             }
             
-            // 4. 从缓存中删除 Token
-            deleteToken(account);
-            
+            // 4. 移除该 Token 的会话
+            tokenSessionService.remove(account, jti);
+
         } catch (Exception e) {
             log.error("注销 Token 时发生异常: account={}", account, e);
-            // 即使出错也要尝试删除缓存中的 Token
+            // 无法确定注销的是哪个会话时，清除账号的全部会话
             deleteToken(account);
         }
     }
 
+    /**
+     * 注销账号的全部会话：Lua 脚本原子地取出并删除会话，再在一个管道内写入黑名单并同步本地预过滤器
+     */
+    @Override
+    public void revokeAllTokens(String account) {
+        int revoked = removeAndRevokeSessions(account);
+        log.info("已注销账号的全部会话: account={}, count={}", account, revoked);
+    }
+
+    /**
+     * 业务事务提交后再注销，事务回滚时不影响用户的登录状态
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRevokeAllTokens(RevokeAllTokensEvent event) {
+        revokeAllTokens(event.getAccount());
+    }
+
     @Override
     public boolean isTokenRevoked(String token) {
+        VerifiedToken verifiedToken = jwtTokenUtil.parseToken(token);
+        if (verifiedToken == null) {
+            // 无法解析的 Token 不会通过后续验证，这里不认为已注销
+            return false;
+        }
+        return isTokenRevoked(verifiedToken);
+    }
+
+    @Override
+    public boolean isTokenRevoked(VerifiedToken verifiedToken) {
         try {
-            String jti = jwtTokenUtil.getJtiFromToken(token);
+            String jti = verifiedToken.jti();
             if (jti == null) {
                 // 如果无法获取 jti，保守处理，不认为已注销
                 // 这种情况可能是旧版本生成的 Token（没有 jti）
@@ -254,15 +290,15 @@ public class CacheTokenManager implements TokenManager {
     public String refreshAccessToken(String oldToken, String account) {
         try {
             // 1. 验证旧 Token 是否属于该用户
-            if (!jwtTokenUtil.validateToken(oldToken, account)) {
+            VerifiedToken verifiedToken = jwtTokenUtil.parseToken(oldToken);
+            if (!jwtTokenUtil.validateToken(verifiedToken, account)) {
                 log.warn("Token 验证失败，无法刷新: account={}", account);
                 return null;
             }
 
-            // 2. 检查缓存中的 Token 是否匹配（防止使用已注销的 Token）
-            String cachedToken = authCacheService.getJwtToken(account);
-            if (cachedToken == null || !cachedToken.equals(oldToken)) {
-                log.warn("Token 不匹配或已失效，无法刷新: account={}", account);
+            // 2. 检查会话是否仍然登记（防止使用已注销的 Token）
+            if (!tokenSessionService.isActive(account, verifiedToken.jti())) {
+                log.warn("Token 会话已失效，无法刷新: account={}", account);
                 return null;
             }
 
@@ -273,8 +309,8 @@ public class CacheTokenManager implements TokenManager {
                 return null;
             }
 
-            // 4. 更新缓存中的 Token
-            authCacheService.storeJwtToken(account, newToken);
+            // 4. 以新 Token 的会话替换旧会话
+            registerSession(account, newToken, verifiedToken.jti());
             log.info("Token 刷新成功: account={}", account);
             return newToken;
 
@@ -283,4 +319,71 @@ public class CacheTokenManager implements TokenManager {
             return null;
         }
     }
+
+    /**
+     * 登记新 Token 的会话，并注销因超出最大会话数被淘汰的会话
+     */
+    private void registerSession(String account, String token, String replacesJti) {
+        VerifiedToken verifiedToken = jwtTokenUtil.parseToken(token);
+        if (verifiedToken == null || verifiedToken.jti() == null) {
+            throw new IllegalStateException("新签发的 Token 无法解析");
+        }
+        long now = System.currentTimeMillis();
+        TokenSession session = TokenSession.builder()
+                .jti(verifiedToken.jti())
+                .createdAt(now)
+                .lastSeenAt(now)
+                .expiresAt(verifiedToken.expiration().getTime())
+                .build();
+        HttpServletRequest request = currentRequest();
+        if (request != null) {
+            session.setUserAgent(request.getHeader("User-Agent"));
+            session.setIp(clientIp(request));
+        }
+        revokeSessions(tokenSessionService.register(account, session, replacesJti));
+    }
+
+    /**
+     * 取出并删除账号的全部会话，将仍未过期的会话加入黑名单，并删除旧版本登记的单个 Token
+     *
+     * @return 删除的会话数
+     */
+    private int removeAndRevokeSessions(String account) {
+        List<TokenSession> sessions = tokenSessionService.removeAll(account);
+        revokeSessions(sessions);
+        // 兼容旧版本登记的单个 Token
+        authCacheService.removeJwtToken(account);
+        return sessions.size();
+    }
+
+    /**
+     * 将仍未过期的会话加入黑名单，有效期向上取整到秒，避免剩余不足一秒的 Token 被漏掉
+     */
+    private void revokeSessions(List<TokenSession> sessions) {
+        if (sessions.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Map<String, Long> expireInSecondsByJti = new HashMap<>();
+        for (TokenSession session : sessions) {
+            long remainingMillis = session.getExpiresAt() - now;
+            if (remainingMillis > 0) {
+                expireInSecondsByJti.put(session.getJti(), Math.ceilDiv(remainingMillis, 1000L));
+            }
+        }
+        authCacheService.addToBlacklist(expireInSecondsByJti);
+    }
+
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes ? servletAttributes.getRequest() : null;
+    }
+
+    private static String clientIp(HttpServletRequest request) {
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (forwarded != null && !forwarded.isBlank()) {
+            return forwarded.split(",")[0].trim();
+        }
+        return request.getRemoteAddr();
+    }
 }
@@ -0,0 +1,196 @@
+package com.rymcu.mortise.auth.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rymcu.mortise.auth.config.PrincipalCacheProperties;
+import com.rymcu.mortise.auth.event.PrincipalChangedEvent;
+import com.rymcu.mortise.auth.model.VerifiedToken;
+import com.rymcu.mortise.auth.service.PrincipalCacheService;
+import com.rymcu.mortise.core.model.CurrentUser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 基于本地 Caffeine 的认证主体缓存
+ *
+ * <p>失效采用版本比较而不是直接删除：每次失效从本节点的单调序列取一个新版本号，
+ * 记录为该用户（或用户类型）的失效版本；缓存条目保存加载开始前的序列值，
+ * 失效版本大于该值的条目视为过期。因此加载期间发生的失效也不会被新写入的条目覆盖。</p>
+ *
+ * <p>失效版本的保留时间与缓存条目的存活时间相同，早于它加载的条目届时都已过期。
+ * 跨节点通过 Redis pub/sub 广播失效，通知丢失时由条目存活时间兜底。</p>
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class PrincipalCacheServiceImpl implements PrincipalCacheService, MessageListener, InitializingBean {
+
+    private static final String KEY_SEPARATOR = ":";
+
+    private static final String MESSAGE_SEPARATOR = "|";
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final ObjectProvider<RedisMessageListenerContainer> listenerContainerProvider;
+
+    private final PrincipalCacheProperties properties;
+
+    /**
+     * 本节点失效序列
+     */
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * userType:jti -> 缓存主体
+     */
+    private final Cache<String, CachedPrincipal> principals;
+
+    /**
+     * userType 或 userType:userId -> 失效版本
+     */
+    private final Cache<String, Long> invalidations;
+
+    public PrincipalCacheServiceImpl(StringRedisTemplate stringRedisTemplate,
+                                     ObjectProvider<RedisMessageListenerContainer> listenerContainerProvider,
+                                     PrincipalCacheProperties properties) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainerProvider = listenerContainerProvider;
+        this.properties = properties;
+        this.principals = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTtl())
+                .maximumSize(properties.getMaximumSize())
+                .build();
+        this.invalidations = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTtl())
+                .build();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        RedisMessageListenerContainer container = listenerContainerProvider.getIfAvailable();
+        if (container != null) {
+            container.addMessageListener(this, new ChannelTopic(properties.getInvalidationChannel()));
+        } else {
+            log.warn("未找到 RedisMessageListenerContainer，认证主体缓存仅在本节点失效，其他节点最迟 {} 后生效",
+                    properties.getTtl());
+        }
+    }
+
+    @Override
+    public UserDetails getOrLoad(String userType, VerifiedToken verifiedToken, Supplier<UserDetails> loader) {
+        if (!properties.isEnabled()) {
+            return loader.get();
+        }
+        String tokenId = verifiedToken.jti() != null ? verifiedToken.jti() : verifiedToken.subject();
+        String key = userType + KEY_SEPARATOR + tokenId;
+        CachedPrincipal cached = principals.getIfPresent(key);
+        if (cached != null && isCurrent(userType, cached)) {
+            return cached.userDetails();
+        }
+
+        // 先取序列再加载，加载期间发生的失效会使该条目在下次读取时判定为过期
+        long loadedAt = sequence.get();
+        UserDetails userDetails = loader.get();
+        Long userId = userDetails instanceof CurrentUser currentUser ? currentUser.getUserId() : null;
+        if (userId != null) {
+            principals.put(key, new CachedPrincipal(userDetails, userId, loadedAt));
+        } else {
+            // 无法按用户失效的主体不缓存
+            log.debug("认证主体缺少用户 ID，跳过缓存: userType={}, type={}",
+                    userType, userDetails.getClass().getSimpleName());
+        }
+        return userDetails;
+    }
+
+    @Override
+    public void invalidateUser(String userType, Long userId) {
+        if (userType == null || userId == null) {
+            return;
+        }
+        markInvalidated(userType + KEY_SEPARATOR + userId);
+        publish(userType + MESSAGE_SEPARATOR + userId);
+    }
+
+    @Override
+    public void invalidateUserType(String userType) {
+        if (userType == null) {
+            return;
+        }
+        markInvalidated(userType);
+        publish(userType + MESSAGE_SEPARATOR);
+    }
+
+    /**
+     * 业务事务提交后再失效，避免其他请求在提交前重新加载到旧数据
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPrincipalChanged(PrincipalChangedEvent event) {
+        if (event.getUserId() != null) {
+            invalidateUser(event.getUserType(), event.getUserId());
+        } else {
+            invalidateUserType(event.getUserType());
+        }
+    }
+
+    /**
+     * 接收其他节点的失效通知，消息格式：{@code userType|userId}，userId 为空表示整个用户类型
+     */
+    @Override
+    public void onMessage(@NonNull Message message, @Nullable byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(MESSAGE_SEPARATOR);
+        if (separator <= 0) {
+            return;
+        }
+        String userType = body.substring(0, separator);
+        String userId = body.substring(separator + 1);
+        markInvalidated(userId.isEmpty() ? userType : userType + KEY_SEPARATOR + userId);
+    }
+
+    private boolean isCurrent(String userType, CachedPrincipal cached) {
+        Long userTypeVersion = invalidations.getIfPresent(userType);
+        if (userTypeVersion != null && userTypeVersion > cached.loadedAt()) {
+            return false;
+        }
+        Long userVersion = invalidations.getIfPresent(userType + KEY_SEPARATOR + cached.userId());
+        return userVersion == null || userVersion <= cached.loadedAt();
+    }
+
+    private void markInvalidated(String scope) {
+        invalidations.put(scope, sequence.incrementAndGet());
+    }
+
+    private void publish(String message) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            stringRedisTemplate.convertAndSend(properties.getInvalidationChannel(), message);
+        } catch (RuntimeException e) {
+            log.warn("认证主体失效通知发送失败，其他节点最迟 {} 后生效: {}", properties.getTtl(), message, e);
+        }
+    }
+
+    private record CachedPrincipal(UserDetails userDetails, Long userId, long loadedAt) {
+    }
+}
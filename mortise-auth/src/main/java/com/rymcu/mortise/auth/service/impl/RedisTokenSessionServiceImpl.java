@@ -0,0 +1,220 @@
+package com.rymcu.mortise.auth.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rymcu.mortise.auth.config.TokenSessionProperties;
+import com.rymcu.mortise.auth.constant.AuthCacheConstant;
+import com.rymcu.mortise.auth.model.TokenSession;
+import com.rymcu.mortise.auth.service.TokenSessionService;
+import com.rymcu.mortise.auth.util.JwtTokenUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 基于 Redis Hash 的 Token 会话登记
+ *
+ * <p>每个账号一个 Hash（{@code jwt:session:{account}}），field 为 jti，value 为会话 JSON。
+ * 有效性检查是一次 HEXISTS；登记、淘汰以及批量取出并删除会话都在 Lua 脚本内完成，
+ * 单次往返且不会与并发登录交错。脚本只访问 KEYS 中声明的会话 Hash，可运行在 Redis Cluster 上，
+ * 被取出会话的黑名单由调用方在管道内写入。
+ * Hash 的过期时间随最近签发的 Token 延长，账号的会话全部过期后整体清除。</p>
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class RedisTokenSessionServiceImpl implements TokenSessionService {
+
+    private static final String KEY_PREFIX = AuthCacheConstant.JWT_SESSION_CACHE + ":";
+
+    private static final JsonMapper JSON = JsonMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    /**
+     * 清理已过期的会话，超出最大会话数时按最近活动时间淘汰，再写入新会话；返回被淘汰的会话 JSON
+     * <p>
+     * ARGV: 新会话 jti、新会话 JSON、当前时间、最大会话数（0 不限制）、Hash 最短存活毫秒数、被替换的 jti（可为空串）
+     */
+    private static final DefaultRedisScript<List> REGISTER_SCRIPT = new DefaultRedisScript<>(
+            """
+                    if ARGV[6] ~= '' then
+                        redis.call('HDEL', KEYS[1], ARGV[6])
+                    end
+                    local now = tonumber(ARGV[3])
+                    local max = tonumber(ARGV[4])
+                    local entries = redis.call('HGETALL', KEYS[1])
+                    local live = {}
+                    for i = 1, #entries, 2 do
+                        local ok, session = pcall(cjson.decode, entries[i + 1])
+                        if not ok or (tonumber(session.expiresAt) or 0) <= now then
+                            redis.call('HDEL', KEYS[1], entries[i])
+                        elseif entries[i] ~= ARGV[1] then
+                            table.insert(live, {entries[i], tonumber(session.lastSeenAt) or 0, entries[i + 1]})
+                        end
+                    end
+                    local evicted = {}
+                    if max > 0 and #live >= max then
+                        table.sort(live, function(a, b) return a[2] < b[2] end)
+                        for i = 1, #live - max + 1 do
+                            redis.call('HDEL', KEYS[1], live[i][1])
+                            table.insert(evicted, live[i][3])
+                        end
+                    end
+                    redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+                    if redis.call('PTTL', KEYS[1]) < tonumber(ARGV[5]) then
+                        redis.call('PEXPIRE', KEYS[1], ARGV[5])
+                    end
+                    return evicted
+                    """,
+            List.class
+    );
+
+    /**
+     * 会话仍存在时更新最近活动时间
+     */
+    private static final DefaultRedisScript<Long> TOUCH_SCRIPT = new DefaultRedisScript<>(
+            """
+                    local value = redis.call('HGET', KEYS[1], ARGV[1])
+                    if not value then
+                        return 0
+                    end
+                    local session = cjson.decode(value)
+                    session.lastSeenAt = tonumber(ARGV[2])
+                    redis.call('HSET', KEYS[1], ARGV[1], cjson.encode(session))
+                    return 1
+                    """,
+            Long.class
+    );
+
+    /**
+     * 取出全部会话并删除 Hash
+     */
+    private static final DefaultRedisScript<List> REMOVE_ALL_SCRIPT = new DefaultRedisScript<>(
+            """
+                    local values = redis.call('HVALS', KEYS[1])
+                    redis.call('DEL', KEYS[1])
+                    return values
+                    """,
+            List.class
+    );
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final TokenSessionProperties properties;
+
+    private final long tokenLifetimeMillis;
+
+    /**
+     * 最近已更新活动时间的 jti，用于限制写入频率
+     */
+    private final Cache<String, Boolean> recentlyTouched;
+
+    public RedisTokenSessionServiceImpl(StringRedisTemplate stringRedisTemplate,
+                                        TokenSessionProperties properties,
+                                        JwtTokenUtil jwtTokenUtil) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.properties = properties;
+        this.tokenLifetimeMillis = Math.max(jwtTokenUtil.getExpiration(), 1000L);
+        this.recentlyTouched = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTouchInterval())
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @Override
+    public List<TokenSession> register(String account, TokenSession session, String replacesJti) {
+        long now = System.currentTimeMillis();
+        long keyTtl = Math.max(session.getExpiresAt() - now, tokenLifetimeMillis);
+        List<?> evicted = stringRedisTemplate.execute(REGISTER_SCRIPT, List.of(key(account)),
+                session.getJti(), toJson(session), String.valueOf(now),
+                String.valueOf(Math.max(properties.getMaxSessions(), 0)), String.valueOf(keyTtl),
+                replacesJti != null ? replacesJti : "");
+        recentlyTouched.put(session.getJti(), Boolean.TRUE);
+        List<TokenSession> result = fromJson(evicted);
+        if (!result.isEmpty()) {
+            log.info("超出最大会话数，淘汰最久未活动的会话: account={}, count={}", account, result.size());
+        }
+        return result;
+    }
+
+    @Override
+    public boolean isActive(String account, String jti) {
+        if (account == null || jti == null) {
+            return false;
+        }
+        return stringRedisTemplate.opsForHash().hasKey(key(account), jti);
+    }
+
+    @Override
+    public void touch(String account, String jti) {
+        if (account == null || jti == null || recentlyTouched.getIfPresent(jti) != null) {
+            return;
+        }
+        recentlyTouched.put(jti, Boolean.TRUE);
+        try {
+            stringRedisTemplate.execute(TOUCH_SCRIPT, List.of(key(account)), jti,
+                    String.valueOf(System.currentTimeMillis()));
+        } catch (RuntimeException e) {
+            log.debug("更新会话活动时间失败: account={}, {}", account, e.getMessage());
+        }
+    }
+
+    @Override
+    public List<TokenSession> findSessions(String account) {
+        long now = System.currentTimeMillis();
+        List<TokenSession> sessions = fromJson(stringRedisTemplate.<String, String>opsForHash().values(key(account)));
+        sessions.removeIf(session -> session.getExpiresAt() <= now);
+        sessions.sort(Comparator.comparingLong(TokenSession::getLastSeenAt).reversed());
+        return sessions;
+    }
+
+    @Override
+    public void remove(String account, String jti) {
+        if (account != null && jti != null) {
+            stringRedisTemplate.opsForHash().delete(key(account), jti);
+        }
+    }
+
+    @Override
+    public List<TokenSession> removeAll(String account) {
+        return fromJson(stringRedisTemplate.execute(REMOVE_ALL_SCRIPT, List.of(key(account))));
+    }
+
+    private static String key(String account) {
+        return KEY_PREFIX + account;
+    }
+
+    private static String toJson(TokenSession session) {
+        try {
+            return JSON.writeValueAsString(session);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("会话序列化失败: jti=" + session.getJti(), e);
+        }
+    }
+
+    private static List<TokenSession> fromJson(List<?> values) {
+        List<TokenSession> sessions = new ArrayList<>();
+        if (values == null) {
+            return sessions;
+        }
+        for (Object value : values) {
+            try {
+                sessions.add(JSON.readValue(String.valueOf(value), TokenSession.class));
+            } catch (JsonProcessingException e) {
+                log.warn("忽略无法解析的会话: {}", value);
+            }
+        }
+        return sessions;
+    }
+}
@@ -0,0 +1,37 @@
+package com.rymcu.mortise.auth.spi;
+
+import com.rymcu.mortise.auth.model.JwtKeyDefinition;
+
+import java.util.List;
+
+/**
+ * JWT 签名密钥来源接口 (SPI)
+ * <p>
+ * 除配置文件 {@code jwt.keyring.keys} 外的密钥来源（如数据库、密钥管理服务）。
+ * {@link com.rymcu.mortise.auth.util.JwtTokenUtil} 启动时以及每隔 {@code jwt.keyring.refresh-interval}
+ * 调用一次，与配置文件中的密钥合并，kid 相同时以此处为准。
+ * </p>
+ *
+ * <p>使用示例：</p>
+ * <pre>
+ * &#64;Component
+ * public class DatabaseJwtKeySource implements JwtKeySource {
+ *     &#64;Override
+ *     public List&lt;JwtKeyDefinition&gt; loadKeys() {
+ *         return jwtKeyMapper.selectActiveAndRetired();
+ *     }
+ * }
+ * </pre>
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+public interface JwtKeySource {
+
+    /**
+     * 加载签名与验签密钥
+     *
+     * @return 密钥定义列表
+     */
+    List<JwtKeyDefinition> loadKeys();
+}
@@ -0,0 +1,34 @@
+package com.rymcu.mortise.auth.spi;
+
+import java.util.Collection;
+
+/**
+ * 权限来源接口 (SPI)
+ * <p>
+ * 启动时由 {@link com.rymcu.mortise.auth.support.PermissionRegistry} 收集所有实现提供的权限标识，
+ * 预先分配连续的整数编号，使常用权限集中在位图的低位。未预注册的权限在首次出现时再分配编号。
+ * </p>
+ *
+ * <p>使用示例：</p>
+ * <pre>
+ * &#64;Component
+ * public class MenuPermissionSource implements PermissionSource {
+ *     &#64;Override
+ *     public Collection&lt;String&gt; loadPermissions() {
+ *         return List.of("system:user:query", "system:user:edit", "ROLE_admin");
+ *     }
+ * }
+ * </pre>
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+public interface PermissionSource {
+
+    /**
+     * 加载权限标识（与 GrantedAuthority#getAuthority 的取值一致，角色需带 ROLE_ 前缀）
+     *
+     * @return 权限标识集合
+     */
+    Collection<String> loadPermissions();
+}
@@ -0,0 +1,130 @@
+package com.rymcu.mortise.auth.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rymcu.mortise.auth.model.PermissionSet;
+import com.rymcu.mortise.auth.spi.PermissionSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 权限注册表
+ * <p>
+ * 为每个权限标识分配进程内唯一且不再变化的整数编号：启动时按字典序为 {@link PermissionSource} 提供的权限预分配，
+ * 之后出现的新权限在首次使用时追加分配。编号只在本进程内使用，不需要跨节点一致。
+ * </p>
+ * <p>
+ * 认证主体的权限按主体实例编译为 {@link PermissionSet} 并缓存（弱引用键，随主体回收），
+ * 配合认证主体缓存，同一主体只编译一次。
+ * </p>
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class PermissionRegistry {
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    private final ObjectProvider<PermissionSource> permissionSources;
+
+    /**
+     * 认证主体（按引用比较） -> 编译后的权限集合
+     */
+    private final Cache<Object, PermissionSet> compiledPrincipals = Caffeine.newBuilder()
+            .weakKeys()
+            .build();
+
+    public PermissionRegistry(ObjectProvider<PermissionSource> permissionSources) {
+        this.permissionSources = permissionSources;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        TreeSet<String> permissions = new TreeSet<>();
+        permissionSources.orderedStream().forEach(source -> {
+            try {
+                permissions.addAll(source.loadPermissions().stream().filter(Objects::nonNull).toList());
+            } catch (RuntimeException e) {
+                log.warn("加载权限标识失败，相关权限将在首次使用时注册: source={}",
+                        source.getClass().getSimpleName(), e);
+            }
+        });
+        permissions.forEach(this::register);
+        log.info("权限注册表初始化完成: count={}", ids.size());
+    }
+
+    /**
+     * 注册权限标识，已注册时返回原编号
+     */
+    public int register(String permission) {
+        Integer id = ids.get(permission);
+        if (id != null) {
+            return id;
+        }
+        return ids.computeIfAbsent(permission, key -> nextId.getAndIncrement());
+    }
+
+    /**
+     * 查询权限编号，不注册新权限
+     *
+     * @return 权限编号，未注册时返回 -1
+     */
+    public int lookup(String permission) {
+        Integer id = permission != null ? ids.get(permission) : null;
+        return id != null ? id : -1;
+    }
+
+    /**
+     * 将权限集合编译为位图
+     */
+    public PermissionSet compile(Collection<? extends GrantedAuthority> authorities) {
+        if (authorities == null || authorities.isEmpty()) {
+            return PermissionSet.EMPTY;
+        }
+        int[] compiled = new int[authorities.size()];
+        int count = 0;
+        for (GrantedAuthority authority : authorities) {
+            String permission = authority.getAuthority();
+            if (permission != null) {
+                compiled[count++] = register(permission);
+            }
+        }
+        return PermissionSet.of(count == compiled.length ? compiled : Arrays.copyOf(compiled, count));
+    }
+
+    /**
+     * 获取认证主体编译后的权限集合
+     *
+     * @return 权限集合；主体不是 {@link UserDetails}（如匿名用户）时不缓存，直接编译认证对象上的权限
+     */
+    public PermissionSet permissionsOf(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof UserDetails userDetails) {
+            return compiledPrincipals.get(userDetails, key -> compile(userDetails.getAuthorities()));
+        }
+        return compile(authentication.getAuthorities());
+    }
+
+    /**
+     * @return 已注册的权限数量
+     */
+    public int size() {
+        return ids.size();
+    }
+}
@@ -0,0 +1,160 @@
+package com.rymcu.mortise.auth.support;
+
+import com.rymcu.mortise.auth.model.PermissionSet;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.core.Authentication;
+
+/**
+ * 基于权限位图的表达式根对象
+ * <p>
+ * 权限与角色检查使用当前认证主体编译后的 {@link PermissionSet}，其余方法委托给默认根对象。
+ * 同一次表达式求值内只解析一次权限集合。
+ * </p>
+ *
+ * @author ronger
+ */
+public class PermissionSetExpressionRoot implements MethodSecurityExpressionOperations {
+
+    private final MethodSecurityExpressionOperations delegate;
+
+    private final PermissionRegistry permissionRegistry;
+
+    private final String defaultRolePrefix;
+
+    private PermissionSet permissions;
+
+    public PermissionSetExpressionRoot(MethodSecurityExpressionOperations delegate,
+                                       PermissionRegistry permissionRegistry,
+                                       String defaultRolePrefix) {
+        this.delegate = delegate;
+        this.permissionRegistry = permissionRegistry;
+        this.defaultRolePrefix = defaultRolePrefix;
+    }
+
+    @Override
+    public boolean hasAuthority(String authority) {
+        return permissions().contains(permissionRegistry.lookup(authority));
+    }
+
+    @Override
+    public boolean hasAnyAuthority(String... authorities) {
+        PermissionSet current = permissions();
+        for (String authority : authorities) {
+            if (current.contains(permissionRegistry.lookup(authority))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasRole(String role) {
+        return hasAnyRole(role);
+    }
+
+    @Override
+    public boolean hasAnyRole(String... roles) {
+        PermissionSet current = permissions();
+        for (String role : roles) {
+            if (current.contains(permissionRegistry.lookup(withRolePrefix(role)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Authentication getAuthentication() {
+        return delegate.getAuthentication();
+    }
+
+    @Override
+    public boolean permitAll() {
+        return delegate.permitAll();
+    }
+
+    @Override
+    public boolean denyAll() {
+        return delegate.denyAll();
+    }
+
+    @Override
+    public boolean isAnonymous() {
+        return delegate.isAnonymous();
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return delegate.isAuthenticated();
+    }
+
+    @Override
+    public boolean isRememberMe() {
+        return delegate.isRememberMe();
+    }
+
+    @Override
+    public boolean isFullyAuthenticated() {
+        return delegate.isFullyAuthenticated();
+    }
+
+    @Override
+    public boolean hasPermission(Object target, Object permission) {
+        return delegate.hasPermission(target, permission);
+    }
+
+    @Override
+    public boolean hasPermission(Object targetId, String targetType, Object permission) {
+        return delegate.hasPermission(targetId, targetType, permission);
+    }
+
+    @Override
+    public void setFilterObject(Object filterObject) {
+        delegate.setFilterObject(filterObject);
+    }
+
+    @Override
+    public Object getFilterObject() {
+        return delegate.getFilterObject();
+    }
+
+    @Override
+    public void setReturnObject(Object returnObject) {
+        delegate.setReturnObject(returnObject);
+    }
+
+    @Override
+    public Object getReturnObject() {
+        return delegate.getReturnObject();
+    }
+
+    @Override
+    public Object getThis() {
+        return delegate.getThis();
+    }
+
+    /**
+     * 供表达式中的 {@code principal} 引用使用
+     */
+    public Object getPrincipal() {
+        Authentication authentication = getAuthentication();
+        return authentication != null ? authentication.getPrincipal() : null;
+    }
+
+    private PermissionSet permissions() {
+        PermissionSet current = permissions;
+        if (current == null) {
+            Authentication authentication = getAuthentication();
+            current = authentication != null ? permissionRegistry.permissionsOf(authentication) : PermissionSet.EMPTY;
+            permissions = current;
+        }
+        return current;
+    }
+
+    private String withRolePrefix(String role) {
+        if (role == null || defaultRolePrefix == null || defaultRolePrefix.isEmpty() || role.startsWith(defaultRolePrefix)) {
+            return role;
+        }
+        return defaultRolePrefix + role;
+    }
+}
@@ -0,0 +1,46 @@
+package com.rymcu.mortise.auth.support;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.access.hierarchicalroles.NullRoleHierarchy;
+import org.springframework.security.core.Authentication;
+
+import java.util.function.Supplier;
+
+/**
+ * 基于权限位图的方法安全表达式处理器
+ * <p>
+ * 在默认处理器创建的表达式根对象外包一层 {@link PermissionSetExpressionRoot}，
+ * 使 {@code hasAuthority}/{@code hasRole} 等检查通过 {@link PermissionRegistry} 编译的位图完成，
+ * 不再为每次调用重建权限字符串集合。配置了角色继承时保持默认实现。
+ * </p>
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+public class PermissionSetMethodSecurityExpressionHandler extends DefaultMethodSecurityExpressionHandler {
+
+    private final PermissionRegistry permissionRegistry;
+
+    public PermissionSetMethodSecurityExpressionHandler(PermissionRegistry permissionRegistry) {
+        this.permissionRegistry = permissionRegistry;
+    }
+
+    @Override
+    public EvaluationContext createEvaluationContext(Supplier<Authentication> authentication, MethodInvocation mi) {
+        EvaluationContext context = super.createEvaluationContext(authentication, mi);
+        if (!(context instanceof StandardEvaluationContext standardContext) || !usesFlatRoles()
+                || !(standardContext.getRootObject().getValue() instanceof MethodSecurityExpressionOperations root)) {
+            return context;
+        }
+        standardContext.setRootObject(new PermissionSetExpressionRoot(root, permissionRegistry, getDefaultRolePrefix()));
+        return standardContext;
+    }
+
+    private boolean usesFlatRoles() {
+        return getRoleHierarchy() == null || getRoleHierarchy() instanceof NullRoleHierarchy;
+    }
+}
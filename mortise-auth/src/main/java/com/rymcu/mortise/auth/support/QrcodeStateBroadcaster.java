@@ -0,0 +1,147 @@
+package com.rymcu.mortise.auth.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
+
+/**
+ * 二维码登录状态广播
+ * <p>
+ * 状态变化时发布到以 state 区分的 Redis 频道（{@code mortise:auth:qrcode:state:{state}}），
+ * 等待中的登录页通过 {@link #subscribe(String, IntConsumer)} 注册本地监听，由任意节点的状态变化推送唤醒，
+ * 不再需要客户端轮询状态接口。
+ * </p>
+ * <p>
+ * 每个节点只以通配符订阅一次频道前缀，再按 state 分发给本地监听，登录页的打开和关闭不会反复增删 Redis 订阅。
+ * 未配置 {@link RedisMessageListenerContainer} 时仅在本节点内分发。
+ * </p>
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class QrcodeStateBroadcaster implements MessageListener, InitializingBean {
+
+    public static final String CHANNEL_PREFIX = "mortise:auth:qrcode:state:";
+
+    /**
+     * 状态已被清理（登录完成或过期）时广播的值，与状态查询接口约定一致
+     */
+    public static final int STATE_REMOVED = -1;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final ObjectProvider<RedisMessageListenerContainer> listenerContainerProvider;
+
+    /**
+     * state -> 本地监听
+     */
+    private final ConcurrentHashMap<String, Set<IntConsumer>> listeners = new ConcurrentHashMap<>();
+
+    private volatile boolean subscribed;
+
+    public QrcodeStateBroadcaster(StringRedisTemplate stringRedisTemplate,
+                                  ObjectProvider<RedisMessageListenerContainer> listenerContainerProvider) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainerProvider = listenerContainerProvider;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        RedisMessageListenerContainer container = listenerContainerProvider.getIfAvailable();
+        if (container != null) {
+            container.addMessageListener(this, new PatternTopic(CHANNEL_PREFIX + "*"));
+            subscribed = true;
+        } else {
+            log.warn("未找到 RedisMessageListenerContainer，二维码状态推送仅在本节点内生效");
+        }
+    }
+
+    /**
+     * 广播二维码状态变化
+     *
+     * @param state       二维码 state
+     * @param qrcodeState 新状态值，{@link #STATE_REMOVED} 表示状态已清理
+     */
+    public void publish(String state, int qrcodeState) {
+        if (state == null) {
+            return;
+        }
+        if (!subscribed) {
+            dispatch(state, qrcodeState);
+            return;
+        }
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL_PREFIX + state, String.valueOf(qrcodeState));
+        } catch (RuntimeException e) {
+            // Redis 不可用时至少通知本节点，其他节点的客户端可通过状态查询接口兜底
+            log.warn("二维码状态广播失败，仅通知本节点: state={}", state, e);
+            dispatch(state, qrcodeState);
+        }
+    }
+
+    /**
+     * 订阅指定 state 的状态变化
+     *
+     * @param state    二维码 state
+     * @param listener 状态变化回调，在 Redis 监听线程中执行，不应阻塞
+     * @return 取消订阅的句柄，可重复调用
+     */
+    public Runnable subscribe(String state, IntConsumer listener) {
+        listeners.computeIfAbsent(state, key -> ConcurrentHashMap.newKeySet()).add(listener);
+        return () -> listeners.computeIfPresent(state, (key, current) -> {
+            current.remove(listener);
+            return current.isEmpty() ? null : current;
+        });
+    }
+
+    /**
+     * 接收状态变化通知，频道格式：{@code mortise:auth:qrcode:state:{state}}，消息为状态值
+     */
+    @Override
+    public void onMessage(@NonNull Message message, @Nullable byte[] pattern) {
+        String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+        if (!channel.startsWith(CHANNEL_PREFIX)) {
+            return;
+        }
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            dispatch(channel.substring(CHANNEL_PREFIX.length()), Integer.parseInt(body));
+        } catch (NumberFormatException e) {
+            log.warn("忽略无法解析的二维码状态通知: channel={}, body={}", channel, body);
+        }
+    }
+
+    int listenerCount(String state) {
+        Set<IntConsumer> current = listeners.get(state);
+        return current != null ? current.size() : 0;
+    }
+
+    private void dispatch(String state, int qrcodeState) {
+        Set<IntConsumer> current = listeners.get(state);
+        if (current == null) {
+            return;
+        }
+        for (IntConsumer listener : current) {
+            try {
+                listener.accept(qrcodeState);
+            } catch (RuntimeException e) {
+                log.debug("二维码状态监听处理失败: state={}, {}", state, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.rymcu.mortise.auth.support;
+
+import com.rymcu.mortise.auth.config.RevokedTokenFilterProperties;
+import com.rymcu.mortise.auth.constant.AuthCacheConstant;
+import com.rymcu.mortise.auth.util.JwtTokenUtil;
+import com.rymcu.mortise.auth.util.TimeBucketedBloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 已注销 Token 的本地预过滤器
+ * <p>
+ * 在进程内维护已注销 jti 的 {@link TimeBucketedBloomFilter}，黑名单检查前先查询本地：
+ * 判定一定不存在时直接跳过 Redis，可能存在时再以 Redis 黑名单为准。元素按 Token 剩余有效期落桶，随过期自然老化。
+ * </p>
+ * <p>
+ * 同步方式：
+ * <ul>
+ *   <li>注销时写入本地过滤器和黑名单索引（{@link AuthCacheConstant#JWT_TOKEN_BLACKLIST_INDEX}），
+ *       并通过 Redis pub/sub 通知其他节点（消息格式：{@code jti|过期时间戳}，批量注销时每行一条）</li>
+ *   <li>启动时、每次（重新）订阅成功后以及每隔 {@code rebuild-interval} 从黑名单索引重建，兜底丢失的通知</li>
+ * </ul>
+ * 以下情况无法确认本地数据完整，所有检查都会访问 Redis：首次重建完成前、订阅断开或重新订阅后尚未重建、
+ * 超过两个 {@code rebuild-interval} 未能成功重建，以及没有可用的 {@link RedisMessageListenerContainer}。
+ * </p>
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class RevokedTokenFilter implements MessageListener, SubscriptionListener, InitializingBean {
+
+    private static final String MESSAGE_SEPARATOR = "|";
+
+    private static final String ENTRY_SEPARATOR = "\n";
+
+    /**
+     * 写入黑名单索引并清理已过期的 jti，索引的过期时间随最晚过期的 jti 延长
+     * <p>
+     * ARGV: 当前时间、索引最短存活毫秒数，之后为成对的过期时间戳与 jti
+     */
+    private static final DefaultRedisScript<Long> INDEX_SCRIPT = new DefaultRedisScript<>(
+            """
+                    for i = 3, #ARGV, 2 do
+                        redis.call('ZADD', KEYS[1], ARGV[i], ARGV[i + 1])
+                    end
+                    redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[1])
+                    if redis.call('PTTL', KEYS[1]) < tonumber(ARGV[2]) then
+                        redis.call('PEXPIRE', KEYS[1], ARGV[2])
+                    end
+                    return 1
+                    """,
+            Long.class
+    );
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final ObjectProvider<RedisMessageListenerContainer> listenerContainerProvider;
+
+    private final RevokedTokenFilterProperties properties;
+
+    private final long tokenLifetimeMillis;
+
+    private volatile TimeBucketedBloomFilter current;
+
+    /**
+     * 重建期间新注销的 jti 同时写入正在重建的过滤器，避免替换后丢失
+     */
+    private TimeBucketedBloomFilter rebuilding;
+
+    /**
+     * 保护写入与替换：写入要么在替换前同时落入两个过滤器，要么在替换后落入新过滤器
+     */
+    private final Object swapLock = new Object();
+
+    /**
+     * 串行化重建，避免定时重建与订阅恢复后的重建互相覆盖 {@link #rebuilding}
+     */
+    private final Object rebuildLock = new Object();
+
+    private volatile boolean ready;
+
+    /**
+     * 订阅是否处于有效状态，未订阅期间其他节点的通知会丢失
+     */
+    private volatile boolean subscribed;
+
+    /**
+     * 每次订阅状态变化时递增
+     */
+    private final AtomicLong subscriptionGeneration = new AtomicLong();
+
+    /**
+     * 最近一次成功重建开始时的订阅代数，与当前代数不同说明重建之后订阅中断过
+     */
+    private volatile long syncedGeneration = -1;
+
+    /**
+     * 最近一次成功重建读取快照的时间
+     */
+    private volatile long lastRebuildAt;
+
+    public RevokedTokenFilter(StringRedisTemplate stringRedisTemplate,
+                              ObjectProvider<RedisMessageListenerContainer> listenerContainerProvider,
+                              RevokedTokenFilterProperties properties,
+                              JwtTokenUtil jwtTokenUtil) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainerProvider = listenerContainerProvider;
+        this.properties = properties;
+        this.tokenLifetimeMillis = Math.max(jwtTokenUtil.getExpiration(), 1000L);
+        this.current = newFilter();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        RedisMessageListenerContainer container = listenerContainerProvider.getIfAvailable();
+        if (container != null) {
+            container.addMessageListener(this, new ChannelTopic(properties.getChannel()));
+        } else {
+            log.warn("未找到 RedisMessageListenerContainer，无法接收其他节点的注销通知，黑名单检查将全部访问 Redis");
+        }
+    }
+
+    /**
+     * 定时从黑名单索引重建，首次在应用启动完成后立即执行
+     * <p>
+     * 订阅在 {@link #afterPropertiesSet()} 中建立，重建期间到达的通知会同时写入新过滤器
+     */
+    @Scheduled(fixedDelayString = "${mortise.auth.revoked-token-filter.rebuild-interval:10m}")
+    void scheduledRebuild() {
+        if (properties.isEnabled()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * 判断 jti 是否可能已被注销
+     *
+     * @return false: 一定未被注销，可跳过 Redis 查询；true: 需要查询 Redis 确认
+     */
+    public boolean mightBeRevoked(String jti) {
+        long now = System.currentTimeMillis();
+        if (!properties.isEnabled() || !isSynced(now)) {
+            return true;
+        }
+        return current.mightContain(jti, now);
+    }
+
+    /**
+     * 记录新注销的 jti、写入黑名单索引并通知其他节点，调用前 jti 应已写入 Redis 黑名单
+     *
+     * @param jti             Token 唯一标识
+     * @param expireInSeconds 黑名单有效期（秒）
+     */
+    public void revoked(String jti, long expireInSeconds) {
+        revoked(Collections.singletonMap(jti, expireInSeconds));
+    }
+
+    /**
+     * 批量记录新注销的 jti，一次写入黑名单索引并以一条通知同步其他节点，调用前 jti 应已写入 Redis 黑名单
+     *
+     * @param expireInSecondsByJti jti -> 黑名单有效期（秒）
+     */
+    public void revoked(Map<String, Long> expireInSecondsByJti) {
+        if (!properties.isEnabled() || expireInSecondsByJti.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long latestExpireAt = now;
+        List<String> indexArgs = new ArrayList<>(expireInSecondsByJti.size() * 2 + 2);
+        indexArgs.add(String.valueOf(now));
+        indexArgs.add("");
+        StringBuilder body = new StringBuilder();
+        for (Map.Entry<String, Long> entry : expireInSecondsByJti.entrySet()) {
+            long expireAt = now + TimeUnit.SECONDS.toMillis(entry.getValue());
+            latestExpireAt = Math.max(latestExpireAt, expireAt);
+            put(entry.getKey(), expireAt);
+            indexArgs.add(String.valueOf(expireAt));
+            indexArgs.add(entry.getKey());
+            if (!body.isEmpty()) {
+                body.append(ENTRY_SEPARATOR);
+            }
+            body.append(entry.getKey()).append(MESSAGE_SEPARATOR).append(expireAt);
+        }
+        indexArgs.set(1, String.valueOf(Math.max(latestExpireAt - now, 1L)));
+        try {
+            stringRedisTemplate.execute(INDEX_SCRIPT,
+                    Collections.singletonList(AuthCacheConstant.JWT_TOKEN_BLACKLIST_INDEX), indexArgs.toArray());
+        } catch (RuntimeException e) {
+            log.warn("写入黑名单索引失败，重建时将缺少这些 jti: count={}", expireInSecondsByJti.size(), e);
+        }
+        try {
+            stringRedisTemplate.convertAndSend(properties.getChannel(), body.toString());
+        } catch (RuntimeException e) {
+            log.warn("已注销 Token 同步通知发送失败，其他节点将在重建时同步: count={}", expireInSecondsByJti.size(), e);
+        }
+    }
+
+    /**
+     * 接收其他节点的注销通知，消息格式：{@code jti|过期时间戳}，批量注销时每行一条
+     */
+    @Override
+    public void onMessage(@NonNull Message message, @Nullable byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        for (String entry : body.split(ENTRY_SEPARATOR)) {
+            int separator = entry.lastIndexOf(MESSAGE_SEPARATOR);
+            if (separator <= 0) {
+                continue;
+            }
+            try {
+                put(entry.substring(0, separator), Long.parseLong(entry.substring(separator + 1)));
+            } catch (NumberFormatException e) {
+                log.warn("忽略无法解析的 Token 注销通知: {}", entry);
+            }
+        }
+    }
+
+    /**
+     * 订阅建立（包括断线后容器自动重新订阅）后立即重建，补上未订阅期间丢失的通知；重建完成前检查都访问 Redis
+     */
+    @Override
+    public void onChannelSubscribed(@NonNull byte[] channel, long count) {
+        subscriptionGeneration.incrementAndGet();
+        subscribed = true;
+        rebuild();
+    }
+
+    @Override
+    public void onChannelUnsubscribed(@NonNull byte[] channel, long count) {
+        subscribed = false;
+        subscriptionGeneration.incrementAndGet();
+        log.warn("已注销 Token 同步频道已取消订阅，恢复前黑名单检查将全部访问 Redis: channel={}", properties.getChannel());
+    }
+
+    /**
+     * 从黑名单索引重建过滤器，按索引中记录的过期时间落桶
+     */
+    void rebuild() {
+        synchronized (rebuildLock) {
+            long generation = subscriptionGeneration.get();
+            TimeBucketedBloomFilter fresh = newFilter();
+            synchronized (swapLock) {
+                rebuilding = fresh;
+            }
+            try {
+                long now = System.currentTimeMillis();
+                Set<ZSetOperations.TypedTuple<String>> entries = stringRedisTemplate.opsForZSet()
+                        .rangeByScoreWithScores(AuthCacheConstant.JWT_TOKEN_BLACKLIST_INDEX, now, Double.POSITIVE_INFINITY);
+                int count = 0;
+                if (entries != null) {
+                    for (ZSetOperations.TypedTuple<String> entry : entries) {
+                        if (entry.getValue() != null && entry.getScore() != null) {
+                            fresh.put(entry.getValue(), entry.getScore().longValue(), now);
+                            count++;
+                        }
+                    }
+                }
+                synchronized (swapLock) {
+                    current = fresh;
+                    rebuilding = null;
+                }
+                lastRebuildAt = now;
+                syncedGeneration = generation;
+                if (!ready) {
+                    ready = true;
+                    log.info("已注销 Token 预过滤器初始化完成: count={}", count);
+                } else {
+                    log.debug("已注销 Token 预过滤器重建完成: count={}", count);
+                }
+            } catch (RuntimeException e) {
+                log.warn("已注销 Token 预过滤器重建失败，继续使用现有数据: {}", e.getMessage());
+                synchronized (swapLock) {
+                    rebuilding = null;
+                }
+            }
+        }
+    }
+
+    boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 本地数据是否完整：已完成重建、重建后订阅一直有效，且最近一次重建未超过两个重建间隔
+     */
+    boolean isSynced(long now) {
+        return ready
+                && subscribed
+                && syncedGeneration == subscriptionGeneration.get()
+                && now - lastRebuildAt <= properties.getRebuildInterval().toMillis() * 2;
+    }
+
+    private void put(String jti, long expireAt) {
+        long now = System.currentTimeMillis();
+        synchronized (swapLock) {
+            current.put(jti, expireAt, now);
+            if (rebuilding != null) {
+                rebuilding.put(jti, expireAt, now);
+            }
+        }
+    }
+
+    private TimeBucketedBloomFilter newFilter() {
+        int bucketCount = Math.max(1, properties.getBucketCount());
+        return new TimeBucketedBloomFilter(Math.max(1L, tokenLifetimeMillis / bucketCount),
+                properties.getExpectedInsertions(), properties.getFalsePositiveRate());
+    }
+}
@@ -0,0 +1,213 @@
+package com.rymcu.mortise.auth.util;
+
+import com.rymcu.mortise.auth.model.JwtKeyDefinition;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * JWT 签名密钥环（不可变快照）
+ * <p>
+ * 构建时一次性解析全部密钥，验签时按 kid 直接取出已解析的密钥，不再重复解码。
+ * 重新加载时整体替换实例，正在进行的签名和验签不受影响。
+ * </p>
+ * <ul>
+ *   <li>没有 kid 的 Token 由旧版 HMAC 密钥验签（可关闭）</li>
+ *   <li>带 kid 的 Token 只接受与该密钥配置一致的算法，避免算法混淆</li>
+ * </ul>
+ *
+ * @author ronger
+ */
+public final class JwtKeyring {
+
+    public static final String ES256 = "ES256";
+
+    public static final String EDDSA = "EdDSA";
+
+    public static final String HS256 = "HS256";
+
+    private final Map<String, VerificationKey> verificationKeys;
+
+    private final SecretKey legacyKey;
+
+    private final String activeKid;
+
+    private final UnaryOperator<JwtBuilder> signer;
+
+    private JwtKeyring(Map<String, VerificationKey> verificationKeys, SecretKey legacyKey,
+                       String activeKid, UnaryOperator<JwtBuilder> signer) {
+        this.verificationKeys = verificationKeys;
+        this.legacyKey = legacyKey;
+        this.activeKid = activeKid;
+        this.signer = signer;
+    }
+
+    /**
+     * 构建密钥环
+     *
+     * @param definitions       密钥定义，kid 重复时后者覆盖前者
+     * @param activeKid         当前签名密钥，为空时以 legacyKey 签名
+     * @param legacyKey         旧版 HMAC 密钥
+     * @param legacyHmacEnabled 是否接受没有 kid 的 Token
+     * @throws IllegalArgumentException 密钥定义无效或签名密钥缺少私钥
+     */
+    public static JwtKeyring of(Collection<JwtKeyDefinition> definitions, String activeKid,
+                                SecretKey legacyKey, boolean legacyHmacEnabled) {
+        Map<String, JwtKeyDefinition> byKid = new HashMap<>();
+        for (JwtKeyDefinition definition : definitions) {
+            if (definition.getKid() == null || definition.getKid().isBlank()) {
+                throw new IllegalArgumentException("JWT 密钥缺少 kid");
+            }
+            byKid.put(definition.getKid(), definition);
+        }
+
+        Map<String, VerificationKey> verificationKeys = new HashMap<>();
+        byKid.forEach((kid, definition) -> verificationKeys.put(kid, toVerificationKey(definition)));
+
+        UnaryOperator<JwtBuilder> signer;
+        if (activeKid == null || activeKid.isBlank()) {
+            signer = builder -> builder.signWith(legacyKey);
+            activeKid = null;
+        } else {
+            JwtKeyDefinition active = byKid.get(activeKid);
+            if (active == null) {
+                throw new IllegalArgumentException("JWT 签名密钥不在密钥环中: kid=" + activeKid);
+            }
+            signer = toSigner(active);
+        }
+        return new JwtKeyring(Map.copyOf(verificationKeys), legacyHmacEnabled || activeKid == null ? legacyKey : null,
+                activeKid, signer);
+    }
+
+    /**
+     * 以当前签名密钥签名，带 kid 时写入头部
+     */
+    public JwtBuilder sign(JwtBuilder builder) {
+        return signer.apply(builder);
+    }
+
+    /**
+     * 查找验签密钥
+     *
+     * @param kid       Token 头部的 kid，可为 null
+     * @param algorithm Token 头部的 alg
+     * @return 验签密钥，未知 kid、算法不匹配或不接受旧版 Token 时返回 null
+     */
+    public Key verificationKey(String kid, String algorithm) {
+        if (kid == null) {
+            return legacyKey;
+        }
+        VerificationKey key = verificationKeys.get(kid);
+        return key != null && key.algorithm().equals(algorithm) ? key.key() : null;
+    }
+
+    /**
+     * @return 当前签名密钥的 kid，使用旧版 HMAC 密钥签名时为 null
+     */
+    public String activeKid() {
+        return activeKid;
+    }
+
+    /**
+     * @return 可用于验签的 kid 数量（不含旧版 HMAC 密钥）
+     */
+    public int size() {
+        return verificationKeys.size();
+    }
+
+    private static VerificationKey toVerificationKey(JwtKeyDefinition definition) {
+        String algorithm = normalizeAlgorithm(definition);
+        Key key = switch (algorithm) {
+            case HS256 -> hmacKey(definition);
+            case ES256 -> publicKey("EC", required(definition.getPublicKey(), definition, "public-key"));
+            default -> publicKey("EdDSA", required(definition.getPublicKey(), definition, "public-key"));
+        };
+        return new VerificationKey(algorithm, key);
+    }
+
+    private static UnaryOperator<JwtBuilder> toSigner(JwtKeyDefinition definition) {
+        String kid = definition.getKid();
+        return switch (normalizeAlgorithm(definition)) {
+            case HS256 -> {
+                SecretKey key = hmacKey(definition);
+                yield builder -> builder.header().keyId(kid).and().signWith(key, Jwts.SIG.HS256);
+            }
+            case ES256 -> {
+                PrivateKey key = privateKey("EC", required(definition.getPrivateKey(), definition, "private-key"));
+                yield builder -> builder.header().keyId(kid).and().signWith(key, Jwts.SIG.ES256);
+            }
+            default -> {
+                PrivateKey key = privateKey("EdDSA", required(definition.getPrivateKey(), definition, "private-key"));
+                yield builder -> builder.header().keyId(kid).and().signWith(key, Jwts.SIG.EdDSA);
+            }
+        };
+    }
+
+    private static String normalizeAlgorithm(JwtKeyDefinition definition) {
+        String algorithm = definition.getAlgorithm();
+        if (ES256.equalsIgnoreCase(algorithm)) {
+            return ES256;
+        }
+        if (EDDSA.equalsIgnoreCase(algorithm) || "Ed25519".equalsIgnoreCase(algorithm)) {
+            return EDDSA;
+        }
+        if (HS256.equalsIgnoreCase(algorithm)) {
+            return HS256;
+        }
+        throw new IllegalArgumentException("不支持的 JWT 签名算法: kid=" + definition.getKid() + ", algorithm=" + algorithm);
+    }
+
+    private static SecretKey hmacKey(JwtKeyDefinition definition) {
+        String secret = required(definition.getSecret(), definition, "secret");
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static PublicKey publicKey(String keyAlgorithm, String encoded) {
+        try {
+            return KeyFactory.getInstance(keyAlgorithm).generatePublic(new X509EncodedKeySpec(decode(encoded)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("无法解析 JWT 公钥: " + e.getMessage(), e);
+        }
+    }
+
+    private static PrivateKey privateKey(String keyAlgorithm, String encoded) {
+        try {
+            return KeyFactory.getInstance(keyAlgorithm).generatePrivate(new PKCS8EncodedKeySpec(decode(encoded)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("无法解析 JWT 私钥: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 解码 Base64 DER 或 PEM 文本
+     */
+    private static byte[] decode(String encoded) {
+        String base64 = encoded.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+
+    private static String required(String value, JwtKeyDefinition definition, String name) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("JWT 密钥缺少 " + name + ": kid=" + definition.getKid());
+        }
+        return value;
+    }
+
+    private record VerificationKey(String algorithm, Key key) {
+    }
+}
@@ -1,19 +1,28 @@
 package com.rymcu.mortise.auth.util;
 
+import com.rymcu.mortise.auth.config.JwtKeyringProperties;
+import com.rymcu.mortise.auth.model.JwtKeyDefinition;
+import com.rymcu.mortise.auth.model.VerifiedToken;
+import com.rymcu.mortise.auth.spi.JwtKeySource;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
 import jakarta.annotation.PostConstruct;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.function.Function;
@@ -27,6 +36,8 @@ import java.util.function.Function;
  * 1. 缓存 SecretKey 和 JwtParser 以提高性能.
  * 2. 补全 getClaimFromToken 方法.
  * 3. 增加更具体的异常捕获和日志记录.
+ * 4. 支持 ES256/EdDSA 密钥环签名：Token 头部携带 kid，验签按 kid 取预先解析的密钥，
+ *    密钥环可按 {@code jwt.keyring.refresh-interval} 重新加载（由 {@code AuthSchedulingConfig} 注册），实现不停机轮换（见 {@link JwtKeyringProperties}）.
  *
  * @author ronger
  */
@@ -37,6 +48,11 @@ public class JwtTokenUtil {
     @Value("${jwt.secret:mortise-secret-key-please-change-this-in-production-environment}")
     private String secret;
 
+    /**
+     * -- GETTER --
+     *  获取 Token 有效期（毫秒）
+     */
+    @Getter
     @Value("${jwt.expiration:1800000}") // 默认 30 分钟
     private long expiration;
 
@@ -59,18 +75,87 @@ public class JwtTokenUtil {
     @Value("${jwt.token-prefix:Bearer }")
     private String tokenPrefix;
 
+    /**
+     * 密钥环配置，未注入时仅使用 {@code jwt.secret}
+     */
+    @Autowired(required = false)
+    private JwtKeyringProperties keyringProperties;
+
+    @Autowired(required = false)
+    private ObjectProvider<JwtKeySource> jwtKeySources;
+
     private SecretKey secretKey;
     private JwtParser jwtParser;
+    private volatile JwtKeyring keyring;
 
     /**
-     * 在 Bean 初始化后执行, 用于生成 SecretKey 和 JwtParser.
+     * 在 Bean 初始化后执行, 用于生成 SecretKey、密钥环和 JwtParser.
      * 这避免了在每次操作时都重复创建, 提高了性能.
+     * 密钥环配置无效时启动失败，避免以错误的密钥签发 Token.
      */
     @PostConstruct
     public void init() {
         byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
         this.secretKey = Keys.hmacShaKeyFor(keyBytes);
-        this.jwtParser = Jwts.parser().verifyWith(secretKey).build();
+        this.keyring = loadKeyring();
+        // 解析器只构建一次，密钥在验签时从当前密钥环按 kid 查找，重新加载后立即生效
+        this.jwtParser = Jwts.parser().keyLocator(this::locateKey).build();
+        if (keyring.activeKid() != null) {
+            log.info("JWT 密钥环已加载: activeKid={}, keys={}", keyring.activeKid(), keyring.size());
+        }
+    }
+
+    /**
+     * 重新加载密钥环，加载失败时继续使用现有密钥
+     *
+     * @return true: 加载成功, false: 加载失败
+     */
+    public boolean reloadKeys() {
+        try {
+            JwtKeyring reloaded = loadKeyring();
+            String previousKid = keyring.activeKid();
+            keyring = reloaded;
+            if (reloaded.activeKid() != null && !reloaded.activeKid().equals(previousKid)) {
+                log.info("JWT 签名密钥已切换: {} -> {}", previousKid, reloaded.activeKid());
+            }
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("JWT 密钥环加载失败，继续使用现有密钥: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private JwtKeyring loadKeyring() {
+        if (keyringProperties == null) {
+            return JwtKeyring.of(List.of(), null, secretKey, true);
+        }
+        List<JwtKeyDefinition> definitions = new ArrayList<>(keyringProperties.getKeys());
+        if (jwtKeySources != null) {
+            jwtKeySources.orderedStream().forEach(source -> definitions.addAll(source.loadKeys()));
+        }
+        return JwtKeyring.of(definitions, keyringProperties.getActiveKid(), secretKey,
+                keyringProperties.isLegacyHmacEnabled());
+    }
+
+    /**
+     * 按 Token 头部的 kid 与 alg 查找验签密钥，找不到时 jjwt 以 {@link UnsupportedJwtException} 拒绝该 Token
+     */
+    private Key locateKey(Header header) {
+        String kid = header instanceof ProtectedHeader protectedHeader ? protectedHeader.getKeyId() : null;
+        return keyring.verificationKey(kid, header.getAlgorithm());
+    }
+
+    /**
+     * 验签并解析 Token
+     * <p>
+     * 一次请求内只需调用一次，后续的黑名单、身份和过期检查都使用返回的 {@link VerifiedToken}
+     *
+     * @param token JWT Token
+     * @return 已验证的 Token，签名无效、已过期或格式错误时返回 null
+     */
+    public VerifiedToken parseToken(String token) {
+        final Claims claims = getAllClaimsFromToken(token);
+        return claims != null ? new VerifiedToken(token, claims) : null;
     }
 
     /**
@@ -158,6 +243,15 @@ public class JwtTokenUtil {
         }
     }
 
+    /**
+     * 检查已验证的 Token 是否过期
+     *
+     * @return true: 已过期, false: 未过期
+     */
+    public Boolean isTokenExpired(VerifiedToken verifiedToken) {
+        return verifiedToken == null || verifiedToken.isExpired();
+    }
+
     /**
      * 为指定用户生成 Token
      */
@@ -175,7 +269,7 @@ public class JwtTokenUtil {
     /**
      * 执行 Token 生成
      * <p>
-     * 使用缓存的 SecretKey 提高性能。
+     * 使用当前密钥环的签名密钥（未配置时为缓存的 SecretKey）。
      * 每个 Token 都会生成唯一的 jti (JWT ID)，用于：
      * <ul>
      *   <li>Token 黑名单管理（注销 Token）</li>
@@ -191,14 +285,13 @@ public class JwtTokenUtil {
         Instant now = Instant.now();
         String jti = UUID.randomUUID().toString(); // 生成唯一的 Token ID
         
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .claims(claims)
                 .id(jti) // 添加 jti，用于 Token 黑名单和追踪
                 .subject(subject)
                 .issuedAt(Date.from(now))
-                .expiration(Date.from(now.plusMillis(expiration)))
-                .signWith(secretKey)
-                .compact();
+                .expiration(Date.from(now.plusMillis(expiration)));
+        return keyring.sign(builder).compact();
     }
 
     /**
@@ -207,9 +300,19 @@ public class JwtTokenUtil {
      * 2. Token 是否过期
      */
     public Boolean validateToken(String token, String username) {
-        final String tokenUsername = getUsernameFromToken(token);
-        // 用户名可能为 null (如果 token 解析失败)
-        return (username.equals(tokenUsername) && !isTokenExpired(token));
+        return validateToken(parseToken(token), username);
+    }
+
+    /**
+     * 验证已解析的 Token 是否有效，不再重复验签
+     * 1. 用户名是否匹配
+     * 2. Token 是否过期
+     */
+    public Boolean validateToken(VerifiedToken verifiedToken, String username) {
+        // verifiedToken 为 null 表示 token 解析失败
+        return verifiedToken != null
+                && username.equals(verifiedToken.subject())
+                && !verifiedToken.isExpired();
     }
 
     /**
@@ -0,0 +1,153 @@
+package com.rymcu.mortise.auth.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 按过期时间分桶的布隆过滤器
+ * <p>
+ * 元素按过期时间落入宽度固定的时间桶，桶的结束时间过后整桶丢弃，已过期的元素随之老化，
+ * 无需从位图中删除。查询时检查所有未过期的桶：返回 false 表示一定不存在，返回 true 表示可能存在。
+ * </p>
+ * <p>
+ * 线程安全：位图基于 {@link AtomicLongArray}，桶的创建和丢弃基于并发跳表。
+ * </p>
+ *
+ * @author ronger
+ */
+public class TimeBucketedBloomFilter {
+
+    private final long bucketWidthMillis;
+
+    private final int bitCount;
+
+    private final int hashCount;
+
+    /**
+     * 桶结束时间 -> 位图
+     */
+    private final ConcurrentNavigableMap<Long, AtomicLongArray> buckets = new ConcurrentSkipListMap<>();
+
+    /**
+     * @param bucketWidthMillis    每个桶覆盖的时间跨度
+     * @param expectedInsertions   每个桶预计容纳的元素数量
+     * @param falsePositiveRate    期望误判率
+     */
+    public TimeBucketedBloomFilter(long bucketWidthMillis, int expectedInsertions, double falsePositiveRate) {
+        if (bucketWidthMillis <= 0) {
+            throw new IllegalArgumentException("bucketWidthMillis must be positive: " + bucketWidthMillis);
+        }
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be positive: " + expectedInsertions);
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be in (0, 1): " + falsePositiveRate);
+        }
+        this.bucketWidthMillis = bucketWidthMillis;
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.min(Math.max(bits, Long.SIZE), Integer.MAX_VALUE - Long.SIZE);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * 添加元素
+     *
+     * @param element        元素
+     * @param expireAtMillis 元素过期时间（毫秒时间戳）
+     * @param nowMillis      当前时间（毫秒时间戳）
+     */
+    public void put(String element, long expireAtMillis, long nowMillis) {
+        if (expireAtMillis <= nowMillis) {
+            return;
+        }
+        long bucketEnd = (Math.floorDiv(expireAtMillis, bucketWidthMillis) + 1) * bucketWidthMillis;
+        AtomicLongArray bits = buckets.computeIfAbsent(bucketEnd,
+                key -> new AtomicLongArray((bitCount + Long.SIZE - 1) / Long.SIZE));
+        long hash1 = hash(element);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            int index = (int) Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+            setBit(bits, index);
+        }
+        evictExpired(nowMillis);
+    }
+
+    /**
+     * 判断元素是否可能存在
+     *
+     * @param element   元素
+     * @param nowMillis 当前时间（毫秒时间戳）
+     * @return false: 一定不存在（或已过期）, true: 可能存在
+     */
+    public boolean mightContain(String element, long nowMillis) {
+        ConcurrentNavigableMap<Long, AtomicLongArray> live = buckets.tailMap(nowMillis, false);
+        if (live.isEmpty()) {
+            return false;
+        }
+        long hash1 = hash(element);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1L;
+        for (Map.Entry<Long, AtomicLongArray> bucket : live.entrySet()) {
+            if (containsAll(bucket.getValue(), hash1, hash2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 丢弃结束时间已过的桶
+     */
+    public void evictExpired(long nowMillis) {
+        buckets.headMap(nowMillis, true).clear();
+    }
+
+    /**
+     * @return 当前未丢弃的桶数量
+     */
+    public int bucketCount() {
+        return buckets.size();
+    }
+
+    private boolean containsAll(AtomicLongArray bits, long hash1, long hash2) {
+        for (int i = 0; i < hashCount; i++) {
+            int index = (int) Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+            if ((bits.get(index >>> 6) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void setBit(AtomicLongArray bits, int index) {
+        int word = index >>> 6;
+        long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+
+    /**
+     * FNV-1a 64 位哈希，再经过 SplitMix64 混合
+     */
+    private static long hash(String element) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : element.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,55 @@
+package com.rymcu.mortise.auth.config;
+
+import com.rymcu.mortise.auth.util.JwtTokenUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthSchedulingConfigTest {
+
+    private final JwtTokenUtil jwtTokenUtil = mock(JwtTokenUtil.class);
+
+    @Test
+    void keyringRefreshShouldOnlyBeScheduledWithPositiveInterval() {
+        JwtKeyringProperties properties = new JwtKeyringProperties();
+        AuthSchedulingConfig config = new AuthSchedulingConfig(jwtTokenUtil, providerOf(properties));
+
+        ScheduledTaskRegistrar disabled = new ScheduledTaskRegistrar();
+        config.configureTasks(disabled);
+        assertTrue(disabled.getFixedDelayTaskList().isEmpty());
+
+        properties.setRefreshInterval(Duration.ofMinutes(1));
+        ScheduledTaskRegistrar enabled = new ScheduledTaskRegistrar();
+        config.configureTasks(enabled);
+        assertEquals(1, enabled.getFixedDelayTaskList().size());
+        assertEquals(Duration.ofMinutes(1), enabled.getFixedDelayTaskList().get(0).getIntervalDuration());
+
+        enabled.getFixedDelayTaskList().get(0).getRunnable().run();
+        verify(jwtTokenUtil).reloadKeys();
+    }
+
+    @Test
+    void keyringRefreshShouldBeSkippedWithoutKeyringProperties() {
+        AuthSchedulingConfig config = new AuthSchedulingConfig(jwtTokenUtil, providerOf(null));
+
+        ScheduledTaskRegistrar registrar = new ScheduledTaskRegistrar();
+        config.configureTasks(registrar);
+
+        assertTrue(registrar.getFixedDelayTaskList().isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<JwtKeyringProperties> providerOf(JwtKeyringProperties properties) {
+        ObjectProvider<JwtKeyringProperties> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(properties);
+        return provider;
+    }
+}
@@ -0,0 +1,141 @@
+package com.rymcu.mortise.auth.service.impl;
+
+import com.rymcu.mortise.auth.event.RevokeAllTokensEvent;
+import com.rymcu.mortise.auth.model.TokenModel;
+import com.rymcu.mortise.auth.model.TokenSession;
+import com.rymcu.mortise.auth.service.AuthCacheService;
+import com.rymcu.mortise.auth.service.TokenSessionService;
+import com.rymcu.mortise.auth.util.JwtTokenUtil;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class CacheTokenManagerTest {
+
+    private final AuthCacheService authCacheService = mock(AuthCacheService.class);
+
+    private final TokenSessionService tokenSessionService = mock(TokenSessionService.class);
+
+    private final JwtTokenUtil jwtTokenUtil = createJwtTokenUtil();
+
+    private final CacheTokenManager tokenManager = createTokenManager();
+
+    @Test
+    void createTokenShouldRegisterSessionAndRevokeEvictedOnes() {
+        long expiresAt = System.currentTimeMillis() + 600_000L;
+        when(tokenSessionService.register(eq("admin"), any(TokenSession.class), isNull()))
+                .thenReturn(List.of(TokenSession.builder().jti("old-jti").expiresAt(expiresAt).build()));
+
+        String token = tokenManager.createToken("admin");
+
+        ArgumentCaptor<TokenSession> session = ArgumentCaptor.forClass(TokenSession.class);
+        verify(tokenSessionService).register(eq("admin"), session.capture(), isNull());
+        assertEquals(jwtTokenUtil.getJtiFromToken(token), session.getValue().getJti());
+        ArgumentCaptor<Map<String, Long>> blacklisted = mapCaptor();
+        verify(authCacheService).addToBlacklist(blacklisted.capture());
+        assertTrue(blacklisted.getValue().get("old-jti") > 590);
+        verify(authCacheService, never()).storeJwtToken(anyString(), anyString());
+    }
+
+    @Test
+    void checkTokenShouldLookUpSessionByJti() {
+        when(tokenSessionService.register(anyString(), any(TokenSession.class), any())).thenReturn(List.of());
+        String token = tokenManager.createToken("admin");
+        String jti = jwtTokenUtil.getJtiFromToken(token);
+
+        when(tokenSessionService.isActive("admin", jti)).thenReturn(true, false);
+
+        assertTrue(tokenManager.checkToken(new TokenModel("admin", token)));
+        assertFalse(tokenManager.checkToken(new TokenModel("admin", token)));
+    }
+
+    @Test
+    void revokeAllTokensShouldRemoveSessionsThenBlacklistThemInOnePipeline() {
+        long now = System.currentTimeMillis();
+        when(tokenSessionService.removeAll("admin")).thenReturn(List.of(
+                TokenSession.builder().jti("jti-1").expiresAt(now + 600_000L).build(),
+                TokenSession.builder().jti("jti-2").expiresAt(now + 400L).build(),
+                TokenSession.builder().jti("expired").expiresAt(now - 1_000L).build()));
+
+        tokenManager.revokeAllTokens("admin");
+
+        InOrder order = inOrder(tokenSessionService, authCacheService);
+        order.verify(tokenSessionService).removeAll("admin");
+        ArgumentCaptor<Map<String, Long>> revoked = mapCaptor();
+        order.verify(authCacheService).addToBlacklist(revoked.capture());
+        assertEquals(2, revoked.getValue().size());
+        assertTrue(revoked.getValue().get("jti-1") > 590);
+        // 剩余不足一秒的 Token 也要进入黑名单
+        assertEquals(1L, revoked.getValue().get("jti-2"));
+        verify(authCacheService).removeJwtToken("admin");
+    }
+
+    @Test
+    void deleteTokenShouldBlacklistRemovedSessions() {
+        when(tokenSessionService.removeAll("admin")).thenReturn(List.of(
+                TokenSession.builder().jti("jti-1").expiresAt(System.currentTimeMillis() + 600_000L).build()));
+
+        tokenManager.deleteToken("admin");
+
+        ArgumentCaptor<Map<String, Long>> revoked = mapCaptor();
+        verify(authCacheService).addToBlacklist(revoked.capture());
+        assertEquals(Map.of("jti-1", revoked.getValue().get("jti-1")), revoked.getValue());
+        verify(authCacheService).removeJwtToken("admin");
+    }
+
+    @Test
+    void revokeTokenFailureShouldFallBackToBlacklistingAllSessions() {
+        String token = jwtTokenUtil.generateToken("admin");
+        doThrow(new IllegalStateException("redis down")).when(tokenSessionService).remove(anyString(), anyString());
+        when(tokenSessionService.removeAll("admin")).thenReturn(List.of(
+                TokenSession.builder().jti("jti-1").expiresAt(System.currentTimeMillis() + 600_000L).build()));
+
+        tokenManager.revokeToken("admin", token);
+
+        ArgumentCaptor<Map<String, Long>> revoked = mapCaptor();
+        verify(authCacheService).addToBlacklist(revoked.capture());
+        assertTrue(revoked.getValue().containsKey("jti-1"));
+    }
+
+    @Test
+    void revokeAllTokensEventShouldRevokeSessions() {
+        when(tokenSessionService.removeAll("admin")).thenReturn(List.of());
+
+        tokenManager.onRevokeAllTokens(new RevokeAllTokensEvent(this, "admin"));
+
+        verify(tokenSessionService).removeAll("admin");
+    }
+
+    private CacheTokenManager createTokenManager() {
+        CacheTokenManager manager = new CacheTokenManager();
+        ReflectionTestUtils.setField(manager, "authCacheService", authCacheService);
+        ReflectionTestUtils.setField(manager, "tokenSessionService", tokenSessionService);
+        ReflectionTestUtils.setField(manager, "jwtTokenUtil", jwtTokenUtil);
+        return manager;
+    }
+
+    private static JwtTokenUtil createJwtTokenUtil() {
+        JwtTokenUtil util = new JwtTokenUtil();
+        ReflectionTestUtils.setField(util, "secret", "mortise-secret-key-please-change-this-in-production-environment");
+        ReflectionTestUtils.setField(util, "expiration", 1800000L);
+        ReflectionTestUtils.setField(util, "refreshWindow", 300000L);
+        util.init();
+        return util;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<Map<String, Long>> mapCaptor() {
+        return ArgumentCaptor.forClass(Map.class);
+    }
+}
@@ -0,0 +1,99 @@
+package com.rymcu.mortise.auth.service.impl;
+
+import com.rymcu.mortise.auth.config.PrincipalCacheProperties;
+import com.rymcu.mortise.auth.model.VerifiedToken;
+import com.rymcu.mortise.core.model.CurrentUser;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class PrincipalCacheServiceImplTest {
+
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+
+    @SuppressWarnings("unchecked")
+    private final PrincipalCacheServiceImpl principalCacheService = new PrincipalCacheServiceImpl(
+            stringRedisTemplate, mock(ObjectProvider.class), new PrincipalCacheProperties());
+
+    @Test
+    void getOrLoadShouldReuseCachedPrincipalUntilUserIsInvalidated() {
+        VerifiedToken token = token("jti-1");
+        AtomicInteger loads = new AtomicInteger();
+        UserDetails principal = principal(7L);
+
+        assertSame(principal, principalCacheService.getOrLoad("system", token, () -> count(loads, principal)));
+        assertSame(principal, principalCacheService.getOrLoad("system", token, () -> count(loads, principal)));
+        assertEquals(1, loads.get());
+
+        principalCacheService.invalidateUser("system", 8L);
+        principalCacheService.getOrLoad("system", token, () -> count(loads, principal));
+        assertEquals(1, loads.get());
+
+        principalCacheService.invalidateUser("system", 7L);
+        principalCacheService.getOrLoad("system", token, () -> count(loads, principal));
+        assertEquals(2, loads.get());
+        verify(stringRedisTemplate).convertAndSend(anyString(), eq("system|7"));
+    }
+
+    @Test
+    void invalidationDuringLoadShouldNotBeLost() {
+        VerifiedToken token = token("jti-2");
+        AtomicInteger loads = new AtomicInteger();
+        UserDetails principal = principal(7L);
+
+        principalCacheService.getOrLoad("system", token, () -> {
+            principalCacheService.invalidateUser("system", 7L);
+            return count(loads, principal);
+        });
+        principalCacheService.getOrLoad("system", token, () -> count(loads, principal));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void userTypeMessageFromOtherNodeShouldInvalidateAllPrincipals() {
+        VerifiedToken token = token("jti-3");
+        AtomicInteger loads = new AtomicInteger();
+        UserDetails principal = principal(7L);
+        principalCacheService.getOrLoad("member", token, () -> count(loads, principal));
+
+        principalCacheService.onMessage(new DefaultMessage("channel".getBytes(StandardCharsets.UTF_8),
+                "system|".getBytes(StandardCharsets.UTF_8)), null);
+        principalCacheService.getOrLoad("member", token, () -> count(loads, principal));
+        assertEquals(1, loads.get());
+
+        principalCacheService.onMessage(new DefaultMessage("channel".getBytes(StandardCharsets.UTF_8),
+                "member|".getBytes(StandardCharsets.UTF_8)), null);
+        principalCacheService.getOrLoad("member", token, () -> count(loads, principal));
+        assertEquals(2, loads.get());
+    }
+
+    private static UserDetails count(AtomicInteger loads, UserDetails principal) {
+        loads.incrementAndGet();
+        return principal;
+    }
+
+    private static VerifiedToken token(String jti) {
+        Claims claims = mock(Claims.class);
+        when(claims.getId()).thenReturn(jti);
+        when(claims.getSubject()).thenReturn("admin");
+        return new VerifiedToken("token", claims);
+    }
+
+    private static UserDetails principal(Long userId) {
+        UserDetails principal = mock(UserDetails.class, withSettings().extraInterfaces(CurrentUser.class));
+        when(((CurrentUser) principal).getUserId()).thenReturn(userId);
+        return principal;
+    }
+}
@@ -0,0 +1,98 @@
+package com.rymcu.mortise.auth.support;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * {@code @PreAuthorize("hasAuthority(...)")} 单次求值开销：默认字符串集合对比权限位图
+ *
+ * <p>用户持有 {@link #permissionCount} 个权限，每次调用都与真实请求一样新建表达式上下文后求值，
+ * 默认处理器会在每次求值时把全部权限复制为字符串集合，位图处理器复用按主体缓存的编译结果。
+ * {@code test-compile} 后直接执行 {@link #main(String[])}，或以测试类路径运行
+ * {@code org.openjdk.jmh.Main PermissionCheckBenchmark}。</p>
+ *
+ * @author ronger
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PermissionCheckBenchmark {
+
+    @Param({"100", "500"})
+    public int permissionCount;
+
+    private Authentication authentication;
+
+    private SimpleMethodInvocation invocation;
+
+    private MethodSecurityExpressionHandler stringSetHandler;
+
+    private MethodSecurityExpressionHandler permissionSetHandler;
+
+    private Expression stringSetExpression;
+
+    private Expression permissionSetExpression;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        List<GrantedAuthority> authorities = new ArrayList<>(permissionCount);
+        for (int i = 0; i < permissionCount; i++) {
+            authorities.add(new SimpleGrantedAuthority("module" + (i % 20) + ":resource" + i + ":edit"));
+        }
+        UserDetails userDetails = User.withUsername("admin").password("N/A").authorities(authorities).build();
+        authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        invocation = new SimpleMethodInvocation(this, PermissionCheckBenchmark.class.getMethod("setup"));
+
+        // 查询最后一个权限，字符串集合的构建开销与位置无关
+        String expression = "hasAuthority('module" + ((permissionCount - 1) % 20) + ":resource"
+                + (permissionCount - 1) + ":edit')";
+        stringSetHandler = new DefaultMethodSecurityExpressionHandler();
+        stringSetExpression = stringSetHandler.getExpressionParser().parseExpression(expression);
+
+        @SuppressWarnings("unchecked")
+        PermissionRegistry permissionRegistry = new PermissionRegistry(mock(ObjectProvider.class));
+        permissionSetHandler = new PermissionSetMethodSecurityExpressionHandler(permissionRegistry);
+        permissionSetExpression = permissionSetHandler.getExpressionParser().parseExpression(expression);
+    }
+
+    @Benchmark
+    public Boolean stringSet() {
+        EvaluationContext context = stringSetHandler.createEvaluationContext(() -> authentication, invocation);
+        return stringSetExpression.getValue(context, Boolean.class);
+    }
+
+    @Benchmark
+    public Boolean permissionSet() {
+        EvaluationContext context = permissionSetHandler.createEvaluationContext(() -> authentication, invocation);
+        return permissionSetExpression.getValue(context, Boolean.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PermissionCheckBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,69 @@
+package com.rymcu.mortise.auth.support;
+
+import com.rymcu.mortise.auth.model.PermissionSet;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class PermissionSetMethodSecurityExpressionHandlerTest {
+
+    @SuppressWarnings("unchecked")
+    private final PermissionRegistry permissionRegistry = new PermissionRegistry(mock(ObjectProvider.class));
+
+    private final PermissionSetMethodSecurityExpressionHandler handler =
+            new PermissionSetMethodSecurityExpressionHandler(permissionRegistry);
+
+    @Test
+    void authorityAndRoleChecksShouldUseCompiledPermissions() {
+        Authentication authentication = authenticate("system:user:query", "ROLE_admin");
+
+        assertTrue(evaluate("hasAuthority('system:user:query')", authentication));
+        assertFalse(evaluate("hasAuthority('system:user:delete')", authentication));
+        assertTrue(evaluate("hasAnyAuthority('system:user:delete', 'system:user:query')", authentication));
+        assertTrue(evaluate("hasRole('admin')", authentication));
+        assertFalse(evaluate("hasRole('user')", authentication));
+        assertTrue(evaluate("isAuthenticated() and principal.username == 'admin'", authentication));
+    }
+
+    @Test
+    void permissionsShouldBeCompiledOncePerPrincipal() {
+        Authentication authentication = authenticate("system:user:query");
+
+        PermissionSet first = permissionRegistry.permissionsOf(authentication);
+        PermissionSet second = permissionRegistry.permissionsOf(
+                new UsernamePasswordAuthenticationToken(authentication.getPrincipal(), null, authentication.getAuthorities()));
+
+        assertSame(first, second);
+        assertEquals(1, first.size());
+        assertTrue(first.contains(permissionRegistry.lookup("system:user:query")));
+        assertEquals(-1, permissionRegistry.lookup("system:user:delete"));
+    }
+
+    private boolean evaluate(String expression, Authentication authentication) {
+        try {
+            SimpleMethodInvocation invocation = new SimpleMethodInvocation(this,
+                    PermissionSetMethodSecurityExpressionHandlerTest.class.getDeclaredMethod("evaluate",
+                            String.class, Authentication.class));
+            EvaluationContext context = handler.createEvaluationContext(() -> authentication, invocation);
+            return Boolean.TRUE.equals(handler.getExpressionParser().parseExpression(expression)
+                    .getValue(context, Boolean.class));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Authentication authenticate(String... authorities) {
+        UserDetails userDetails = User.withUsername("admin").password("N/A")
+                .authorities(AuthorityUtils.createAuthorityList(authorities)).build();
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+}
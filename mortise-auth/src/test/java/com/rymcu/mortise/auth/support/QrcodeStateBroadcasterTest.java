@@ -0,0 +1,67 @@
+package com.rymcu.mortise.auth.support;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class QrcodeStateBroadcasterTest {
+
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+
+    @Test
+    void messagesShouldBeDispatchedToSubscribersOfTheSameState() {
+        QrcodeStateBroadcaster broadcaster = createBroadcaster(mock(RedisMessageListenerContainer.class));
+        List<Integer> received = new ArrayList<>();
+        List<Integer> others = new ArrayList<>();
+        broadcaster.subscribe("state-1", received::add);
+        broadcaster.subscribe("state-2", others::add);
+
+        broadcaster.publish("state-1", 1);
+        verify(stringRedisTemplate).convertAndSend(QrcodeStateBroadcaster.CHANNEL_PREFIX + "state-1", "1");
+
+        broadcaster.onMessage(message("state-1", "1"), null);
+        broadcaster.onMessage(message("state-1", "not-a-number"), null);
+
+        assertEquals(List.of(1), received);
+        assertTrue(others.isEmpty());
+    }
+
+    @Test
+    void unsubscribeShouldReleaseListeners() {
+        QrcodeStateBroadcaster broadcaster = createBroadcaster(null);
+        List<Integer> received = new ArrayList<>();
+        Runnable unsubscribe = broadcaster.subscribe("state-1", received::add);
+
+        broadcaster.publish("state-1", 1);
+        unsubscribe.run();
+        unsubscribe.run();
+        broadcaster.publish("state-1", QrcodeStateBroadcaster.STATE_REMOVED);
+
+        assertEquals(List.of(1), received, "without a listener container, updates are delivered locally");
+        assertEquals(0, broadcaster.listenerCount("state-1"));
+        verifyNoInteractions(stringRedisTemplate);
+    }
+
+    @SuppressWarnings("unchecked")
+    private QrcodeStateBroadcaster createBroadcaster(RedisMessageListenerContainer container) {
+        ObjectProvider<RedisMessageListenerContainer> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(container);
+        QrcodeStateBroadcaster broadcaster = new QrcodeStateBroadcaster(stringRedisTemplate, provider);
+        broadcaster.afterPropertiesSet();
+        return broadcaster;
+    }
+
+    private static DefaultMessage message(String state, String body) {
+        return new DefaultMessage((QrcodeStateBroadcaster.CHANNEL_PREFIX + state).getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
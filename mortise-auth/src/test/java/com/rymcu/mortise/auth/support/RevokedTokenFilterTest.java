@@ -0,0 +1,190 @@
+package com.rymcu.mortise.auth.support;
+
+import com.rymcu.mortise.auth.config.RevokedTokenFilterProperties;
+import com.rymcu.mortise.auth.util.JwtTokenUtil;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RevokedTokenFilterTest {
+
+    private static final String INDEX_KEY = "jwt:blacklist-index";
+
+    private static final byte[] CHANNEL = "mortise:auth:token:revoked".getBytes(StandardCharsets.UTF_8);
+
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+
+    @SuppressWarnings("unchecked")
+    private final ZSetOperations<String, String> zSetOperations = mock(ZSetOperations.class);
+
+    private final RevokedTokenFilter revokedTokenFilter;
+
+    RevokedTokenFilterTest() {
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        revokedTokenFilter = createFilter();
+    }
+
+    @Test
+    void subscriptionShouldRebuildFromIndexBeforeAnsweringNegatives() {
+        indexContains("jti-1");
+
+        assertTrue(revokedTokenFilter.mightBeRevoked("jti-2"), "not ready yet, must fall back to Redis");
+
+        revokedTokenFilter.onChannelSubscribed(CHANNEL, 1);
+
+        assertTrue(revokedTokenFilter.isReady());
+        assertTrue(revokedTokenFilter.mightBeRevoked("jti-1"));
+        assertFalse(revokedTokenFilter.mightBeRevoked("jti-2"));
+        verify(zSetOperations).rangeByScoreWithScores(eq(INDEX_KEY), anyDouble(), eq(Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    void revocationsFromOtherNodesShouldBeApplied() {
+        subscribeWithIndex();
+
+        long expireAt = System.currentTimeMillis() + 60_000L;
+        revokedTokenFilter.onMessage(new DefaultMessage(CHANNEL,
+                ("jti-3|" + expireAt).getBytes(StandardCharsets.UTF_8)), null);
+        revokedTokenFilter.revoked("jti-4", 60);
+
+        assertTrue(revokedTokenFilter.mightBeRevoked("jti-3"));
+        assertTrue(revokedTokenFilter.mightBeRevoked("jti-4"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void batchRevocationShouldBeIndexedAndSyncedInOneCallEach() {
+        subscribeWithIndex();
+        RevokedTokenFilter peer = createFilter();
+        peer.onChannelSubscribed(CHANNEL, 1);
+
+        revokedTokenFilter.revoked(Map.of("jti-6", 60L, "jti-7", 60L));
+
+        ArgumentCaptor<Object[]> indexArgs = ArgumentCaptor.forClass(Object[].class);
+        verify(stringRedisTemplate, times(1)).execute(any(RedisScript.class), eq(List.of(INDEX_KEY)),
+                indexArgs.capture());
+        List<Object> args = List.of(indexArgs.getValue());
+        assertEquals(6, args.size());
+        assertTrue(args.contains("jti-6"));
+        assertTrue(args.contains("jti-7"));
+        ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+        verify(stringRedisTemplate, times(1)).convertAndSend(anyString(), body.capture());
+        peer.onMessage(new DefaultMessage(CHANNEL, body.getValue().getBytes(StandardCharsets.UTF_8)), null);
+        assertTrue(revokedTokenFilter.mightBeRevoked("jti-6"));
+        assertTrue(revokedTokenFilter.mightBeRevoked("jti-7"));
+        assertTrue(peer.mightBeRevoked("jti-6"));
+        assertTrue(peer.mightBeRevoked("jti-7"));
+        assertFalse(peer.mightBeRevoked("jti-8"));
+    }
+
+    @Test
+    void revocationDuringRebuildShouldSurviveSwap() {
+        subscribeWithIndex();
+        when(zSetOperations.rangeByScoreWithScores(eq(INDEX_KEY), anyDouble(), anyDouble())).thenAnswer(invocation -> {
+            // 快照读取后、替换前注销的 jti 不在快照中
+            revokedTokenFilter.revoked("jti-5", 60);
+            return Set.of();
+        });
+
+        revokedTokenFilter.rebuild();
+
+        assertTrue(revokedTokenFilter.mightBeRevoked("jti-5"));
+    }
+
+    @Test
+    void resubscribeShouldFallBackToRedisUntilRebuilt() {
+        subscribeWithIndex();
+        assertFalse(revokedTokenFilter.mightBeRevoked("jti-9"));
+
+        revokedTokenFilter.onChannelUnsubscribed(CHANNEL, 0);
+        assertTrue(revokedTokenFilter.mightBeRevoked("jti-9"), "notifications may be lost while unsubscribed");
+
+        when(zSetOperations.rangeByScoreWithScores(eq(INDEX_KEY), anyDouble(), anyDouble()))
+                .thenThrow(new IllegalStateException("redis down"));
+        revokedTokenFilter.onChannelSubscribed(CHANNEL, 1);
+        assertTrue(revokedTokenFilter.mightBeRevoked("jti-9"), "resubscribed but not rebuilt yet");
+
+        indexContains();
+        revokedTokenFilter.rebuild();
+        assertFalse(revokedTokenFilter.mightBeRevoked("jti-9"));
+    }
+
+    @Test
+    void overdueRebuildShouldFallBackToRedis() {
+        subscribeWithIndex();
+        assertFalse(revokedTokenFilter.mightBeRevoked("jti-10"));
+
+        // 模拟连续两个重建间隔都未能成功重建
+        long overdue = System.currentTimeMillis()
+                - new RevokedTokenFilterProperties().getRebuildInterval().toMillis() * 2 - 1_000L;
+        ReflectionTestUtils.setField(revokedTokenFilter, "lastRebuildAt", overdue);
+
+        assertTrue(revokedTokenFilter.mightBeRevoked("jti-10"));
+    }
+
+    @Test
+    void filterWithoutSubscriptionShouldAlwaysFallBackToRedis() {
+        indexContains();
+
+        revokedTokenFilter.afterPropertiesSet();
+        revokedTokenFilter.rebuild();
+
+        assertTrue(revokedTokenFilter.isReady());
+        assertTrue(revokedTokenFilter.mightBeRevoked("jti-11"));
+    }
+
+    @Test
+    void disabledFilterShouldSkipScheduledRebuild() {
+        RevokedTokenFilterProperties properties = new RevokedTokenFilterProperties();
+        properties.setEnabled(false);
+        RevokedTokenFilter disabled = createFilter(properties);
+
+        disabled.scheduledRebuild();
+
+        verifyNoInteractions(zSetOperations);
+        assertFalse(disabled.isReady());
+    }
+
+    private void subscribeWithIndex() {
+        indexContains();
+        revokedTokenFilter.onChannelSubscribed(CHANNEL, 1);
+    }
+
+    private void indexContains(String... jtis) {
+        double expireAt = System.currentTimeMillis() + 60_000L;
+        Set<ZSetOperations.TypedTuple<String>> entries = new LinkedHashSet<>();
+        for (String jti : jtis) {
+            entries.add(ZSetOperations.TypedTuple.of(jti, expireAt));
+        }
+        doReturn(entries).when(zSetOperations).rangeByScoreWithScores(eq(INDEX_KEY), anyDouble(), anyDouble());
+    }
+
+    private RevokedTokenFilter createFilter() {
+        return createFilter(new RevokedTokenFilterProperties());
+    }
+
+    @SuppressWarnings("unchecked")
+    private RevokedTokenFilter createFilter(RevokedTokenFilterProperties properties) {
+        JwtTokenUtil jwtTokenUtil = mock(JwtTokenUtil.class);
+        when(jwtTokenUtil.getExpiration()).thenReturn(1_800_000L);
+        return new RevokedTokenFilter(stringRedisTemplate, mock(ObjectProvider.class), properties, jwtTokenUtil);
+    }
+}
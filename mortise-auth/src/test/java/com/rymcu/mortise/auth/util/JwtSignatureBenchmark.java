@@ -0,0 +1,114 @@
+package com.rymcu.mortise.auth.util;
+
+import com.rymcu.mortise.auth.config.JwtKeyringProperties;
+import com.rymcu.mortise.auth.model.JwtKeyDefinition;
+import com.rymcu.mortise.auth.model.VerifiedToken;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 签名算法的签发与验签开销对比
+ *
+ * <p>{@code LEGACY} 为未配置密钥环时的 {@code jwt.secret}（默认密钥长度下为 HS512），其余算法经密钥环签名并携带 kid。
+ * {@link #sign()} 对应登录和刷新，{@link #verify()} 对应每个请求的认证过滤器。
+ * {@code test-compile} 后直接执行 {@link #main(String[])}，或以测试类路径运行
+ * {@code org.openjdk.jmh.Main JwtSignatureBenchmark}。</p>
+ *
+ * @author ronger
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtSignatureBenchmark {
+
+    private static final String USERNAME = "admin";
+
+    @Param({"LEGACY", JwtKeyring.HS256, JwtKeyring.ES256, JwtKeyring.EDDSA})
+    private String algorithm;
+
+    private JwtTokenUtil jwtTokenUtil;
+
+    private String token;
+
+    @Setup
+    public void setup() {
+        if ("LEGACY".equals(algorithm)) {
+            jwtTokenUtil = JwtTokenParseBenchmark.createJwtTokenUtil();
+        } else {
+            JwtKeyringProperties properties = new JwtKeyringProperties();
+            properties.setActiveKid("bench");
+            properties.setKeys(List.of(generateKey("bench", algorithm)));
+            jwtTokenUtil = createJwtTokenUtil(properties);
+        }
+        token = jwtTokenUtil.generateToken(USERNAME, Map.of("userType", "system", "nickname", "管理员"));
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtTokenUtil.generateToken(USERNAME, Map.of("userType", "system", "nickname", "管理员"));
+    }
+
+    @Benchmark
+    public VerifiedToken verify() {
+        return jwtTokenUtil.parseToken(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtSignatureBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    static JwtTokenUtil createJwtTokenUtil(JwtKeyringProperties properties) {
+        JwtTokenUtil jwtTokenUtil = new JwtTokenUtil();
+        ReflectionTestUtils.setField(jwtTokenUtil, "secret",
+                "mortise-secret-key-please-change-this-in-production-environment");
+        ReflectionTestUtils.setField(jwtTokenUtil, "expiration", 1800000L);
+        ReflectionTestUtils.setField(jwtTokenUtil, "refreshWindow", 300000L);
+        ReflectionTestUtils.setField(jwtTokenUtil, "keyringProperties", properties);
+        jwtTokenUtil.init();
+        return jwtTokenUtil;
+    }
+
+    /**
+     * 生成指定算法的密钥定义（Base64 DER）
+     */
+    static JwtKeyDefinition generateKey(String kid, String algorithm) {
+        if (JwtKeyring.HS256.equals(algorithm)) {
+            return JwtKeyDefinition.builder().kid(kid).algorithm(algorithm)
+                    .secret("hs256-benchmark-secret-at-least-32-bytes").build();
+        }
+        try {
+            KeyPair keyPair;
+            if (JwtKeyring.ES256.equals(algorithm)) {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+                keyPair = generator.generateKeyPair();
+            } else {
+                keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+            }
+            Base64.Encoder encoder = Base64.getEncoder();
+            return JwtKeyDefinition.builder().kid(kid).algorithm(algorithm)
+                    .privateKey(encoder.encodeToString(keyPair.getPrivate().getEncoded()))
+                    .publicKey(encoder.encodeToString(keyPair.getPublic().getEncoded()))
+                    .build();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.rymcu.mortise.auth.util;
+
+import com.rymcu.mortise.auth.model.VerifiedToken;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 认证过滤器单次请求的 Token 处理开销：逐项解析对比解析一次
+ *
+ * <p>{@link #parsePerCheck()} 复现改造前过滤器的调用序列（黑名单取 jti、取用户名、校验用户名、校验过期，
+ * 共 4 次验签解析）；{@link #parseOnce()} 为改造后的序列。两者都不访问 Redis，只衡量 JWT 处理本身。
+ * {@code test-compile} 后直接执行 {@link #main(String[])}，或以测试类路径运行
+ * {@code org.openjdk.jmh.Main JwtTokenParseBenchmark}。</p>
+ *
+ * @author ronger
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenParseBenchmark {
+
+    private static final String USERNAME = "admin";
+
+    private JwtTokenUtil jwtTokenUtil;
+
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtTokenUtil = createJwtTokenUtil();
+        token = jwtTokenUtil.generateToken(USERNAME, Map.of("userType", "system", "nickname", "管理员"));
+    }
+
+    @Benchmark
+    public boolean parsePerCheck() {
+        String jti = jwtTokenUtil.getJtiFromToken(token);
+        String username = jwtTokenUtil.getUsernameFromToken(token);
+        return jti != null && username != null && jwtTokenUtil.validateToken(token, username);
+    }
+
+    @Benchmark
+    public boolean parseOnce() {
+        VerifiedToken verifiedToken = jwtTokenUtil.parseToken(token);
+        if (verifiedToken == null || verifiedToken.jti() == null) {
+            return false;
+        }
+        return jwtTokenUtil.validateToken(verifiedToken, verifiedToken.subject());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtTokenParseBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    static JwtTokenUtil createJwtTokenUtil() {
+        JwtTokenUtil jwtTokenUtil = new JwtTokenUtil();
+        ReflectionTestUtils.setField(jwtTokenUtil, "secret",
+                "mortise-secret-key-please-change-this-in-production-environment");
+        ReflectionTestUtils.setField(jwtTokenUtil, "expiration", 1800000L);
+        ReflectionTestUtils.setField(jwtTokenUtil, "refreshWindow", 300000L);
+        jwtTokenUtil.init();
+        return jwtTokenUtil;
+    }
+}
@@ -0,0 +1,131 @@
+package com.rymcu.mortise.auth.util;
+
+import com.rymcu.mortise.auth.config.JwtKeyringProperties;
+import com.rymcu.mortise.auth.model.JwtKeyDefinition;
+import com.rymcu.mortise.auth.model.VerifiedToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenUtilTest {
+
+    private static final String SECRET = "mortise-secret-key-please-change-this-in-production-environment";
+
+    private final JwtTokenUtil jwtTokenUtil = createJwtTokenUtil();
+
+    @Test
+    void parseTokenShouldExposeVerifiedClaims() {
+        String token = jwtTokenUtil.generateToken("admin");
+
+        VerifiedToken verifiedToken = jwtTokenUtil.parseToken(token);
+
+        assertNotNull(verifiedToken);
+        assertEquals("admin", verifiedToken.subject());
+        assertEquals(jwtTokenUtil.getJtiFromToken(token), verifiedToken.jti());
+        assertFalse(verifiedToken.isExpired());
+        assertTrue(jwtTokenUtil.validateToken(verifiedToken, "admin"));
+        assertFalse(jwtTokenUtil.validateToken(verifiedToken, "other"));
+    }
+
+    @Test
+    void parseTokenShouldReturnNullWhenSignatureIsInvalid() {
+        String token = jwtTokenUtil.generateToken("admin");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertNull(jwtTokenUtil.parseToken(tampered));
+        assertFalse(jwtTokenUtil.validateToken(tampered, "admin"));
+    }
+
+    @Test
+    void rotatedKeysShouldKeepVerifyingTokensSignedBeforeRotation() {
+        JwtKeyDefinition oldKey = generateKey("es-old", JwtKeyring.ES256);
+        JwtKeyDefinition newKey = generateKey("ed-new", JwtKeyring.EDDSA);
+        JwtKeyringProperties properties = new JwtKeyringProperties();
+        properties.setActiveKid("es-old");
+        properties.setKeys(new ArrayList<>(List.of(oldKey)));
+        JwtTokenUtil keyringTokenUtil = createJwtTokenUtil(properties);
+        String legacyToken = jwtTokenUtil.generateToken("admin");
+        String oldToken = keyringTokenUtil.generateToken("admin");
+
+        // 新密钥先加入密钥环，再切换为签名密钥，旧密钥仅保留公钥
+        properties.setKeys(List.of(JwtKeyDefinition.builder().kid("es-old").algorithm(JwtKeyring.ES256)
+                .publicKey(oldKey.getPublicKey()).build(), newKey));
+        properties.setActiveKid("ed-new");
+        assertTrue(keyringTokenUtil.reloadKeys());
+        String newToken = keyringTokenUtil.generateToken("admin");
+
+        assertEquals("admin", keyringTokenUtil.parseToken(oldToken).subject());
+        assertEquals("admin", keyringTokenUtil.parseToken(newToken).subject());
+        assertEquals("admin", keyringTokenUtil.parseToken(legacyToken).subject());
+        assertNull(jwtTokenUtil.parseToken(newToken), "verifier without the keyring must reject kid-signed tokens");
+
+        properties.setKeys(List.of(newKey));
+        properties.setLegacyHmacEnabled(false);
+        assertTrue(keyringTokenUtil.reloadKeys());
+        assertNull(keyringTokenUtil.parseToken(oldToken));
+        assertNull(keyringTokenUtil.parseToken(legacyToken));
+        assertNotNull(keyringTokenUtil.parseToken(newToken));
+    }
+
+    @Test
+    void invalidKeyringReloadShouldKeepCurrentKeys() {
+        JwtKeyringProperties properties = new JwtKeyringProperties();
+        properties.setActiveKid("hs");
+        properties.setKeys(List.of(generateKey("hs", JwtKeyring.HS256)));
+        JwtTokenUtil keyringTokenUtil = createJwtTokenUtil(properties);
+        String token = keyringTokenUtil.generateToken("admin");
+
+        properties.setActiveKid("missing");
+
+        assertFalse(keyringTokenUtil.reloadKeys());
+        assertNotNull(keyringTokenUtil.parseToken(token));
+        assertNotNull(keyringTokenUtil.parseToken(keyringTokenUtil.generateToken("admin")));
+    }
+
+    private static JwtTokenUtil createJwtTokenUtil() {
+        return createJwtTokenUtil(null);
+    }
+
+    private static JwtTokenUtil createJwtTokenUtil(JwtKeyringProperties properties) {
+        JwtTokenUtil jwtTokenUtil = new JwtTokenUtil();
+        ReflectionTestUtils.setField(jwtTokenUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtTokenUtil, "expiration", 1800000L);
+        ReflectionTestUtils.setField(jwtTokenUtil, "refreshWindow", 300000L);
+        ReflectionTestUtils.setField(jwtTokenUtil, "keyringProperties", properties);
+        jwtTokenUtil.init();
+        return jwtTokenUtil;
+    }
+
+    private static JwtKeyDefinition generateKey(String kid, String algorithm) {
+        if (JwtKeyring.HS256.equals(algorithm)) {
+            return JwtKeyDefinition.builder().kid(kid).algorithm(algorithm)
+                    .secret("jwt-token-util-test-hs256-secret-32-bytes").build();
+        }
+        try {
+            KeyPair keyPair;
+            if (JwtKeyring.ES256.equals(algorithm)) {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+                keyPair = generator.generateKeyPair();
+            } else {
+                keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+            }
+            Base64.Encoder encoder = Base64.getEncoder();
+            return JwtKeyDefinition.builder().kid(kid).algorithm(algorithm)
+                    .privateKey(encoder.encodeToString(keyPair.getPrivate().getEncoded()))
+                    .publicKey(encoder.encodeToString(keyPair.getPublic().getEncoded()))
+                    .build();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
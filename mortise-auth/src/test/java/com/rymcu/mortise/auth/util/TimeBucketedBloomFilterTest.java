@@ -0,0 +1,43 @@
+package com.rymcu.mortise.auth.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeBucketedBloomFilterTest {
+
+    @Test
+    void mightContainShouldHaveNoFalseNegativesAndFewFalsePositives() {
+        TimeBucketedBloomFilter filter = new TimeBucketedBloomFilter(60_000L, 1000, 0.01);
+        long now = 1_000_000L;
+        for (int i = 0; i < 1000; i++) {
+            filter.put("revoked-" + i, now + 300_000L, now);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(filter.mightContain("revoked-" + i, now));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContain("active-" + i, now)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void entriesShouldAgeOutWithTheirBucket() {
+        TimeBucketedBloomFilter filter = new TimeBucketedBloomFilter(60_000L, 100, 0.01);
+        long now = 1_000_000L;
+        filter.put("short", now + 30_000L, now);
+        filter.put("long", now + 600_000L, now);
+
+        assertTrue(filter.mightContain("short", now));
+        assertFalse(filter.mightContain("short", now + 120_000L));
+        assertTrue(filter.mightContain("long", now + 120_000L));
+
+        filter.evictExpired(now + 120_000L);
+        assertEquals(1, filter.bucketCount());
+    }
+}
@@ -7,8 +7,20 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.rymcu.mortise.cache.constant.CacheConstant;
+import com.rymcu.mortise.cache.index.CacheKeyIndex;
+import com.rymcu.mortise.cache.index.IndexingRedisCacheWriter;
+import com.rymcu.mortise.cache.load.CacheLoadCoordinator;
+import com.rymcu.mortise.cache.load.RedisLeaseLock;
+import com.rymcu.mortise.cache.load.StampedeProtectedCache;
+import com.rymcu.mortise.cache.local.LocalCacheInvalidationBroadcaster;
+import com.rymcu.mortise.cache.local.LocalCacheRegistry;
+import com.rymcu.mortise.cache.local.LocalCacheSpec;
+import com.rymcu.mortise.cache.local.TwoLevelCacheManager;
+import com.rymcu.mortise.cache.serializer.CompactRedisSerializer;
+import com.rymcu.mortise.cache.serializer.CompactTypeRegistry;
 import com.rymcu.mortise.cache.spi.CacheConfigurer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.cache.CacheManager;
@@ -23,6 +35,9 @@ import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -45,12 +60,16 @@ public class BaseCacheConfig implements CachingConfigurer {
 
     private final List<CacheConfigurer> cacheConfigurers;
 
+    private final MortiseCacheProperties cacheProperties;
+
     /**
      * 构造函数注入（使用 Optional 处理可选依赖）
      */
     @Autowired
-    public BaseCacheConfig(Optional<List<CacheConfigurer>> configurersOptional) {
+    public BaseCacheConfig(Optional<List<CacheConfigurer>> configurersOptional,
+                           MortiseCacheProperties cacheProperties) {
         this.cacheConfigurers = configurersOptional.orElse(null);
+        this.cacheProperties = cacheProperties;
     }
 
     /**
@@ -69,7 +88,13 @@ public class BaseCacheConfig implements CachingConfigurer {
      */
     @Bean
     @Primary
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                     LocalCacheRegistry localCacheRegistry,
+                                     LocalCacheInvalidationBroadcaster localCacheInvalidationBroadcaster,
+                                     CompactRedisSerializer compactRedisSerializer,
+                                     CacheLoadCoordinator cacheLoadCoordinator,
+                                     StringRedisTemplate stringRedisTemplate,
+                                     CacheKeyIndex cacheKeyIndex) {
         // 创建默认的Jackson序列化器
         Jackson2JsonRedisSerializer<Object> jackson2JsonRedisSerializer = createJacksonSerializer();
 
@@ -84,7 +109,9 @@ public class BaseCacheConfig implements CachingConfigurer {
 
         // 收集所有 CacheConfigurer 的配置
         Map<String, RedisCacheConfiguration> configurationMap = new HashMap<>();
-        
+        Set<String> compactCacheNames = new HashSet<>();
+        Set<String> stampedeProtectedCacheNames = new HashSet<>();
+
         if (cacheConfigurers != null && !cacheConfigurers.isEmpty()) {
             log.info("发现 {} 个缓存配置扩展", cacheConfigurers.size());
             
@@ -98,24 +125,174 @@ public class BaseCacheConfig implements CachingConfigurer {
                                 log.info("加载缓存配置: {} - {} 个缓存策略", 
                                         configurer.getClass().getSimpleName(), configs.size());
                             }
+                            Set<String> compactCaches = configurer.configureCompactCaches();
+                            if (compactCaches != null) {
+                                compactCacheNames.addAll(compactCaches);
+                            }
+                            Set<String> stampedeProtectedCaches = configurer.configureStampedeProtectedCaches();
+                            if (stampedeProtectedCaches != null) {
+                                stampedeProtectedCacheNames.addAll(stampedeProtectedCaches);
+                            }
                         } catch (Exception e) {
                             log.error("加载缓存配置失败: {}", configurer.getClass().getSimpleName(), e);
                         }
                     });
         }
 
+        // 紧凑格式缓存在各自配置（或默认配置）基础上替换值序列化器
+        RedisSerializationContext.SerializationPair<Object> compactPair =
+                RedisSerializationContext.SerializationPair.fromSerializer(compactRedisSerializer);
+        for (String cacheName : compactCacheNames) {
+            RedisCacheConfiguration config = configurationMap.getOrDefault(cacheName, defaultConfig);
+            configurationMap.put(cacheName, config.serializeValuesWith(compactPair));
+        }
+        if (!compactCacheNames.isEmpty()) {
+            log.info("启用紧凑二进制缓存格式: {}", compactCacheNames);
+        }
+
         // 构建缓存管理器
         RedisCacheWriter cacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory);
+        if (!cacheKeyIndex.isEmpty()) {
+            // 落在已索引命名空间内的 @Cacheable 写入同样登记索引
+            cacheWriter = new IndexingRedisCacheWriter(cacheWriter, cacheKeyIndex, stringRedisTemplate);
+        }
 
-        RedisCacheManager cacheManager = RedisCacheManager.builder(cacheWriter)
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(cacheWriter)
                 .cacheDefaults(defaultConfig)
-                .withInitialCacheConfigurations(configurationMap)
-                .transactionAware()
-                .build();
+                .withInitialCacheConfigurations(configurationMap);
 
         log.info("Redis 缓存管理器初始化完成，总共配置了 {} 个缓存策略", configurationMap.size());
 
-        return cacheManager;
+        if (localCacheRegistry.isEmpty() && stampedeProtectedCacheNames.isEmpty()) {
+            return builder.transactionAware().build();
+        }
+        if (!stampedeProtectedCacheNames.isEmpty()) {
+            log.info("启用缓存防击穿回源: {}", stampedeProtectedCacheNames);
+        }
+
+        // 存在本地一级缓存或防击穿装饰时由 TwoLevelCacheManager 负责事务感知装饰
+        TwoLevelCacheManager twoLevelCacheManager = new TwoLevelCacheManager(
+                builder.build(), localCacheRegistry, localCacheInvalidationBroadcaster,
+                cache -> stampedeProtectedCacheNames.contains(cache.getName())
+                        ? new StampedeProtectedCache(cache, cacheLoadCoordinator, stringRedisTemplate)
+                        : cache);
+        twoLevelCacheManager.setTransactionAware(true);
+        return twoLevelCacheManager;
+    }
+
+    /**
+     * 本地一级缓存注册表
+     * 汇总所有 CacheConfigurer 声明的 L1 规格，未声明或已禁用时为空注册表
+     */
+    @Bean
+    public LocalCacheRegistry localCacheRegistry() {
+        if (!cacheProperties.getLocal().isEnabled() || cacheConfigurers == null || cacheConfigurers.isEmpty()) {
+            return LocalCacheRegistry.empty();
+        }
+        Map<String, LocalCacheSpec> specs = new HashMap<>();
+        cacheConfigurers.stream()
+                .sorted(Comparator.comparingInt(CacheConfigurer::getOrder))
+                .forEach(configurer -> {
+                    try {
+                        Map<String, LocalCacheSpec> localSpecs = configurer.configureLocalCaches();
+                        if (localSpecs != null && !localSpecs.isEmpty()) {
+                            specs.putAll(localSpecs);
+                        }
+                    } catch (Exception e) {
+                        log.error("加载本地缓存配置失败: {}", configurer.getClass().getSimpleName(), e);
+                    }
+                });
+        return new LocalCacheRegistry(specs);
+    }
+
+    /**
+     * 缓存命名空间键索引
+     * 汇总所有 CacheConfigurer 声明的需要索引的命名空间
+     */
+    @Bean
+    public CacheKeyIndex cacheKeyIndex() {
+        if (cacheConfigurers == null || cacheConfigurers.isEmpty()) {
+            return CacheKeyIndex.empty();
+        }
+        Set<String> namespaces = new HashSet<>();
+        for (CacheConfigurer configurer : cacheConfigurers) {
+            try {
+                Set<String> indexed = configurer.configureKeyIndexes();
+                if (indexed != null) {
+                    namespaces.addAll(indexed);
+                }
+            } catch (Exception e) {
+                log.error("加载缓存键索引配置失败: {}", configurer.getClass().getSimpleName(), e);
+            }
+        }
+        if (!namespaces.isEmpty()) {
+            log.info("启用缓存命名空间键索引: {}", namespaces);
+        }
+        return new CacheKeyIndex(namespaces);
+    }
+
+    /**
+     * 缓存回源协调器
+     * 供 CacheService#getOrLoad 与防击穿缓存共用，未启用租约锁时仅做进程内单飞；
+     * 启用租约锁且存在 RedisMessageListenerContainer 时订阅租约释放通知，否则等待期间轮询缓存
+     */
+    @Bean
+    public CacheLoadCoordinator cacheLoadCoordinator(
+            StringRedisTemplate stringRedisTemplate,
+            ObjectProvider<RedisMessageListenerContainer> listenerContainerProvider) {
+        MortiseCacheProperties.Load load = cacheProperties.getLoad();
+        if (!load.isLockEnabled()) {
+            return new CacheLoadCoordinator(null, load);
+        }
+        RedisMessageListenerContainer container = listenerContainerProvider.getIfAvailable();
+        if (container == null) {
+            log.warn("未找到 RedisMessageListenerContainer，等待其他节点回源时轮询缓存");
+            return new CacheLoadCoordinator(new RedisLeaseLock(stringRedisTemplate, load.getLockLease()), load);
+        }
+        RedisLeaseLock leaseLock = new RedisLeaseLock(stringRedisTemplate, load.getLockLease(),
+                load.getReleaseChannel());
+        CacheLoadCoordinator coordinator = new CacheLoadCoordinator(leaseLock, load, true);
+        container.addMessageListener(coordinator, new ChannelTopic(load.getReleaseChannel()));
+        log.info("缓存回源租约释放通知已订阅: channel={}", load.getReleaseChannel());
+        return coordinator;
+    }
+
+    /**
+     * 紧凑二进制值序列化器
+     * 类型编号由各 CacheConfigurer 注册，无法识别的旧数据回退到 JSON 序列化器读取
+     */
+    @Bean
+    public CompactRedisSerializer compactRedisSerializer() {
+        CompactTypeRegistry registry = new CompactTypeRegistry();
+        if (cacheConfigurers != null) {
+            cacheConfigurers.stream()
+                    .sorted(Comparator.comparingInt(CacheConfigurer::getOrder))
+                    .forEach(configurer -> configurer.registerCompactTypes(registry));
+        }
+        return new CompactRedisSerializer(registry, createJacksonSerializer());
+    }
+
+    /**
+     * 本地一级缓存失效广播器
+     * 订阅失效频道需要 RedisMessageListenerContainer，未启用监听器容器时仅失效本节点
+     */
+    @Bean
+    public LocalCacheInvalidationBroadcaster localCacheInvalidationBroadcaster(
+            StringRedisTemplate stringRedisTemplate,
+            LocalCacheRegistry localCacheRegistry,
+            ObjectProvider<RedisMessageListenerContainer> listenerContainerProvider) {
+        LocalCacheInvalidationBroadcaster broadcaster = new LocalCacheInvalidationBroadcaster(
+                cacheProperties.getLocal().getInvalidationChannel(), stringRedisTemplate, localCacheRegistry);
+        if (!localCacheRegistry.isEmpty()) {
+            RedisMessageListenerContainer container = listenerContainerProvider.getIfAvailable();
+            if (container != null) {
+                container.addMessageListener(broadcaster, new ChannelTopic(broadcaster.getChannel()));
+                log.info("本地缓存失效广播已订阅: channel={}, nodeId={}", broadcaster.getChannel(), broadcaster.getNodeId());
+            } else {
+                log.warn("未找到 RedisMessageListenerContainer，本地缓存仅依赖过期时间跨节点收敛");
+            }
+        }
+        return broadcaster;
     }
 
     /**
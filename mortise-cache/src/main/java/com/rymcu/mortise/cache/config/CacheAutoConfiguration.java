@@ -3,28 +3,35 @@ package com.rymcu.mortise.cache.config;
 import com.rymcu.mortise.cache.listener.RedisKeyExpirationListener;
 import com.rymcu.mortise.cache.spi.CacheExpirationHandler;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * 缓存模块自动配置类
- * 自动配置 Redis 监听器和相关组件
+ * 自动配置 Redis 监听器和相关组件，并开启缓存版本对账等定时任务
  * 
  * @author ronger
  */
 @Slf4j
 @Configuration
+@EnableScheduling
 @ConditionalOnClass(RedisTemplate.class)
-@EnableConfigurationProperties(RedisProperties.class)
+@EnableConfigurationProperties({RedisProperties.class, MortiseCacheProperties.class})
 public class CacheAutoConfiguration {
 
     /**
@@ -40,6 +47,27 @@ public class CacheAutoConfiguration {
         return container;
     }
 
+    /**
+     * 键过期事件执行器
+     * 有界队列，队列满时丢弃事件而不是阻塞 Redis 监听线程；
+     * 核心线程数与最大线程数相同，否则只有队列排满后才会新建线程，积压期间始终单线程处理
+     */
+    @Bean(name = "cacheExpirationExecutor")
+    @ConditionalOnProperty(name = "mortise.cache.redis.expiration-listener.enabled", havingValue = "true", matchIfMissing = true)
+    public ThreadPoolTaskExecutor cacheExpirationExecutor(MortiseCacheProperties cacheProperties) {
+        MortiseCacheProperties.Expiration expiration = cacheProperties.getExpiration();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(expiration.getPoolSize());
+        executor.setMaxPoolSize(expiration.getPoolSize());
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setQueueCapacity(expiration.getQueueCapacity());
+        executor.setThreadNamePrefix("mortise-cache-expiration-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
     /**
      * Redis 键过期事件监听器
      * 基于 SPI 机制处理缓存失效事件
@@ -48,7 +76,11 @@ public class CacheAutoConfiguration {
     @ConditionalOnProperty(name = "mortise.cache.redis.expiration-listener.enabled", havingValue = "true", matchIfMissing = true)
     public RedisKeyExpirationListener redisKeyExpirationListener(
             RedisMessageListenerContainer listenerContainer,
-            Optional<List<CacheExpirationHandler>> handlersOptional) {
-        return new RedisKeyExpirationListener(listenerContainer, handlersOptional);
+            Optional<List<CacheExpirationHandler>> handlersOptional,
+            StringRedisTemplate stringRedisTemplate,
+            @Qualifier("cacheExpirationExecutor") TaskExecutor cacheExpirationExecutor,
+            MortiseCacheProperties cacheProperties) {
+        return new RedisKeyExpirationListener(listenerContainer, handlersOptional.orElse(List.of()),
+                stringRedisTemplate, cacheExpirationExecutor, cacheProperties.getExpiration());
     }
-}
\ No newline at end of file
+}
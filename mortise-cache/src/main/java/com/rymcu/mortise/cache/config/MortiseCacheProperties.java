@@ -0,0 +1,197 @@
+package com.rymcu.mortise.cache.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Mortise 缓存模块配置属性
+ *
+ * <p>配置示例：</p>
+ * <pre>
+ * mortise:
+ *   cache:
+ *     local:
+ *       enabled: true
+ *       invalidation-channel: mortise:cache:local:invalidation
+ *     scan:
+ *       count: 500
+ *       batch-size: 500
+ *       batch-interval: 5ms
+ *     load:
+ *       early-refresh-beta: 1.0
+ *       lock-enabled: false
+ *       lock-lease: 10s
+ *       lock-wait-timeout: 2s
+ *       lock-poll-interval: 50ms
+ *       release-channel: mortise:cache:load:released
+ *     expiration:
+ *       deduplicate: true
+ *       claim-ttl: 10s
+ *       pool-size: 4
+ *       queue-capacity: 1000
+ *     version:
+ *       channel: mortise:cache:version
+ *       reconcile-interval: 30s
+ * </pre>
+ *
+ * @author ronger
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "mortise.cache")
+public class MortiseCacheProperties {
+
+    /**
+     * 本地一级缓存（L1）配置
+     */
+    private Local local = new Local();
+
+    /**
+     * 模式删除（SCAN + UNLINK）配置
+     */
+    private Scan scan = new Scan();
+
+    /**
+     * 缓存回源（防击穿）配置
+     */
+    private Load load = new Load();
+
+    /**
+     * 键过期事件处理配置
+     */
+    private Expiration expiration = new Expiration();
+
+    /**
+     * 缓存版本号配置
+     */
+    private Version version = new Version();
+
+    /**
+     * 本地一级缓存配置
+     */
+    @Getter
+    @Setter
+    public static class Local {
+
+        /**
+         * 是否启用本地一级缓存，关闭后所有缓存直接访问 Redis
+         */
+        private boolean enabled = true;
+
+        /**
+         * 跨节点失效通知使用的 Redis 频道
+         */
+        private String invalidationChannel = "mortise:cache:local:invalidation";
+    }
+
+    /**
+     * 模式删除配置
+     */
+    @Getter
+    @Setter
+    public static class Scan {
+
+        /**
+         * 每次 SCAN 的 COUNT 提示值
+         */
+        private int count = 500;
+
+        /**
+         * 每批 UNLINK 的键数量
+         */
+        private int batchSize = 500;
+
+        /**
+         * 两批 UNLINK 之间的停顿时间，用于限制对 Redis 主线程的占用，为 0 时不停顿
+         */
+        private Duration batchInterval = Duration.ofMillis(5);
+    }
+
+    /**
+     * 缓存回源配置
+     */
+    @Getter
+    @Setter
+    public static class Load {
+
+        /**
+         * XFetch 提前重算系数，越大越早重算，为 0 时关闭提前重算
+         */
+        private double earlyRefreshBeta = 1.0;
+
+        /**
+         * 是否启用跨节点租约锁，关闭时仅在本节点内合并回源
+         */
+        private boolean lockEnabled = false;
+
+        /**
+         * 租约锁租期，应大于最慢一次回源的耗时
+         */
+        private Duration lockLease = Duration.ofSeconds(10);
+
+        /**
+         * 未获取到锁时等待其他节点写入结果的最长时间，超时后自行回源
+         */
+        private Duration lockWaitTimeout = Duration.ofSeconds(2);
+
+        /**
+         * 未订阅租约释放通知（无 RedisMessageListenerContainer）时，等待期间轮询缓存的间隔
+         */
+        private Duration lockPollInterval = Duration.ofMillis(50);
+
+        /**
+         * 租约释放通知使用的 Redis 频道，等待其他节点回源的线程收到通知后立即读取结果
+         */
+        private String releaseChannel = "mortise:cache:load:released";
+    }
+
+    /**
+     * 键过期事件处理配置
+     */
+    @Getter
+    @Setter
+    public static class Expiration {
+
+        /**
+         * 是否在集群内去重，开启后同一个过期键只由抢到认领标记的节点处理
+         */
+        private boolean deduplicate = true;
+
+        /**
+         * 认领标记的有效期，只需覆盖各节点收到同一事件的时间差；
+         * 同一个键在该时间内再次过期的事件会被视为重复
+         */
+        private Duration claimTtl = Duration.ofSeconds(10);
+
+        /**
+         * 处理线程数，事件积压时直接扩到该数量，空闲线程按 keep-alive 回收
+         */
+        private int poolSize = 4;
+
+        /**
+         * 待处理事件队列容量，队列满时本节点丢弃事件（集群部署时仍可由其他节点认领处理）
+         */
+        private int queueCapacity = 1000;
+    }
+
+    /**
+     * 缓存版本号配置
+     */
+    @Getter
+    @Setter
+    public static class Version {
+
+        /**
+         * 版本变更通知使用的 Redis 频道
+         */
+        private String channel = "mortise:cache:version";
+
+        /**
+         * 与 Redis 对账的间隔，兜底丢失的变更通知，须大于 0
+         */
+        private Duration reconcileInterval = Duration.ofSeconds(30);
+    }
+}
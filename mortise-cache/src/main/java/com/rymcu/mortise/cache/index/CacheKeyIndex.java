@@ -0,0 +1,110 @@
+package com.rymcu.mortise.cache.index;
+
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 缓存命名空间键索引
+ *
+ * <p>对声明了索引的命名空间，所有写入路径（String、哈希、集合、列表、计数器以及 {@code @Cacheable}）
+ * 都会把完整键记录到 {@code cache:index:<namespace>} 集合中，整个命名空间的批量驱逐只需遍历该集合，
+ * 无需扫描整个键空间；索引集合不存在时（如索引启用前写入的旧键）才退化为 SCAN。</p>
+ *
+ * <p>索引集合的过期时间跟随其中最晚过期的键延长；成员对应的键自然过期后不会从集合中移除，
+ * 这些残留成员会在下一次命名空间驱逐时被一并清理。</p>
+ *
+ * @author ronger
+ */
+public class CacheKeyIndex {
+
+    private static final String INDEX_KEY_PREFIX = "cache:index:";
+
+    /**
+     * 将键加入命名空间索引，并按键的 TTL 延长索引集合的过期时间；
+     * 写入永不过期的键时索引集合也不再过期
+     * <p>
+     * KEYS: 索引集合；ARGV: 完整键、键的 TTL 毫秒数（小于等于 0 表示永不过期）
+     */
+    public static final DefaultRedisScript<Long> REGISTER_SCRIPT = new DefaultRedisScript<>(
+            """
+                    local existed = redis.call('EXISTS', KEYS[1])
+                    redis.call('SADD', KEYS[1], ARGV[1])
+                    local ttl = tonumber(ARGV[2])
+                    if ttl <= 0 then
+                        redis.call('PERSIST', KEYS[1])
+                    elseif existed == 0 then
+                        redis.call('PEXPIRE', KEYS[1], ttl)
+                    else
+                        local current = redis.call('PTTL', KEYS[1])
+                        if current >= 0 and current < ttl then
+                            redis.call('PEXPIRE', KEYS[1], ttl)
+                        end
+                    end
+                    return 1
+                    """,
+            Long.class
+    );
+
+    private static final String KEY_SEPARATOR = ":";
+
+    private static final String NAMESPACE_WILDCARD = KEY_SEPARATOR + "*";
+
+    private final Set<String> namespaces;
+
+    /**
+     * 按长度倒序排列的命名空间，保证最长匹配优先
+     */
+    private final List<String> orderedNamespaces;
+
+    public CacheKeyIndex(Set<String> namespaces) {
+        this.namespaces = Set.copyOf(namespaces);
+        this.orderedNamespaces = namespaces.stream()
+                .sorted(Comparator.comparingInt(String::length).reversed())
+                .toList();
+    }
+
+    public static CacheKeyIndex empty() {
+        return new CacheKeyIndex(Set.of());
+    }
+
+    public boolean isEmpty() {
+        return namespaces.isEmpty();
+    }
+
+    /**
+     * 获取键所属的已索引命名空间
+     *
+     * @return 命名空间，未索引时返回 null
+     */
+    public String namespaceOf(String key) {
+        for (String namespace : orderedNamespaces) {
+            if (key.startsWith(namespace) && key.startsWith(KEY_SEPARATOR, namespace.length())) {
+                return namespace;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 判断模式是否恰好覆盖一个已索引命名空间（形如 {@code namespace:*}）
+     *
+     * @return 命名空间，不匹配时返回 null
+     */
+    public String namespaceOfPattern(String pattern) {
+        if (!pattern.endsWith(NAMESPACE_WILDCARD)) {
+            return null;
+        }
+        String namespace = pattern.substring(0, pattern.length() - NAMESPACE_WILDCARD.length());
+        return namespaces.contains(namespace) ? namespace : null;
+    }
+
+    /**
+     * 获取命名空间对应的索引集合键
+     */
+    public String indexKey(String namespace) {
+        return INDEX_KEY_PREFIX + namespace;
+    }
+}
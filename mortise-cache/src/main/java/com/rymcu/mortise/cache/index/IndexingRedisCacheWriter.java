@@ -0,0 +1,140 @@
+package com.rymcu.mortise.cache.index;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * 登记键索引的 {@link RedisCacheWriter} 装饰器
+ *
+ * <p>{@code @Cacheable} 写入的键落在已索引命名空间内时，在写入前登记到索引集合，
+ * 使 {@code CacheService#deleteNamespace} 只遍历索引即可覆盖这些键；其余操作原样委托。</p>
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+@Slf4j
+public class IndexingRedisCacheWriter implements RedisCacheWriter {
+
+    private final RedisCacheWriter delegate;
+
+    private final CacheKeyIndex cacheKeyIndex;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public IndexingRedisCacheWriter(RedisCacheWriter delegate, CacheKeyIndex cacheKeyIndex,
+                                    StringRedisTemplate stringRedisTemplate) {
+        this.delegate = delegate;
+        this.cacheKeyIndex = cacheKeyIndex;
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    @Override
+    @Nullable
+    public byte[] get(@NonNull String name, @NonNull byte[] key) {
+        return delegate.get(name, key);
+    }
+
+    @Override
+    @Nullable
+    public byte[] get(@NonNull String name, @NonNull byte[] key, @Nullable Duration ttl) {
+        return delegate.get(name, key, ttl);
+    }
+
+    @Override
+    public byte[] get(@NonNull String name, @NonNull byte[] key, @NonNull Supplier<byte[]> valueLoader,
+                      @Nullable Duration ttl, boolean timeToIdleEnabled) {
+        // 只有未命中回源时才会写入
+        return delegate.get(name, key, () -> {
+            index(key, ttl);
+            return valueLoader.get();
+        }, ttl, timeToIdleEnabled);
+    }
+
+    @Override
+    public boolean supportsAsyncRetrieve() {
+        return delegate.supportsAsyncRetrieve();
+    }
+
+    @Override
+    @NonNull
+    public CompletableFuture<byte[]> retrieve(@NonNull String name, @NonNull byte[] key, @Nullable Duration ttl) {
+        return delegate.retrieve(name, key, ttl);
+    }
+
+    @Override
+    public void put(@NonNull String name, @NonNull byte[] key, @NonNull byte[] value, @Nullable Duration ttl) {
+        index(key, ttl);
+        delegate.put(name, key, value, ttl);
+    }
+
+    @Override
+    @NonNull
+    public CompletableFuture<Void> store(@NonNull String name, @NonNull byte[] key, @NonNull byte[] value,
+                                         @Nullable Duration ttl) {
+        // 在调用线程登记，避免在 Redis 客户端的 I/O 线程上执行阻塞调用
+        index(key, ttl);
+        return delegate.store(name, key, value, ttl);
+    }
+
+    @Override
+    @Nullable
+    public byte[] putIfAbsent(@NonNull String name, @NonNull byte[] key, @NonNull byte[] value,
+                              @Nullable Duration ttl) {
+        index(key, ttl);
+        return delegate.putIfAbsent(name, key, value, ttl);
+    }
+
+    @Override
+    public void remove(@NonNull String name, @NonNull byte[] key) {
+        delegate.remove(name, key);
+    }
+
+    @Override
+    public void clean(@NonNull String name, @NonNull byte[] pattern) {
+        delegate.clean(name, pattern);
+    }
+
+    @Override
+    public void clearStatistics(@NonNull String name) {
+        delegate.clearStatistics(name);
+    }
+
+    @Override
+    @NonNull
+    public RedisCacheWriter withStatisticsCollector(@NonNull CacheStatisticsCollector cacheStatisticsCollector) {
+        return new IndexingRedisCacheWriter(delegate.withStatisticsCollector(cacheStatisticsCollector),
+                cacheKeyIndex, stringRedisTemplate);
+    }
+
+    @Override
+    @NonNull
+    public CacheStatistics getCacheStatistics(@NonNull String cacheName) {
+        return delegate.getCacheStatistics(cacheName);
+    }
+
+    private void index(byte[] rawKey, @Nullable Duration ttl) {
+        String key = new String(rawKey, StandardCharsets.UTF_8);
+        String namespace = cacheKeyIndex.namespaceOf(key);
+        if (namespace == null) {
+            return;
+        }
+        long ttlMillis = ttl != null && !ttl.isZero() && !ttl.isNegative() ? ttl.toMillis() : -1L;
+        try {
+            stringRedisTemplate.execute(CacheKeyIndex.REGISTER_SCRIPT,
+                    Collections.singletonList(cacheKeyIndex.indexKey(namespace)), key, String.valueOf(ttlMillis));
+        } catch (RuntimeException e) {
+            log.warn("登记缓存键索引失败: key={}, message={}", key, e.getMessage());
+        }
+    }
+}
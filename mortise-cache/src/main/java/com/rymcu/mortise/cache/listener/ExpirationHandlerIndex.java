@@ -0,0 +1,88 @@
+package com.rymcu.mortise.cache.listener;
+
+import com.rymcu.mortise.cache.spi.CacheExpirationHandler;
+
+import java.util.*;
+
+/**
+ * 过期处理器索引
+ *
+ * <p>启动时按优先级排序并按 {@link CacheExpirationHandler#getKeyPrefix()} 分组，
+ * 过期事件只需遍历少量前缀；未声明前缀的处理器才逐个调用 {@code supports}。
+ * 与任何处理器都不相关的键直接返回空列表，不产生额外开销。</p>
+ *
+ * @author ronger
+ */
+class ExpirationHandlerIndex {
+
+    /**
+     * 前缀 -> 处理器（已按优先级排序）
+     */
+    private final Map<String, List<CacheExpirationHandler>> handlersByPrefix;
+
+    /**
+     * 未声明前缀的处理器（已按优先级排序）
+     */
+    private final List<CacheExpirationHandler> genericHandlers;
+
+    ExpirationHandlerIndex(List<CacheExpirationHandler> handlers) {
+        Map<String, List<CacheExpirationHandler>> byPrefix = new LinkedHashMap<>();
+        List<CacheExpirationHandler> generic = new ArrayList<>();
+        handlers.stream()
+                .filter(CacheExpirationHandler::isEnabled)
+                .sorted(Comparator.comparingInt(CacheExpirationHandler::getOrder))
+                .forEach(handler -> {
+                    String prefix = handler.getKeyPrefix();
+                    if (prefix == null || prefix.isEmpty()) {
+                        generic.add(handler);
+                    } else {
+                        byPrefix.computeIfAbsent(prefix, key -> new ArrayList<>()).add(handler);
+                    }
+                });
+        byPrefix.replaceAll((prefix, list) -> List.copyOf(list));
+        this.handlersByPrefix = Collections.unmodifiableMap(byPrefix);
+        this.genericHandlers = List.copyOf(generic);
+    }
+
+    boolean isEmpty() {
+        return handlersByPrefix.isEmpty() && genericHandlers.isEmpty();
+    }
+
+    int prefixCount() {
+        return handlersByPrefix.size();
+    }
+
+    /**
+     * @return 按优先级排序的匹配处理器，没有匹配时返回空列表
+     */
+    List<CacheExpirationHandler> match(String expiredKey) {
+        List<CacheExpirationHandler> matched = null;
+        int sources = 0;
+        for (Map.Entry<String, List<CacheExpirationHandler>> entry : handlersByPrefix.entrySet()) {
+            if (expiredKey.startsWith(entry.getKey())) {
+                matched = append(matched, entry.getValue());
+                sources++;
+            }
+        }
+        for (CacheExpirationHandler handler : genericHandlers) {
+            if (handler.supports(expiredKey)) {
+                matched = append(matched, List.of(handler));
+                sources++;
+            }
+        }
+        if (matched == null) {
+            return List.of();
+        }
+        if (sources > 1) {
+            matched.sort(Comparator.comparingInt(CacheExpirationHandler::getOrder));
+        }
+        return matched;
+    }
+
+    private static List<CacheExpirationHandler> append(List<CacheExpirationHandler> matched,
+                                                       List<CacheExpirationHandler> handlers) {
+        List<CacheExpirationHandler> result = matched != null ? matched : new ArrayList<>(handlers.size());
+        result.addAll(handlers);
+        return result;
+    }
+}
@@ -1,18 +1,19 @@
 package com.rymcu.mortise.cache.listener;
 
+import com.rymcu.mortise.cache.config.MortiseCacheProperties;
 import com.rymcu.mortise.cache.spi.CacheExpirationHandler;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.listener.KeyExpirationEventMessageListener;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
-import org.springframework.stereotype.Component;
 
-import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Redis 键过期事件监听器
@@ -25,72 +26,108 @@ import java.util.Optional;
  *     <li>监听器会自动发现并调用相应的处理器</li>
  * </ol>
  *
+ * <p>处理器在启动时按键前缀建立索引；匹配到处理器的事件交给有界执行器异步处理，
+ * 监听线程不会被业务处理阻塞。每个节点都会收到同一个过期事件，执行前先以
+ * {@code SET NX PX} 写入认领标记，只有认领成功的节点调用处理器。</p>
+ *
  * @author ronger
  */
 @Slf4j
-@Component
 public class RedisKeyExpirationListener extends KeyExpirationEventMessageListener {
 
-    private final List<CacheExpirationHandler> expirationHandlers;
+    private static final String CLAIM_KEY_PREFIX = "cache:expired:claim:";
+
+    private final ExpirationHandlerIndex handlerIndex;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final TaskExecutor expirationExecutor;
+
+    private final MortiseCacheProperties.Expiration properties;
+
+    private final String nodeId = UUID.randomUUID().toString();
 
-    /**
-     * 构造函数注入（使用 Optional 处理可选依赖）
-     */
-    @Autowired
     public RedisKeyExpirationListener(RedisMessageListenerContainer listenerContainer,
-                                    Optional<List<CacheExpirationHandler>> handlersOptional) {
+                                      List<CacheExpirationHandler> expirationHandlers,
+                                      StringRedisTemplate stringRedisTemplate,
+                                      TaskExecutor expirationExecutor,
+                                      MortiseCacheProperties.Expiration properties) {
         super(listenerContainer);
-        this.expirationHandlers = handlersOptional.orElse(List.of());
-        log.info("Redis 键过期监听器初始化完成，发现 {} 个缓存失效处理器", expirationHandlers.size());
+        this.handlerIndex = new ExpirationHandlerIndex(expirationHandlers);
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.expirationExecutor = expirationExecutor;
+        this.properties = properties;
+        log.info("Redis 键过期监听器初始化完成，发现 {} 个缓存失效处理器，{} 个键前缀索引，集群去重: {}",
+                expirationHandlers.size(), handlerIndex.prefixCount(), properties.isDeduplicate());
 
         // 打印所有注册的处理器信息
         expirationHandlers.forEach(handler ->
-            log.info("注册缓存失效处理器: {} (优先级: {}, 启用: {})",
-                handler.getName(), handler.getOrder(), handler.isEnabled()));
+            log.info("注册缓存失效处理器: {} (优先级: {}, 启用: {}, 键前缀: {})",
+                handler.getName(), handler.getOrder(), handler.isEnabled(), handler.getKeyPrefix()));
     }
 
     /**
      * 处理 Redis 键过期事件
-     * 按优先级顺序调用所有支持的处理器
+     * 匹配处理器后提交到过期事件执行器，不在监听线程中执行业务逻辑
      *
      * @param message Redis 过期事件消息
      * @param pattern 匹配模式
      */
     @Override
     public void onMessage(@NonNull Message message, @Nullable byte[] pattern) {
-        String expiredKey = message.toString();
-        log.debug("检测到 Redis 键过期事件：{}", expiredKey);
+        if (!handlerIndex.isEmpty()) {
+            String expiredKey = message.toString();
+            List<CacheExpirationHandler> handlers = handlerIndex.match(expiredKey);
+            if (!handlers.isEmpty()) {
+                submit(expiredKey, handlers);
+            }
+        }
 
+        // 调用父类方法，确保框架默认行为正常执行
+        super.onMessage(message, pattern);
+    }
+
+    private void submit(String expiredKey, List<CacheExpirationHandler> handlers) {
         try {
-            // 查找支持处理该键的处理器
-            List<CacheExpirationHandler> supportedHandlers = expirationHandlers.stream()
-                    .filter(CacheExpirationHandler::isEnabled)
-                    .filter(handler -> handler.supports(expiredKey))
-                    .sorted(Comparator.comparingInt(CacheExpirationHandler::getOrder))
-                    .toList();
-
-            if (supportedHandlers.isEmpty()) {
-                log.debug("没有找到支持处理键 {} 的处理器", expiredKey);
-                return;
-            }
+            expirationExecutor.execute(() -> dispatch(expiredKey, handlers));
+        } catch (TaskRejectedException e) {
+            log.warn("键过期事件处理队列已满，本节点丢弃事件：{}", expiredKey);
+        }
+    }
 
-            // 依次调用所有支持的处理器
-            for (CacheExpirationHandler handler : supportedHandlers) {
-                try {
-                    log.debug("使用处理器 {} 处理键过期事件：{}", handler.getName(), expiredKey);
-                    handler.handle(expiredKey);
-                    log.debug("处理器 {} 成功处理键过期事件：{}", handler.getName(), expiredKey);
-                } catch (Exception e) {
-                    log.error("处理器 {} 处理键过期事件失败：{}", handler.getName(), expiredKey, e);
-                    // 继续处理其他处理器，不因一个处理器失败而中断
-                }
+    /**
+     * 认领成功后按优先级依次调用处理器
+     */
+    private void dispatch(String expiredKey, List<CacheExpirationHandler> handlers) {
+        if (!claim(expiredKey)) {
+            log.debug("键过期事件已由其他节点处理：{}", expiredKey);
+            return;
+        }
+        for (CacheExpirationHandler handler : handlers) {
+            try {
+                log.debug("使用处理器 {} 处理键过期事件：{}", handler.getName(), expiredKey);
+                handler.handle(expiredKey);
+            } catch (Exception e) {
+                log.error("处理器 {} 处理键过期事件失败：{}", handler.getName(), expiredKey, e);
+                // 继续处理其他处理器，不因一个处理器失败而中断
             }
-
-        } catch (Exception e) {
-            log.error("处理 Redis 键过期事件时发生异常：{}", expiredKey, e);
         }
+    }
 
-        // 调用父类方法，确保框架默认行为正常执行
-        super.onMessage(message, pattern);
+    /**
+     * 认领过期事件，Redis 不可用时按认领成功处理（宁可重复处理也不丢失）
+     */
+    private boolean claim(String expiredKey) {
+        if (!properties.isDeduplicate()) {
+            return true;
+        }
+        try {
+            Boolean claimed = stringRedisTemplate.opsForValue()
+                    .setIfAbsent(CLAIM_KEY_PREFIX + expiredKey, nodeId, properties.getClaimTtl());
+            return Boolean.TRUE.equals(claimed);
+        } catch (RuntimeException e) {
+            log.warn("认领键过期事件失败，由本节点直接处理：{}", expiredKey, e);
+            return true;
+        }
     }
 }
@@ -0,0 +1,281 @@
+package com.rymcu.mortise.cache.load;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rymcu.mortise.cache.config.MortiseCacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 缓存回源协调器（防击穿）
+ *
+ * <ul>
+ *     <li>未命中时按键单飞，同一节点上只有一个线程执行回源，其余线程共享结果；</li>
+ *     <li>启用租约锁时跨节点只有一个节点回源，其余节点等待租约释放通知后读取结果，等待超时后自行回源；
+ *     取得租约后先重读一次缓存，其他节点刚完成的回源不会被重复执行；</li>
+ *     <li>命中时按 XFetch 算法在过期前以一定概率提前重算：
+ *     {@code -delta * beta * ln(random) >= ttl}，其中 delta 为最近一次回源耗时，
+ *     回源越慢、剩余 TTL 越短，提前重算的概率越高；提前重算失败时继续返回旧值。</li>
+ * </ul>
+ *
+ * <p>回源耗时只记录在本节点，尚未在本节点回源过的键不会提前重算，也不会额外读取剩余 TTL。</p>
+ *
+ * <p>租约释放通知经 Redis pub/sub 送达（见 {@link RedisLeaseLock}），未订阅通知时退化为按
+ * {@code lock-poll-interval} 轮询缓存。</p>
+ *
+ * @author ronger
+ */
+@Slf4j
+public class CacheLoadCoordinator implements MessageListener {
+
+    private static final long RECOMPUTE_TRACKING_MAXIMUM_SIZE = 10_000;
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    private final RedisLeaseLock leaseLock;
+
+    private final MortiseCacheProperties.Load properties;
+
+    /**
+     * 键 -> 最近一次回源耗时（毫秒）
+     */
+    private final Cache<String, Long> recomputeMillis;
+
+    /**
+     * 是否已订阅租约释放通知
+     */
+    private final boolean releaseNotified;
+
+    /**
+     * 键 -> 等待其他节点释放租约的信号；单飞保证同一节点同一键最多一个等待者
+     */
+    private final ConcurrentMap<String, CompletableFuture<Void>> releaseSignals = new ConcurrentHashMap<>();
+
+    /**
+     * @param leaseLock  跨节点租约锁，为 null 时仅做进程内单飞
+     * @param properties 回源配置
+     */
+    public CacheLoadCoordinator(RedisLeaseLock leaseLock, MortiseCacheProperties.Load properties) {
+        this(leaseLock, properties, false);
+    }
+
+    /**
+     * @param leaseLock       跨节点租约锁，为 null 时仅做进程内单飞
+     * @param properties      回源配置
+     * @param releaseNotified 是否已订阅租约释放通知，未订阅时等待期间轮询缓存
+     */
+    public CacheLoadCoordinator(RedisLeaseLock leaseLock, MortiseCacheProperties.Load properties,
+                                boolean releaseNotified) {
+        this.leaseLock = leaseLock;
+        this.properties = properties;
+        this.releaseNotified = releaseNotified;
+        this.recomputeMillis = Caffeine.newBuilder()
+                .maximumSize(RECOMPUTE_TRACKING_MAXIMUM_SIZE)
+                .expireAfterWrite(1, TimeUnit.HOURS)
+                .build();
+    }
+
+    /**
+     * 读取缓存，未命中或需要提前重算时回源并写回
+     *
+     * @param key    缓存键，同时作为单飞与租约锁的键
+     * @param reader 缓存读取
+     * @param writer 缓存写入，仅在回源结果非 null 时调用
+     * @param loader 回源逻辑
+     * @return 缓存值或回源结果
+     */
+    public <T> T getOrLoad(String key, EntryReader<T> reader, Consumer<T> writer, Supplier<T> loader) {
+        Long delta = properties.getEarlyRefreshBeta() > 0 ? recomputeMillis.getIfPresent(key) : null;
+        Entry<T> entry = reader.read(delta != null);
+        if (entry != null) {
+            if (delta != null && shouldRefreshEarly(delta, entry.ttlMillis(), properties.getEarlyRefreshBeta(),
+                    1.0 - ThreadLocalRandom.current().nextDouble())) {
+                return refreshEarly(key, entry.value(), writer, loader);
+            }
+            return entry.value();
+        }
+        return singleFlight.execute(key, () -> loadOnMiss(key, reader, writer, loader));
+    }
+
+    /**
+     * XFetch 提前重算判定
+     *
+     * @param deltaMillis 回源耗时
+     * @param ttlMillis   剩余 TTL，小于 0 表示永不过期或未知
+     * @param beta        激进系数，大于 1 更倾向提前重算
+     * @param random      (0, 1] 区间的随机数
+     */
+    static boolean shouldRefreshEarly(long deltaMillis, long ttlMillis, double beta, double random) {
+        if (ttlMillis < 0) {
+            return false;
+        }
+        return -deltaMillis * beta * Math.log(random) >= ttlMillis;
+    }
+
+    private <T> T refreshEarly(String key, T staleValue, Consumer<T> writer, Supplier<T> loader) {
+        try {
+            return singleFlight.execute(key, () -> {
+                String token = null;
+                if (leaseLock != null) {
+                    token = leaseLock.tryAcquire(key);
+                    if (token == null) {
+                        // 其他节点正在重算
+                        return staleValue;
+                    }
+                }
+                try {
+                    T value = loadAndWrite(key, writer, loader);
+                    return value != null ? value : staleValue;
+                } finally {
+                    release(key, token);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("缓存提前重算失败，继续使用旧值: key={}", key, e);
+            return staleValue;
+        }
+    }
+
+    private <T> T loadOnMiss(String key, EntryReader<T> reader, Consumer<T> writer, Supplier<T> loader) {
+        if (leaseLock == null) {
+            return loadAndWrite(key, writer, loader);
+        }
+        // 先登记等待信号再抢锁，抢锁失败后才发生的释放也能被收到
+        CompletableFuture<Void> released = new CompletableFuture<>();
+        releaseSignals.put(key, released);
+        String token;
+        try {
+            token = leaseLock.tryAcquire(key);
+            if (token == null) {
+                Entry<T> loadedByPeer = awaitPeer(reader, released);
+                if (loadedByPeer != null) {
+                    return loadedByPeer.value();
+                }
+                token = leaseLock.tryAcquire(key);
+                if (token == null) {
+                    log.warn("等待其他节点回源超时，直接回源: key={}", key);
+                }
+            }
+        } finally {
+            releaseSignals.remove(key, released);
+        }
+        try {
+            if (token != null) {
+                // 其他节点可能在本次未命中之后、取得租约之前完成了回源
+                Entry<T> entry = reader.read(false);
+                if (entry != null) {
+                    return entry.value();
+                }
+            }
+            return loadAndWrite(key, writer, loader);
+        } finally {
+            release(key, token);
+        }
+    }
+
+    /**
+     * 等待持有租约的节点写入结果
+     *
+     * @return 缓存条目；超时、被中断或持有者释放租约却未写入时返回 null
+     */
+    private <T> Entry<T> awaitPeer(EntryReader<T> reader, CompletableFuture<Void> released) {
+        long deadline = System.nanoTime() + properties.getLockWaitTimeout().toNanos();
+        long pollNanos = Math.max(1L, properties.getLockPollInterval().toMillis()) * 1_000_000L;
+        while (true) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return null;
+            }
+            try {
+                released.get(releaseNotified ? remaining : Math.min(remaining, pollNanos), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // 未收到通知：订阅模式下已到截止时间，轮询模式下到了下一次读取
+            } catch (ExecutionException e) {
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            Entry<T> entry = reader.read(false);
+            if (entry != null) {
+                return entry;
+            }
+            if (released.isDone()) {
+                // 持有者回源结果为空或回源失败
+                return null;
+            }
+        }
+    }
+
+    /**
+     * 收到租约释放通知，唤醒本节点上等待该键的线程
+     */
+    @Override
+    public void onMessage(@NonNull Message message, @Nullable byte[] pattern) {
+        String key = new String(message.getBody(), StandardCharsets.UTF_8);
+        CompletableFuture<Void> released = releaseSignals.get(key);
+        if (released != null) {
+            released.complete(null);
+        }
+    }
+
+    private <T> T loadAndWrite(String key, Consumer<T> writer, Supplier<T> loader) {
+        long start = System.nanoTime();
+        T value = loader.get();
+        if (properties.getEarlyRefreshBeta() > 0) {
+            recomputeMillis.put(key, Math.max(1L, Duration.ofNanos(System.nanoTime() - start).toMillis()));
+        }
+        if (value != null) {
+            writer.accept(value);
+        }
+        return value;
+    }
+
+    private void release(String key, String token) {
+        if (token == null) {
+            return;
+        }
+        try {
+            leaseLock.release(key, token);
+        } catch (RuntimeException e) {
+            log.warn("释放缓存回源锁失败，等待租期到期: key={}", key, e);
+        }
+    }
+
+    /**
+     * 缓存条目
+     *
+     * @param value     缓存值
+     * @param ttlMillis 剩余 TTL（毫秒），小于 0 表示永不过期或未读取
+     */
+    public record Entry<T>(T value, long ttlMillis) {
+    }
+
+    /**
+     * 缓存读取
+     */
+    @FunctionalInterface
+    public interface EntryReader<T> {
+
+        /**
+         * @param withTtl 是否需要同时读取剩余 TTL
+         * @return 缓存条目，未命中时返回 null
+         */
+        Entry<T> read(boolean withTtl);
+    }
+}
@@ -0,0 +1,79 @@
+package com.rymcu.mortise.cache.load;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 基于 Redis 租约的跨节点加载锁
+ *
+ * <p>{@code SET NX PX} 获取带租期的锁，持有者崩溃时锁随租期自动释放；
+ * 释放时校验令牌，避免租期过后误删其他节点重新获取的锁。
+ * 配置了释放通知频道时，成功释放后在同一脚本内把缓存键发布到该频道，唤醒其他节点上等待的线程。</p>
+ *
+ * @author ronger
+ */
+public class RedisLeaseLock {
+
+    private static final String LOCK_KEY_PREFIX = "cache:lock:";
+
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            """
+                    if redis.call('GET', KEYS[1]) == ARGV[1] then
+                        redis.call('DEL', KEYS[1])
+                        if ARGV[2] ~= '' then
+                            redis.call('PUBLISH', ARGV[2], ARGV[3])
+                        end
+                        return 1
+                    end
+                    return 0
+                    """,
+            Long.class
+    );
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final Duration lease;
+
+    /**
+     * 释放通知频道，为 null 时不发布
+     */
+    private final String releaseChannel;
+
+    public RedisLeaseLock(StringRedisTemplate stringRedisTemplate, Duration lease) {
+        this(stringRedisTemplate, lease, null);
+    }
+
+    public RedisLeaseLock(StringRedisTemplate stringRedisTemplate, Duration lease, String releaseChannel) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.lease = lease;
+        this.releaseChannel = releaseChannel;
+    }
+
+    /**
+     * 尝试获取锁
+     *
+     * @param key 缓存键
+     * @return 锁令牌，未获取到时返回 null
+     */
+    public String tryAcquire(String key) {
+        String token = UUID.randomUUID().toString();
+        Boolean acquired = stringRedisTemplate.opsForValue().setIfAbsent(lockKey(key), token, lease);
+        return Boolean.TRUE.equals(acquired) ? token : null;
+    }
+
+    /**
+     * 释放锁，令牌不匹配（租期已过且被他人获取）时不做任何操作
+     */
+    public void release(String key, String token) {
+        stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(lockKey(key)), token,
+                releaseChannel != null ? releaseChannel : "", key);
+    }
+
+    private String lockKey(String key) {
+        return LOCK_KEY_PREFIX + key;
+    }
+}
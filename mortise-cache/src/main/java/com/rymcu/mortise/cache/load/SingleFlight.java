@@ -0,0 +1,78 @@
+package com.rymcu.mortise.cache.load;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * 进程内单飞（single-flight）执行器
+ *
+ * <p>同一个键同一时刻只有一个线程执行加载，其余并发调用等待并共享同一结果（包括异常），
+ * 加载结束后立即移除，后续调用重新执行。</p>
+ *
+ * <p>加载逻辑内部以同一个键再次调用（同一线程重入）时直接执行，不等待自身持有的加载，避免死锁。</p>
+ *
+ * @author ronger
+ */
+public class SingleFlight {
+
+    private final ConcurrentMap<String, Call> calls = new ConcurrentHashMap<>();
+
+    /**
+     * 执行或加入键对应的加载
+     *
+     * @param key      加载键
+     * @param supplier 加载逻辑，仅由首个调用线程执行
+     * @return 加载结果
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> supplier) {
+        Call call = new Call(Thread.currentThread());
+        Call inFlight = calls.putIfAbsent(key, call);
+        if (inFlight != null) {
+            if (inFlight.owner == call.owner) {
+                return supplier.get();
+            }
+            return (T) await(inFlight);
+        }
+        try {
+            T value = supplier.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, call);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 进行中的加载，记录执行线程以识别重入
+     */
+    private static final class Call extends CompletableFuture<Object> {
+
+        private final Thread owner;
+
+        private Call(Thread owner) {
+            this.owner = owner;
+        }
+    }
+}
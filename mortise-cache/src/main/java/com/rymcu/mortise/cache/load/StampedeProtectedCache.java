@@ -0,0 +1,139 @@
+package com.rymcu.mortise.cache.load;
+
+import com.rymcu.mortise.cache.constant.CacheConstant;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 防击穿的 Redis 缓存装饰
+ *
+ * <p>{@code @Cacheable(sync = true)} 调用的 {@link #get(Object, Callable)} 交给
+ * {@link CacheLoadCoordinator} 处理：单飞回源、可选的跨节点租约锁以及 XFetch 提前重算；
+ * 其余操作原样委托给被装饰的缓存。未声明 {@code sync = true} 的 {@code @Cacheable}
+ * 不经过值加载器，不受保护。</p>
+ *
+ * @author ronger
+ */
+public class StampedeProtectedCache implements Cache {
+
+    private final Cache delegate;
+
+    private final CacheLoadCoordinator coordinator;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 与 RedisCacheManager 计算出的键前缀保持一致
+     */
+    private final String keyPrefix;
+
+    public StampedeProtectedCache(Cache delegate, CacheLoadCoordinator coordinator,
+                                  StringRedisTemplate stringRedisTemplate) {
+        this.delegate = delegate;
+        this.coordinator = coordinator;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.keyPrefix = CacheConstant.CACHE_NAME_PREFIX + delegate.getName() + ":";
+    }
+
+    @Override
+    @NonNull
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    @NonNull
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(@NonNull Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    @Nullable
+    public <T> T get(@NonNull Object key, @Nullable Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+        String redisKey = keyPrefix + key;
+        return coordinator.getOrLoad(redisKey,
+                withTtl -> {
+                    ValueWrapper wrapper = delegate.get(key);
+                    if (wrapper == null) {
+                        return null;
+                    }
+                    long ttlMillis = -1L;
+                    if (withTtl) {
+                        Long expire = stringRedisTemplate.getExpire(redisKey, TimeUnit.MILLISECONDS);
+                        ttlMillis = expire != null ? expire : -1L;
+                    }
+                    return new CacheLoadCoordinator.Entry<>((T) wrapper.get(), ttlMillis);
+                },
+                value -> delegate.put(key, value),
+                () -> {
+                    try {
+                        return valueLoader.call();
+                    } catch (Exception e) {
+                        throw new ValueRetrievalException(key, valueLoader, e);
+                    }
+                });
+    }
+
+    @Override
+    @Nullable
+    public CompletableFuture<?> retrieve(@NonNull Object key) {
+        return delegate.retrieve(key);
+    }
+
+    @Override
+    @NonNull
+    public <T> CompletableFuture<T> retrieve(@NonNull Object key, @NonNull Supplier<CompletableFuture<T>> valueLoader) {
+        return delegate.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(@NonNull Object key, @Nullable Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(@NonNull Object key, @Nullable Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(@NonNull Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(@NonNull Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+}
@@ -0,0 +1,100 @@
+package com.rymcu.mortise.cache.local;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * 本地一级缓存跨节点失效广播器
+ *
+ * <p>写入或删除 L1 区域内的键时，先失效本节点条目，再通过 Redis pub/sub 通知其他节点。
+ * 消息格式为 {@code nodeId|K|key}（单键）或 {@code nodeId|P|pattern}（模式），
+ * 本节点发出的消息会被忽略。</p>
+ *
+ * @author ronger
+ */
+@Slf4j
+public class LocalCacheInvalidationBroadcaster implements MessageListener {
+
+    private static final char SEPARATOR = '|';
+    private static final char TYPE_KEY = 'K';
+    private static final char TYPE_PATTERN = 'P';
+
+    @Getter
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Getter
+    private final String channel;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final LocalCacheRegistry registry;
+
+    public LocalCacheInvalidationBroadcaster(String channel, StringRedisTemplate stringRedisTemplate,
+                                             LocalCacheRegistry registry) {
+        this.channel = channel;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.registry = registry;
+    }
+
+    /**
+     * 失效单个键（本节点 + 其他节点）
+     */
+    public void evict(String key) {
+        LocalCacheRegion region = registry.resolve(key);
+        if (region == null) {
+            return;
+        }
+        region.invalidate(key);
+        publish(TYPE_KEY, key);
+    }
+
+    /**
+     * 按模式失效（本节点 + 其他节点）
+     */
+    public void evictMatching(String pattern) {
+        if (registry.isEmpty()) {
+            return;
+        }
+        registry.invalidateMatching(pattern);
+        publish(TYPE_PATTERN, pattern);
+    }
+
+    private void publish(char type, String key) {
+        String message = nodeId + SEPARATOR + type + SEPARATOR + key;
+        try {
+            stringRedisTemplate.convertAndSend(channel, message);
+        } catch (RuntimeException e) {
+            // 通知失败时其他节点依赖 L1 过期时间兜底
+            log.warn("发布本地缓存失效通知失败: key={}, message={}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(@NonNull Message message, @Nullable byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int first = body.indexOf(SEPARATOR);
+        if (first < 0 || body.length() < first + 3 || body.charAt(first + 2) != SEPARATOR) {
+            log.warn("忽略无法识别的本地缓存失效通知: {}", body);
+            return;
+        }
+        if (nodeId.regionMatches(0, body, 0, first) && nodeId.length() == first) {
+            return;
+        }
+        char type = body.charAt(first + 1);
+        String key = body.substring(first + 3);
+        if (type == TYPE_KEY) {
+            registry.invalidate(key);
+        } else if (type == TYPE_PATTERN) {
+            registry.invalidateMatching(key);
+        }
+        log.debug("收到本地缓存失效通知: type={}, key={}", type, key);
+    }
+}
@@ -0,0 +1,62 @@
+package com.rymcu.mortise.cache.local;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+
+/**
+ * 本地一级缓存区域
+ *
+ * <p>每个启用 L1 的缓存名称对应一个区域，条目键为完整的 Redis 键，
+ * 因此 {@code CacheService} 与 {@code @Cacheable} 两条链路的条目不会互相覆盖。</p>
+ *
+ * @author ronger
+ */
+public class LocalCacheRegion {
+
+    @Getter
+    private final String name;
+
+    private final Cache<String, Object> store;
+
+    LocalCacheRegion(String name, LocalCacheSpec spec) {
+        this.name = name;
+        this.store = Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfterWrite(spec.getExpireAfterWrite())
+                .build();
+    }
+
+    public Object get(String key) {
+        return store.getIfPresent(key);
+    }
+
+    public void put(String key, Object value) {
+        if (value != null) {
+            store.put(key, value);
+        }
+    }
+
+    public void invalidate(String key) {
+        store.invalidate(key);
+    }
+
+    /**
+     * 失效所有以指定前缀开头的条目
+     */
+    public void invalidateByPrefix(String prefix) {
+        if (prefix.isEmpty()) {
+            store.invalidateAll();
+            return;
+        }
+        store.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    public void invalidateAll() {
+        store.invalidateAll();
+    }
+
+    public long estimatedSize() {
+        return store.estimatedSize();
+    }
+}
@@ -0,0 +1,126 @@
+package com.rymcu.mortise.cache.local;
+
+import com.rymcu.mortise.cache.constant.CacheConstant;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 本地一级缓存注册表
+ *
+ * <p>根据 {@link LocalCacheSpec} 为每个缓存名称创建 {@link LocalCacheRegion}，
+ * 并负责把 Redis 键解析到所属区域。以下两种键格式都会被识别：</p>
+ * <ul>
+ *     <li>{@code CacheService} 写入的 {@code cacheName:key}</li>
+ *     <li>{@code RedisCacheManager} 写入的 {@code mortise:cacheName:key}</li>
+ * </ul>
+ *
+ * @author ronger
+ */
+@Slf4j
+public class LocalCacheRegistry {
+
+    private static final String KEY_SEPARATOR = ":";
+
+    private final Map<String, LocalCacheRegion> regions;
+
+    /**
+     * 键前缀 -> 区域，按前缀长度倒序排列，保证最长匹配优先
+     */
+    private final List<Map.Entry<String, LocalCacheRegion>> prefixIndex;
+
+    public LocalCacheRegistry(Map<String, LocalCacheSpec> specs) {
+        Map<String, LocalCacheRegion> regionMap = new HashMap<>();
+        List<Map.Entry<String, LocalCacheRegion>> index = new ArrayList<>();
+        specs.forEach((cacheName, spec) -> {
+            LocalCacheRegion region = new LocalCacheRegion(cacheName, spec);
+            regionMap.put(cacheName, region);
+            index.add(Map.entry(cacheName + KEY_SEPARATOR, region));
+            index.add(Map.entry(CacheConstant.CACHE_NAME_PREFIX + cacheName + KEY_SEPARATOR, region));
+            log.info("启用本地一级缓存: cacheName={}, maximumSize={}, expireAfterWrite={}",
+                    cacheName, spec.getMaximumSize(), spec.getExpireAfterWrite());
+        });
+        index.sort(Comparator.comparingInt((Map.Entry<String, LocalCacheRegion> entry) -> entry.getKey().length())
+                .reversed());
+        this.regions = Map.copyOf(regionMap);
+        this.prefixIndex = List.copyOf(index);
+    }
+
+    public static LocalCacheRegistry empty() {
+        return new LocalCacheRegistry(Map.of());
+    }
+
+    public boolean isEmpty() {
+        return regions.isEmpty();
+    }
+
+    /**
+     * 按缓存名称获取区域
+     *
+     * @return 区域，未启用 L1 时返回 null
+     */
+    public LocalCacheRegion region(String cacheName) {
+        return regions.get(cacheName);
+    }
+
+    /**
+     * 将完整的 Redis 键解析到所属区域
+     *
+     * @return 区域，键不属于任何 L1 区域时返回 null
+     */
+    public LocalCacheRegion resolve(String key) {
+        if (key == null || prefixIndex.isEmpty()) {
+            return null;
+        }
+        for (Map.Entry<String, LocalCacheRegion> entry : prefixIndex) {
+            if (key.startsWith(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 失效单个键
+     */
+    public void invalidate(String key) {
+        LocalCacheRegion region = resolve(key);
+        if (region != null) {
+            region.invalidate(key);
+        }
+    }
+
+    /**
+     * 按 Redis glob 模式失效条目
+     *
+     * <p>只取模式中第一个通配符之前的字面前缀做匹配，可能多失效但不会漏失效。</p>
+     */
+    public void invalidateMatching(String pattern) {
+        if (pattern == null || prefixIndex.isEmpty()) {
+            return;
+        }
+        String literalPrefix = literalPrefix(pattern);
+        for (Map.Entry<String, LocalCacheRegion> entry : prefixIndex) {
+            String regionPrefix = entry.getKey();
+            if (regionPrefix.startsWith(literalPrefix)) {
+                entry.getValue().invalidateByPrefix(regionPrefix);
+            } else if (literalPrefix.startsWith(regionPrefix)) {
+                entry.getValue().invalidateByPrefix(literalPrefix);
+            }
+        }
+    }
+
+    static String literalPrefix(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '*' || c == '?' || c == '[' || c == '\\') {
+                return pattern.substring(0, i);
+            }
+        }
+        return pattern;
+    }
+}
@@ -0,0 +1,44 @@
+package com.rymcu.mortise.cache.local;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * 本地一级缓存（L1）规格
+ *
+ * <p>通过 {@link com.rymcu.mortise.cache.spi.CacheConfigurer#configureLocalCaches()} 按缓存名称声明。
+ * L1 的过期时间应明显短于 Redis 中的 TTL，用于兜底失效通知丢失的场景。</p>
+ *
+ * @author ronger
+ */
+@Getter
+public final class LocalCacheSpec {
+
+    /**
+     * 最大条目数
+     */
+    private final long maximumSize;
+
+    /**
+     * 写入后过期时间
+     */
+    private final Duration expireAfterWrite;
+
+    private LocalCacheSpec(long maximumSize, Duration expireAfterWrite) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        Objects.requireNonNull(expireAfterWrite, "expireAfterWrite must not be null");
+        if (expireAfterWrite.isNegative() || expireAfterWrite.isZero()) {
+            throw new IllegalArgumentException("expireAfterWrite must be positive");
+        }
+        this.maximumSize = maximumSize;
+        this.expireAfterWrite = expireAfterWrite;
+    }
+
+    public static LocalCacheSpec of(long maximumSize, Duration expireAfterWrite) {
+        return new LocalCacheSpec(maximumSize, expireAfterWrite);
+    }
+}
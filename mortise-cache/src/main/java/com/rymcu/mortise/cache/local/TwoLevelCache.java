@@ -0,0 +1,151 @@
+package com.rymcu.mortise.cache.local;
+
+import com.rymcu.mortise.cache.constant.CacheConstant;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * 两级缓存：本地 L1（Caffeine）+ Redis L2
+ *
+ * <p>读取优先命中 L1，未命中时回源 Redis 并回填 L1；写入与删除直接作用于 Redis，
+ * 随后失效本节点 L1 并广播到其他节点。L1 中的对象与调用方共享引用，
+ * 因此只适合缓存读多写少且不会被调用方修改的数据。</p>
+ *
+ * @author ronger
+ */
+public class TwoLevelCache implements Cache {
+
+    private final Cache delegate;
+
+    private final LocalCacheRegion region;
+
+    private final LocalCacheInvalidationBroadcaster broadcaster;
+
+    /**
+     * 与 RedisCacheManager 计算出的键前缀保持一致
+     */
+    private final String keyPrefix;
+
+    public TwoLevelCache(Cache delegate, LocalCacheRegion region, LocalCacheInvalidationBroadcaster broadcaster) {
+        this.delegate = delegate;
+        this.region = region;
+        this.broadcaster = broadcaster;
+        this.keyPrefix = CacheConstant.CACHE_NAME_PREFIX + delegate.getName() + ":";
+    }
+
+    private String localKey(Object key) {
+        return keyPrefix + key;
+    }
+
+    @Override
+    @NonNull
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    @NonNull
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(@NonNull Object key) {
+        String localKey = localKey(key);
+        Object cached = region.get(localKey);
+        if (cached != null) {
+            return new SimpleValueWrapper(cached);
+        }
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper != null) {
+            region.put(localKey, wrapper.get());
+        }
+        return wrapper;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, @Nullable Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Object cached = region.get(localKey);
+        if (cached != null) {
+            return (T) cached;
+        }
+        T value = delegate.get(key, valueLoader);
+        region.put(localKey, value);
+        return value;
+    }
+
+    @Override
+    @Nullable
+    public CompletableFuture<?> retrieve(@NonNull Object key) {
+        return delegate.retrieve(key);
+    }
+
+    @Override
+    @NonNull
+    public <T> CompletableFuture<T> retrieve(@NonNull Object key, @NonNull Supplier<CompletableFuture<T>> valueLoader) {
+        return delegate.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(@NonNull Object key, @Nullable Object value) {
+        delegate.put(key, value);
+        broadcaster.evict(localKey(key));
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(@NonNull Object key, @Nullable Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        broadcaster.evict(localKey(key));
+        return existing;
+    }
+
+    @Override
+    public void evict(@NonNull Object key) {
+        delegate.evict(key);
+        broadcaster.evict(localKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(@NonNull Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        broadcaster.evict(localKey(key));
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        broadcaster.evictMatching(keyPrefix + "*");
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = delegate.invalidate();
+        broadcaster.evictMatching(keyPrefix + "*");
+        return invalidated;
+    }
+}
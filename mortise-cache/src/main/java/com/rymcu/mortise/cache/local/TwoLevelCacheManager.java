@@ -0,0 +1,70 @@
+package com.rymcu.mortise.cache.local;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.function.UnaryOperator;
+
+/**
+ * 两级缓存管理器
+ *
+ * <p>包装 {@link RedisCacheManager}：在 {@link LocalCacheRegistry} 中声明了 L1 的缓存名称
+ * 返回 {@link TwoLevelCache}，其余缓存原样返回 Redis 缓存。事务感知由本管理器统一装饰，
+ * 因此被包装的 {@link RedisCacheManager} 不应再开启 {@code transactionAware()}。</p>
+ *
+ * <p>{@code redisCacheDecorator} 在套上 L1 之前作用于 Redis 缓存（如防击穿装饰），
+ * L1 命中时不会经过该装饰。</p>
+ *
+ * @author ronger
+ */
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    private final RedisCacheManager redisCacheManager;
+
+    private final LocalCacheRegistry registry;
+
+    private final LocalCacheInvalidationBroadcaster broadcaster;
+
+    private final UnaryOperator<Cache> redisCacheDecorator;
+
+    public TwoLevelCacheManager(RedisCacheManager redisCacheManager, LocalCacheRegistry registry,
+                                LocalCacheInvalidationBroadcaster broadcaster) {
+        this(redisCacheManager, registry, broadcaster, UnaryOperator.identity());
+    }
+
+    public TwoLevelCacheManager(RedisCacheManager redisCacheManager, LocalCacheRegistry registry,
+                                LocalCacheInvalidationBroadcaster broadcaster,
+                                UnaryOperator<Cache> redisCacheDecorator) {
+        this.redisCacheManager = redisCacheManager;
+        this.registry = registry;
+        this.broadcaster = broadcaster;
+        this.redisCacheDecorator = redisCacheDecorator;
+    }
+
+    @Override
+    @NonNull
+    protected Collection<? extends Cache> loadCaches() {
+        redisCacheManager.initializeCaches();
+        return redisCacheManager.getCacheNames().stream()
+                .map(redisCacheManager::getCache)
+                .map(this::decorate)
+                .toList();
+    }
+
+    @Override
+    @Nullable
+    protected Cache getMissingCache(@NonNull String name) {
+        Cache cache = redisCacheManager.getCache(name);
+        return cache != null ? decorate(cache) : null;
+    }
+
+    private Cache decorate(Cache redisCache) {
+        Cache cache = redisCacheDecorator.apply(redisCache);
+        LocalCacheRegion region = registry.region(cache.getName());
+        return region != null ? new TwoLevelCache(cache, region, broadcaster) : cache;
+    }
+}
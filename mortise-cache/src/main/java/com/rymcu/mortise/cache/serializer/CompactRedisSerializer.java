@@ -0,0 +1,232 @@
+package com.rymcu.mortise.cache.serializer;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.MapperConfig;
+import com.fasterxml.jackson.databind.jsontype.NamedType;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.TypeIdResolver;
+import com.fasterxml.jackson.databind.jsontype.impl.ClassNameIdResolver;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.util.ClassUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 紧凑二进制 Redis 值序列化器
+ *
+ * <p>格式：{@code MAGIC | VERSION | 根类型标识 | Smile 负载}。根类型标识为
+ * {@link CompactTypeRegistry} 中的编号（varint），未注册时为 0 + 全限定类名；
+ * 负载内部的多态类型同样优先使用注册编号，避免每个值都携带完整类名。</p>
+ *
+ * <p>首字节不是 {@link #MAGIC} 的数据交给回退序列化器（现有 JSON 格式）读取，
+ * 因此切换到本序列化器后旧条目仍可正常读取，并在下次写入时转换为新格式。</p>
+ *
+ * @author ronger
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    /**
+     * 格式标识，JSON 文本不会以该字节开头
+     */
+    static final byte MAGIC = (byte) 0xCB;
+
+    /**
+     * 格式版本，不兼容的编码变更时递增
+     */
+    static final byte FORMAT_VERSION = 1;
+
+    private static final String TYPE_PROPERTY = "@t";
+
+    private static final byte[] EMPTY_ARRAY = new byte[0];
+
+    private final CompactTypeRegistry registry;
+
+    private final RedisSerializer<Object> fallbackSerializer;
+
+    private final ObjectMapper mapper;
+
+    public CompactRedisSerializer(CompactTypeRegistry registry, RedisSerializer<Object> fallbackSerializer) {
+        this.registry = registry;
+        this.fallbackSerializer = fallbackSerializer;
+        this.mapper = createMapper(registry);
+    }
+
+    private static ObjectMapper createMapper(CompactTypeRegistry registry) {
+        SmileFactory smileFactory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        ObjectMapper mapper = new ObjectMapper(smileFactory);
+        mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        mapper.setDefaultTyping(new CompactTypeResolverBuilder(registry)
+                .init(JsonTypeInfo.Id.CUSTOM, null)
+                .inclusion(JsonTypeInfo.As.PROPERTY)
+                .typeProperty(TYPE_PROPERTY));
+        mapper.registerModule(new JavaTimeModule());
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        return mapper;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return EMPTY_ARRAY;
+        }
+        Object normalized = normalizeRoot(value);
+        Class<?> type = normalized.getClass();
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+            out.write(MAGIC);
+            out.write(FORMAT_VERSION);
+            writeTypeTag(out, type);
+            mapper.writerFor(type).writeValue(out, normalized);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new SerializationException("Could not write compact cache value: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return fallbackSerializer.deserialize(bytes);
+        }
+        if (bytes.length < 3 || bytes[1] != FORMAT_VERSION) {
+            throw new SerializationException("Unsupported compact cache format version: "
+                    + (bytes.length > 1 ? bytes[1] : "missing"));
+        }
+        int[] position = {2};
+        Class<?> type = readTypeTag(bytes, position);
+        try {
+            return mapper.readerFor(type).readValue(bytes, position[0], bytes.length - position[0]);
+        } catch (IOException e) {
+            throw new SerializationException("Could not read compact cache value: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * JDK 内部的不可变集合（如 {@code List.of()}）无法按自身类型反序列化，根对象统一转为可实例化的集合
+     */
+    private Object normalizeRoot(Object value) {
+        Class<?> type = value.getClass();
+        if (registry.idOf(type) != null || !type.getName().startsWith("java.util.")) {
+            return value;
+        }
+        if (value instanceof List<?> list) {
+            return new ArrayList<>(list);
+        }
+        if (value instanceof Set<?> set) {
+            return new LinkedHashSet<>(set);
+        }
+        if (value instanceof Map<?, ?> map) {
+            return new LinkedHashMap<>(map);
+        }
+        return value;
+    }
+
+    private void writeTypeTag(ByteArrayOutputStream out, Class<?> type) {
+        Integer id = registry.idOf(type);
+        if (id != null) {
+            writeVarInt(out, id);
+            return;
+        }
+        byte[] name = type.getName().getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, 0);
+        writeVarInt(out, name.length);
+        out.write(name, 0, name.length);
+    }
+
+    private Class<?> readTypeTag(byte[] bytes, int[] position) {
+        int id = readVarInt(bytes, position);
+        if (id != 0) {
+            Class<?> type = registry.typeOf(id);
+            if (type == null) {
+                throw new SerializationException("Unknown compact type id: " + id);
+            }
+            return type;
+        }
+        int length = readVarInt(bytes, position);
+        if (length <= 0 || position[0] + length > bytes.length) {
+            throw new SerializationException("Corrupted compact type name");
+        }
+        String name = new String(bytes, position[0], length, StandardCharsets.UTF_8);
+        position[0] += length;
+        try {
+            return ClassUtils.forName(name, getClass().getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new SerializationException("Unknown compact cache value type: " + name, e);
+        }
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(byte[] bytes, int[] position) {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            if (position[0] >= bytes.length) {
+                throw new SerializationException("Corrupted compact cache header");
+            }
+            byte b = bytes[position[0]++];
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new SerializationException("Corrupted compact cache header");
+    }
+
+    /**
+     * NON_FINAL 默认类型处理，类型标识交给 {@link CompactTypeIdResolver}
+     */
+    private static final class CompactTypeResolverBuilder extends ObjectMapper.DefaultTypeResolverBuilder {
+
+        private final CompactTypeRegistry registry;
+
+        CompactTypeResolverBuilder(CompactTypeRegistry registry) {
+            super(ObjectMapper.DefaultTyping.NON_FINAL, LaissezFaireSubTypeValidator.instance);
+            this.registry = registry;
+        }
+
+        private CompactTypeResolverBuilder(CompactTypeResolverBuilder base, Class<?> defaultImpl) {
+            super(base, defaultImpl);
+            this.registry = base.registry;
+        }
+
+        @Override
+        public ObjectMapper.DefaultTypeResolverBuilder withDefaultImpl(Class<?> defaultImpl) {
+            if (_defaultImpl == defaultImpl) {
+                return this;
+            }
+            return new CompactTypeResolverBuilder(this, defaultImpl);
+        }
+
+        @Override
+        protected TypeIdResolver idResolver(MapperConfig<?> config, JavaType baseType,
+                                            PolymorphicTypeValidator subtypeValidator,
+                                            Collection<NamedType> subtypes, boolean forSer, boolean forDeser) {
+            return new CompactTypeIdResolver(baseType, config.getTypeFactory(), registry,
+                    ClassNameIdResolver.construct(baseType, config, subtypes, subtypeValidator));
+        }
+    }
+}
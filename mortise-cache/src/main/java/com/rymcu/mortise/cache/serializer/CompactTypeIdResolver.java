@@ -0,0 +1,72 @@
+package com.rymcu.mortise.cache.serializer;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DatabindContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.jsontype.TypeIdResolver;
+import com.fasterxml.jackson.databind.jsontype.impl.TypeIdResolverBase;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import java.io.IOException;
+
+/**
+ * 基于 {@link CompactTypeRegistry} 的类型标识解析器
+ *
+ * <p>已注册类型写入十进制编号，未注册类型委托给 Jackson 的类名解析器写入全限定类名。
+ * Java 类名不能以数字开头，因此两种标识不会冲突。</p>
+ *
+ * @author ronger
+ */
+class CompactTypeIdResolver extends TypeIdResolverBase {
+
+    private final CompactTypeRegistry registry;
+
+    private final TypeIdResolver classNameResolver;
+
+    CompactTypeIdResolver(JavaType baseType, TypeFactory typeFactory, CompactTypeRegistry registry,
+                          TypeIdResolver classNameResolver) {
+        super(baseType, typeFactory);
+        this.registry = registry;
+        this.classNameResolver = classNameResolver;
+    }
+
+    @Override
+    public String idFromValue(Object value) {
+        return idFromValueAndType(value, value.getClass());
+    }
+
+    @Override
+    public String idFromValueAndType(Object value, Class<?> suggestedType) {
+        Integer id = suggestedType != null ? registry.idOf(suggestedType) : null;
+        return id != null ? Integer.toString(id) : classNameResolver.idFromValueAndType(value, suggestedType);
+    }
+
+    @Override
+    public String idFromBaseType() {
+        return classNameResolver.idFromBaseType();
+    }
+
+    @Override
+    public JavaType typeFromId(DatabindContext context, String id) throws IOException {
+        if (id.isEmpty() || !Character.isDigit(id.charAt(0))) {
+            return classNameResolver.typeFromId(context, id);
+        }
+        Class<?> type = registry.typeOf(Integer.parseInt(id));
+        if (type == null) {
+            throw new IOException("Unknown compact type id: " + id);
+        }
+        return _baseType != null
+                ? _typeFactory.constructSpecializedType(_baseType, type)
+                : _typeFactory.constructType(type);
+    }
+
+    @Override
+    public String getDescForKnownTypeIds() {
+        return "compact type ids or class names";
+    }
+
+    @Override
+    public JsonTypeInfo.Id getMechanism() {
+        return JsonTypeInfo.Id.CUSTOM;
+    }
+}
@@ -0,0 +1,97 @@
+package com.rymcu.mortise.cache.serializer;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 紧凑序列化类型注册表
+ *
+ * <p>为缓存值类型分配稳定的整数编号，{@link CompactRedisSerializer} 用编号代替全限定类名写入类型标识。
+ * 编号一旦发布就不能再改给其他类型，否则旧数据会被解析成错误的类型；未注册的类型仍按全限定类名写入。</p>
+ *
+ * <p>编号 1 ~ {@value #RESERVED_MAX_ID} 保留给 JDK 常用类型，业务模块通过
+ * {@link com.rymcu.mortise.cache.spi.CacheConfigurer#registerCompactTypes(CompactTypeRegistry)} 注册更大的编号。</p>
+ *
+ * @author ronger
+ */
+public class CompactTypeRegistry {
+
+    /**
+     * 内置类型保留的最大编号
+     */
+    public static final int RESERVED_MAX_ID = 63;
+
+    private final Map<Class<?>, Integer> idsByType = new ConcurrentHashMap<>();
+
+    private final Map<Integer, Class<?>> typesById = new ConcurrentHashMap<>();
+
+    public CompactTypeRegistry() {
+        registerInternal(1, ArrayList.class);
+        registerInternal(2, LinkedList.class);
+        registerInternal(3, HashMap.class);
+        registerInternal(4, LinkedHashMap.class);
+        registerInternal(5, TreeMap.class);
+        registerInternal(6, HashSet.class);
+        registerInternal(7, LinkedHashSet.class);
+        registerInternal(8, TreeSet.class);
+        registerInternal(9, ConcurrentHashMap.class);
+        registerInternal(10, Date.class);
+        registerInternal(11, BigDecimal.class);
+        registerInternal(12, BigInteger.class);
+        registerInternal(13, Long.class);
+        registerInternal(14, Float.class);
+        registerInternal(15, Short.class);
+        registerInternal(16, Byte.class);
+        registerInternal(17, LocalDateTime.class);
+        registerInternal(18, LocalDate.class);
+        registerInternal(19, LocalTime.class);
+        registerInternal(20, Instant.class);
+    }
+
+    /**
+     * 注册业务类型
+     *
+     * @param id   大于 {@value #RESERVED_MAX_ID} 的稳定编号
+     * @param type 类型
+     * @return 当前注册表，便于链式调用
+     */
+    public CompactTypeRegistry register(int id, Class<?> type) {
+        if (id <= RESERVED_MAX_ID) {
+            throw new IllegalArgumentException("Compact type id must be greater than " + RESERVED_MAX_ID + ": " + id);
+        }
+        registerInternal(id, type);
+        return this;
+    }
+
+    private void registerInternal(int id, Class<?> type) {
+        Objects.requireNonNull(type, "type must not be null");
+        Class<?> existingType = typesById.putIfAbsent(id, type);
+        if (existingType != null && existingType != type) {
+            throw new IllegalStateException("Compact type id " + id + " already registered for " + existingType.getName());
+        }
+        Integer existingId = idsByType.putIfAbsent(type, id);
+        if (existingId != null && existingId != id) {
+            throw new IllegalStateException(type.getName() + " already registered with compact type id " + existingId);
+        }
+    }
+
+    /**
+     * @return 类型编号，未注册时返回 null
+     */
+    public Integer idOf(Class<?> type) {
+        return idsByType.get(type);
+    }
+
+    /**
+     * @return 编号对应的类型，未注册时返回 null
+     */
+    public Class<?> typeOf(int id) {
+        return typesById.get(id);
+    }
+}
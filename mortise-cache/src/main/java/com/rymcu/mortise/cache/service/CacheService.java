@@ -5,6 +5,7 @@ import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * 缓存服务接口
@@ -79,6 +80,32 @@ public interface CacheService {
      */
     <T> T get(String cacheName, String key, Class<T> type);
 
+    /**
+     * 获取缓存，未命中时回源并写入
+     * <p>
+     * 同一键的并发未命中在本节点只回源一次（启用 {@code mortise.cache.load.lock-enabled} 时跨节点只回源一次），
+     * 命中时按 XFetch 算法在过期前概率性提前重算。回源返回 null 时不写入缓存。
+     *
+     * @param key 缓存键
+     * @param timeout 过期时间
+     * @param type 返回值类型，缓存值类型不符时视为未命中
+     * @param loader 回源逻辑
+     * @return 缓存值或回源结果
+     */
+    <T> T getOrLoad(String key, Duration timeout, Class<T> type, Supplier<? extends T> loader);
+
+    /**
+     * 获取缓存，未命中时回源并写入（自动拼接 cacheName:key）
+     *
+     * @param cacheName 缓存区域名称（如 "dashboard:user:count"）
+     * @param key 缓存键
+     * @param timeout 过期时间
+     * @param type 返回值类型
+     * @param loader 回源逻辑
+     * @return 缓存值或回源结果
+     */
+    <T> T getOrLoad(String cacheName, String key, Duration timeout, Class<T> type, Supplier<? extends T> loader);
+
     /**
      * 删除缓存
      */
@@ -98,6 +125,63 @@ public interface CacheService {
      */
     Long delete(Collection<String> keys);
 
+    // ==================== 批量操作 ====================
+
+    /**
+     * 批量获取缓存（MGET，一次往返）
+     * <p>
+     * 单个条目反序列化失败时仅该键按未命中处理并被驱逐，不影响其他键。
+     *
+     * @param keys 完整缓存键
+     * @param type 值类型，类型不匹配的条目按未命中处理
+     * @return 命中的键 -> 值，未命中的键不出现在结果中
+     */
+    <T> Map<String, T> multiGet(Collection<String> keys, Class<T> type);
+
+    /**
+     * 批量获取缓存（自动拼接 cacheName:key）
+     *
+     * @param cacheName 缓存区域名称（如 "user:info"）
+     * @param keys 缓存键（如用户ID）
+     * @param type 值类型
+     * @return 命中的缓存键（不含 cacheName 前缀）-> 值
+     */
+    <T> Map<String, T> multiGet(String cacheName, Collection<String> keys, Class<T> type);
+
+    /**
+     * 批量设置缓存并指定统一过期时间（管道执行，一次往返）
+     *
+     * @param values 完整缓存键 -> 缓存值
+     * @param timeout 过期时间，为 null 时永不过期
+     */
+    void multiSet(Map<String, ?> values, Duration timeout);
+
+    /**
+     * 批量设置缓存并按键指定过期时间（管道执行，一次往返）
+     *
+     * @param values 完整缓存键 -> 缓存值
+     * @param timeouts 完整缓存键 -> 过期时间，缺失的键永不过期
+     */
+    void multiSet(Map<String, ?> values, Map<String, Duration> timeouts);
+
+    /**
+     * 批量设置缓存并指定统一过期时间（自动拼接 cacheName:key）
+     *
+     * @param cacheName 缓存区域名称（如 "user:info"）
+     * @param values 缓存键 -> 缓存值
+     * @param timeout 过期时间，为 null 时永不过期
+     */
+    void multiSet(String cacheName, Map<String, ?> values, Duration timeout);
+
+    /**
+     * 批量删除缓存（自动拼接 cacheName:key）
+     *
+     * @param cacheName 缓存区域名称（如 "user:info"）
+     * @param keys 缓存键
+     * @return 删除的键数量
+     */
+    Long multiDelete(String cacheName, Collection<String> keys);
+
     /**
      * 判断缓存是否存在
      */
@@ -140,6 +224,15 @@ public interface CacheService {
      */
     <T> T hGet(String key, String hashKey, Class<T> type);
 
+    /**
+     * Hash批量获取（HMGET，一次往返）
+     * <p>
+     * 任一字段反序列化失败时与 {@link #hGet} 一致：驱逐整个 Hash 并按未命中处理。
+     *
+     * @return 命中的 hashKey -> 值
+     */
+    <T> Map<String, T> hMultiGet(String key, Collection<String> hashKeys, Class<T> type);
+
     /**
      * Hash批量设置
      */
@@ -208,11 +301,23 @@ public interface CacheService {
 
     /**
      * 模糊匹配删除
+     * <p>
+     * 基于 SCAN + UNLINK 分批执行，不会阻塞 Redis 主线程；
+     * 模式恰好为已索引命名空间的 {@code namespace:*} 时直接走键索引。
      */
     void deletePattern(String pattern);
 
     /**
-     * 获取所有匹配的key
+     * 删除整个缓存命名空间（cacheName:*）
+     * <p>
+     * 命名空间声明了键索引时只遍历索引集合，否则退化为 SCAN 模式删除。
+     *
+     * @param cacheName 缓存区域名称（如 "user:info"）
+     */
+    void deleteNamespace(String cacheName);
+
+    /**
+     * 获取所有匹配的key（基于 SCAN 增量遍历）
      */
     Set<String> keys(String pattern);
 }
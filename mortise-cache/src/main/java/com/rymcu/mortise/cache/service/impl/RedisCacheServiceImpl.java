@@ -1,22 +1,50 @@
 package com.rymcu.mortise.cache.service.impl;
 
+import com.rymcu.mortise.cache.config.MortiseCacheProperties;
+import com.rymcu.mortise.cache.index.CacheKeyIndex;
+import com.rymcu.mortise.cache.load.CacheLoadCoordinator;
+import com.rymcu.mortise.cache.local.LocalCacheInvalidationBroadcaster;
+import com.rymcu.mortise.cache.local.LocalCacheRegion;
+import com.rymcu.mortise.cache.local.LocalCacheRegistry;
 import com.rymcu.mortise.cache.service.CacheService;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.SerializationException;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * Redis 缓存服务实现
  *
+ * <p>键属于已声明本地一级缓存（L1）的缓存名称时，String 读取优先命中 L1；
+ * 写入、删除与递增会失效 L1 并通过 pub/sub 通知其他节点。</p>
+ *
+ * <p>模式删除与键遍历使用 SCAN + UNLINK 分批执行，避免 KEYS 阻塞 Redis 主线程，批次之间按配置停顿；
+ * 声明了键索引的命名空间在每条写入路径上同步维护索引集合，整体驱逐时只遍历索引，
+ * 索引集合不存在时才退化为 SCAN。</p>
+ *
+ * <p>{@link #getOrLoad} 的回源经 {@link CacheLoadCoordinator} 合并，需要判断提前重算时
+ * 在同一管道内读取值与剩余 TTL。</p>
+ *
  * @author ronger
  */
 @Slf4j
@@ -26,6 +54,29 @@ public class RedisCacheServiceImpl implements CacheService {
     @Resource
     private RedisTemplate<String, Object> redisTemplate;
 
+    @Resource
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Resource
+    private LocalCacheRegistry localCacheRegistry;
+
+    @Resource
+    private CacheKeyIndex cacheKeyIndex;
+
+    @Resource
+    private MortiseCacheProperties cacheProperties;
+
+    @Resource
+    private LocalCacheInvalidationBroadcaster localCacheInvalidationBroadcaster;
+
+    @Resource
+    private CacheLoadCoordinator cacheLoadCoordinator;
+
+    /**
+     * 索引脚本是否已加载到 Redis 脚本缓存
+     */
+    private volatile boolean indexScriptLoaded;
+
     /**
      * 缓存键分隔符
      */
@@ -42,6 +93,16 @@ public class RedisCacheServiceImpl implements CacheService {
             Long.class
     );
 
+    private static final byte[] INDEX_KEY_SCRIPT_BYTES =
+            CacheKeyIndex.REGISTER_SCRIPT.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+
+    private static final String INDEX_KEY_SCRIPT_SHA = CacheKeyIndex.REGISTER_SCRIPT.getSha1();
+
+    /**
+     * 命名空间驱逐时索引集合的临时重命名后缀
+     */
+    private static final String INDEX_EVICTING_SUFFIX = ":evicting:";
+
     /**
      * 构建完整的缓存键
      *
@@ -55,7 +116,9 @@ public class RedisCacheServiceImpl implements CacheService {
 
     @Override
     public void set(String key, Object value) {
+        indexKey(key, -1L);
         redisTemplate.opsForValue().set(key, value);
+        localCacheInvalidationBroadcaster.evict(key);
     }
 
     @Override
@@ -65,7 +128,9 @@ public class RedisCacheServiceImpl implements CacheService {
 
     @Override
     public void set(String key, Object value, long timeout, TimeUnit unit) {
+        indexKey(key, unit.toMillis(timeout));
         redisTemplate.opsForValue().set(key, value, timeout, unit);
+        localCacheInvalidationBroadcaster.evict(key);
     }
 
     @Override
@@ -75,7 +140,9 @@ public class RedisCacheServiceImpl implements CacheService {
 
     @Override
     public void set(String key, Object value, Duration timeout) {
+        indexKey(key, timeout.toMillis());
         redisTemplate.opsForValue().set(key, value, timeout);
+        localCacheInvalidationBroadcaster.evict(key);
     }
 
     @Override
@@ -86,9 +153,16 @@ public class RedisCacheServiceImpl implements CacheService {
     @Override
     @SuppressWarnings("unchecked")
     public <T> T get(String key, Class<T> type) {
-        Object value = readWithSerializationGuard(key, () -> redisTemplate.opsForValue().get(key), null);
+        LocalCacheRegion localRegion = localCacheRegistry.resolve(key);
+        Object value = localRegion != null ? localRegion.get(key) : null;
         if (value == null) {
-            return null;
+            value = readWithSerializationGuard(key, () -> redisTemplate.opsForValue().get(key), null);
+            if (value == null) {
+                return null;
+            }
+            if (localRegion != null) {
+                localRegion.put(key, value);
+            }
         }
         try {
             return (T) value;
@@ -104,9 +178,60 @@ public class RedisCacheServiceImpl implements CacheService {
         return get(buildKey(cacheName, key), type);
     }
 
+    @Override
+    public <T> T getOrLoad(String key, Duration timeout, Class<T> type, Supplier<? extends T> loader) {
+        return cacheLoadCoordinator.getOrLoad(key,
+                withTtl -> readEntry(key, type, withTtl),
+                value -> set(key, value, timeout),
+                loader::get);
+    }
+
+    @Override
+    public <T> T getOrLoad(String cacheName, String key, Duration timeout, Class<T> type,
+                           Supplier<? extends T> loader) {
+        return getOrLoad(buildKey(cacheName, key), timeout, type, loader);
+    }
+
+    /**
+     * 读取回源协调所需的缓存条目，L1 命中时不读取 TTL（L1 自身过期时间远短于 Redis）
+     */
+    private <T> CacheLoadCoordinator.Entry<T> readEntry(String key, Class<T> type, boolean withTtl) {
+        LocalCacheRegion localRegion = localCacheRegistry.resolve(key);
+        Object value = localRegion != null ? localRegion.get(key) : null;
+        long ttlMillis = -1L;
+        if (value == null && withTtl) {
+            byte[] rawKey = rawKey(key);
+            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.stringCommands().get(rawKey);
+                connection.keyCommands().pTtl(rawKey);
+                return null;
+            }, null);
+            value = deserializeWithGuard(key, (byte[]) results.get(0), valueSerializer());
+            if (results.get(1) instanceof Long ttl) {
+                ttlMillis = ttl;
+            }
+            if (value != null && localRegion != null) {
+                localRegion.put(key, value);
+            }
+        } else if (value == null) {
+            value = get(key, Object.class);
+        }
+        if (value == null) {
+            return null;
+        }
+        if (!type.isInstance(value)) {
+            log.warn("类型转换失败，按未命中回源: key={}, expectedType={}, actualType={}",
+                    key, type.getName(), value.getClass().getName());
+            return null;
+        }
+        return new CacheLoadCoordinator.Entry<>(type.cast(value), ttlMillis);
+    }
+
     @Override
     public Boolean delete(String key) {
-        return redisTemplate.delete(key);
+        Boolean deleted = redisTemplate.delete(key);
+        localCacheInvalidationBroadcaster.evict(key);
+        return deleted;
     }
 
     @Override
@@ -116,7 +241,185 @@ public class RedisCacheServiceImpl implements CacheService {
 
     @Override
     public Long delete(Collection<String> keys) {
-        return redisTemplate.delete(keys);
+        Long deleted = redisTemplate.delete(keys);
+        keys.forEach(localCacheInvalidationBroadcaster::evict);
+        return deleted;
+    }
+
+    @Override
+    public <T> Map<String, T> multiGet(Collection<String> keys, Class<T> type) {
+        if (keys == null || keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, T> result = new LinkedHashMap<>(keys.size());
+        List<String> misses = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            LocalCacheRegion localRegion = localCacheRegistry.resolve(key);
+            Object cached = localRegion != null ? localRegion.get(key) : null;
+            if (cached != null) {
+                putIfInstance(result, key, cached, type);
+            } else {
+                misses.add(key);
+            }
+        }
+        if (misses.isEmpty()) {
+            return result;
+        }
+
+        byte[][] rawKeys = misses.stream().map(this::rawKey).toArray(byte[][]::new);
+        List<byte[]> rawValues = redisTemplate.execute(
+                (RedisCallback<List<byte[]>>) connection -> connection.stringCommands().mGet(rawKeys));
+        if (rawValues == null) {
+            return result;
+        }
+        RedisSerializer<Object> valueSerializer = valueSerializer();
+        for (int i = 0; i < misses.size() && i < rawValues.size(); i++) {
+            String key = misses.get(i);
+            Object value = deserializeWithGuard(key, rawValues.get(i), valueSerializer);
+            if (value == null) {
+                continue;
+            }
+            LocalCacheRegion localRegion = localCacheRegistry.resolve(key);
+            if (localRegion != null) {
+                localRegion.put(key, value);
+            }
+            putIfInstance(result, key, value, type);
+        }
+        return result;
+    }
+
+    @Override
+    public <T> Map<String, T> multiGet(String cacheName, Collection<String> keys, Class<T> type) {
+        if (keys == null || keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> fullKeys = new LinkedHashMap<>(keys.size());
+        keys.forEach(key -> fullKeys.put(buildKey(cacheName, key), key));
+        Map<String, T> values = multiGet(fullKeys.keySet(), type);
+        Map<String, T> result = new LinkedHashMap<>(values.size());
+        values.forEach((fullKey, value) -> result.put(fullKeys.get(fullKey), value));
+        return result;
+    }
+
+    @Override
+    public void multiSet(Map<String, ?> values, Duration timeout) {
+        pipelinedSet(values, key -> timeout);
+    }
+
+    @Override
+    public void multiSet(Map<String, ?> values, Map<String, Duration> timeouts) {
+        pipelinedSet(values, key -> timeouts != null ? timeouts.get(key) : null);
+    }
+
+    @Override
+    public void multiSet(String cacheName, Map<String, ?> values, Duration timeout) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        Map<String, Object> fullValues = new LinkedHashMap<>(values.size());
+        values.forEach((key, value) -> fullValues.put(buildKey(cacheName, key), value));
+        pipelinedSet(fullValues, key -> timeout);
+    }
+
+    @Override
+    public Long multiDelete(String cacheName, Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return 0L;
+        }
+        return delete(keys.stream().map(key -> buildKey(cacheName, key)).toList());
+    }
+
+    /**
+     * 在一个管道内写入所有键，已索引命名空间的键同时登记索引
+     * <p>
+     * 所有过期时间在打开管道前校验，非法时不写入任何键；索引脚本预先加载并以 EVALSHA 调用，
+     * Redis 脚本缓存被清空（NOSCRIPT）时重新加载并补登记索引。
+     */
+    private void pipelinedSet(Map<String, ?> values, Function<String, Duration> timeoutResolver) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        List<PendingWrite> writes = new ArrayList<>(values.size());
+        values.forEach((key, value) -> {
+            Duration timeout = timeoutResolver.apply(key);
+            if (timeout != null && (timeout.isZero() || timeout.isNegative())) {
+                throw new IllegalArgumentException("timeout must be positive: key=" + key);
+            }
+            String namespace = cacheKeyIndex.isEmpty() ? null : cacheKeyIndex.namespaceOf(key);
+            writes.add(new PendingWrite(key, value, timeout, namespace));
+        });
+        List<PendingWrite> indexed = writes.stream().filter(write -> write.namespace() != null).toList();
+        if (!indexed.isEmpty()) {
+            ensureIndexScriptLoaded();
+        }
+
+        RedisSerializer<Object> valueSerializer = valueSerializer();
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (PendingWrite write : writes) {
+                    connection.stringCommands().set(rawKey(write.key()), valueSerializer.serialize(write.value()),
+                            write.timeout() != null ? Expiration.from(write.timeout()) : Expiration.persistent(),
+                            RedisStringCommands.SetOption.upsert());
+                    if (write.namespace() != null) {
+                        evalIndexScript(connection, write);
+                    }
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            if (!isNoScript(e)) {
+                throw e;
+            }
+            // SET 已执行，只补登记索引
+            log.debug("索引脚本未缓存，重新加载后补登记索引: keys={}", indexed.size());
+            indexScriptLoaded = false;
+            ensureIndexScriptLoaded();
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                indexed.forEach(write -> evalIndexScript(connection, write));
+                return null;
+            });
+        } finally {
+            values.keySet().forEach(localCacheInvalidationBroadcaster::evict);
+        }
+    }
+
+    private void evalIndexScript(RedisConnection connection, PendingWrite write) {
+        connection.scriptingCommands().evalSha(INDEX_KEY_SCRIPT_SHA, ReturnType.INTEGER, 1,
+                rawKey(cacheKeyIndex.indexKey(write.namespace())), rawKey(write.key()),
+                rawKey(String.valueOf(write.timeout() != null ? write.timeout().toMillis() : -1L)));
+    }
+
+    private void ensureIndexScriptLoaded() {
+        if (indexScriptLoaded) {
+            return;
+        }
+        redisTemplate.execute((RedisCallback<String>) connection ->
+                connection.scriptingCommands().scriptLoad(INDEX_KEY_SCRIPT_BYTES));
+        indexScriptLoaded = true;
+    }
+
+    private boolean isNoScript(Throwable exception) {
+        Throwable current = exception;
+        while (current != null) {
+            if (current.getMessage() != null && current.getMessage().contains("NOSCRIPT")) {
+                return true;
+            }
+            if (current instanceof RedisPipelineException pipelineException) {
+                for (Object result : pipelineException.getPipelineResult()) {
+                    if (result instanceof Throwable failure && isNoScript(failure)) {
+                        return true;
+                    }
+                }
+            }
+            current = current.getCause();
+        }
+        return false;
+    }
+
+    /**
+     * 管道写入前完成校验的单个键
+     */
+    private record PendingWrite(String key, Object value, Duration timeout, String namespace) {
     }
 
     @Override
@@ -126,6 +429,8 @@ public class RedisCacheServiceImpl implements CacheService {
 
     @Override
     public Boolean expire(String key, long timeout, TimeUnit unit) {
+        // 延长键的有效期时同步延长索引集合，避免索引先于键过期
+        indexKey(key, unit.toMillis(timeout));
         return redisTemplate.expire(key, timeout, unit);
     }
 
@@ -141,22 +446,29 @@ public class RedisCacheServiceImpl implements CacheService {
 
     @Override
     public Long increment(String key, long delta) {
-        return redisTemplate.opsForValue().increment(key, delta);
+        indexKey(key, -1L);
+        Long current = redisTemplate.opsForValue().increment(key, delta);
+        localCacheInvalidationBroadcaster.evict(key);
+        return current;
     }
 
     @Override
     public Long increment(String key, long delta, Duration timeout) {
         Objects.requireNonNull(timeout, "timeout must not be null");
-        return redisTemplate.execute(
+        indexKey(key, timeout.toMillis());
+        Long current = redisTemplate.execute(
                 INCREMENT_WITH_EXPIRE_SCRIPT,
                 Collections.singletonList(key),
                 delta,
                 timeout.toMillis()
         );
+        localCacheInvalidationBroadcaster.evict(key);
+        return current;
     }
 
     @Override
     public void hSet(String key, String hashKey, Object value) {
+        indexKey(key, -1L);
         redisTemplate.opsForHash().put(key, hashKey, value);
     }
 
@@ -177,8 +489,46 @@ public class RedisCacheServiceImpl implements CacheService {
         }
     }
 
+    @Override
+    public <T> Map<String, T> hMultiGet(String key, Collection<String> hashKeys, Class<T> type) {
+        if (hashKeys == null || hashKeys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<String> fields = new ArrayList<>(hashKeys);
+        byte[][] rawFields = fields.stream().map(this::rawKey).toArray(byte[][]::new);
+        List<byte[]> rawValues = redisTemplate.execute(
+                (RedisCallback<List<byte[]>>) connection -> connection.hashCommands().hMGet(rawKey(key), rawFields));
+        if (rawValues == null) {
+            return Collections.emptyMap();
+        }
+        RedisSerializer<Object> hashValueSerializer = hashValueSerializer();
+        Map<String, T> result = new LinkedHashMap<>(fields.size());
+        for (int i = 0; i < fields.size() && i < rawValues.size(); i++) {
+            byte[] rawValue = rawValues.get(i);
+            if (rawValue == null) {
+                continue;
+            }
+            Object value;
+            try {
+                value = hashValueSerializer.deserialize(rawValue);
+            } catch (RuntimeException exception) {
+                if (!isSerializationFailure(exception)) {
+                    throw exception;
+                }
+                // 与 hGet 保持一致：驱逐整个 Hash
+                log.warn("Redis 缓存反序列化失败，已按未命中处理并驱逐旧数据: key={}, hashKey={}, message={}",
+                        key, fields.get(i), exception.getMessage());
+                deleteCorruptedKey(key);
+                return Collections.emptyMap();
+            }
+            putIfInstance(result, fields.get(i), value, type);
+        }
+        return result;
+    }
+
     @Override
     public void hSetAll(String key, Map<String, Object> map) {
+        indexKey(key, -1L);
         redisTemplate.opsForHash().putAll(key, map);
     }
 
@@ -199,6 +549,7 @@ public class RedisCacheServiceImpl implements CacheService {
 
     @Override
     public Long sAdd(String key, Object... values) {
+        indexKey(key, -1L);
         return redisTemplate.opsForSet().add(key, values);
     }
 
@@ -219,11 +570,13 @@ public class RedisCacheServiceImpl implements CacheService {
 
     @Override
     public Long lRightPush(String key, Object value) {
+        indexKey(key, -1L);
         return redisTemplate.opsForList().rightPush(key, value);
     }
 
     @Override
     public Long lLeftPush(String key, Object value) {
+        indexKey(key, -1L);
         return redisTemplate.opsForList().leftPush(key, value);
     }
 
@@ -252,15 +605,132 @@ public class RedisCacheServiceImpl implements CacheService {
 
     @Override
     public void deletePattern(String pattern) {
-        Set<String> keys = redisTemplate.keys(pattern);
-        if (keys != null && !keys.isEmpty()) {
-            redisTemplate.delete(keys);
-        }
+        String namespace = cacheKeyIndex.namespaceOfPattern(pattern);
+        long deleted = namespace != null ? unlinkIndexedNamespace(namespace, pattern) : unlinkByScan(pattern);
+        localCacheInvalidationBroadcaster.evictMatching(pattern);
+        log.debug("模式删除完成: pattern={}, deleted={}, indexed={}", pattern, deleted, namespace != null);
+    }
+
+    @Override
+    public void deleteNamespace(String cacheName) {
+        deletePattern(buildKey(cacheName, "*"));
     }
 
     @Override
     public Set<String> keys(String pattern) {
-        return redisTemplate.keys(pattern);
+        Set<String> keys = new HashSet<>();
+        try (Cursor<String> cursor = stringRedisTemplate.scan(scanOptions(pattern))) {
+            cursor.forEachRemaining(keys::add);
+        }
+        return keys;
+    }
+
+    private ScanOptions scanOptions(String pattern) {
+        ScanOptions.ScanOptionsBuilder builder = ScanOptions.scanOptions()
+                .count(cacheProperties.getScan().getCount());
+        return pattern != null ? builder.match(pattern).build() : builder.build();
+    }
+
+    private long unlinkByScan(String pattern) {
+        try (Cursor<String> cursor = stringRedisTemplate.scan(scanOptions(pattern))) {
+            return unlinkInBatches(cursor);
+        }
+    }
+
+    /**
+     * 通过索引集合驱逐命名空间
+     * <p>
+     * 先把索引集合重命名为临时键，驱逐期间的新写入会进入新的索引集合而不会被误删；
+     * 所有写入路径都会登记索引，因此存在索引集合时不再扫描键空间，
+     * 索引集合不存在（如索引启用前写入的旧键）时退化为 SCAN。
+     */
+    private long unlinkIndexedNamespace(String namespace, String pattern) {
+        String indexKey = cacheKeyIndex.indexKey(namespace);
+        String evictingKey = indexKey + INDEX_EVICTING_SUFFIX + UUID.randomUUID();
+        if (!renameIndex(indexKey, evictingKey)) {
+            return unlinkByScan(pattern);
+        }
+        try (Cursor<String> cursor = stringRedisTemplate.opsForSet().scan(evictingKey,
+                ScanOptions.scanOptions().count(cacheProperties.getScan().getCount()).build())) {
+            return unlinkInBatches(cursor);
+        } finally {
+            stringRedisTemplate.unlink(evictingKey);
+        }
+    }
+
+    private boolean renameIndex(String indexKey, String evictingKey) {
+        if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(indexKey))) {
+            return false;
+        }
+        try {
+            stringRedisTemplate.rename(indexKey, evictingKey);
+            return true;
+        } catch (RuntimeException e) {
+            // 索引集合恰好在检查后过期
+            log.debug("重命名缓存键索引失败，退化为 SCAN: indexKey={}, message={}", indexKey, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 分批 UNLINK，批次之间按配置停顿以限制对 Redis 的持续占用
+     */
+    private long unlinkInBatches(Iterator<String> keys) {
+        MortiseCacheProperties.Scan scan = cacheProperties.getScan();
+        int batchSize = Math.max(1, scan.getBatchSize());
+        long pauseMillis = scan.getBatchInterval() != null ? scan.getBatchInterval().toMillis() : 0L;
+        List<String> batch = new ArrayList<>(batchSize);
+        long deleted = 0L;
+        while (keys.hasNext()) {
+            batch.add(keys.next());
+            if (batch.size() >= batchSize) {
+                deleted += unlinkBatch(batch);
+                if (pauseMillis > 0 && keys.hasNext() && !pause(pauseMillis)) {
+                    return deleted;
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            deleted += unlinkBatch(batch);
+        }
+        return deleted;
+    }
+
+    private long unlinkBatch(List<String> batch) {
+        Long unlinked = stringRedisTemplate.unlink(batch);
+        batch.clear();
+        return unlinked != null ? unlinked : 0L;
+    }
+
+    private boolean pause(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("模式删除被中断，剩余键将依赖 TTL 过期");
+            return false;
+        }
+    }
+
+    /**
+     * 已索引命名空间下的键在写入前登记到索引集合，写入与驱逐并发时键不会漏登记
+     */
+    private void indexKey(String key, long ttlMillis) {
+        if (cacheKeyIndex.isEmpty()) {
+            return;
+        }
+        String namespace = cacheKeyIndex.namespaceOf(key);
+        if (namespace == null) {
+            return;
+        }
+        try {
+            stringRedisTemplate.execute(CacheKeyIndex.REGISTER_SCRIPT,
+                    Collections.singletonList(cacheKeyIndex.indexKey(namespace)),
+                    key, String.valueOf(ttlMillis));
+        } catch (RuntimeException e) {
+            log.warn("登记缓存键索引失败: key={}, message={}", key, e.getMessage());
+        }
     }
 
     /**
@@ -282,6 +752,49 @@ public class RedisCacheServiceImpl implements CacheService {
         }
     }
 
+    /**
+     * 单条反序列化的容错处理，语义与 {@link #readWithSerializationGuard} 一致
+     */
+    private Object deserializeWithGuard(String key, byte[] rawValue, RedisSerializer<Object> serializer) {
+        if (rawValue == null) {
+            return null;
+        }
+        try {
+            return serializer.deserialize(rawValue);
+        } catch (RuntimeException exception) {
+            if (isSerializationFailure(exception)) {
+                log.warn("Redis 缓存反序列化失败，已按未命中处理并驱逐旧数据: key={}, message={}",
+                        key, exception.getMessage());
+                deleteCorruptedKey(key);
+                return null;
+            }
+            throw exception;
+        }
+    }
+
+    private <T> void putIfInstance(Map<String, T> result, String key, Object value, Class<T> type) {
+        if (type.isInstance(value)) {
+            result.put(key, type.cast(value));
+        } else {
+            log.warn("类型转换失败: key={}, expectedType={}, actualType={}",
+                    key, type.getName(), value.getClass().getName());
+        }
+    }
+
+    private byte[] rawKey(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisSerializer<Object> valueSerializer() {
+        return (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisSerializer<Object> hashValueSerializer() {
+        return (RedisSerializer<Object>) redisTemplate.getHashValueSerializer();
+    }
+
     private boolean isSerializationFailure(RuntimeException exception) {
         Throwable current = exception;
         while (current != null) {
@@ -296,6 +809,7 @@ public class RedisCacheServiceImpl implements CacheService {
     private void deleteCorruptedKey(String key) {
         try {
             redisTemplate.delete(key);
+            localCacheRegistry.invalidate(key);
         } catch (RuntimeException deleteException) {
             log.warn("驱逐损坏 Redis 缓存失败: key={}, message={}", key, deleteException.getMessage());
         }
@@ -1,31 +1,188 @@
 package com.rymcu.mortise.cache.service.impl;
 
-import com.rymcu.mortise.cache.service.CacheService;
+import com.rymcu.mortise.cache.config.MortiseCacheProperties;
 import com.rymcu.mortise.cache.service.CacheVersionService;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * 基于 Redis 的缓存版本服务。
+ *
+ * <p>版本号以 Redis 计数器为准，各节点在本地缓存已读取过的命名空间版本：
+ * {@link #currentVersion(String)} 只在首次读取某命名空间时访问 Redis，之后是内存读取；
+ * {@link #bumpVersion(String)} 递增计数器后通过 pub/sub 推送新版本，
+ * 定时对账兜底丢失的通知（如订阅断线期间的变更）。</p>
+ *
+ * <p>版本号只增不减：本地递增、推送通知和对账结果以较大值为准，乱序到达的旧版本不会覆盖新版本。
+ * 计数器不存在时以当前毫秒时间戳为起点（纪元）再递增，Redis 清空或重启后重建的计数器仍大于此前签发的版本，
+ * 各节点不会因本地保留的旧最大值而忽略之后的变更，以版本号作为缓存键的使用方也不会命中重建前的旧条目。
+ * 前提是两次重建之间的递增次数少于间隔的毫秒数，且各节点时钟偏差远小于该间隔。</p>
  */
+@Slf4j
 @Service
-@RequiredArgsConstructor
-public class RedisCacheVersionService implements CacheVersionService {
+public class RedisCacheVersionService implements CacheVersionService, MessageListener, InitializingBean {
 
     private static final String VERSION_KEY_PREFIX = "cache:version:";
 
-    private final CacheService cacheService;
+    private static final String MESSAGE_SEPARATOR = "|";
+
+    /**
+     * 计数器不存在时以 ARGV[1]（当前毫秒时间戳）为纪元起点，再递增
+     */
+    private static final DefaultRedisScript<Long> BUMP_SCRIPT = new DefaultRedisScript<>(
+            """
+                    if redis.call('EXISTS', KEYS[1]) == 0 then
+                        redis.call('SET', KEYS[1], ARGV[1])
+                    end
+                    return redis.call('INCR', KEYS[1])
+                    """,
+            Long.class
+    );
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final ObjectProvider<RedisMessageListenerContainer> listenerContainerProvider;
+
+    private final MortiseCacheProperties.Version properties;
+
+    /**
+     * 命名空间 -> 本地版本号
+     */
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public RedisCacheVersionService(StringRedisTemplate stringRedisTemplate,
+                                    ObjectProvider<RedisMessageListenerContainer> listenerContainerProvider,
+                                    MortiseCacheProperties cacheProperties) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainerProvider = listenerContainerProvider;
+        this.properties = cacheProperties.getVersion();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        RedisMessageListenerContainer container = listenerContainerProvider.getIfAvailable();
+        if (container != null) {
+            container.addMessageListener(this, new ChannelTopic(properties.getChannel()));
+        } else {
+            log.warn("未找到 RedisMessageListenerContainer，缓存版本号仅依赖定时对账同步");
+        }
+    }
 
     @Override
     public long currentVersion(String namespace) {
-        Long version = cacheService.get(buildKey(namespace), Long.class);
-        return version == null ? 0L : version;
+        AtomicLong version = versions.get(namespace);
+        if (version == null) {
+            version = versions.computeIfAbsent(namespace, key -> new AtomicLong(loadVersion(key)));
+        }
+        return version.get();
     }
 
     @Override
     public long bumpVersion(String namespace) {
-        Long version = cacheService.increment(buildKey(namespace));
-        return version == null ? 0L : version;
+        Long version = stringRedisTemplate.execute(BUMP_SCRIPT, List.of(buildKey(namespace)),
+                String.valueOf(System.currentTimeMillis()));
+        if (version == null) {
+            return 0L;
+        }
+        versions.computeIfAbsent(namespace, key -> new AtomicLong()).accumulateAndGet(version, Math::max);
+        try {
+            stringRedisTemplate.convertAndSend(properties.getChannel(), namespace + MESSAGE_SEPARATOR + version);
+        } catch (RuntimeException e) {
+            log.warn("缓存版本变更通知发送失败，其他节点将在对账时同步: namespace={}", namespace, e);
+        }
+        return version;
+    }
+
+    /**
+     * 接收其他节点的版本变更通知，消息格式：{@code namespace|version}
+     */
+    @Override
+    public void onMessage(@NonNull Message message, @Nullable byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf(MESSAGE_SEPARATOR);
+        if (separator <= 0) {
+            return;
+        }
+        String namespace = body.substring(0, separator);
+        long version;
+        try {
+            version = Long.parseLong(body.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            log.warn("忽略无法解析的缓存版本通知: {}", body);
+            return;
+        }
+        // 只更新本节点读取过的命名空间，其余命名空间首次读取时自然会从 Redis 加载
+        AtomicLong local = versions.get(namespace);
+        if (local != null) {
+            local.accumulateAndGet(version, Math::max);
+        }
+    }
+
+    /**
+     * 以 Redis 为准校正本地版本号，只接受比本地更新的版本
+     */
+    @Scheduled(initialDelayString = "${mortise.cache.version.reconcile-interval:30s}",
+            fixedDelayString = "${mortise.cache.version.reconcile-interval:30s}")
+    void reconcile() {
+        if (versions.isEmpty()) {
+            return;
+        }
+        try {
+            List<String> namespaces = new ArrayList<>(versions.keySet());
+            List<String> values = stringRedisTemplate.opsForValue()
+                    .multiGet(namespaces.stream().map(this::buildKey).toList());
+            if (values == null) {
+                return;
+            }
+            for (int i = 0; i < namespaces.size() && i < values.size(); i++) {
+                long remote = parseVersion(values.get(i));
+                AtomicLong local = versions.get(namespaces.get(i));
+                if (local == null) {
+                    continue;
+                }
+                // 对账读取期间本地可能已递增或收到更新的推送，只在远端更大时前移
+                long previous = local.getAndAccumulate(remote, Math::max);
+                if (remote > previous) {
+                    log.info("缓存版本对账校正: namespace={}, {} -> {}", namespaces.get(i), previous, remote);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("缓存版本对账失败: {}", e.getMessage());
+        }
+    }
+
+    private long loadVersion(String namespace) {
+        return parseVersion(stringRedisTemplate.opsForValue().get(buildKey(namespace)));
+    }
+
+    private long parseVersion(String value) {
+        if (value == null) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            log.warn("缓存版本号格式错误，按 0 处理: {}", value);
+            return 0L;
+        }
     }
 
     private String buildKey(String namespace) {
@@ -1,8 +1,12 @@
 package com.rymcu.mortise.cache.spi;
 
+import com.rymcu.mortise.cache.local.LocalCacheSpec;
+import com.rymcu.mortise.cache.serializer.CompactTypeRegistry;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 
+import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 缓存配置扩展接口 (SPI)
@@ -42,4 +46,62 @@ public interface CacheConfigurer {
      * @return 缓存名称 -> 缓存配置映射表
      */
     Map<String, RedisCacheConfiguration> configureCaches(RedisCacheConfiguration defaultConfig);
+
+    /**
+     * 配置本地一级缓存（L1）
+     * <p>
+     * 返回的缓存名称同时作用于 {@code @Cacheable} 与 {@code CacheService} 的 {@code cacheName:key} 读写，
+     * 仅适合读多写少的数据（如字典、站点配置、菜单）。默认不启用。
+     *
+     * @return 缓存名称 -> 本地缓存规格映射表
+     */
+    default Map<String, LocalCacheSpec> configureLocalCaches() {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * 配置需要维护键索引的缓存命名空间
+     * <p>
+     * 声明后 {@code CacheService} 与 {@code @Cacheable} 会把该命名空间下写入的键记录到索引集合，
+     * {@code deleteNamespace} 只遍历索引集合而不扫描整个键空间。默认不启用。
+     *
+     * @return 缓存命名空间集合（如 "user:info"）
+     */
+    default Set<String> configureKeyIndexes() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * 配置使用紧凑二进制格式存储的缓存
+     * <p>
+     * 仅作用于 {@code @Cacheable} 缓存，值以 Smile 二进制 + 类型编号写入，体积和编解码耗时都小于 JSON；
+     * 切换前写入的 JSON 条目仍可读取。默认不启用。
+     *
+     * @return 缓存名称集合
+     */
+    default Set<String> configureCompactCaches() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * 为紧凑格式注册类型编号
+     * <p>
+     * 已注册类型以整数编号代替全限定类名写入，编号发布后不可改给其他类型。
+     *
+     * @param registry 类型注册表
+     */
+    default void registerCompactTypes(CompactTypeRegistry registry) {
+    }
+
+    /**
+     * 配置启用防击穿回源的缓存
+     * <p>
+     * 对 {@code @Cacheable(sync = true)} 生效：同一键的并发未命中只回源一次，
+     * 并按 XFetch 算法在过期前概率性提前重算；跨节点租约锁由 {@code mortise.cache.load.lock-enabled} 控制。默认不启用。
+     *
+     * @return 缓存名称集合
+     */
+    default Set<String> configureStampedeProtectedCaches() {
+        return Collections.emptySet();
+    }
 }
@@ -9,8 +9,13 @@ package com.rymcu.mortise.cache.spi;
  * &#64;Component
  * public class UserCacheExpirationHandler implements CacheExpirationHandler {
  *     &#64;Override
+ *     public String getKeyPrefix() {
+ *         return "mortise:userOnlineStatus:";
+ *     }
+ *
+ *     &#64;Override
  *     public boolean supports(String expiredKey) {
- *         return expiredKey.contains("userOnlineStatus");
+ *         return expiredKey.startsWith(getKeyPrefix());
  *     }
  *     
  *     &#64;Override
@@ -33,6 +38,18 @@ public interface CacheExpirationHandler {
         return 100;
     }
 
+    /**
+     * 处理器关注的键前缀
+     * <p>
+     * 声明前缀后监听器在启动时按前缀建立索引，过期事件只做前缀匹配，不再调用 {@link #supports(String)}；
+     * 返回 null 时每个过期事件都会调用 {@link #supports(String)} 判断。
+     *
+     * @return 键前缀，默认 null
+     */
+    default String getKeyPrefix() {
+        return null;
+    }
+
     /**
      * 判断是否支持处理该失效键
      * 
@@ -43,7 +60,9 @@ public interface CacheExpirationHandler {
 
     /**
      * 处理缓存失效事件
-     * 
+     * <p>
+     * 在过期事件执行器中异步调用；集群内同一个过期键只会由一个节点处理。
+     *
      * @param expiredKey 失效的缓存键
      */
     void handle(String expiredKey);
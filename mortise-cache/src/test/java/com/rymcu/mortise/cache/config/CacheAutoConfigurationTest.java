@@ -0,0 +1,44 @@
+package com.rymcu.mortise.cache.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheAutoConfigurationTest {
+
+    @Test
+    void expirationExecutorShouldUseAllThreadsBeforeQueueing() throws Exception {
+        MortiseCacheProperties properties = new MortiseCacheProperties();
+        properties.getExpiration().setPoolSize(4);
+        ThreadPoolTaskExecutor executor = new CacheAutoConfiguration().cacheExpirationExecutor(properties);
+        executor.initialize();
+        CountDownLatch started = new CountDownLatch(4);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < 4; i++) {
+                executor.execute(() -> {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+
+            // 队列远未排满，四个事件也应同时处理
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            assertEquals(4, executor.getActiveCount());
+            assertEquals(0, executor.getQueueSize());
+            assertTrue(executor.getThreadPoolExecutor().allowsCoreThreadTimeOut());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.rymcu.mortise.cache.index;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IndexingRedisCacheWriterTest {
+
+    private final RedisCacheWriter delegate = mock(RedisCacheWriter.class);
+
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+
+    private final IndexingRedisCacheWriter writer = new IndexingRedisCacheWriter(delegate,
+            new CacheKeyIndex(Set.of("mortise:dict:data")), stringRedisTemplate);
+
+    @Test
+    void putShouldRegisterIndexedKeyBeforeWriting() {
+        byte[] key = bytes("mortise:dict:data:status");
+        byte[] value = bytes("v");
+
+        writer.put("dict:data", key, value, Duration.ofMinutes(1));
+
+        InOrder order = inOrder(stringRedisTemplate, delegate);
+        order.verify(stringRedisTemplate).execute(eq(CacheKeyIndex.REGISTER_SCRIPT),
+                eq(List.of("cache:index:mortise:dict:data")), eq("mortise:dict:data:status"), eq("60000"));
+        order.verify(delegate).put("dict:data", key, value, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void persistentEntryShouldPersistIndex() {
+        writer.putIfAbsent("dict:data", bytes("mortise:dict:data:type"), bytes("v"), Duration.ZERO);
+
+        verify(stringRedisTemplate).execute(eq(CacheKeyIndex.REGISTER_SCRIPT),
+                eq(List.of("cache:index:mortise:dict:data")), eq("mortise:dict:data:type"), eq("-1"));
+    }
+
+    @Test
+    void keysOutsideIndexedNamespacesShouldNotBeRegistered() {
+        writer.put("menu:tree", bytes("mortise:menu:tree:1"), bytes("v"), Duration.ofMinutes(1));
+
+        verify(stringRedisTemplate, never()).execute(eq(CacheKeyIndex.REGISTER_SCRIPT), anyList(),
+                anyString(), anyString());
+        verify(delegate).put(eq("menu:tree"), any(), any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void loaderShouldRegisterOnlyOnMiss() {
+        byte[] key = bytes("mortise:dict:data:gender");
+        byte[] loaded = bytes("loaded");
+        when(delegate.get(eq("dict:data"), eq(key), any(Supplier.class), any(), anyBoolean()))
+                .thenAnswer(invocation -> invocation.<Supplier<byte[]>>getArgument(2).get());
+
+        byte[] result = writer.get("dict:data", key, () -> loaded, Duration.ofSeconds(10), false);
+
+        assertArrayEquals(loaded, result);
+        verify(stringRedisTemplate).execute(eq(CacheKeyIndex.REGISTER_SCRIPT),
+                eq(List.of("cache:index:mortise:dict:data")), eq("mortise:dict:data:gender"), eq("10000"));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,59 @@
+package com.rymcu.mortise.cache.listener;
+
+import com.rymcu.mortise.cache.spi.CacheExpirationHandler;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpirationHandlerIndexTest {
+
+    @Test
+    void matchShouldCombinePrefixAndGenericHandlersByOrder() {
+        CacheExpirationHandler online = handler("mortise:userOnlineStatus:", 10, true);
+        CacheExpirationHandler generic = handler(null, 5, true);
+        CacheExpirationHandler disabled = handler("mortise:userOnlineStatus:", 1, false);
+        ExpirationHandlerIndex index = new ExpirationHandlerIndex(List.of(online, generic, disabled));
+
+        assertEquals(List.of(generic, online), index.match("mortise:userOnlineStatus:admin"));
+        assertEquals(List.of(generic), index.match("mortise:dict:data:gender"));
+    }
+
+    @Test
+    void matchShouldReturnEmptyForUnrelatedKeys() {
+        ExpirationHandlerIndex index = new ExpirationHandlerIndex(
+                List.of(handler("mortise:userOnlineStatus:", 10, true)));
+
+        assertTrue(index.match("cache:expired:claim:mortise:userOnlineStatus:admin").isEmpty());
+    }
+
+    private static CacheExpirationHandler handler(String prefix, int order, boolean enabled) {
+        return new CacheExpirationHandler() {
+            @Override
+            public String getKeyPrefix() {
+                return prefix;
+            }
+
+            @Override
+            public int getOrder() {
+                return order;
+            }
+
+            @Override
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            @Override
+            public boolean supports(String expiredKey) {
+                return prefix == null || expiredKey.startsWith(prefix);
+            }
+
+            @Override
+            public void handle(String expiredKey) {
+            }
+        };
+    }
+}
@@ -0,0 +1,155 @@
+package com.rymcu.mortise.cache.load;
+
+import com.rymcu.mortise.cache.config.MortiseCacheProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CacheLoadCoordinatorTest {
+
+    private static final String KEY = "dict:data:gender";
+
+    private final Map<String, String> store = new ConcurrentHashMap<>();
+
+    @Test
+    void concurrentMissesShouldLoadOnce() throws Exception {
+        CacheLoadCoordinator coordinator = new CacheLoadCoordinator(null, new MortiseCacheProperties.Load());
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        int threads = 16;
+
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return coordinator.getOrLoad(KEY, this::read, this::write, () -> {
+                        loads.incrementAndGet();
+                        sleep(200);
+                        return "loaded";
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<String> result : results) {
+                assertEquals("loaded", result.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals("loaded", store.get(KEY));
+    }
+
+    @Test
+    void leaseWinnerShouldReuseValueJustWrittenByPeer() {
+        RedisLeaseLock leaseLock = mock(RedisLeaseLock.class);
+        when(leaseLock.tryAcquire(KEY)).thenReturn("token");
+        CacheLoadCoordinator coordinator = new CacheLoadCoordinator(leaseLock, new MortiseCacheProperties.Load());
+        AtomicInteger reads = new AtomicInteger();
+        AtomicInteger loads = new AtomicInteger();
+
+        // 首次读取未命中；取得租约前其他节点完成了回源
+        String value = coordinator.getOrLoad(KEY,
+                withTtl -> reads.incrementAndGet() == 1 ? null : new CacheLoadCoordinator.Entry<>("peer", -1L),
+                this::write, () -> {
+                    loads.incrementAndGet();
+                    return "loaded";
+                });
+
+        assertEquals("peer", value);
+        assertEquals(0, loads.get());
+        verify(leaseLock).release(KEY, "token");
+    }
+
+    @Test
+    void waiterShouldWakeOnReleaseNotification() throws Exception {
+        RedisLeaseLock leaseLock = mock(RedisLeaseLock.class);
+        MortiseCacheProperties.Load properties = new MortiseCacheProperties.Load();
+        properties.setLockWaitTimeout(Duration.ofSeconds(30));
+        CacheLoadCoordinator coordinator = new CacheLoadCoordinator(leaseLock, properties, true);
+        AtomicInteger loads = new AtomicInteger();
+
+        CompletableFuture<String> result = CompletableFuture.supplyAsync(() ->
+                coordinator.getOrLoad(KEY, this::read, this::write, () -> {
+                    loads.incrementAndGet();
+                    return "loaded";
+                }));
+        sleep(100);
+        assertFalse(result.isDone());
+
+        store.put(KEY, "peer");
+        coordinator.onMessage(new DefaultMessage("mortise:cache:load:released".getBytes(StandardCharsets.UTF_8),
+                KEY.getBytes(StandardCharsets.UTF_8)), null);
+
+        // 远小于 30 秒的等待上限：由通知唤醒而不是等到超时
+        assertEquals("peer", result.get(2, TimeUnit.SECONDS));
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void earlyRefreshFailureShouldKeepStaleValue() {
+        MortiseCacheProperties.Load properties = new MortiseCacheProperties.Load();
+        properties.setEarlyRefreshBeta(1_000_000);
+        CacheLoadCoordinator coordinator = new CacheLoadCoordinator(null, properties);
+        coordinator.getOrLoad(KEY, this::read, this::write, () -> "v1");
+
+        // 剩余 TTL 仅 1ms，必然触发提前重算
+        AtomicInteger refreshes = new AtomicInteger();
+        String value = coordinator.getOrLoad(KEY, withTtl -> new CacheLoadCoordinator.Entry<>(store.get(KEY), 1L),
+                this::write, () -> {
+                    refreshes.incrementAndGet();
+                    throw new IllegalStateException("db down");
+                });
+
+        assertEquals(1, refreshes.get());
+        assertEquals("v1", value);
+        assertEquals("v1", store.get(KEY));
+    }
+
+    @Test
+    void shouldRefreshEarlyOnlyNearExpiry() {
+        // delta = 100ms, beta = 1：random = e^-1 时 -delta * ln(random) = 100ms
+        double random = Math.exp(-1);
+        assertTrue(CacheLoadCoordinator.shouldRefreshEarly(100, 100, 1.0, random));
+        assertFalse(CacheLoadCoordinator.shouldRefreshEarly(100, 101, 1.0, random));
+        assertFalse(CacheLoadCoordinator.shouldRefreshEarly(100, -1, 1.0, random));
+    }
+
+    private CacheLoadCoordinator.Entry<String> read(boolean withTtl) {
+        String value = store.get(KEY);
+        return value != null ? new CacheLoadCoordinator.Entry<>(value, -1L) : null;
+    }
+
+    private void write(String value) {
+        store.put(KEY, value);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.rymcu.mortise.cache.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class SingleFlightTest {
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    @Test
+    void reentrantCallOnSameKeyShouldRunDirectly() {
+        AtomicInteger loads = new AtomicInteger();
+
+        String value = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> singleFlight.execute("k", () -> {
+            loads.incrementAndGet();
+            return singleFlight.execute("k", () -> {
+                loads.incrementAndGet();
+                return "inner";
+            }) + "-outer";
+        }));
+
+        assertEquals("inner-outer", value);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void failureShouldPropagateAndClearCall() {
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("k", () -> {
+            throw new IllegalStateException("db down");
+        }));
+
+        assertEquals("v", singleFlight.execute("k", () -> "v"));
+    }
+}
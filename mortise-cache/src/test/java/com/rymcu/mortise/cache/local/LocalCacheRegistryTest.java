@@ -0,0 +1,50 @@
+package com.rymcu.mortise.cache.local;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class LocalCacheRegistryTest {
+
+    private final LocalCacheRegistry registry = new LocalCacheRegistry(Map.of(
+            "dict:data", LocalCacheSpec.of(100, Duration.ofMinutes(1)),
+            "dict:options", LocalCacheSpec.of(100, Duration.ofMinutes(1))));
+
+    @Test
+    void resolveShouldMatchCacheServiceAndCacheManagerKeys() {
+        LocalCacheRegion region = registry.region("dict:data");
+
+        assertSame(region, registry.resolve("dict:data:gender"));
+        assertSame(region, registry.resolve("mortise:dict:data:gender"));
+        assertSame(registry.region("dict:options"), registry.resolve("dict:options:gender"));
+        assertNull(registry.resolve("dict:type:gender"));
+    }
+
+    @Test
+    void invalidateMatchingShouldOnlyTouchEntriesUnderPatternPrefix() {
+        LocalCacheRegion region = registry.region("dict:data");
+        region.put("dict:data:gender", "g");
+        region.put("dict:data:status", "s");
+        region.put("mortise:dict:data:gender", "m");
+        LocalCacheRegion options = registry.region("dict:options");
+        options.put("dict:options:gender", "o");
+
+        registry.invalidateMatching("dict:data:gen*");
+
+        assertNull(region.get("dict:data:gender"));
+        assertNotNull(region.get("dict:data:status"));
+        assertNotNull(region.get("mortise:dict:data:gender"));
+
+        registry.invalidateMatching("dict:*");
+
+        assertNull(region.get("dict:data:status"));
+        assertNull(options.get("dict:options:gender"));
+        assertEquals("m", region.get("mortise:dict:data:gender"));
+    }
+}
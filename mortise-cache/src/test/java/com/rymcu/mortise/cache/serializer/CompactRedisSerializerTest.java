@@ -0,0 +1,99 @@
+package com.rymcu.mortise.cache.serializer;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.rymcu.mortise.common.model.BaseOption;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactRedisSerializerTest {
+
+    private final Jackson2JsonRedisSerializer<Object> jsonSerializer = createJsonSerializer();
+
+    private final CompactRedisSerializer serializer = new CompactRedisSerializer(
+            new CompactTypeRegistry().register(64, BaseOption.class), jsonSerializer);
+
+    @Test
+    void roundTripShouldPreserveRegisteredAndNestedTypes() {
+        List<BaseOption> options = new ArrayList<>();
+        options.add(option("男", "1"));
+        options.add(option("女", "2"));
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("options", options);
+        value.put("updatedAt", LocalDateTime.of(2025, 1, 1, 8, 30));
+        value.put("total", 2L);
+
+        byte[] bytes = serializer.serialize(value);
+        Object restored = serializer.deserialize(bytes);
+
+        assertEquals(value, restored);
+        List<?> restoredOptions = (List<?>) ((Map<?, ?>) restored).get("options");
+        assertInstanceOf(BaseOption.class, restoredOptions.get(0));
+        assertFalse(new String(bytes, StandardCharsets.ISO_8859_1).contains(BaseOption.class.getName()),
+                "registered types should be written as numeric ids");
+        assertTrue(bytes.length < jsonSerializer.serialize(value).length);
+    }
+
+    @Test
+    void rootShouldKeepRecordAndImmutableCollectionTypes() {
+        Snapshot snapshot = new Snapshot("site", Map.of("name", "mortise"));
+
+        assertEquals(snapshot, serializer.deserialize(serializer.serialize(snapshot)));
+        assertEquals(List.of(option("a", "1")), serializer.deserialize(serializer.serialize(List.of(option("a", "1")))));
+    }
+
+    @Test
+    void deserializeShouldFallBackToLegacyJsonEntries() {
+        byte[] legacy = jsonSerializer.serialize(new ArrayList<>(List.of(option("男", "1"))));
+
+        Object restored = serializer.deserialize(legacy);
+
+        assertEquals(List.of(option("男", "1")), restored);
+    }
+
+    @Test
+    void deserializeShouldRejectUnknownTypeIds() {
+        CompactRedisSerializer other = new CompactRedisSerializer(
+                new CompactTypeRegistry().register(65, BaseOption.class), jsonSerializer);
+        byte[] bytes = other.serialize(option("a", "1"));
+
+        assertThrows(SerializationException.class, () -> serializer.deserialize(bytes));
+    }
+
+    private static BaseOption option(String label, String value) {
+        BaseOption option = new BaseOption();
+        option.setLabel(label);
+        option.setValue(value);
+        return option;
+    }
+
+    private static Jackson2JsonRedisSerializer<Object> createJsonSerializer() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        objectMapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance,
+                ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        objectMapper.registerModule(new JavaTimeModule());
+        return new Jackson2JsonRedisSerializer<>(objectMapper, Object.class);
+    }
+
+    record Snapshot(String group, Map<String, String> values) {
+    }
+}
@@ -0,0 +1,140 @@
+package com.rymcu.mortise.cache.serializer;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.rymcu.mortise.common.model.BaseOption;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 缓存值序列化基准：现有 JSON（Jackson + @class 类型信息）对比紧凑二进制格式
+ *
+ * <p>负载模拟字典选项列表与站点配置分组。{@code test-compile} 后直接执行 {@link #main(String[])}，
+ * 或以测试类路径运行 {@code org.openjdk.jmh.Main RedisValueSerializerBenchmark}。
+ * 编码后的体积对比由 {@code CompactRedisSerializerTest} 断言。</p>
+ *
+ * @author ronger
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisValueSerializerBenchmark {
+
+    @Param({"20", "200"})
+    private int optionCount;
+
+    private Jackson2JsonRedisSerializer<Object> jsonSerializer;
+
+    private CompactRedisSerializer compactSerializer;
+
+    private Object payload;
+
+    private byte[] jsonBytes;
+
+    private byte[] compactBytes;
+
+    @Setup
+    public void setup() {
+        jsonSerializer = createJsonSerializer();
+        compactSerializer = new CompactRedisSerializer(
+                new CompactTypeRegistry().register(64, BaseOption.class).register(65, ConfigGroup.class),
+                jsonSerializer);
+        payload = createPayload(optionCount);
+        jsonBytes = jsonSerializer.serialize(payload);
+        compactBytes = compactSerializer.serialize(payload);
+    }
+
+    @Benchmark
+    public byte[] serializeJson() {
+        return jsonSerializer.serialize(payload);
+    }
+
+    @Benchmark
+    public byte[] serializeCompact() {
+        return compactSerializer.serialize(payload);
+    }
+
+    @Benchmark
+    public Object deserializeJson() {
+        return jsonSerializer.deserialize(jsonBytes);
+    }
+
+    @Benchmark
+    public Object deserializeCompact() {
+        return compactSerializer.deserialize(compactBytes);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RedisValueSerializerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    private static Object createPayload(int optionCount) {
+        List<BaseOption> options = new ArrayList<>(optionCount);
+        for (int i = 0; i < optionCount; i++) {
+            BaseOption option = new BaseOption();
+            option.setLabel("选项-" + i);
+            option.setValue(String.valueOf(i));
+            option.setDisabled(i % 10 == 0);
+            options.add(option);
+        }
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("site.name", "Mortise");
+        values.put("site.logo", "https://static.rymcu.com/logo.png");
+        values.put("seo.keywords", "mortise,spring boot,rbac");
+        ConfigGroup group = new ConfigGroup();
+        group.group = "site";
+        group.label = "基本信息";
+        group.values = values;
+        group.updatedAt = LocalDateTime.of(2025, 1, 1, 8, 30);
+        group.options = options;
+        return group;
+    }
+
+    private static Jackson2JsonRedisSerializer<Object> createJsonSerializer() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        objectMapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance,
+                ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        objectMapper.configure(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN, true);
+        return new Jackson2JsonRedisSerializer<>(objectMapper, Object.class);
+    }
+
+    /**
+     * 模拟站点配置分组的缓存值
+     */
+    public static class ConfigGroup {
+
+        public String group;
+
+        public String label;
+
+        public Map<String, String> values;
+
+        public LocalDateTime updatedAt;
+
+        public List<BaseOption> options;
+    }
+}
@@ -0,0 +1,288 @@
+package com.rymcu.mortise.cache.service.impl;
+
+import com.rymcu.mortise.cache.config.MortiseCacheProperties;
+import com.rymcu.mortise.cache.index.CacheKeyIndex;
+import com.rymcu.mortise.cache.local.LocalCacheInvalidationBroadcaster;
+import com.rymcu.mortise.cache.local.LocalCacheRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisHashCommands;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RedisCacheServiceImplTest {
+
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+
+    @SuppressWarnings("unchecked")
+    private final SetOperations<String, String> setOperations = mock(SetOperations.class);
+
+    private final LocalCacheInvalidationBroadcaster broadcaster = mock(LocalCacheInvalidationBroadcaster.class);
+
+    private final RedisConnection connection = mock(RedisConnection.class);
+
+    private final RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+
+    private final RedisScriptingCommands scriptingCommands = mock(RedisScriptingCommands.class);
+
+    private final RedisHashCommands hashCommands = mock(RedisHashCommands.class);
+
+    private final RedisSerializer<Object> serializer = RedisSerializer.java();
+
+    private final MortiseCacheProperties cacheProperties = new MortiseCacheProperties();
+
+    /**
+     * 每次 UNLINK 的键（批次列表在调用后会被清空，需在调用时复制）
+     */
+    private final List<List<String>> unlinked = new ArrayList<>();
+
+    private RedisCacheServiceImpl cacheService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        cacheProperties.getScan().setBatchSize(2);
+        cacheProperties.getScan().setBatchInterval(Duration.ZERO);
+        cacheService = new RedisCacheServiceImpl();
+        ReflectionTestUtils.setField(cacheService, "redisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(cacheService, "stringRedisTemplate", stringRedisTemplate);
+        ReflectionTestUtils.setField(cacheService, "cacheKeyIndex", new CacheKeyIndex(Set.of("user")));
+        ReflectionTestUtils.setField(cacheService, "cacheProperties", cacheProperties);
+        ReflectionTestUtils.setField(cacheService, "localCacheInvalidationBroadcaster", broadcaster);
+        ReflectionTestUtils.setField(cacheService, "localCacheRegistry", new LocalCacheRegistry(Map.of()));
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(connection.scriptingCommands()).thenReturn(scriptingCommands);
+        when(connection.hashCommands()).thenReturn(hashCommands);
+        doReturn(serializer).when(redisTemplate).getValueSerializer();
+        doReturn(serializer).when(redisTemplate).getHashValueSerializer();
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenAnswer(invocation -> invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection));
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+            return List.of();
+        });
+        when(stringRedisTemplate.opsForSet()).thenReturn(setOperations);
+        when(stringRedisTemplate.unlink(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> keys = invocation.getArgument(0);
+            unlinked.add(List.copyOf(keys));
+            return (long) keys.size();
+        });
+    }
+
+    @Test
+    void indexedNamespaceShouldOnlyWalkIndex() {
+        Cursor<String> indexCursor = cursor("user:1", "user:2", "user:3");
+        when(stringRedisTemplate.hasKey("cache:index:user")).thenReturn(true);
+        when(setOperations.scan(startsWith("cache:index:user:evicting:"), any(ScanOptions.class)))
+                .thenReturn(indexCursor);
+
+        cacheService.deleteNamespace("user");
+
+        verify(stringRedisTemplate).rename(eq("cache:index:user"), startsWith("cache:index:user:evicting:"));
+        verify(stringRedisTemplate, never()).scan(any(ScanOptions.class));
+        assertEquals(List.of(List.of("user:1", "user:2"), List.of("user:3")), unlinked);
+        verify(stringRedisTemplate).unlink(startsWith("cache:index:user:evicting:"));
+        verify(broadcaster).evictMatching("user:*");
+    }
+
+    @Test
+    void unlinkBatchesShouldBeThrottled() {
+        cacheProperties.getScan().setBatchInterval(Duration.ofMillis(30));
+        Cursor<String> scanCursor = cursor("order:1", "order:2", "order:3", "order:4", "order:5");
+        when(stringRedisTemplate.scan(any(ScanOptions.class))).thenReturn(scanCursor);
+
+        long start = System.nanoTime();
+        cacheService.deletePattern("order:*");
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(3, unlinked.size());
+        // 三批之间停顿两次，最后一批之后不停顿
+        assertTrue(elapsedMillis >= 60, "elapsed=" + elapsedMillis);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void everyWritePathShouldRegisterIndexedKeys() {
+        HashOperations<String, Object, Object> hashOperations = mock(HashOperations.class);
+        ValueOperations<String, Object> valueOperations = mock(ValueOperations.class);
+        doReturn(hashOperations).when(redisTemplate).opsForHash();
+        doReturn(valueOperations).when(redisTemplate).opsForValue();
+        doReturn(setOperations).when(redisTemplate).opsForSet();
+
+        cacheService.hSet("user:hash", "field", "v");
+        cacheService.increment("user:counter");
+        cacheService.increment("user:limited", 1L, Duration.ofSeconds(5));
+        cacheService.sAdd("user:set", "a");
+        cacheService.hSet("order:hash", "field", "v");
+
+        verify(stringRedisTemplate).execute(eq(CacheKeyIndex.REGISTER_SCRIPT), eq(List.of("cache:index:user")),
+                eq("user:hash"), eq("-1"));
+        verify(stringRedisTemplate).execute(eq(CacheKeyIndex.REGISTER_SCRIPT), eq(List.of("cache:index:user")),
+                eq("user:counter"), eq("-1"));
+        verify(stringRedisTemplate).execute(eq(CacheKeyIndex.REGISTER_SCRIPT), eq(List.of("cache:index:user")),
+                eq("user:limited"), eq("5000"));
+        verify(stringRedisTemplate).execute(eq(CacheKeyIndex.REGISTER_SCRIPT), eq(List.of("cache:index:user")),
+                eq("user:set"), eq("-1"));
+        verify(stringRedisTemplate, never()).execute(eq(CacheKeyIndex.REGISTER_SCRIPT), anyList(),
+                eq("order:hash"), anyString());
+    }
+
+    @Test
+    void missingIndexShouldFallBackToScan() {
+        Cursor<String> scanCursor = cursor("user:legacy");
+        when(stringRedisTemplate.hasKey("cache:index:user")).thenReturn(false);
+        when(stringRedisTemplate.scan(any(ScanOptions.class))).thenReturn(scanCursor);
+
+        cacheService.deleteNamespace("user");
+
+        verify(stringRedisTemplate, never()).rename(anyString(), anyString());
+        assertEquals(List.of(List.of("user:legacy")), unlinked);
+    }
+
+    @Test
+    void unindexedPatternShouldOnlyScan() {
+        Cursor<String> scanCursor = cursor("order:1");
+        when(stringRedisTemplate.scan(any(ScanOptions.class))).thenReturn(scanCursor);
+
+        cacheService.deletePattern("order:*");
+
+        verify(stringRedisTemplate, never()).hasKey(anyString());
+        assertEquals(List.of(List.of("order:1")), unlinked);
+        verify(broadcaster).evictMatching("order:*");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void multiSetShouldRejectInvalidTimeoutBeforeOpeningPipeline() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("order:1", "a");
+        values.put("order:2", "b");
+        Map<String, Duration> timeouts = Map.of("order:1", Duration.ofMinutes(1), "order:2", Duration.ZERO);
+
+        assertThrows(IllegalArgumentException.class, () -> cacheService.multiSet(values, timeouts));
+
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+        verify(stringCommands, never()).set(any(), any(), any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void multiSetShouldPipelineWritesAndIndexWithPreloadedScript() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("user:1", "a");
+        values.put("order:1", "b");
+
+        cacheService.multiSet(values, Duration.ofMinutes(1));
+        cacheService.multiSet(Map.of("user:2", "c"), Duration.ofMinutes(1));
+
+        verify(redisTemplate, times(2)).executePipelined(any(RedisCallback.class));
+        verify(stringCommands, times(3)).set(any(), any(), eq(Expiration.from(Duration.ofMinutes(1))),
+                eq(RedisStringCommands.SetOption.upsert()));
+        verify(scriptingCommands, times(1)).scriptLoad(any());
+        verify(scriptingCommands, times(2)).evalSha(anyString(), eq(ReturnType.INTEGER), eq(1), any(byte[][].class));
+        verify(scriptingCommands, never()).eval(any(), any(), anyInt(), any(byte[][].class));
+        verify(broadcaster).evict("user:1");
+        verify(broadcaster).evict("order:1");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void multiSetShouldReloadScriptAndReindexOnNoScript() {
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+            throw new RedisPipelineException(new IllegalStateException("NOSCRIPT No matching script"));
+        }).thenAnswer(invocation -> {
+            invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+            return List.of();
+        });
+
+        cacheService.multiSet(Map.of("user:1", "a"), Duration.ofMinutes(1));
+
+        verify(stringCommands, times(1)).set(any(), any(), any(), any());
+        verify(scriptingCommands, times(2)).scriptLoad(any());
+        verify(scriptingCommands, times(2)).evalSha(anyString(), eq(ReturnType.INTEGER), eq(1), any(byte[][].class));
+    }
+
+    @Test
+    void multiGetShouldReadAllKeysWithOneMGet() {
+        when(stringCommands.mGet(any(byte[][].class)))
+                .thenReturn(Arrays.asList(serializer.serialize("a"), null, serializer.serialize(3)));
+
+        Map<String, String> result = cacheService.multiGet("user", List.of("1", "2", "3"), String.class);
+
+        assertEquals(Map.of("1", "a"), result);
+        verify(stringCommands, times(1)).mGet(any(byte[][].class));
+    }
+
+    @Test
+    void multiDeleteShouldDeletePrefixedKeysAndEvictLocalCopies() {
+        when(redisTemplate.delete(List.of("user:1", "user:2"))).thenReturn(2L);
+
+        assertEquals(2L, cacheService.multiDelete("user", List.of("1", "2")));
+        verify(broadcaster).evict("user:1");
+        verify(broadcaster).evict("user:2");
+    }
+
+    @Test
+    void hMultiGetShouldSkipMissingFields() {
+        when(hashCommands.hMGet(any(byte[].class), any(byte[][].class)))
+                .thenReturn(Arrays.asList(serializer.serialize("v1"), null));
+
+        Map<String, String> result = cacheService.hMultiGet("config", List.of("a", "b"), String.class);
+
+        assertEquals(Map.of("a", "v1"), result);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cursor<String> cursor(String... keys) {
+        Iterator<String> iterator = Arrays.asList(keys).iterator();
+        Cursor<String> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> iterator.next());
+        return cursor;
+    }
+}
@@ -0,0 +1,124 @@
+package com.rymcu.mortise.cache.service.impl;
+
+import com.rymcu.mortise.cache.config.MortiseCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RedisCacheVersionServiceTest {
+
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+
+    private RedisCacheVersionService versionService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        ObjectProvider<RedisMessageListenerContainer> containerProvider = mock(ObjectProvider.class);
+        versionService = new RedisCacheVersionService(stringRedisTemplate, containerProvider,
+                new MortiseCacheProperties());
+    }
+
+    @Test
+    void currentVersionShouldReadRedisOnlyOnce() {
+        when(valueOperations.get("cache:version:wechat")).thenReturn("3");
+
+        assertEquals(3L, versionService.currentVersion("wechat"));
+        assertEquals(3L, versionService.currentVersion("wechat"));
+        verify(valueOperations, times(1)).get("cache:version:wechat");
+    }
+
+    @Test
+    void pushedAndReconciledVersionsShouldUpdateLocalCopy() {
+        when(valueOperations.get("cache:version:wechat")).thenReturn("3");
+        versionService.currentVersion("wechat");
+
+        versionService.onMessage(new DefaultMessage("mortise:cache:version".getBytes(StandardCharsets.UTF_8),
+                "wechat|5".getBytes(StandardCharsets.UTF_8)), null);
+        assertEquals(5L, versionService.currentVersion("wechat"));
+
+        when(valueOperations.multiGet(anyList())).thenReturn(List.of("7"));
+        versionService.reconcile();
+        assertEquals(7L, versionService.currentVersion("wechat"));
+    }
+
+    @Test
+    void bumpVersionShouldUpdateLocalCopyAndPublish() {
+        bumpReturns("cache:version:oauth2", 2L);
+
+        assertEquals(2L, versionService.bumpVersion("oauth2"));
+        assertEquals(2L, versionService.currentVersion("oauth2"));
+        verify(stringRedisTemplate).convertAndSend("mortise:cache:version", "oauth2|2");
+    }
+
+    @Test
+    void olderVersionsArrivingLateShouldNotMoveLocalCopyBack() {
+        when(valueOperations.get("cache:version:wechat")).thenReturn("3");
+        versionService.currentVersion("wechat");
+        versionService.onMessage(new DefaultMessage("mortise:cache:version".getBytes(StandardCharsets.UTF_8),
+                "wechat|6".getBytes(StandardCharsets.UTF_8)), null);
+
+        // 本节点的递增结果晚于其他节点的推送返回
+        bumpReturns("cache:version:wechat", 5L);
+        versionService.bumpVersion("wechat");
+        assertEquals(6L, versionService.currentVersion("wechat"));
+
+        // 对账读到的是推送之前的旧值
+        when(valueOperations.multiGet(anyList())).thenReturn(List.of("4"));
+        versionService.reconcile();
+        assertEquals(6L, versionService.currentVersion("wechat"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void bumpShouldSeedMissingCounterWithEpoch() {
+        long before = System.currentTimeMillis();
+        bumpReturns("cache:version:wechat", 1_700_000_000_001L);
+
+        versionService.bumpVersion("wechat");
+
+        verify(stringRedisTemplate).execute(any(RedisScript.class), eq(List.of("cache:version:wechat")),
+                argThat((String epoch) -> Long.parseLong(epoch) >= before));
+    }
+
+    @Test
+    void bumpAfterRedisResetShouldStillAdvanceLocalCopy() {
+        when(valueOperations.get("cache:version:wechat")).thenReturn("57");
+        versionService.currentVersion("wechat");
+
+        // Redis 清空后计数器按纪元重建，新版本大于任何旧版本
+        long reseeded = System.currentTimeMillis() + 1;
+        versionService.onMessage(new DefaultMessage("mortise:cache:version".getBytes(StandardCharsets.UTF_8),
+                ("wechat|" + reseeded).getBytes(StandardCharsets.UTF_8)), null);
+
+        assertEquals(reseeded, versionService.currentVersion("wechat"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void bumpReturns(String key, long version) {
+        when(stringRedisTemplate.execute(any(RedisScript.class), eq(List.of(key)), anyString())).thenReturn(version);
+    }
+}
@@ -0,0 +1,85 @@
+package com.rymcu.mortise.core.config;
+
+import com.rymcu.mortise.core.executor.BulkheadTaskExecutor;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 舱壁执行器配置属性
+ * <p>
+ * 每种用途一个独立的虚拟线程执行器，用信号量限制同时执行的任务数，超出的任务进入有界队列，
+ * 队列满时按拒绝策略处理，避免突发任务耗尽数据库连接池（Hikari）和 Redis 连接池。
+ * </p>
+ *
+ * <p>配置示例：</p>
+ * <pre>
+ * executor:
+ *   bulkhead:
+ *     log:
+ *       max-concurrent: 4
+ *       queue-capacity: 2000
+ *       rejection-policy: caller-runs
+ *     notification:
+ *       max-concurrent: 4
+ * </pre>
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "executor.bulkhead")
+public class BulkheadProperties {
+
+    /**
+     * 默认执行器（未指定名称的 @Async 方法）
+     */
+    private Spec task = new Spec(16, 1000, BulkheadTaskExecutor.RejectionPolicy.CALLER_RUNS);
+
+    /**
+     * 日志写入，队列满时由调用线程写入，形成反压
+     */
+    private Spec log = new Spec(4, 2000, BulkheadTaskExecutor.RejectionPolicy.CALLER_RUNS);
+
+    /**
+     * 通知发送
+     */
+    private Spec notification = new Spec(4, 500, BulkheadTaskExecutor.RejectionPolicy.CALLER_RUNS);
+
+    /**
+     * 登录、注册等账号事件
+     */
+    private Spec loginEvent = new Spec(4, 1000, BulkheadTaskExecutor.RejectionPolicy.CALLER_RUNS);
+
+    /**
+     * 文件处理，队列满时直接拒绝
+     */
+    private Spec file = new Spec(2, 100, BulkheadTaskExecutor.RejectionPolicy.ABORT);
+
+    /**
+     * 关闭时等待执行中和排队任务完成的最长时间（秒）
+     */
+    private int awaitTerminationSeconds = 30;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Spec {
+
+        /**
+         * 最大并发执行数
+         */
+        private int maxConcurrent;
+
+        /**
+         * 等待队列容量，0 表示不排队
+         */
+        private int queueCapacity;
+
+        /**
+         * 并发数和队列都已满时的处理方式
+         */
+        private BulkheadTaskExecutor.RejectionPolicy rejectionPolicy;
+    }
+}
@@ -1,28 +1,30 @@
 package com.rymcu.mortise.core.config;
 
+import com.rymcu.mortise.core.constant.ExecutorConstant;
+import com.rymcu.mortise.core.executor.BulkheadTaskExecutor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.task.TaskDecorator;
 import org.springframework.core.task.TaskExecutor;
-import org.springframework.core.task.support.TaskExecutorAdapter;
 import org.springframework.lang.Nullable;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
-import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * 异步任务执行器配置（JDK 21 优化版）
  * <p>
- * 提供两种执行器供不同场景使用：
+ * 提供以下执行器供不同场景使用：
  * <ul>
  *   <li><b>taskExecutor（默认/主执行器）</b>：基于 JDK 21 虚拟线程，适合 I/O 密集型任务。
- *       虚拟线程由 JVM 管理，创建和切换开销极低，可以创建数百万级实例。
- *       适用于：日志写入、邮件发送、通知推送、事件监听、HTTP 调用等 I/O 等待场景。</li>
+ *       虚拟线程由 JVM 管理，创建和切换开销极低，但并发数需要受限，否则突发任务会同时占用大量数据库和 Redis 连接。</li>
+ *   <li><b>舱壁执行器</b>：logExecutor、notificationExecutor、loginEventExecutor、fileExecutor，
+ *       按用途隔离的有界虚拟线程执行器，某一类任务积压不会拖垮其他任务，见 {@link BulkheadProperties}。</li>
  *   <li><b>platformThreadExecutor</b>：传统平台线程池，适合 CPU 密集型任务。
  *       有界队列 + 线程数上限，避免创建过多线程导致 CPU 争抢。
  *       适用于：数据计算、图片处理、加密解密等 CPU 运算场景。</li>
@@ -30,6 +32,7 @@ import java.util.concurrent.ThreadPoolExecutor;
  * </p>
  *
  * <p><b>默认行为：</b>所有 @Async 方法默认使用虚拟线程执行器。
+ * 按用途指定 @Async(ExecutorConstant.LOG_EXECUTOR) 等舱壁执行器；
  * 如需使用平台线程池，请指定 @Async("platformThreadExecutor")。</p>
  *
  * <p><b>上下文传播：</b>如果容器中存在 {@link TaskDecorator} Bean（如 auth 模块提供的
@@ -40,6 +43,7 @@ import java.util.concurrent.ThreadPoolExecutor;
  */
 @Slf4j
 @Configuration
+@EnableConfigurationProperties(BulkheadProperties.class)
 public class TaskExecutorConfig {
 
     @Value("${executor.thread.platform.corePoolSize:4}")
@@ -64,35 +68,69 @@ public class TaskExecutorConfig {
     @Autowired(required = false)
     private TaskDecorator taskDecorator;
 
+    @Autowired
+    private BulkheadProperties bulkheadProperties;
+
     /**
      * 默认异步任务执行器 — 基于 JDK 21 虚拟线程
      * <p>
      * 所有 @Async 方法默认使用此执行器。虚拟线程特性：
      * <ul>
-     *   <li>每个任务一个虚拟线程，无需配置线程数上限</li>
+     *   <li>每个任务一个虚拟线程，执行中的任务数受 executor.bulkhead.task.max-concurrent 限制</li>
      *   <li>虚拟线程创建和销毁成本极低（约 1KB 栈内存 vs 平台线程 ~1MB）</li>
      *   <li>I/O 阻塞时自动让出载体线程，不浪费 CPU 资源</li>
-     *   <li>无队列积压风险，不存在拒绝策略问题</li>
+     *   <li>超出并发上限的任务进入有界队列，队列满时由调用线程执行</li>
      * </ul>
      * </p>
      *
      * @return TaskExecutor 基于虚拟线程的异步任务执行器
      */
     @Primary
-    @Bean(name = "taskExecutor")
-    public TaskExecutor taskExecutor() {
-        TaskExecutorAdapter executor = new TaskExecutorAdapter(
-                Executors.newVirtualThreadPerTaskExecutor()
-        );
-
-        // 如果存在 TaskDecorator（如 SecurityContext 传播装饰器），则应用
+    @Bean(name = ExecutorConstant.TASK_EXECUTOR)
+    public BulkheadTaskExecutor taskExecutor() {
         if (taskDecorator != null) {
-            executor.setTaskDecorator(taskDecorator);
             log.info("虚拟线程异步任务执行器已配置 TaskDecorator: {}", taskDecorator.getClass().getSimpleName());
         }
+        return bulkhead(ExecutorConstant.TASK_EXECUTOR, bulkheadProperties.getTask());
+    }
+
+    /**
+     * 日志写入执行器
+     */
+    @Bean(name = ExecutorConstant.LOG_EXECUTOR)
+    public BulkheadTaskExecutor logExecutor() {
+        return bulkhead(ExecutorConstant.LOG_EXECUTOR, bulkheadProperties.getLog());
+    }
 
-        log.info("虚拟线程异步任务执行器初始化完成 (JDK 21 Virtual Threads)");
+    /**
+     * 通知发送执行器
+     */
+    @Bean(name = ExecutorConstant.NOTIFICATION_EXECUTOR)
+    public BulkheadTaskExecutor notificationExecutor() {
+        return bulkhead(ExecutorConstant.NOTIFICATION_EXECUTOR, bulkheadProperties.getNotification());
+    }
+
+    /**
+     * 登录、注册等账号事件执行器
+     */
+    @Bean(name = ExecutorConstant.LOGIN_EVENT_EXECUTOR)
+    public BulkheadTaskExecutor loginEventExecutor() {
+        return bulkhead(ExecutorConstant.LOGIN_EVENT_EXECUTOR, bulkheadProperties.getLoginEvent());
+    }
+
+    /**
+     * 文件处理执行器
+     */
+    @Bean(name = ExecutorConstant.FILE_EXECUTOR)
+    public BulkheadTaskExecutor fileExecutor() {
+        return bulkhead(ExecutorConstant.FILE_EXECUTOR, bulkheadProperties.getFile());
+    }
 
+    private BulkheadTaskExecutor bulkhead(String name, BulkheadProperties.Spec spec) {
+        BulkheadTaskExecutor executor = new BulkheadTaskExecutor(name, spec.getMaxConcurrent(), spec.getQueueCapacity(),
+                spec.getRejectionPolicy(), bulkheadProperties.getAwaitTerminationSeconds(), taskDecorator);
+        log.info("舱壁执行器'{}'初始化完成, 最大并发数:{}, 队列容量:{}, 拒绝策略:{}",
+                name, spec.getMaxConcurrent(), spec.getQueueCapacity(), spec.getRejectionPolicy());
         return executor;
     }
 
@@ -0,0 +1,41 @@
+package com.rymcu.mortise.core.constant;
+
+/**
+ * 异步执行器名称常量
+ *
+ * <p>用于 {@code @Async(ExecutorConstant.XXX)} 指定舱壁执行器，每个执行器的并发数、队列容量和拒绝策略
+ * 在 {@code executor.bulkhead.*} 下独立配置</p>
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+public class ExecutorConstant {
+
+    /**
+     * 默认执行器，未指定名称的 @Async 方法使用
+     */
+    public static final String TASK_EXECUTOR = "taskExecutor";
+
+    /**
+     * 日志写入
+     */
+    public static final String LOG_EXECUTOR = "logExecutor";
+
+    /**
+     * 通知发送（邮件、微信等）
+     */
+    public static final String NOTIFICATION_EXECUTOR = "notificationExecutor";
+
+    /**
+     * 登录、注册等账号事件
+     */
+    public static final String LOGIN_EVENT_EXECUTOR = "loginEventExecutor";
+
+    /**
+     * 文件处理
+     */
+    public static final String FILE_EXECUTOR = "fileExecutor";
+
+    private ExecutorConstant() {
+    }
+}
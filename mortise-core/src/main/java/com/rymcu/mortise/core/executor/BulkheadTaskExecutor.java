@@ -0,0 +1,249 @@
+package com.rymcu.mortise.core.executor;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 舱壁执行器 — 有并发上限的虚拟线程执行器
+ * <p>
+ * 任务在虚拟线程中执行，同时执行的任务数由信号量限制；拿不到许可的任务进入有界队列，
+ * 由执行完当前任务的虚拟线程依次取出执行，不为排队任务额外创建线程。并发和队列都已满时按
+ * {@link RejectionPolicy} 处理。
+ * </p>
+ * <p>
+ * 实现 {@link MeterBinder}，接入 Actuator 后自动注册以下指标（tag {@code name} 为执行器名称）：
+ * <ul>
+ *   <li>{@code mortise.executor.bulkhead.active}：执行中的任务数</li>
+ *   <li>{@code mortise.executor.bulkhead.queued}：排队中的任务数</li>
+ *   <li>{@code mortise.executor.bulkhead.rejected}：被拒绝的任务数（含由调用线程执行的）</li>
+ *   <li>{@code mortise.executor.bulkhead.completed}：已执行完成的任务数</li>
+ * </ul>
+ * </p>
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+@Slf4j
+public class BulkheadTaskExecutor implements AsyncTaskExecutor, MeterBinder, DisposableBean {
+
+    private static final String METRIC_PREFIX = "mortise.executor.bulkhead.";
+
+    /**
+     * 并发和队列都已满时的处理方式
+     */
+    public enum RejectionPolicy {
+
+        /**
+         * 抛出 {@link TaskRejectedException}
+         */
+        ABORT,
+
+        /**
+         * 由提交任务的线程直接执行，形成反压
+         */
+        CALLER_RUNS,
+
+        /**
+         * 丢弃新任务
+         */
+        DISCARD,
+
+        /**
+         * 丢弃队列中最早的任务，新任务入队
+         */
+        DISCARD_OLDEST
+    }
+
+    private final String name;
+
+    private final int maxConcurrent;
+
+    private final int queueCapacity;
+
+    private final RejectionPolicy rejectionPolicy;
+
+    private final int awaitTerminationSeconds;
+
+    @Nullable
+    private final TaskDecorator taskDecorator;
+
+    private final Semaphore permits;
+
+    private final BlockingQueue<Runnable> queue;
+
+    private final ExecutorService virtualThreads;
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder completed = new LongAdder();
+
+    public BulkheadTaskExecutor(String name, int maxConcurrent, int queueCapacity, RejectionPolicy rejectionPolicy,
+                                int awaitTerminationSeconds, @Nullable TaskDecorator taskDecorator) {
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("执行器 " + name + " 的 max-concurrent 必须大于 0");
+        }
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.queueCapacity = Math.max(queueCapacity, 0);
+        this.rejectionPolicy = rejectionPolicy != null ? rejectionPolicy : RejectionPolicy.ABORT;
+        this.awaitTerminationSeconds = awaitTerminationSeconds;
+        this.taskDecorator = taskDecorator;
+        this.permits = new Semaphore(maxConcurrent);
+        this.queue = new LinkedBlockingQueue<>(Math.max(queueCapacity, 1));
+        this.virtualThreads = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 0).factory());
+    }
+
+    @Override
+    public void execute(@NonNull Runnable task) {
+        Runnable runnable = taskDecorator != null ? taskDecorator.decorate(task) : task;
+        if (permits.tryAcquire()) {
+            start(runnable);
+            return;
+        }
+        if (queueCapacity > 0 && queue.offer(runnable)) {
+            // 入队后重新检查：执行线程可能在入队前刚好释放了许可
+            if (permits.tryAcquire()) {
+                Runnable next = queue.poll();
+                if (next != null) {
+                    start(next);
+                } else {
+                    permits.release();
+                }
+            }
+            return;
+        }
+        reject(runnable);
+    }
+
+    private void start(Runnable first) {
+        try {
+            virtualThreads.execute(() -> runWorker(first));
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            reject(first);
+        }
+    }
+
+    /**
+     * 执行任务后继续取排队任务，队列为空时归还许可
+     */
+    private void runWorker(Runnable first) {
+        Runnable current = first;
+        while (current != null) {
+            active.incrementAndGet();
+            try {
+                current.run();
+            } catch (Throwable e) {
+                log.error("执行器 {} 任务执行异常", name, e);
+            } finally {
+                active.decrementAndGet();
+                completed.increment();
+            }
+            current = queue.poll();
+            if (current == null) {
+                permits.release();
+                // 释放许可后队列中又有任务、且没有其他线程取走许可时继续执行
+                if (queue.isEmpty() || !permits.tryAcquire()) {
+                    return;
+                }
+                current = queue.poll();
+                if (current == null) {
+                    permits.release();
+                }
+            }
+        }
+    }
+
+    private void reject(Runnable runnable) {
+        rejected.increment();
+        switch (rejectionPolicy) {
+            case CALLER_RUNS -> {
+                if (virtualThreads.isShutdown()) {
+                    throw new TaskRejectedException("执行器 " + name + " 已关闭");
+                }
+                runnable.run();
+            }
+            case DISCARD -> log.warn("执行器 {} 已满（并发 {}，队列 {}），丢弃任务", name, maxConcurrent, queueCapacity);
+            case DISCARD_OLDEST -> {
+                if (queueCapacity > 0 && queue.poll() != null && queue.offer(runnable)) {
+                    log.warn("执行器 {} 已满，丢弃最早排队的任务", name);
+                } else {
+                    log.warn("执行器 {} 已满，丢弃任务", name);
+                }
+            }
+            default -> throw new TaskRejectedException("执行器 " + name + " 已满（并发 " + maxConcurrent
+                    + "，队列 " + queueCapacity + "）");
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder(METRIC_PREFIX + "active", active, AtomicInteger::get)
+                .tag("name", name)
+                .description("执行中的任务数")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + "queued", queue, BlockingQueue::size)
+                .tag("name", name)
+                .description("排队中的任务数")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + "max.concurrent", () -> maxConcurrent)
+                .tag("name", name)
+                .description("最大并发执行数")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + "rejected", rejected, LongAdder::sum)
+                .tag("name", name)
+                .tag("policy", rejectionPolicy.name())
+                .description("被拒绝的任务数")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + "completed", completed, LongAdder::sum)
+                .tag("name", name)
+                .description("已执行完成的任务数")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        virtualThreads.shutdown();
+        if (!virtualThreads.awaitTermination(awaitTerminationSeconds, TimeUnit.SECONDS)) {
+            log.warn("执行器 {} 关闭超时，仍有 {} 个任务执行中、{} 个任务排队", name, active.get(), queue.size());
+            virtualThreads.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.rymcu.mortise.core.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * 仓库自有游标（keyset）分页结果。
+ * <p>
+ * 下一页通过 {@code nextCursor} 继续查询，没有更多数据时为 null；
+ * {@code totalRow} 可选，为 null 表示未统计，{@code totalEstimated} 表示其为估算值。
+ * </p>
+ */
+public final class CursorPageResult<T> {
+
+    private final List<T> records;
+    private final long pageSize;
+    private final String nextCursor;
+    private final Boolean hasNext;
+    private final Long totalRow;
+    private final Boolean totalEstimated;
+
+    private CursorPageResult(long pageSize, List<T> records, String nextCursor, Long totalRow, Boolean totalEstimated) {
+        this.records = records == null ? List.of() : List.copyOf(records);
+        this.pageSize = Math.max(pageSize, 0L);
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+        this.totalRow = totalRow;
+        this.totalEstimated = totalRow != null ? totalEstimated : null;
+    }
+
+    public static <T> CursorPageResult<T> of(long pageSize, List<T> records, String nextCursor) {
+        return new CursorPageResult<>(pageSize, records, nextCursor, null, null);
+    }
+
+    public static <T> CursorPageResult<T> of(long pageSize, List<T> records, String nextCursor,
+                                             Long totalRow, boolean totalEstimated) {
+        return new CursorPageResult<>(pageSize, records, nextCursor, totalRow, totalEstimated);
+    }
+
+    public <R> CursorPageResult<R> map(Function<? super T, ? extends R> mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        List<R> mappedRecords = new ArrayList<>(records.stream().map(mapper).toList());
+        return new CursorPageResult<>(pageSize, mappedRecords, nextCursor, totalRow, totalEstimated);
+    }
+
+    public List<T> getRecords() {
+        return records;
+    }
+
+    public long getPageSize() {
+        return pageSize;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public Boolean getHasNext() {
+        return hasNext;
+    }
+
+    public Long getTotalRow() {
+        return totalRow;
+    }
+
+    public Boolean getTotalEstimated() {
+        return totalEstimated;
+    }
+}
@@ -0,0 +1,139 @@
+package com.rymcu.mortise.core.executor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 舱壁执行器测试
+ */
+class BulkheadTaskExecutorTest {
+
+    private final List<BulkheadTaskExecutor> executors = new ArrayList<>();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        for (BulkheadTaskExecutor executor : executors) {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    void concurrentTasksShouldNotExceedPermits() throws InterruptedException {
+        BulkheadTaskExecutor executor = newExecutor(2, 10, BulkheadTaskExecutor.RejectionPolicy.ABORT);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(6);
+
+        for (int i = 0; i < 6; i++) {
+            executor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                awaitRelease();
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> executor.getActiveCount() == 2);
+        assertEquals(4, executor.getQueueSize());
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(2, maxRunning.get());
+        assertEquals(0, executor.getRejectedCount());
+    }
+
+    @Test
+    void queueOverflowShouldRunOnCallerThread() throws InterruptedException {
+        BulkheadTaskExecutor executor = newExecutor(1, 1, BulkheadTaskExecutor.RejectionPolicy.CALLER_RUNS);
+        CountDownLatch done = new CountDownLatch(2);
+        executor.execute(() -> {
+            awaitRelease();
+            done.countDown();
+        });
+        executor.execute(done::countDown);
+        AtomicReference<Thread> overflowThread = new AtomicReference<>();
+
+        executor.execute(() -> overflowThread.set(Thread.currentThread()));
+
+        assertSame(Thread.currentThread(), overflowThread.get());
+        assertEquals(1, executor.getRejectedCount());
+        assertEquals(1, executor.getQueueSize());
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void abortPolicyShouldRejectWhenFull() {
+        BulkheadTaskExecutor executor = newExecutor(1, 1, BulkheadTaskExecutor.RejectionPolicy.ABORT);
+        executor.execute(this::awaitRelease);
+        executor.execute(() -> {
+        });
+
+        assertThrows(TaskRejectedException.class, () -> executor.execute(() -> {
+        }));
+        assertEquals(1, executor.getRejectedCount());
+    }
+
+    @Test
+    void failingTaskShouldReleasePermit() throws InterruptedException {
+        BulkheadTaskExecutor executor = newExecutor(1, 0, BulkheadTaskExecutor.RejectionPolicy.ABORT);
+        CountDownLatch failed = new CountDownLatch(1);
+        executor.execute(() -> {
+            failed.countDown();
+            throw new IllegalStateException("boom");
+        });
+        assertTrue(failed.await(5, TimeUnit.SECONDS));
+        CountDownLatch done = new CountDownLatch(1);
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertDoesNotThrow(() -> executor.execute(done::countDown)));
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void failingTaskShouldNotStopQueuedTasks() throws InterruptedException {
+        BulkheadTaskExecutor executor = newExecutor(1, 2, BulkheadTaskExecutor.RejectionPolicy.ABORT);
+        CountDownLatch done = new CountDownLatch(2);
+        executor.execute(() -> {
+            awaitRelease();
+            throw new IllegalStateException("boom");
+        });
+        executor.execute(done::countDown);
+        executor.execute(done::countDown);
+
+        release.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        await().atMost(Duration.ofSeconds(5)).until(() -> executor.getActiveCount() == 0);
+        assertEquals(0, executor.getQueueSize());
+    }
+
+    private BulkheadTaskExecutor newExecutor(int maxConcurrent, int queueCapacity,
+                                             BulkheadTaskExecutor.RejectionPolicy policy) {
+        BulkheadTaskExecutor executor = new BulkheadTaskExecutor("test", maxConcurrent, queueCapacity, policy, 5, null);
+        executors.add(executor);
+        return executor;
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
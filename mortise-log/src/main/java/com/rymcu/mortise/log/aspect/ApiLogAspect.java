@@ -5,7 +5,10 @@ import com.rymcu.mortise.core.model.CurrentUser;
 import com.rymcu.mortise.log.annotation.ApiLog;
 import com.rymcu.mortise.log.entity.ApiLogEntity;
 import com.rymcu.mortise.log.resolver.ClientTypeResolverChain;
+import com.rymcu.mortise.log.sampling.LogSampler;
+import com.rymcu.mortise.log.serializer.MaskingJsonWriter;
 import com.rymcu.mortise.log.service.LogService;
+import jakarta.annotation.PostConstruct;
 import jakarta.annotation.Resource;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -32,6 +35,10 @@ import java.util.stream.Collectors;
 /**
  * API 日志切面
  * 用于记录 API 调用日志（请求、响应、耗时等）
+ * <p>
+ * 头部采样命中的调用在执行前序列化请求体；未命中、仅因失败或慢调用而记录的调用为避免每次都序列化，
+ * 在执行后才采集请求头和请求体，此时记录的是方法执行后的参数状态（目标方法修改过的入参会体现在日志中）。
+ * </p>
  *
  * @author ronger
  */
@@ -42,6 +49,11 @@ public class ApiLogAspect {
 
     private static final String TRACE_ID_KEY = "traceId";
 
+    /**
+     * 请求体/响应体记录的最大字符数，超出部分截断
+     */
+    private static final int MAX_BODY_LENGTH = 10000;
+
     /**
      * 敏感字段列表，这些字段的值将被脱敏
      */
@@ -59,6 +71,19 @@ public class ApiLogAspect {
     @Resource
     private ClientTypeResolverChain clientTypeResolverChain;
 
+    @Resource
+    private LogSampler logSampler;
+
+    /**
+     * 序列化时逐字段脱敏并在达到上限后停止
+     */
+    private MaskingJsonWriter bodyWriter;
+
+    @PostConstruct
+    public void init() {
+        bodyWriter = new MaskingJsonWriter(objectMapper, SENSITIVE_FIELDS, MAX_BODY_LENGTH);
+    }
+
     @Around("@annotation(apiLog)")
     public Object around(ProceedingJoinPoint joinPoint, ApiLog apiLog) throws Throwable {
         long startTime = System.currentTimeMillis();
@@ -74,18 +99,22 @@ public class ApiLogAspect {
                 .requestTime(LocalDateTime.now())
                 .build();
 
+        HttpServletRequest request = currentRequest();
+
+        // 头部采样：未采样的调用推迟到确定记录后再采集请求头和请求体
+        LogSampler.Sample sample = logSampler.begin(LogSampler.LogType.API, signature.getMethod(), request);
+
         // 自动填充操作人信息
         fillOperatorInfo(logEntity);
 
         // 获取请求信息
-        fillRequestInfo(logEntity, apiLog);
+        fillRequestInfo(logEntity, apiLog, request);
 
         // 获取链路追踪ID
         fillTraceId(logEntity);
 
-        // 记录请求体
-        if (apiLog.recordRequestBody()) {
-            recordRequestBody(joinPoint, logEntity);
+        if (sample.isHeadSampled()) {
+            recordRequestDetails(joinPoint, logEntity, apiLog, sample, request);
         }
 
         Object result = null;
@@ -96,20 +125,6 @@ public class ApiLogAspect {
         try {
             // 执行目标方法
             result = joinPoint.proceed();
-
-            // 记录响应体
-            if (apiLog.recordResponseBody() && result != null) {
-                try {
-                    String responseBody = objectMapper.writeValueAsString(result);
-                    // 限制响应体大小，避免日志过大
-                    if (responseBody.length() > 10000) {
-                        responseBody = responseBody.substring(0, 10000) + "...(truncated)";
-                    }
-                    logEntity.setResponseBody(responseBody);
-                } catch (Exception e) {
-                    log.warn("序列化响应体失败", e);
-                }
-            }
         } catch (Throwable e) {
             success = false;
             errorMsg = e.getMessage();
@@ -118,18 +133,53 @@ public class ApiLogAspect {
         } finally {
             // 记录执行结果
             long duration = System.currentTimeMillis() - startTime;
-            logEntity.setDuration(duration);
-            logEntity.setSuccess(success);
-            logEntity.setErrorMsg(errorMsg);
-            logEntity.setHttpStatus(httpStatus);
+            if (logSampler.shouldRecord(sample, success, duration)) {
+                if (!sample.isHeadSampled()) {
+                    // 延迟采集：请求体反映的是执行后的入参
+                    recordRequestDetails(joinPoint, logEntity, apiLog, sample, request);
+                }
+                // 记录响应体
+                if (sample.recordBody(apiLog.recordResponseBody()) && result != null) {
+                    try {
+                        logEntity.setResponseBody(bodyWriter.write(result));
+                    } catch (Exception e) {
+                        log.warn("序列化响应体失败", e);
+                    }
+                }
+                logEntity.setDuration(duration);
+                logEntity.setSuccess(success);
+                logEntity.setErrorMsg(errorMsg);
+                logEntity.setHttpStatus(httpStatus);
 
-            // 异步保存日志
-            logService.recordApiLogAsync(logEntity);
+                // 异步保存日志
+                logService.recordApiLogAsync(logEntity);
+            }
         }
 
         return result;
     }
 
+    /**
+     * 获取当前请求，非 Web 调用时返回 null
+     */
+    private HttpServletRequest currentRequest() {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        return attributes != null ? attributes.getRequest() : null;
+    }
+
+    /**
+     * 按注解和采样策略记录请求头、请求体
+     */
+    private void recordRequestDetails(ProceedingJoinPoint joinPoint, ApiLogEntity logEntity, ApiLog apiLog,
+                                      LogSampler.Sample sample, HttpServletRequest request) {
+        if (request != null && sample.recordBody(apiLog.recordHeaders())) {
+            logEntity.setRequestHeaders(getFilteredHeaders(request));
+        }
+        if (sample.recordBody(apiLog.recordRequestBody())) {
+            recordRequestBody(joinPoint, logEntity);
+        }
+    }
+
     /**
      * 自动填充操作人信息
      */
@@ -156,11 +206,9 @@ public class ApiLogAspect {
     /**
      * 填充请求信息
      */
-    private void fillRequestInfo(ApiLogEntity logEntity, ApiLog apiLog) {
+    private void fillRequestInfo(ApiLogEntity logEntity, ApiLog apiLog, HttpServletRequest request) {
         try {
-            ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-            if (attributes != null) {
-                HttpServletRequest request = attributes.getRequest();
+            if (request != null) {
                 logEntity.setRequestUri(request.getRequestURI());
                 logEntity.setRequestMethod(request.getMethod());
                 logEntity.setClientIp(getIpAddress(request));
@@ -170,11 +218,6 @@ public class ApiLogAspect {
                 }
                 // 自动识别客户端类型
                 logEntity.setClientType(clientTypeResolverChain.resolve(request));
-
-                // 记录请求头
-                if (apiLog.recordHeaders()) {
-                    logEntity.setRequestHeaders(getFilteredHeaders(request));
-                }
             }
         } catch (Exception e) {
             log.warn("获取请求信息失败", e);
@@ -202,14 +245,7 @@ public class ApiLogAspect {
         try {
             Object[] args = filterArgs(joinPoint.getArgs());
             if (args != null && args.length > 0) {
-                String requestBody = objectMapper.writeValueAsString(args);
-                // 脱敏处理
-                requestBody = desensitize(requestBody);
-                // 限制大小
-                if (requestBody.length() > 10000) {
-                    requestBody = requestBody.substring(0, 10000) + "...(truncated)";
-                }
-                logEntity.setRequestBody(requestBody);
+                logEntity.setRequestBody(bodyWriter.write(args));
             }
         } catch (Exception e) {
             log.warn("序列化请求体失败", e);
@@ -259,25 +295,6 @@ public class ApiLogAspect {
                 .toArray();
     }
 
-    /**
-     * 敏感字段脱敏处理
-     * 简单实现：将敏感字段值替换为 ***
-     */
-    private String desensitize(String json) {
-        if (json == null || json.isEmpty()) {
-            return json;
-        }
-        String result = json;
-        for (String field : SENSITIVE_FIELDS) {
-            // 匹配 "field":"value" 或 "field": "value" 格式
-            result = result.replaceAll(
-                    "\"" + field + "\"\\s*:\\s*\"[^\"]*\"",
-                    "\"" + field + "\":\"***\""
-            );
-        }
-        return result;
-    }
-
     /**
      * 获取客户端IP地址
      */
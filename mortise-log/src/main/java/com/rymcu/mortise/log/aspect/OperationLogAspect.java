@@ -5,6 +5,7 @@ import com.rymcu.mortise.core.model.CurrentUser;
 import com.rymcu.mortise.log.annotation.OperationLog;
 import com.rymcu.mortise.log.entity.OperationLogEntity;
 import com.rymcu.mortise.log.resolver.ClientTypeResolverChain;
+import com.rymcu.mortise.log.sampling.LogSampler;
 import com.rymcu.mortise.log.service.LogService;
 import jakarta.annotation.Resource;
 import jakarta.servlet.http.HttpServletRequest;
@@ -13,6 +14,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.MDC;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -30,6 +32,10 @@ import java.util.stream.Collectors;
 
 /**
  * 操作日志切面
+ * <p>
+ * 未被头部采样、因失败或慢调用才记录的操作，请求参数在方法执行后序列化，
+ * 入参对象若被目标方法修改，日志中看到的是修改后的值；换取未采样调用不产生序列化开销。
+ * </p>
  *
  * @author ronger
  */
@@ -49,6 +55,9 @@ public class OperationLogAspect {
     @Resource
     private ClientTypeResolverChain clientTypeResolverChain;
 
+    @Resource
+    private LogSampler logSampler;
+
     @Around("@annotation(operationLog)")
     public Object around(ProceedingJoinPoint joinPoint, OperationLog operationLog) throws Throwable {
         long startTime = System.currentTimeMillis();
@@ -61,14 +70,19 @@ public class OperationLogAspect {
                 .method(joinPoint.getSignature().toLongString())
                 .build();
 
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        HttpServletRequest request = attributes != null ? attributes.getRequest() : null;
+
+        // 头部采样：未采样的调用推迟到确定记录后再序列化请求参数
+        LogSampler.Sample sample = logSampler.begin(LogSampler.LogType.OPERATION,
+                ((MethodSignature) joinPoint.getSignature()).getMethod(), request);
+
         // 自动填充操作人信息
         fillOperatorInfo(logEntity);
 
         // 获取请求信息
         try {
-            ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-            if (attributes != null) {
-                HttpServletRequest request = attributes.getRequest();
+            if (request != null) {
                 logEntity.setIp(getIpAddress(request));
                 logEntity.setRequestUri(request.getRequestURI());
                 logEntity.setRequestMethod(request.getMethod());
@@ -91,15 +105,8 @@ public class OperationLogAspect {
         }
 
         // 记录请求参数（过滤敏感参数）
-        if (operationLog.recordParams()) {
-            try {
-                Object[] args = filterArgs(joinPoint.getArgs());
-                if (args != null && args.length > 0) {
-                    logEntity.setParams(objectMapper.writeValueAsString(args));
-                }
-            } catch (Exception e) {
-                log.warn("序列化请求参数失败", e);
-            }
+        if (sample.isHeadSampled() && sample.recordBody(operationLog.recordParams())) {
+            recordParams(joinPoint, logEntity);
         }
 
         Object result = null;
@@ -109,15 +116,6 @@ public class OperationLogAspect {
         try {
             // 执行目标方法
             result = joinPoint.proceed();
-
-            // 记录返回结果
-            if (operationLog.recordResult() && result != null) {
-                try {
-                    logEntity.setResult(objectMapper.writeValueAsString(result));
-                } catch (Exception e) {
-                    log.warn("序列化返回结果失败", e);
-                }
-            }
         } catch (Throwable e) {
             success = false;
             errorMsg = e.getMessage();
@@ -125,21 +123,49 @@ public class OperationLogAspect {
         } finally {
             // 记录执行结果
             long duration = System.currentTimeMillis() - startTime;
-            logEntity.setDuration(duration);
-            logEntity.setSuccess(success);
-            logEntity.setErrorMsg(errorMsg);
-
-            // 保存日志
-            if (operationLog.async()) {
-                logService.recordLogAsync(logEntity);
-            } else {
-                logService.recordLog(logEntity);
+            if (logSampler.shouldRecord(sample, success, duration)) {
+                if (!sample.isHeadSampled() && sample.recordBody(operationLog.recordParams())) {
+                    // 延迟序列化：参数为执行后的状态
+                    recordParams(joinPoint, logEntity);
+                }
+                // 记录返回结果
+                if (sample.recordBody(operationLog.recordResult()) && result != null) {
+                    try {
+                        logEntity.setResult(objectMapper.writeValueAsString(result));
+                    } catch (Exception e) {
+                        log.warn("序列化返回结果失败", e);
+                    }
+                }
+                logEntity.setDuration(duration);
+                logEntity.setSuccess(success);
+                logEntity.setErrorMsg(errorMsg);
+
+                // 保存日志
+                if (operationLog.async()) {
+                    logService.recordLogAsync(logEntity);
+                } else {
+                    logService.recordLog(logEntity);
+                }
             }
         }
 
         return result;
     }
 
+    /**
+     * 记录请求参数
+     */
+    private void recordParams(ProceedingJoinPoint joinPoint, OperationLogEntity logEntity) {
+        try {
+            Object[] args = filterArgs(joinPoint.getArgs());
+            if (args != null && args.length > 0) {
+                logEntity.setParams(objectMapper.writeValueAsString(args));
+            }
+        } catch (Exception e) {
+            log.warn("序列化请求参数失败", e);
+        }
+    }
+
     /**
      * 自动填充操作人信息
      * 从 Spring Security 上下文中获取当前登录用户
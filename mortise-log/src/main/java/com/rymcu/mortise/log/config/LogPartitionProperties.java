@@ -0,0 +1,106 @@
+package com.rymcu.mortise.log.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 日志分区表配置属性
+ * <p>
+ * 操作日志表按 operate_time、API 日志表按 request_time 范围分区。维护任务定时预建未来的分区，
+ * 并把整个分区都早于保留期的分区删除（或解除挂载后留给归档），不再对日志表做大批量 DELETE。
+ * </p>
+ *
+ * <p>配置示例：</p>
+ * <pre>
+ * mortise:
+ *   log:
+ *     partition:
+ *       granularity: month
+ *       premake: 3
+ *       retention: 180d
+ *       retention-action: detach
+ * </pre>
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "mortise.log.partition")
+public class LogPartitionProperties {
+
+    /**
+     * 是否启用分区维护任务
+     */
+    private boolean enabled = true;
+
+    /**
+     * 分区粒度
+     */
+    private Granularity granularity = Granularity.MONTH;
+
+    /**
+     * 除当前分区外预建的未来分区数
+     */
+    private int premake = 3;
+
+    /**
+     * 日志保留时长，分区的结束时间早于 当前时间 - retention 时按 retention-action 处理；为 0 时不清理
+     */
+    private Duration retention = Duration.ofDays(180);
+
+    /**
+     * 过期分区的处理方式
+     */
+    private RetentionAction retentionAction = RetentionAction.DROP;
+
+    /**
+     * 维护任务的执行时间（cron），应用启动完成后也会执行一次
+     */
+    private String cron = "0 30 3 * * *";
+
+    /**
+     * 创建、删除分区时等待表锁的最长时间，超时则跳过，下次再试，避免阻塞日志写入
+     */
+    private Duration lockTimeout = Duration.ofSeconds(5);
+
+    /**
+     * 查询未指定开始日期时的默认时间范围（从结束日期或当前时间往前），保证查询只扫描相关分区
+     */
+    private Duration defaultQueryWindow = Duration.ofDays(30);
+
+    /**
+     * 分区粒度
+     */
+    public enum Granularity {
+
+        /**
+         * 每天一个分区
+         */
+        DAY,
+
+        /**
+         * 每月一个分区
+         */
+        MONTH
+    }
+
+    /**
+     * 过期分区的处理方式
+     */
+    public enum RetentionAction {
+
+        /**
+         * 直接删除分区
+         */
+        DROP,
+
+        /**
+         * 解除挂载，保留为独立的表，由运维归档后自行删除
+         */
+        DETACH
+    }
+}
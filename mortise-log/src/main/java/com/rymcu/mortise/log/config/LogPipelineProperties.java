@@ -0,0 +1,105 @@
+package com.rymcu.mortise.log.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 异步日志批量写入配置属性
+ * <p>
+ * 异步记录的操作日志和 API 日志先进入内存中的有界环形缓冲区，由后台线程按条数或时间攒批，
+ * 通过 {@code LogStorage#saveBatch} / {@code LogStorage#saveApiLogBatch} 批量写入。
+ * </p>
+ *
+ * <p>配置示例：</p>
+ * <pre>
+ * mortise:
+ *   log:
+ *     pipeline:
+ *       capacity: 8192
+ *       batch-size: 200
+ *       flush-interval: 1s
+ *       overflow-policy: sample
+ * </pre>
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "mortise.log.pipeline")
+public class LogPipelineProperties {
+
+    /**
+     * 是否启用批量写入，关闭时每条日志单独交给 LogStorage 异步保存
+     */
+    private boolean enabled = true;
+
+    /**
+     * 缓冲区容量（条）
+     */
+    private int capacity = 8192;
+
+    /**
+     * 单批最大条数
+     */
+    private int batchSize = 200;
+
+    /**
+     * 未攒满一批时的最长等待时间
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * 后台写入线程数
+     */
+    private int drainers = 1;
+
+    /**
+     * 缓冲区已满（或接近满）时的处理方式
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+
+    /**
+     * SAMPLE 策略下缓冲区使用率超过该比例后开始采样
+     */
+    private double sampleThreshold = 0.75;
+
+    /**
+     * SAMPLE 策略下超过阈值后保留日志的比例
+     */
+    private double sampleRate = 0.1;
+
+    /**
+     * BLOCK 策略下等待缓冲区空位的最长时间，超时后丢弃
+     */
+    private Duration blockTimeout = Duration.ofMillis(100);
+
+    /**
+     * 关闭时写完剩余日志的最长时间
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    /**
+     * 缓冲区溢出策略
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * 缓冲区满时丢弃新日志
+         */
+        DROP,
+
+        /**
+         * 使用率超过 sample-threshold 后按 sample-rate 采样，满时丢弃
+         */
+        SAMPLE,
+
+        /**
+         * 缓冲区满时阻塞调用线程，最长 block-timeout
+         */
+        BLOCK
+    }
+}
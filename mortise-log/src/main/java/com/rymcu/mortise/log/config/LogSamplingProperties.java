@@ -0,0 +1,103 @@
+package com.rymcu.mortise.log.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * API 日志与操作日志的采样策略配置属性
+ * <p>
+ * 按请求地址（Ant 风格路径，可限定 HTTP 方法）匹配策略，第一个匹配的策略生效，未匹配时使用
+ * {@code default-policy}。调用开始时按 {@code sample-rate} 决定是否采样，未采样的调用不序列化请求体、
+ * 响应体和请求头；结束时若失败（{@code always-log-on-error}）或耗时超过 {@code slow-threshold} 仍会记录。
+ * 最终记录的日志再经每个接口独立的令牌桶限流（{@code max-per-second}）。
+ * </p>
+ * <p>默认策略记录全部调用，与未配置时的行为一致。</p>
+ *
+ * <p>配置示例：</p>
+ * <pre>
+ * mortise:
+ *   log:
+ *     sampling:
+ *       default-policy:
+ *         max-per-second: 200
+ *       policies:
+ *         - pattern: /api/v1/admin/logs/**
+ *           methods: [GET]
+ *           sample-rate: 0.01
+ *           slow-threshold: 500ms
+ *           max-per-second: 5
+ *           record-body: false
+ * </pre>
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "mortise.log.sampling")
+public class LogSamplingProperties {
+
+    /**
+     * 是否启用采样策略，关闭时记录全部调用
+     */
+    private boolean enabled = true;
+
+    /**
+     * 未匹配任何接口策略时使用的默认策略
+     */
+    private Policy defaultPolicy = new Policy();
+
+    /**
+     * 接口策略，按顺序匹配
+     */
+    private List<Policy> policies = new ArrayList<>();
+
+    /**
+     * 采样策略
+     */
+    @Data
+    public static class Policy {
+
+        /**
+         * 请求地址的 Ant 风格路径，默认策略忽略该项
+         */
+        private String pattern;
+
+        /**
+         * 限定的 HTTP 方法，为空表示全部方法
+         */
+        private List<String> methods = new ArrayList<>();
+
+        /**
+         * 调用开始时的采样比例，取值 0 ~ 1
+         * 未采样的调用若因失败或慢调用被记录，请求参数在调用结束后才采集
+         */
+        private double sampleRate = 1.0;
+
+        /**
+         * 调用失败时是否始终记录（不受采样比例影响）
+         */
+        private boolean alwaysLogOnError = true;
+
+        /**
+         * 耗时达到该值的调用始终记录（不受采样比例影响），为空表示不启用
+         */
+        private Duration slowThreshold;
+
+        /**
+         * 每个接口每秒最多记录的日志条数，0 表示不限制
+         */
+        private int maxPerSecond = 0;
+
+        /**
+         * 是否记录请求体、响应体、请求头（操作日志为请求参数和返回结果），为空表示按注解配置；
+         * 为 false 时即使注解开启也不记录
+         */
+        private Boolean recordBody;
+    }
+}
@@ -0,0 +1,321 @@
+package com.rymcu.mortise.log.pipeline;
+
+import com.rymcu.mortise.log.config.LogPipelineProperties;
+import com.rymcu.mortise.log.entity.ApiLogEntity;
+import com.rymcu.mortise.log.entity.OperationLogEntity;
+import com.rymcu.mortise.log.spi.LogStorage;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 异步日志批量写入管道
+ * <p>
+ * 操作日志和 API 日志进入有界环形缓冲区（{@link ArrayBlockingQueue}），后台写入线程攒满
+ * {@code batch-size} 条或距本批第一条超过 {@code flush-interval} 时，按优先级调用各 {@link LogStorage}
+ * 的批量方法写入。缓冲区溢出时按 {@link LogPipelineProperties.OverflowPolicy} 处理。
+ * </p>
+ * <p>
+ * 应用启动完成前提交的日志先缓存，启动后写入。应用关闭时写入线程写完缓冲区中剩余的日志后退出，
+ * 最长等待 {@code shutdown-timeout}；关闭后到达的日志直接同步写入。
+ * </p>
+ * <p>
+ * 指标：{@code mortise.log.pipeline.queued}（缓冲区中的日志数）、{@code mortise.log.pipeline.written}
+ * （已交给存储的日志数）、{@code mortise.log.pipeline.dropped}（丢弃的日志数，tag reason 为 overflow 或 sampled）。
+ * </p>
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class LogBatchPipeline implements SmartLifecycle, MeterBinder {
+
+    private static final String METRIC_PREFIX = "mortise.log.pipeline.";
+
+    /**
+     * 丢弃告警的最小间隔
+     */
+    private static final long DROP_WARN_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * 写入线程单次等待的最长时间，关闭后最迟在该时间内开始写出剩余日志
+     */
+    private static final long STOP_CHECK_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final LogPipelineProperties properties;
+
+    private final List<LogStorage> storages;
+
+    private final BlockingQueue<Object> buffer;
+
+    private final int sampleThresholdSize;
+
+    private final LongAdder written = new LongAdder();
+
+    private final LongAdder overflowed = new LongAdder();
+
+    private final LongAdder sampledOut = new LongAdder();
+
+    private final AtomicLong lastDropWarnAt = new AtomicLong(System.nanoTime() - DROP_WARN_INTERVAL_NANOS);
+
+    private final List<Thread> drainers = new ArrayList<>();
+
+    private volatile boolean running;
+
+    private volatile boolean stopped;
+
+    @Autowired
+    public LogBatchPipeline(LogPipelineProperties properties, Optional<List<LogStorage>> storagesOptional) {
+        this.properties = properties;
+        this.storages = storagesOptional.orElse(List.of()).stream()
+                .sorted(Comparator.comparingInt(LogStorage::getOrder))
+                .toList();
+        int capacity = Math.max(properties.getCapacity(), 1);
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.sampleThresholdSize = (int) (capacity * Math.clamp(properties.getSampleThreshold(), 0D, 1D));
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * 提交操作日志
+     *
+     * @return false: 日志被丢弃
+     */
+    public boolean offer(OperationLogEntity logEntity) {
+        return enqueue(logEntity);
+    }
+
+    /**
+     * 提交 API 日志
+     *
+     * @return false: 日志被丢弃
+     */
+    public boolean offer(ApiLogEntity logEntity) {
+        return enqueue(logEntity);
+    }
+
+    private boolean enqueue(Object entry) {
+        if (stopped) {
+            return write(List.of(entry));
+        }
+        if (!offerToBuffer(entry)) {
+            return false;
+        }
+        // 关闭与入队并发时写入线程可能已退出，取回仍在缓冲区中的日志同步写入；已被写入线程取走的由它写入
+        if (stopped && buffer.remove(entry)) {
+            return write(List.of(entry));
+        }
+        return true;
+    }
+
+    /**
+     * 按溢出策略放入缓冲区
+     *
+     * @return false: 日志被丢弃
+     */
+    private boolean offerToBuffer(Object entry) {
+        switch (properties.getOverflowPolicy()) {
+            case SAMPLE -> {
+                if (buffer.size() >= sampleThresholdSize
+                        && ThreadLocalRandom.current().nextDouble() >= properties.getSampleRate()) {
+                    sampledOut.increment();
+                    warnDropped();
+                    return false;
+                }
+                if (buffer.offer(entry)) {
+                    return true;
+                }
+            }
+            case BLOCK -> {
+                try {
+                    if (buffer.offer(entry, properties.getBlockTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                        return true;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            default -> {
+                if (buffer.offer(entry)) {
+                    return true;
+                }
+            }
+        }
+        overflowed.increment();
+        warnDropped();
+        return false;
+    }
+
+    private void warnDropped() {
+        long now = System.nanoTime();
+        long last = lastDropWarnAt.get();
+        if (now - last >= DROP_WARN_INTERVAL_NANOS && lastDropWarnAt.compareAndSet(last, now)) {
+            log.warn("日志缓冲区已满，累计丢弃: overflow={}, sampled={}, capacity={}, policy={}",
+                    overflowed.sum(), sampledOut.sum(), buffer.remainingCapacity() + buffer.size(),
+                    properties.getOverflowPolicy());
+        }
+    }
+
+    /**
+     * 写入线程：攒批后写入，关闭后写完缓冲区剩余日志再退出
+     */
+    private void drain() {
+        int batchSize = Math.max(properties.getBatchSize(), 1);
+        long flushIntervalNanos = Math.max(properties.getFlushInterval().toNanos(), 1L);
+        long pollNanos = Math.min(flushIntervalNanos, STOP_CHECK_INTERVAL_NANOS);
+        List<Object> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                Object first = buffer.poll(pollNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - batch.size());
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (running && batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    Object next = buffer.poll(Math.min(remaining, STOP_CHECK_INTERVAL_NANOS), TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                        buffer.drainTo(batch, batchSize - batch.size());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (batch.isEmpty()) {
+                    return;
+                }
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private boolean write(List<Object> batch) {
+        List<OperationLogEntity> operationLogs = new ArrayList<>();
+        List<ApiLogEntity> apiLogs = new ArrayList<>();
+        for (Object entry : batch) {
+            if (entry instanceof ApiLogEntity apiLog) {
+                apiLogs.add(apiLog);
+            } else if (entry instanceof OperationLogEntity operationLog) {
+                operationLogs.add(operationLog);
+            }
+        }
+        for (LogStorage storage : storages) {
+            if (!operationLogs.isEmpty()) {
+                try {
+                    storage.saveBatch(operationLogs);
+                } catch (Exception e) {
+                    log.error("批量操作日志存储失败: {}, count={}", storage.getClass().getSimpleName(),
+                            operationLogs.size(), e);
+                }
+            }
+            if (!apiLogs.isEmpty()) {
+                try {
+                    storage.saveApiLogBatch(apiLogs);
+                } catch (Exception e) {
+                    log.error("批量API日志存储失败: {}, count={}", storage.getClass().getSimpleName(),
+                            apiLogs.size(), e);
+                }
+            }
+        }
+        written.add(batch.size());
+        return true;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running || !properties.isEnabled()) {
+            return;
+        }
+        if (storages.isEmpty()) {
+            log.warn("没有配置日志存储实现，日志批量写入管道不启动");
+            return;
+        }
+        running = true;
+        Thread.Builder builder = Thread.ofPlatform().daemon().name("mortise-log-drainer-", 0);
+        for (int i = 0; i < Math.max(properties.getDrainers(), 1); i++) {
+            drainers.add(builder.start(this::drain));
+        }
+        log.info("日志批量写入管道已启动: capacity={}, batchSize={}, flushInterval={}, drainers={}, overflowPolicy={}",
+                properties.getCapacity(), properties.getBatchSize(), properties.getFlushInterval(),
+                drainers.size(), properties.getOverflowPolicy());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        // 先置 stopped 再置 running：写入线程看到 running 为 false 时，并发入队的线程一定能看到 stopped
+        stopped = true;
+        running = false;
+        long deadline = System.nanoTime() + properties.getShutdownTimeout().toNanos();
+        for (Thread drainer : drainers) {
+            long remaining = deadline - System.nanoTime();
+            try {
+                if (remaining > 0) {
+                    drainer.join(TimeUnit.NANOSECONDS.toMillis(remaining) + 1);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (!buffer.isEmpty()) {
+            log.warn("日志批量写入管道关闭超时，{} 条日志未写入", buffer.size());
+        }
+        log.info("日志批量写入管道已关闭: written={}, dropped={}", written.sum(), overflowed.sum() + sampledOut.sum());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder(METRIC_PREFIX + "queued", buffer, BlockingQueue::size)
+                .description("缓冲区中等待写入的日志数")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + "capacity", buffer, queue -> queue.size() + queue.remainingCapacity())
+                .description("缓冲区容量")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + "written", written, LongAdder::sum)
+                .description("已交给存储的日志数")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + "dropped", overflowed, LongAdder::sum)
+                .tag("reason", "overflow")
+                .description("缓冲区溢出丢弃的日志数")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + "dropped", sampledOut, LongAdder::sum)
+                .tag("reason", "sampled")
+                .description("采样丢弃的日志数")
+                .register(registry);
+    }
+}
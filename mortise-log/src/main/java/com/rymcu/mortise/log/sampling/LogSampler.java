@@ -0,0 +1,290 @@
+package com.rymcu.mortise.log.sampling;
+
+import com.rymcu.mortise.log.config.LogSamplingProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.lang.reflect.Method;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * API 日志与操作日志的采样器
+ * <p>
+ * 调用开始时由 {@link #begin} 按请求地址匹配 {@link LogSamplingProperties.Policy} 并做头部采样，
+ * 切面据此决定是否采集请求体等内容；调用结束后由 {@link #shouldRecord} 结合失败、慢调用决定是否记录，
+ * 并按接口（切面拦截的方法）做令牌桶限流。
+ * </p>
+ * <p>
+ * 指标：{@code mortise.log.sampling.recorded}（记录的日志数，tag reason 为 sampled、error 或 slow）、
+ * {@code mortise.log.sampling.dropped}（未记录的日志数，tag reason 为 sampled 或 rate_limited），
+ * 均带 tag type（api 或 operation）。
+ * </p>
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+@Component
+public class LogSampler implements MeterBinder {
+
+    private static final String METRIC_PREFIX = "mortise.log.sampling.";
+
+    private final LogSamplingProperties properties;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final CompiledPolicy defaultPolicy;
+
+    private final List<CompiledPolicy> policies;
+
+    private final Map<LogType, Counters> counters = new EnumMap<>(LogType.class);
+
+    public LogSampler(LogSamplingProperties properties) {
+        this.properties = properties;
+        this.defaultPolicy = new CompiledPolicy(properties.getDefaultPolicy());
+        this.policies = properties.getPolicies().stream().map(CompiledPolicy::new).toList();
+        for (LogType type : LogType.values()) {
+            counters.put(type, new Counters());
+        }
+    }
+
+    /**
+     * 日志类型
+     */
+    public enum LogType {
+
+        API("api"),
+
+        OPERATION("operation");
+
+        private final String tag;
+
+        LogType(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    /**
+     * 一次调用的采样结果
+     */
+    public static final class Sample {
+
+        private final LogType type;
+
+        private final Method endpoint;
+
+        private final CompiledPolicy policy;
+
+        private final boolean headSampled;
+
+        private Sample(LogType type, Method endpoint, CompiledPolicy policy, boolean headSampled) {
+            this.type = type;
+            this.endpoint = endpoint;
+            this.policy = policy;
+            this.headSampled = headSampled;
+        }
+
+        /**
+         * 调用开始时是否被采样，未采样的调用仅在失败或慢调用时记录
+         */
+        public boolean isHeadSampled() {
+            return headSampled;
+        }
+
+        /**
+         * 策略是否允许记录请求体、响应体等内容，最终还需结合注解配置
+         *
+         * @param annotationValue 注解上的配置
+         */
+        public boolean recordBody(boolean annotationValue) {
+            Boolean recordBody = policy == null ? null : policy.source.getRecordBody();
+            return annotationValue && (recordBody == null || recordBody);
+        }
+    }
+
+    /**
+     * 调用开始时匹配策略并做头部采样
+     *
+     * @param type     日志类型
+     * @param endpoint 切面拦截的方法，作为限流的接口标识
+     * @param request  当前请求，非 Web 调用时为 null
+     */
+    public Sample begin(LogType type, Method endpoint, HttpServletRequest request) {
+        if (!properties.isEnabled()) {
+            return new Sample(type, endpoint, null, true);
+        }
+        CompiledPolicy policy = resolve(request);
+        double sampleRate = policy.source.getSampleRate();
+        boolean headSampled = sampleRate >= 1.0
+                || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+        return new Sample(type, endpoint, policy, headSampled);
+    }
+
+    /**
+     * 调用结束后决定是否记录
+     *
+     * @param sample   {@link #begin} 的结果
+     * @param success  调用是否成功
+     * @param duration 耗时（毫秒）
+     */
+    public boolean shouldRecord(Sample sample, boolean success, long duration) {
+        CompiledPolicy policy = sample.policy;
+        if (policy == null) {
+            return true;
+        }
+        Counters typeCounters = counters.get(sample.type);
+        LongAdder reason;
+        if (sample.headSampled) {
+            reason = typeCounters.sampled;
+        } else if (!success && policy.source.isAlwaysLogOnError()) {
+            reason = typeCounters.error;
+        } else if (policy.slowThresholdMillis >= 0 && duration >= policy.slowThresholdMillis) {
+            reason = typeCounters.slow;
+        } else {
+            typeCounters.sampledOut.increment();
+            return false;
+        }
+        if (!policy.tryAcquire(sample.endpoint)) {
+            typeCounters.rateLimited.increment();
+            return false;
+        }
+        reason.increment();
+        return true;
+    }
+
+    private CompiledPolicy resolve(HttpServletRequest request) {
+        if (request == null || policies.isEmpty()) {
+            return defaultPolicy;
+        }
+        String uri = request.getRequestURI();
+        String method = request.getMethod();
+        for (CompiledPolicy policy : policies) {
+            if (policy.matches(pathMatcher, uri, method)) {
+                return policy;
+            }
+        }
+        return defaultPolicy;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        counters.forEach((type, typeCounters) -> {
+            registerCounter(registry, "recorded", type, "sampled", typeCounters.sampled, "头部采样命中而记录的日志数");
+            registerCounter(registry, "recorded", type, "error", typeCounters.error, "未采样但因调用失败而记录的日志数");
+            registerCounter(registry, "recorded", type, "slow", typeCounters.slow, "未采样但因慢调用而记录的日志数");
+            registerCounter(registry, "dropped", type, "sampled", typeCounters.sampledOut, "采样丢弃的日志数");
+            registerCounter(registry, "dropped", type, "rate_limited", typeCounters.rateLimited, "超过接口限流而丢弃的日志数");
+        });
+    }
+
+    private void registerCounter(MeterRegistry registry, String name, LogType type, String reason, LongAdder adder,
+                                 String description) {
+        FunctionCounter.builder(METRIC_PREFIX + name, adder, LongAdder::sum)
+                .tag("type", type.tag)
+                .tag("reason", reason)
+                .description(description)
+                .register(registry);
+    }
+
+    /**
+     * 按日志类型统计的计数
+     */
+    private static final class Counters {
+
+        private final LongAdder sampled = new LongAdder();
+
+        private final LongAdder error = new LongAdder();
+
+        private final LongAdder slow = new LongAdder();
+
+        private final LongAdder sampledOut = new LongAdder();
+
+        private final LongAdder rateLimited = new LongAdder();
+    }
+
+    /**
+     * 预处理后的策略，持有按接口划分的令牌桶
+     */
+    private static final class CompiledPolicy {
+
+        private final LogSamplingProperties.Policy source;
+
+        private final Set<String> methods;
+
+        private final long slowThresholdMillis;
+
+        private final long emissionIntervalNanos;
+
+        private final Map<Method, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+        private CompiledPolicy(LogSamplingProperties.Policy source) {
+            this.source = source;
+            this.methods = source.getMethods().stream()
+                    .map(method -> method.toUpperCase(Locale.ROOT))
+                    .collect(Collectors.toUnmodifiableSet());
+            this.slowThresholdMillis = source.getSlowThreshold() == null ? -1 : source.getSlowThreshold().toMillis();
+            this.emissionIntervalNanos = source.getMaxPerSecond() > 0
+                    ? TimeUnit.SECONDS.toNanos(1) / source.getMaxPerSecond() : 0;
+        }
+
+        private boolean matches(AntPathMatcher pathMatcher, String uri, String method) {
+            return source.getPattern() != null
+                    && (methods.isEmpty() || methods.contains(method))
+                    && pathMatcher.match(source.getPattern(), uri);
+        }
+
+        private boolean tryAcquire(Method endpoint) {
+            if (emissionIntervalNanos == 0) {
+                return true;
+            }
+            return buckets.computeIfAbsent(endpoint, key -> new TokenBucket(emissionIntervalNanos)).tryAcquire();
+        }
+    }
+
+    /**
+     * 无锁令牌桶（GCRA）：每秒补充 max-per-second 个令牌，最多积累 1 秒的令牌
+     */
+    private static final class TokenBucket {
+
+        private static final long BURST_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+        private final long emissionIntervalNanos;
+
+        /**
+         * 理论到达时间：令牌桶补满的时刻
+         */
+        private final AtomicLong theoreticalArrival = new AtomicLong(System.nanoTime());
+
+        private TokenBucket(long emissionIntervalNanos) {
+            this.emissionIntervalNanos = emissionIntervalNanos;
+        }
+
+        private boolean tryAcquire() {
+            long now = System.nanoTime();
+            while (true) {
+                long arrival = theoreticalArrival.get();
+                long next = (arrival - now > 0 ? arrival : now) + emissionIntervalNanos;
+                if (next - now > BURST_NANOS) {
+                    return false;
+                }
+                if (theoreticalArrival.compareAndSet(arrival, next)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,635 @@
+package com.rymcu.mortise.log.serializer;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 日志请求体/响应体的单遍 JSON 序列化器
+ * <p>
+ * 在 Jackson 写出 token 时直接脱敏：字段名命中敏感字段（忽略大小写）时，其值无论是字符串、数字还是对象/数组，
+ * 都只写出 {@code "***"}；输出达到长度上限后立即中止序列化，并追加 {@code ...(truncated)}。
+ * 不再先生成完整字符串、再逐个字段做正则替换和截断，大对象只序列化上限以内的部分。
+ * </p>
+ * <p>实例无状态，可在多线程间共享。</p>
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+public final class MaskingJsonWriter {
+
+    public static final String MASK = "***";
+
+    public static final String TRUNCATED_SUFFIX = "...(truncated)";
+
+    private final ObjectMapper objectMapper;
+
+    private final Set<String> sensitiveFields;
+
+    private final int maxLength;
+
+    /**
+     * @param objectMapper    序列化使用的 ObjectMapper，沿用其序列化配置
+     * @param sensitiveFields 敏感字段名，匹配时忽略大小写
+     * @param maxLength       输出的最大字符数（不含截断后缀）
+     */
+    public MaskingJsonWriter(ObjectMapper objectMapper, Collection<String> sensitiveFields, int maxLength) {
+        this.objectMapper = objectMapper;
+        // 忽略大小写的有序集合，匹配字段名时无需为每个字段名生成小写副本
+        TreeSet<String> fields = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        fields.addAll(sensitiveFields);
+        this.sensitiveFields = fields;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * 序列化为脱敏、截断后的 JSON 字符串
+     *
+     * @param value 待序列化对象
+     * @return JSON 字符串，超出上限时以 {@link #TRUNCATED_SUFFIX} 结尾
+     * @throws IOException 序列化失败（不包括达到长度上限）
+     */
+    public String write(Object value) throws IOException {
+        BoundedWriter writer = new BoundedWriter(maxLength);
+        MaskingGenerator generator = new MaskingGenerator(objectMapper.createGenerator(writer), writer);
+        try {
+            objectMapper.writeValue(generator, value);
+        } catch (IOException e) {
+            // 达到上限时抛出的异常可能被 Jackson 包装，以标记位判断
+            if (!writer.truncated) {
+                throw e;
+            }
+        } finally {
+            if (writer.truncated) {
+                // 截断时不补全未闭合的括号
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            }
+            // 关闭生成器以刷出缓冲并归还 Jackson 的缓冲区
+            generator.close();
+        }
+        return writer.truncated ? writer.buffer.append(TRUNCATED_SUFFIX).toString() : writer.buffer.toString();
+    }
+
+    /**
+     * 只保留前 maxLength 个字符的 Writer，超出部分丢弃并记录截断
+     */
+    private static final class BoundedWriter extends Writer {
+
+        private final StringBuilder buffer;
+
+        private final int maxLength;
+
+        private boolean truncated;
+
+        private BoundedWriter(int maxLength) {
+            this.buffer = new StringBuilder(Math.min(maxLength, 256));
+            this.maxLength = maxLength;
+        }
+
+        @Override
+        public void write(char[] chars, int off, int len) {
+            int remaining = maxLength - buffer.length();
+            if (len > remaining) {
+                truncated = true;
+                len = Math.max(remaining, 0);
+            }
+            buffer.append(chars, off, len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            int remaining = maxLength - buffer.length();
+            if (len > remaining) {
+                truncated = true;
+                len = Math.max(remaining, 0);
+            }
+            buffer.append(str, off, off + len);
+        }
+
+        @Override
+        public void write(int c) {
+            if (buffer.length() < maxLength) {
+                buffer.append((char) c);
+            } else {
+                truncated = true;
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * 达到长度上限时中止序列化，不填充堆栈
+     */
+    private static final class LimitReachedException extends IOException {
+
+        private LimitReachedException() {
+            super("log body length limit reached");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    /**
+     * 逐 token 脱敏并检查长度的生成器
+     * <p>
+     * 敏感字段的值以 {@code "***"} 写出；值为对象或数组时记录嵌套深度，丢弃其内部所有 token。
+     * </p>
+     */
+    private final class MaskingGenerator extends JsonGeneratorDelegate {
+
+        private final BoundedWriter writer;
+
+        /**
+         * 下一个值需要脱敏
+         */
+        private boolean maskNext;
+
+        /**
+         * 正在丢弃的敏感对象/数组的嵌套深度，0 表示未丢弃
+         */
+        private int skipDepth;
+
+        private MaskingGenerator(JsonGenerator delegate, BoundedWriter writer) {
+            super(delegate, false);
+            this.writer = writer;
+        }
+
+        /**
+         * 写出任意 token 前检查已写出和生成器缓冲中的字符数
+         */
+        private void checkLimit() throws IOException {
+            if (writer.buffer.length() + delegate.getOutputBuffered() >= writer.maxLength) {
+                writer.truncated = true;
+                throw new LimitReachedException();
+            }
+        }
+
+        /**
+         * 标量值写出前调用
+         *
+         * @return true 表示该值已被丢弃或替换为掩码，调用方不再写出
+         */
+        private boolean interceptValue() throws IOException {
+            if (skipDepth > 0) {
+                return true;
+            }
+            checkLimit();
+            if (maskNext) {
+                maskNext = false;
+                delegate.writeString(MASK);
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * 对象/数组开始前调用
+         *
+         * @return true 表示该结构被丢弃
+         */
+        private boolean interceptStart() throws IOException {
+            if (skipDepth > 0) {
+                skipDepth++;
+                return true;
+            }
+            checkLimit();
+            if (maskNext) {
+                maskNext = false;
+                delegate.writeString(MASK);
+                skipDepth = 1;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * 对象/数组结束前调用
+         *
+         * @return true 表示该结束 token 属于被丢弃的结构
+         */
+        private boolean interceptEnd() throws IOException {
+            if (skipDepth > 0) {
+                skipDepth--;
+                return true;
+            }
+            checkLimit();
+            return false;
+        }
+
+        private boolean interceptFieldName(String name) throws IOException {
+            if (skipDepth > 0) {
+                return true;
+            }
+            checkLimit();
+            maskNext = sensitiveFields.contains(name);
+            return false;
+        }
+
+        @Override
+        public void writeStartArray() throws IOException {
+            if (!interceptStart()) {
+                delegate.writeStartArray();
+            }
+        }
+
+        @Override
+        @Deprecated
+        public void writeStartArray(int size) throws IOException {
+            if (!interceptStart()) {
+                delegate.writeStartArray(size);
+            }
+        }
+
+        @Override
+        public void writeStartArray(Object forValue) throws IOException {
+            if (!interceptStart()) {
+                delegate.writeStartArray(forValue);
+            }
+        }
+
+        @Override
+        public void writeStartArray(Object forValue, int size) throws IOException {
+            if (!interceptStart()) {
+                delegate.writeStartArray(forValue, size);
+            }
+        }
+
+        @Override
+        public void writeEndArray() throws IOException {
+            if (!interceptEnd()) {
+                delegate.writeEndArray();
+            }
+        }
+
+        @Override
+        public void writeStartObject() throws IOException {
+            if (!interceptStart()) {
+                delegate.writeStartObject();
+            }
+        }
+
+        @Override
+        public void writeStartObject(Object forValue) throws IOException {
+            if (!interceptStart()) {
+                delegate.writeStartObject(forValue);
+            }
+        }
+
+        @Override
+        public void writeStartObject(Object forValue, int size) throws IOException {
+            if (!interceptStart()) {
+                delegate.writeStartObject(forValue, size);
+            }
+        }
+
+        @Override
+        public void writeEndObject() throws IOException {
+            if (!interceptEnd()) {
+                delegate.writeEndObject();
+            }
+        }
+
+        @Override
+        public void writeFieldName(String name) throws IOException {
+            if (!interceptFieldName(name)) {
+                delegate.writeFieldName(name);
+            }
+        }
+
+        @Override
+        public void writeFieldName(SerializableString name) throws IOException {
+            if (!interceptFieldName(name.getValue())) {
+                delegate.writeFieldName(name);
+            }
+        }
+
+        @Override
+        public void writeFieldId(long id) throws IOException {
+            writeFieldName(Long.toString(id));
+        }
+
+        @Override
+        public void writeArray(int[] array, int offset, int length) throws IOException {
+            if (!interceptValue()) {
+                writeArrayItems(array.length, offset, length, i -> delegate.writeNumber(array[i]));
+            }
+        }
+
+        @Override
+        public void writeArray(long[] array, int offset, int length) throws IOException {
+            if (!interceptValue()) {
+                writeArrayItems(array.length, offset, length, i -> delegate.writeNumber(array[i]));
+            }
+        }
+
+        @Override
+        public void writeArray(double[] array, int offset, int length) throws IOException {
+            if (!interceptValue()) {
+                writeArrayItems(array.length, offset, length, i -> delegate.writeNumber(array[i]));
+            }
+        }
+
+        @Override
+        public void writeArray(String[] array, int offset, int length) throws IOException {
+            if (!interceptValue()) {
+                writeArrayItems(array.length, offset, length, i -> delegate.writeString(array[i]));
+            }
+        }
+
+        @Override
+        public void writeString(String text) throws IOException {
+            if (!interceptValue()) {
+                delegate.writeString(text);
+            }
+        }
+
+        @Override
+        public void writeString(Reader reader, int len) throws IOException {
+            if (!interceptValue()) {
+                delegate.writeString(reader, len);
+            }
+        }
+
+        @Override
+        public void writeString(char[] text, int offset, int len) throws IOException {
+            if (!interceptValue()) {
+                delegate.writeString(text, offset, len);
+            }
+        }
+
+        @Override
+        public void writeString(SerializableString text) throws IOException {
+            if (!interceptValue()) {
+                delegate.writeString(text);
+            }
+        }
+
+        @Override
+        public void writeRawUTF8String(byte[] text, int offset, int length) throws IOException {
+            if (!interceptValue()) {
+                delegate.writeRawUTF8String(text, offset, length);
+            }
+        }
+
+        @Override
+        public void writeUTF8String(byte[] text, int offset, int length) throws IOException {
+            if (!interceptValue()) {
+                delegate.writeUTF8String(text, offset, length);
+            }
+        }
+
+        @Override
+        public void writeRaw(String text) throws IOException {
+            if (skipDepth == 0) {
+                checkLimit();
+                delegate.writeRaw(text);
+            }
+        }
+
+        @Override
+        public void writeRaw(String text, int offset, int len) throws IOException {
+            if (skipDepth == 0) {
+                checkLimit();
+                delegate.writeRaw(text, offset, len);
+            }
+        }
+
+        @Override
+        public void writeRaw(SerializableString raw) throws IOException {
+            if (skipDepth == 0) {
+                checkLimit();
+                delegate.writeRaw(raw);
+            }
+        }
+
+        @Override
+        public void writeRaw(char[] text, int offset, int len) throws IOException {
+            if (skipDepth == 0) {
+                checkLimit();
+                delegate.writeRaw(text, offset, len);
+            }
+        }
+
+        @Override
+        public void writeRaw(char c) throws IOException {
+            if (skipDepth == 0) {
+                checkLimit();
+                delegate.writeRaw(c);
+            }
+        }
+
+        @Override
+        public void writeRawValue(String text) throws IOException {
+            if (!interceptValue()) {
+                delegate.writeRawValue(text);
+            }
+        }
+
+        @Override
+        public void writeRawValue(String text, int offset, int len) throws IOException {
+            if (!interceptValue()) {
+                delegate.writeRawValue(text, offset, len);
+            }
+        }
+
+        @Override
+        public void writeRawValue(char[] text, int offset, int len) throws IOException {
+            if (!interceptValue()) {
+                delegate.writeRawValue(text, offset, len);
+            }
+        }
+
+        @Override
+        public void writeBinary(Base64Variant variant, byte[] data, int offset, int len)
+                throws IOException {
+            if (!interceptValue()) {
+                delegate.writeBinary(variant, data, offset, len);
+            }
+        }
+
+        @Override
+        public int writeBinary(Base64Variant variant, InputStream data, int dataLength)
+                throws IOException {
+            if (!interceptValue()) {
+                return delegate.writeBinary(variant, data, dataLength);
+            }
+            return -1;
+        }
+
+        @Override
+        public void writeNumber(short v) throws IOException {
+            if (!interceptValue()) {
+                delegate.writeNumber(v);
+            }
+        }
+
+        @Override
+        public void writeNumber(int v) throws IOException {
+            if (!interceptValue()) {
+                delegate.writeNumber(v);
+            }
+        }
+
+        @Override
+        public void writeNumber(long v) throws IOException {
+            if (!interceptValue()) {
+                delegate.writeNumber(v);
+            }
+        }
+
+        @Override
+        public void writeNumber(BigInteger v) throws IOException {
+            if (!interceptValue()) {
+                delegate.writeNumber(v);
+            }
+        }
+
+        @Override
+        public void writeNumber(double v) throws IOException {
+            if (!interceptValue()) {
+                delegate.writeNumber(v);
+            }
+        }
+
+        @Override
+        public void writeNumber(float v) throws IOException {
+            if (!interceptValue()) {
+                delegate.writeNumber(v);
+            }
+        }
+
+        @Override
+        public void writeNumber(BigDecimal v) throws IOException {
+            if (!interceptValue()) {
+                delegate.writeNumber(v);
+            }
+        }
+
+        @Override
+        public void writeNumber(String encodedValue) throws IOException {
+            if (!interceptValue()) {
+                delegate.writeNumber(encodedValue);
+            }
+        }
+
+        @Override
+        public void writeNumber(char[] encodedValueBuffer, int offset, int length) throws IOException {
+            if (!interceptValue()) {
+                delegate.writeNumber(encodedValueBuffer, offset, length);
+            }
+        }
+
+        @Override
+        public void writeBoolean(boolean state) throws IOException {
+            if (!interceptValue()) {
+                delegate.writeBoolean(state);
+            }
+        }
+
+        @Override
+        public void writeNull() throws IOException {
+            if (!interceptValue()) {
+                delegate.writeNull();
+            }
+        }
+
+        @Override
+        public void writeOmittedField(String fieldName) throws IOException {
+            if (skipDepth == 0) {
+                delegate.writeOmittedField(fieldName);
+            }
+        }
+
+        @Override
+        public void writeObjectId(Object id) throws IOException {
+            if (!interceptValue()) {
+                delegate.writeObjectId(id);
+            }
+        }
+
+        @Override
+        public void writeObjectRef(Object referenced) throws IOException {
+            if (!interceptValue()) {
+                delegate.writeObjectRef(referenced);
+            }
+        }
+
+        @Override
+        public void writeTypeId(Object id) throws IOException {
+            if (skipDepth == 0) {
+                delegate.writeTypeId(id);
+            }
+        }
+
+        @Override
+        public void writeEmbeddedObject(Object object) throws IOException {
+            if (!interceptValue()) {
+                delegate.writeEmbeddedObject(object);
+            }
+        }
+
+        @Override
+        public void writePOJO(Object pojo) throws IOException {
+            writeObject(pojo);
+        }
+
+        @Override
+        public void writeObject(Object pojo) throws IOException {
+            if (pojo == null) {
+                writeNull();
+            } else {
+                // 经 ObjectMapper 回调到本生成器，嵌套值同样脱敏
+                objectMapper.writeValue(this, pojo);
+            }
+        }
+
+        @Override
+        public void writeTree(TreeNode tree) throws IOException {
+            if (tree == null) {
+                writeNull();
+            } else {
+                objectMapper.writeTree(this, tree);
+            }
+        }
+
+        private void writeArrayItems(int arrayLength, int offset, int length, ItemWriter itemWriter)
+                throws IOException {
+            _verifyOffsets(arrayLength, offset, length);
+            delegate.writeStartArray();
+            for (int i = offset, end = offset + length; i < end; i++) {
+                checkLimit();
+                itemWriter.write(i);
+            }
+            delegate.writeEndArray();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ItemWriter {
+
+        void write(int index) throws IOException;
+    }
+}
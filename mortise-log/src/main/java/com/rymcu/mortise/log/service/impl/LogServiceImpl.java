@@ -2,11 +2,11 @@ package com.rymcu.mortise.log.service.impl;
 
 import com.rymcu.mortise.log.entity.ApiLogEntity;
 import com.rymcu.mortise.log.entity.OperationLogEntity;
+import com.rymcu.mortise.log.pipeline.LogBatchPipeline;
 import com.rymcu.mortise.log.service.LogService;
 import com.rymcu.mortise.log.spi.LogStorage;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.util.Comparator;
@@ -15,7 +15,7 @@ import java.util.Optional;
 
 /**
  * 日志服务实现
- * 收集所有 LogStorage 实现并调用
+ * 收集所有 LogStorage 实现并调用；异步记录的日志交给 {@link LogBatchPipeline} 攒批写入
  *
  * @author ronger
  */
@@ -23,14 +23,22 @@ import java.util.Optional;
 @Service
 public class LogServiceImpl implements LogService {
 
+    /**
+     * 按优先级排好序的存储实现
+     */
     private final List<LogStorage> logStorages;
 
+    private final LogBatchPipeline logBatchPipeline;
+
     /**
      * 构造函数注入（使用 Optional 处理可选依赖）
      */
     @Autowired
-    public LogServiceImpl(Optional<List<LogStorage>> storagesOptional) {
-        this.logStorages = storagesOptional.orElse(null);
+    public LogServiceImpl(Optional<List<LogStorage>> storagesOptional, LogBatchPipeline logBatchPipeline) {
+        this.logStorages = storagesOptional
+                .map(storages -> storages.stream().sorted(Comparator.comparingInt(LogStorage::getOrder)).toList())
+                .orElse(null);
+        this.logBatchPipeline = logBatchPipeline;
     }
 
     @Override
@@ -40,10 +48,8 @@ public class LogServiceImpl implements LogService {
             return;
         }
 
-        // 按优先级排序并调用所有实现
-        logStorages.stream()
-                .sorted(Comparator.comparingInt(LogStorage::getOrder))
-                .forEach(storage -> {
+        // 按优先级调用所有实现
+        logStorages.forEach(storage -> {
                     try {
                         storage.save(logEntity);
                     } catch (Exception e) {
@@ -52,17 +58,18 @@ public class LogServiceImpl implements LogService {
                 });
     }
 
-    @Async
     @Override
     public void recordLogAsync(OperationLogEntity logEntity) {
         if (logStorages == null || logStorages.isEmpty()) {
             log.warn("没有配置日志存储实现，操作日志将被丢弃");
             return;
         }
+        if (logBatchPipeline.isEnabled()) {
+            logBatchPipeline.offer(logEntity);
+            return;
+        }
 
-        logStorages.stream()
-                .sorted(Comparator.comparingInt(LogStorage::getOrder))
-                .forEach(storage -> {
+        logStorages.forEach(storage -> {
                     try {
                         storage.saveAsync(logEntity);
                     } catch (Exception e) {
@@ -78,10 +85,8 @@ public class LogServiceImpl implements LogService {
             return;
         }
 
-        // 按优先级排序并调用所有实现
-        logStorages.stream()
-                .sorted(Comparator.comparingInt(LogStorage::getOrder))
-                .forEach(storage -> {
+        // 按优先级调用所有实现
+        logStorages.forEach(storage -> {
                     try {
                         storage.saveApiLog(logEntity);
                     } catch (Exception e) {
@@ -90,17 +95,18 @@ public class LogServiceImpl implements LogService {
                 });
     }
 
-    @Async
     @Override
     public void recordApiLogAsync(ApiLogEntity logEntity) {
         if (logStorages == null || logStorages.isEmpty()) {
             log.warn("没有配置日志存储实现，API日志将被丢弃");
             return;
         }
+        if (logBatchPipeline.isEnabled()) {
+            logBatchPipeline.offer(logEntity);
+            return;
+        }
 
-        logStorages.stream()
-                .sorted(Comparator.comparingInt(LogStorage::getOrder))
-                .forEach(storage -> {
+        logStorages.forEach(storage -> {
                     try {
                         storage.saveApiLogAsync(logEntity);
                     } catch (Exception e) {
@@ -0,0 +1,178 @@
+-- =============================================
+-- Mortise Log Module - Partition Log Tables
+-- PostgreSQL DDL Script
+-- Author: ronger
+-- Description: 操作日志、API日志改为按时间范围分区（原生声明式分区）
+-- Version Range: Log V40-V49
+--
+-- Strategy:
+-- 1) 旧表改名为 *_legacy，删除旧的单列索引
+-- 2) 创建分区表（分区键 operate_time / request_time，主键包含分区键）
+-- 3) 按月创建覆盖旧数据到未来 3 个月的分区，以及兜底的 DEFAULT 分区
+-- 4) 迁移旧数据后删除旧表
+--
+-- Notes:
+-- - 之后的分区由应用内的 LogPartitionMaintainer 定时预建，并按 mortise.log.partition.retention 删除或解除挂载过期分区
+-- - 分区命名规则：<表名>_p<分区起始日期 yyyyMMdd>，维护任务按分区范围识别已有分区
+-- - 索引只保留按时间排序、链路追踪和按用户查询需要的几个，减少写入时维护的索引数量
+-- =============================================
+
+-- =============================================
+-- 1. 旧表改名
+-- =============================================
+DROP INDEX IF EXISTS mortise.idx_operation_log_trace_id;
+DROP INDEX IF EXISTS mortise.idx_operation_log_client_type;
+DROP INDEX IF EXISTS mortise.idx_operation_log_module;
+DROP INDEX IF EXISTS mortise.idx_operation_log_operator_id;
+DROP INDEX IF EXISTS mortise.idx_operation_log_operator_account;
+DROP INDEX IF EXISTS mortise.idx_operation_log_operate_time;
+DROP INDEX IF EXISTS mortise.idx_operation_log_success;
+DROP INDEX IF EXISTS mortise.idx_operation_log_created_time;
+
+DROP INDEX IF EXISTS mortise.idx_api_log_trace_id;
+DROP INDEX IF EXISTS mortise.idx_api_log_client_type;
+DROP INDEX IF EXISTS mortise.idx_api_log_user_id;
+DROP INDEX IF EXISTS mortise.idx_api_log_username;
+DROP INDEX IF EXISTS mortise.idx_api_log_request_uri;
+DROP INDEX IF EXISTS mortise.idx_api_log_request_time;
+DROP INDEX IF EXISTS mortise.idx_api_log_http_status;
+DROP INDEX IF EXISTS mortise.idx_api_log_success;
+DROP INDEX IF EXISTS mortise.idx_api_log_created_time;
+
+ALTER TABLE mortise.mortise_operation_log RENAME TO mortise_operation_log_legacy;
+ALTER TABLE mortise.mortise_operation_log_legacy RENAME CONSTRAINT mortise_operation_log_pkey TO mortise_operation_log_legacy_pkey;
+
+ALTER TABLE mortise.mortise_api_log RENAME TO mortise_api_log_legacy;
+ALTER TABLE mortise.mortise_api_log_legacy RENAME CONSTRAINT mortise_api_log_pkey TO mortise_api_log_legacy_pkey;
+
+-- =============================================
+-- 2. 表1: mortise_operation_log (操作日志表) - 按 operate_time 分区
+-- =============================================
+CREATE TABLE mortise.mortise_operation_log
+(
+    id               BIGINT    NOT NULL,
+    trace_id         VARCHAR(64),
+    client_type      VARCHAR(20),
+    module           VARCHAR(100),
+    operation        VARCHAR(200),
+    operator_id      BIGINT,
+    operator_account VARCHAR(100),
+    operate_time     TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    method           VARCHAR(500),
+    request_uri      VARCHAR(500),
+    request_method   VARCHAR(10),
+    params           TEXT,
+    result           TEXT,
+    ip               VARCHAR(50),
+    user_agent       VARCHAR(500),
+    duration         BIGINT,
+    success          BOOLEAN   DEFAULT TRUE,
+    error_msg        TEXT,
+    created_time     TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, operate_time)
+) PARTITION BY RANGE (operate_time);
+
+COMMENT ON TABLE mortise.mortise_operation_log IS '操作日志表（按 operate_time 范围分区）';
+COMMENT ON COLUMN mortise.mortise_operation_log.id IS '日志ID (flexId)';
+
+CREATE INDEX idx_operation_log_operate_time ON mortise.mortise_operation_log (operate_time);
+CREATE INDEX idx_operation_log_trace_id ON mortise.mortise_operation_log (trace_id);
+CREATE INDEX idx_operation_log_operator_id ON mortise.mortise_operation_log (operator_id, operate_time);
+
+CREATE TABLE mortise.mortise_operation_log_default PARTITION OF mortise.mortise_operation_log DEFAULT;
+
+-- =============================================
+-- 3. 表2: mortise_api_log (API日志表) - 按 request_time 分区
+-- =============================================
+CREATE TABLE mortise.mortise_api_log
+(
+    id               BIGINT    NOT NULL,
+    trace_id         VARCHAR(64),
+    client_type      VARCHAR(20),
+    api_description  VARCHAR(500),
+    class_name       VARCHAR(300),
+    method_name      VARCHAR(100),
+    user_id          BIGINT,
+    username         VARCHAR(100),
+    request_time     TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    request_uri      VARCHAR(500),
+    request_method   VARCHAR(10),
+    query_string     TEXT,
+    request_headers  TEXT,
+    request_body     TEXT,
+    response_body    TEXT,
+    http_status      INTEGER,
+    client_ip        VARCHAR(50),
+    user_agent       VARCHAR(500),
+    duration         BIGINT,
+    success          BOOLEAN   DEFAULT TRUE,
+    error_msg        TEXT,
+    created_time     TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, request_time)
+) PARTITION BY RANGE (request_time);
+
+COMMENT ON TABLE mortise.mortise_api_log IS 'API日志表（按 request_time 范围分区）';
+COMMENT ON COLUMN mortise.mortise_api_log.id IS '日志ID (flexId)';
+
+CREATE INDEX idx_api_log_request_time ON mortise.mortise_api_log (request_time);
+CREATE INDEX idx_api_log_trace_id ON mortise.mortise_api_log (trace_id);
+CREATE INDEX idx_api_log_user_id ON mortise.mortise_api_log (user_id, request_time);
+
+CREATE TABLE mortise.mortise_api_log_default PARTITION OF mortise.mortise_api_log DEFAULT;
+
+-- =============================================
+-- 4. 按月创建分区：覆盖旧数据最早月份到当前月份之后 3 个月
+-- =============================================
+DO
+$$
+    DECLARE
+        spec        RECORD;
+        first_month TIMESTAMP;
+        last_month  TIMESTAMP := date_trunc('month', LOCALTIMESTAMP) + INTERVAL '3 months';
+        month_start TIMESTAMP;
+    BEGIN
+        FOR spec IN SELECT *
+                    FROM (VALUES ('mortise_operation_log', 'operate_time'),
+                                 ('mortise_api_log', 'request_time')) AS t(table_name, time_column)
+            LOOP
+                EXECUTE format('SELECT date_trunc(''month'', min(%I)) FROM mortise.%I',
+                               spec.time_column, spec.table_name || '_legacy')
+                    INTO first_month;
+                month_start := LEAST(COALESCE(first_month, date_trunc('month', LOCALTIMESTAMP)),
+                                     date_trunc('month', LOCALTIMESTAMP));
+                WHILE month_start <= last_month
+                    LOOP
+                        EXECUTE format('CREATE TABLE IF NOT EXISTS mortise.%I PARTITION OF mortise.%I FOR VALUES FROM (%L) TO (%L)',
+                                       spec.table_name || '_p' || to_char(month_start, 'YYYYMMDD'),
+                                       spec.table_name,
+                                       month_start,
+                                       month_start + INTERVAL '1 month');
+                        month_start := month_start + INTERVAL '1 month';
+                    END LOOP;
+            END LOOP;
+    END
+$$;
+
+-- =============================================
+-- 5. 迁移旧数据并删除旧表（时间为空的行按创建时间归入分区）
+-- =============================================
+INSERT INTO mortise.mortise_operation_log (id, trace_id, client_type, module, operation, operator_id, operator_account,
+                                           operate_time, method, request_uri, request_method, params, result, ip,
+                                           user_agent, duration, success, error_msg, created_time)
+SELECT id, trace_id, client_type, module, operation, operator_id, operator_account,
+       COALESCE(operate_time, created_time, LOCALTIMESTAMP), method, request_uri, request_method, params, result, ip,
+       user_agent, duration, success, error_msg, created_time
+FROM mortise.mortise_operation_log_legacy;
+
+INSERT INTO mortise.mortise_api_log (id, trace_id, client_type, api_description, class_name, method_name, user_id,
+                                     username, request_time, request_uri, request_method, query_string,
+                                     request_headers, request_body, response_body, http_status, client_ip, user_agent,
+                                     duration, success, error_msg, created_time)
+SELECT id, trace_id, client_type, api_description, class_name, method_name, user_id,
+       username, COALESCE(request_time, created_time, LOCALTIMESTAMP), request_uri, request_method, query_string,
+       request_headers, request_body, response_body, http_status, client_ip, user_agent,
+       duration, success, error_msg, created_time
+FROM mortise.mortise_api_log_legacy;
+
+DROP TABLE mortise.mortise_operation_log_legacy;
+DROP TABLE mortise.mortise_api_log_legacy;
@@ -0,0 +1,36 @@
+-- =============================================
+-- Mortise Log Module - Log Search Indexes
+-- PostgreSQL DDL Script
+-- Author: ronger
+-- Description: 日志关键词检索的 pg_trgm GIN 索引，以及游标分页使用的 (时间, id) 索引
+-- Version Range: Log V40-V49
+--
+-- Notes:
+-- - 关键词检索在下列拼接表达式上执行 LIKE '%关键词%'，查询中的表达式必须与索引表达式保持一致
+--   （见 LogQueryServiceImpl#OPERATION_LOG_SEARCH / API_LOG_SEARCH）
+-- - 每张表只建一个拼接表达式的 GIN 索引，而不是每列一个，减少写入时维护的索引数量
+-- - 关键词少于 3 个字符时无法使用 trigram 索引，只能在时间范围内的分区中扫描
+-- =============================================
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- =============================================
+-- 游标分页：ORDER BY 时间 DESC, id DESC，WHERE (时间, id) < (?, ?)
+-- =============================================
+DROP INDEX IF EXISTS mortise.idx_operation_log_operate_time;
+CREATE INDEX idx_operation_log_operate_time_id ON mortise.mortise_operation_log (operate_time, id);
+
+DROP INDEX IF EXISTS mortise.idx_api_log_request_time;
+CREATE INDEX idx_api_log_request_time_id ON mortise.mortise_api_log (request_time, id);
+
+-- =============================================
+-- 关键词检索：操作人账号 / 请求地址 / 操作类型
+-- =============================================
+CREATE INDEX idx_operation_log_search_trgm ON mortise.mortise_operation_log
+    USING gin ((coalesce(operator_account, '') || ' ' || coalesce(request_uri, '') || ' ' || coalesce(operation, '')) gin_trgm_ops);
+
+-- =============================================
+-- 关键词检索：用户名 / 请求地址 / 接口描述
+-- =============================================
+CREATE INDEX idx_api_log_search_trgm ON mortise.mortise_api_log
+    USING gin ((coalesce(username, '') || ' ' || coalesce(request_uri, '') || ' ' || coalesce(api_description, '')) gin_trgm_ops);
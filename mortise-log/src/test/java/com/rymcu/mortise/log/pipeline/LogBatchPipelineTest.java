@@ -0,0 +1,196 @@
+package com.rymcu.mortise.log.pipeline;
+
+import com.rymcu.mortise.log.config.LogPipelineProperties;
+import com.rymcu.mortise.log.entity.ApiLogEntity;
+import com.rymcu.mortise.log.entity.OperationLogEntity;
+import com.rymcu.mortise.log.spi.LogStorage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 日志批量写入管道测试
+ */
+class LogBatchPipelineTest {
+
+    private final RecordingStorage storage = new RecordingStorage();
+
+    private final LogPipelineProperties properties = new LogPipelineProperties();
+
+    private LogBatchPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+    }
+
+    @Test
+    void fullBatchShouldFlushBeforeInterval() {
+        properties.setBatchSize(3);
+        properties.setFlushInterval(Duration.ofSeconds(30));
+        start();
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(pipeline.offer(operationLog(i)));
+        }
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> storage.operationBatches.size() == 1);
+        assertEquals(3, storage.operationBatches.getFirst().size());
+    }
+
+    @Test
+    void partialBatchShouldFlushAfterInterval() {
+        properties.setBatchSize(100);
+        properties.setFlushInterval(Duration.ofMillis(100));
+        start();
+
+        assertTrue(pipeline.offer(apiLog(1)));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> storage.apiBatches.size() == 1);
+        assertEquals(1, storage.apiBatches.getFirst().size());
+        assertTrue(storage.operationBatches.isEmpty());
+    }
+
+    @Test
+    void dropPolicyShouldDiscardWhenFull() {
+        properties.setCapacity(2);
+        properties.setOverflowPolicy(LogPipelineProperties.OverflowPolicy.DROP);
+        pipeline = newPipeline();
+        SimpleMeterRegistry registry = bind();
+
+        assertTrue(pipeline.offer(operationLog(1)));
+        assertTrue(pipeline.offer(operationLog(2)));
+        assertFalse(pipeline.offer(operationLog(3)));
+
+        assertEquals(1D, registry.get("mortise.log.pipeline.dropped").tag("reason", "overflow").functionCounter().count());
+    }
+
+    @Test
+    void samplePolicyShouldDropAboveThreshold() {
+        properties.setCapacity(4);
+        properties.setOverflowPolicy(LogPipelineProperties.OverflowPolicy.SAMPLE);
+        properties.setSampleThreshold(0.5);
+        properties.setSampleRate(0D);
+        pipeline = newPipeline();
+        SimpleMeterRegistry registry = bind();
+
+        assertTrue(pipeline.offer(operationLog(1)));
+        assertTrue(pipeline.offer(operationLog(2)));
+        assertFalse(pipeline.offer(operationLog(3)));
+
+        assertEquals(1D, registry.get("mortise.log.pipeline.dropped").tag("reason", "sampled").functionCounter().count());
+        assertEquals(2D, registry.get("mortise.log.pipeline.queued").gauge().value());
+    }
+
+    @Test
+    void blockPolicyShouldWaitThenDrop() {
+        properties.setCapacity(1);
+        properties.setOverflowPolicy(LogPipelineProperties.OverflowPolicy.BLOCK);
+        properties.setBlockTimeout(Duration.ofMillis(50));
+        pipeline = newPipeline();
+        SimpleMeterRegistry registry = bind();
+        assertTrue(pipeline.offer(operationLog(1)));
+
+        long start = System.nanoTime();
+        assertFalse(pipeline.offer(operationLog(2)));
+
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(50).toNanos());
+        assertEquals(1D, registry.get("mortise.log.pipeline.dropped").tag("reason", "overflow").functionCounter().count());
+    }
+
+    @Test
+    void stopShouldDrainBufferedLogs() {
+        properties.setBatchSize(100);
+        properties.setFlushInterval(Duration.ofSeconds(30));
+        start();
+        for (int i = 0; i < 5; i++) {
+            assertTrue(pipeline.offer(operationLog(i)));
+        }
+        assertTrue(pipeline.offer(apiLog(1)));
+
+        pipeline.stop();
+
+        assertEquals(5, storage.operationLogs().size());
+        assertEquals(1, storage.apiBatches.stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    void logsAfterStopShouldBeWrittenSynchronously() {
+        start();
+        pipeline.stop();
+
+        assertTrue(pipeline.offer(operationLog(1)));
+
+        assertEquals(1, storage.operationLogs().size());
+    }
+
+    private void start() {
+        pipeline = newPipeline();
+        pipeline.start();
+        assertTrue(pipeline.isRunning());
+    }
+
+    private LogBatchPipeline newPipeline() {
+        return new LogBatchPipeline(properties, Optional.of(List.of(storage)));
+    }
+
+    private SimpleMeterRegistry bind() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        pipeline.bindTo(registry);
+        return registry;
+    }
+
+    private static OperationLogEntity operationLog(long id) {
+        OperationLogEntity logEntity = new OperationLogEntity();
+        logEntity.setId(id);
+        return logEntity;
+    }
+
+    private static ApiLogEntity apiLog(long id) {
+        ApiLogEntity logEntity = new ApiLogEntity();
+        logEntity.setId(id);
+        return logEntity;
+    }
+
+    /**
+     * 记录每次批量写入的内容
+     */
+    private static final class RecordingStorage implements LogStorage {
+
+        private final List<List<OperationLogEntity>> operationBatches = new CopyOnWriteArrayList<>();
+
+        private final List<List<ApiLogEntity>> apiBatches = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void save(OperationLogEntity log) {
+            operationBatches.add(List.of(log));
+        }
+
+        @Override
+        public void saveBatch(List<OperationLogEntity> logs) {
+            operationBatches.add(List.copyOf(logs));
+        }
+
+        @Override
+        public void saveApiLogBatch(List<ApiLogEntity> logs) {
+            apiBatches.add(List.copyOf(logs));
+        }
+
+        List<OperationLogEntity> operationLogs() {
+            List<OperationLogEntity> logs = new ArrayList<>();
+            operationBatches.forEach(logs::addAll);
+            return logs;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.rymcu.mortise.log.sampling;
+
+import com.rymcu.mortise.log.config.LogSamplingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogSamplerTest {
+
+    private final Method endpoint = endpoint("listUsers");
+
+    @Test
+    void defaultPolicyShouldRecordEverything() {
+        LogSampler sampler = new LogSampler(new LogSamplingProperties());
+
+        LogSampler.Sample sample = sampler.begin(LogSampler.LogType.API, endpoint, request("GET", "/api/v1/users"));
+
+        assertTrue(sample.isHeadSampled());
+        assertTrue(sample.recordBody(true));
+        assertTrue(sampler.shouldRecord(sample, true, 1));
+    }
+
+    @Test
+    void unsampledCallsShouldOnlyBeRecordedOnErrorOrSlow() {
+        LogSamplingProperties.Policy policy = policy("/api/v1/logs/**", 0);
+        policy.setSlowThreshold(Duration.ofMillis(500));
+        policy.setRecordBody(false);
+        LogSampler sampler = new LogSampler(properties(policy));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        sampler.bindTo(registry);
+
+        LogSampler.Sample sample = sampler.begin(LogSampler.LogType.API, endpoint, request("GET", "/api/v1/logs/api"));
+
+        assertFalse(sample.isHeadSampled());
+        assertFalse(sample.recordBody(true));
+        assertFalse(sampler.shouldRecord(sample, true, 10));
+        assertTrue(sampler.shouldRecord(sample, false, 10));
+        assertTrue(sampler.shouldRecord(sample, true, 800));
+        assertEquals(1, counter(registry, "dropped", "sampled"));
+        assertEquals(1, counter(registry, "recorded", "error"));
+        assertEquals(1, counter(registry, "recorded", "slow"));
+
+        LogSampler.Sample other = sampler.begin(LogSampler.LogType.API, endpoint, request("POST", "/api/v1/logs/api"));
+        assertFalse(other.isHeadSampled(), "policy without methods should match every HTTP method");
+        assertTrue(sampler.begin(LogSampler.LogType.API, endpoint, request("GET", "/api/v1/users")).isHeadSampled());
+    }
+
+    @Test
+    void recordedEntriesShouldBeCappedPerEndpoint() {
+        LogSamplingProperties.Policy policy = policy("/api/**", 1.0);
+        policy.setMaxPerSecond(3);
+        LogSampler sampler = new LogSampler(properties(policy));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        sampler.bindTo(registry);
+        Method otherEndpoint = endpoint("listLogs");
+
+        int recorded = 0;
+        for (int i = 0; i < 10; i++) {
+            LogSampler.Sample sample = sampler.begin(LogSampler.LogType.OPERATION, endpoint, request("GET", "/api/a"));
+            recorded += sampler.shouldRecord(sample, true, 1) ? 1 : 0;
+        }
+        LogSampler.Sample other = sampler.begin(LogSampler.LogType.OPERATION, otherEndpoint, request("GET", "/api/b"));
+
+        assertEquals(3, recorded);
+        assertTrue(sampler.shouldRecord(other, true, 1));
+        assertEquals(7, registry.get("mortise.log.sampling.dropped")
+                .tags("type", "operation", "reason", "rate_limited").functionCounter().count());
+    }
+
+    private static Method endpoint(String name) {
+        try {
+            return Endpoints.class.getDeclaredMethod(name);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static LogSamplingProperties.Policy policy(String pattern, double sampleRate) {
+        LogSamplingProperties.Policy policy = new LogSamplingProperties.Policy();
+        policy.setPattern(pattern);
+        policy.setSampleRate(sampleRate);
+        return policy;
+    }
+
+    private static LogSamplingProperties properties(LogSamplingProperties.Policy policy) {
+        LogSamplingProperties properties = new LogSamplingProperties();
+        properties.setPolicies(List.of(policy));
+        return properties;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        return new MockHttpServletRequest(method, uri);
+    }
+
+    private static double counter(SimpleMeterRegistry registry, String name, String reason) {
+        return registry.get("mortise.log.sampling." + name).tags("type", "api", "reason", reason)
+                .functionCounter().count();
+    }
+
+    /**
+     * 作为采样维度的接口方法
+     */
+    static class Endpoints {
+
+        void listUsers() {
+        }
+
+        void listLogs() {
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.rymcu.mortise.log.serializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MaskingJsonWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final MaskingJsonWriter writer = new MaskingJsonWriter(objectMapper,
+            Set.of("password", "token", "apiKey", "credential"), 200);
+
+    @Test
+    void sensitiveValuesShouldBeMaskedRegardlessOfCaseAndType() throws Exception {
+        Map<String, Object> credential = new LinkedHashMap<>();
+        credential.put("type", "oauth");
+        credential.put("scopes", List.of("read", "write"));
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("username", "admin");
+        body.put("Password", "p\"a:ss");
+        body.put("TOKEN", 123456);
+        body.put("credential", credential);
+        body.put("apiKey", null);
+        body.put("tags", new String[]{"a", "b"});
+
+        String json = writer.write(new Object[]{body, new LoginForm("admin", "secret")});
+
+        assertEquals("[{\"username\":\"admin\",\"Password\":\"***\",\"TOKEN\":\"***\",\"credential\":\"***\","
+                + "\"apiKey\":\"***\",\"tags\":[\"a\",\"b\"]},{\"username\":\"admin\",\"password\":\"***\"}]", json);
+        assertEquals(json, objectMapper.readTree(json).toString());
+    }
+
+    @Test
+    void outputShouldStopAtLimitAndMatchUntruncatedPrefix() throws Exception {
+        Map<String, Object> body = new LinkedHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            body.put("field" + i, "value-" + i);
+        }
+        String full = objectMapper.writeValueAsString(body);
+
+        String json = writer.write(body);
+
+        assertTrue(json.endsWith(MaskingJsonWriter.TRUNCATED_SUFFIX));
+        assertEquals(full.substring(0, 200) + MaskingJsonWriter.TRUNCATED_SUFFIX, json);
+    }
+
+    @Test
+    void outputWithinLimitShouldNotBeTruncated() throws Exception {
+        String json = writer.write(Map.of("name", "x".repeat(180)));
+
+        assertEquals(objectMapper.writeValueAsString(Map.of("name", "x".repeat(180))), json);
+        assertFalse(json.endsWith(MaskingJsonWriter.TRUNCATED_SUFFIX));
+    }
+
+    public record LoginForm(String username, String password) {
+    }
+}
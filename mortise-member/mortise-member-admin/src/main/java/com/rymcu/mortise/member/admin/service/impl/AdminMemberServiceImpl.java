@@ -2,13 +2,17 @@ package com.rymcu.mortise.member.admin.service.impl;
 
 import com.mybatisflex.core.paginate.Page;
 import com.mybatisflex.core.query.QueryWrapper;
+import com.rymcu.mortise.auth.enumerate.UserType;
+import com.rymcu.mortise.auth.event.PrincipalChangedEvent;
 import com.rymcu.mortise.common.enumerate.Status;
 import com.rymcu.mortise.member.admin.model.MemberInfo;
 import com.rymcu.mortise.member.admin.model.MemberSearch;
 import com.rymcu.mortise.member.admin.service.AdminMemberService;
 import com.rymcu.mortise.member.entity.Member;
 import com.rymcu.mortise.member.service.impl.MemberServiceImpl;
+import jakarta.annotation.Resource;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.Objects;
@@ -23,6 +27,9 @@ import static com.rymcu.mortise.member.entity.table.MemberTableDef.MEMBER;
 @Service
 public class AdminMemberServiceImpl extends MemberServiceImpl implements AdminMemberService {
 
+    @Resource
+    private ApplicationEventPublisher applicationEventPublisher;
+
     @Override
     public Page<MemberInfo> findMemberList(Page<MemberInfo> page, MemberSearch search) {
         QueryWrapper queryWrapper = buildQueryWrapper(search);
@@ -62,7 +69,12 @@ public class AdminMemberServiceImpl extends MemberServiceImpl implements AdminMe
         Member member = new Member();
         member.setId(id);
         member.setStatus(status);
-        return this.updateById(member);
+        boolean result = this.updateById(member);
+        if (result) {
+            // 禁用后已登录会员的认证主体缓存立即失效
+            applicationEventPublisher.publishEvent(new PrincipalChangedEvent(this, UserType.MEMBER.getCode(), id));
+        }
+        return result;
     }
 
     /**
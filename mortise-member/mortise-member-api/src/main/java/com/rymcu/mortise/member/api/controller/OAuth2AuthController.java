@@ -19,6 +19,7 @@ import com.rymcu.mortise.member.api.model.WeChatOpenIdResponse;
 import com.rymcu.mortise.member.api.service.OAuth2MemberBindingService;
 import com.rymcu.mortise.member.constant.MemberOAuth2Constants;
 import com.rymcu.mortise.web.annotation.ApiController;
+import com.rymcu.mortise.web.sse.QrcodeStateSseService;
 import io.micrometer.common.util.StringUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -29,6 +30,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.security.oauth2.client.registration.ClientRegistration;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
 import org.springframework.security.oauth2.client.web.AuthorizationRequestRepository;
@@ -38,6 +40,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
@@ -69,6 +72,7 @@ public class OAuth2AuthController {
     private final QRCodeLoginService qrCodeLoginService;
     private final OAuth2MemberBindingService oauth2MemberBindingService;
     private final SilentAuthService silentAuthService;
+    private final QrcodeStateSseService qrcodeStateSseService;
 
     @Operation(
             summary = "获取微信 OAuth2 二维码登录链接（PC 端扫码）",
@@ -162,6 +166,24 @@ public class OAuth2AuthController {
         return GlobalResult.success(result);
     }
 
+    @Operation(
+            summary = "订阅 OAuth2 二维码状态变化（SSE）",
+            description = """
+                    以 Server-Sent Events 推送二维码状态，替代轮询 /qrcode/state/{state}。\
+                    连接建立后立即推送一次当前状态，之后每次状态变化推送一个 state 事件，\
+                    数据格式与状态查询接口一致：{"state": "...", "qrcodeState": 0}。\
+                    
+                    
+                    进入终态（2-已授权、3-已取消、4-已过期、-1-状态不存在）后服务端关闭连接；\
+                    连接最长保持到二维码状态过期。"""
+    )
+    @GetMapping(value = "/qrcode/state/{state}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamQRCodeState(
+            @Parameter(name = "state", description = "状态码或场景值（sceneStr）", required = true)
+            @PathVariable String state) {
+        return qrcodeStateSseService.open(state);
+    }
+
     @Operation(
             summary = "获取微信 OAuth2 授权 URL（手机端页面重定向）",
             description = """
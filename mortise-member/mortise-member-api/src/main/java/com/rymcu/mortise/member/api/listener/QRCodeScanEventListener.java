@@ -6,6 +6,7 @@ import com.rymcu.mortise.auth.event.QRCodeScanEvent;
 import com.rymcu.mortise.auth.service.AuthCacheService;
 import com.rymcu.mortise.auth.service.Oauth2ClientConfigService;
 import com.rymcu.mortise.auth.util.OAuth2ProviderUtils;
+import com.rymcu.mortise.core.constant.ExecutorConstant;
 import com.rymcu.mortise.member.api.handler.ApiOAuth2LoginSuccessHandler;
 import com.rymcu.mortise.member.api.model.OAuth2LoginResponse;
 import com.rymcu.mortise.member.api.service.OAuth2MemberBindingService;
@@ -51,7 +52,7 @@ public class QRCodeScanEventListener {
      * <p>
      * 异步处理，避免阻塞微信消息响应
      */
-    @Async
+    @Async(ExecutorConstant.LOGIN_EVENT_EXECUTOR)
     @EventListener
     public void handleQRCodeScanEvent(QRCodeScanEvent event) {
         String sceneStr = event.getSceneStr();
@@ -2,6 +2,8 @@ package com.rymcu.mortise.member.api.service.impl;
 
 import com.mybatisflex.core.paginate.Page;
 import com.mybatisflex.core.query.QueryWrapper;
+import com.rymcu.mortise.auth.enumerate.UserType;
+import com.rymcu.mortise.auth.event.PrincipalChangedEvent;
 import com.rymcu.mortise.cache.service.CacheService;
 import com.rymcu.mortise.common.enumerate.DelFlag;
 import com.rymcu.mortise.common.enumerate.Status;
@@ -14,6 +16,7 @@ import com.rymcu.mortise.member.service.impl.MemberServiceImpl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -38,6 +41,7 @@ public class ApiMemberServiceImpl extends MemberServiceImpl implements ApiMember
     private final PasswordEncoder passwordEncoder;
     private final VerificationCodeService verificationCodeService;
     private final CacheService cacheService;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     private static final String DASHBOARD_MEMBER_COUNT = "dashboard:member:count";
     private static final long CACHE_EXPIRE_HOURS = 1;
@@ -171,7 +175,11 @@ public class ApiMemberServiceImpl extends MemberServiceImpl implements ApiMember
     @Transactional(rollbackFor = Exception.class)
     public Boolean updateMember(Member member) {
         member.setUpdatedTime(LocalDateTime.now());
-        return updateById(member);
+        boolean result = updateById(member);
+        if (result) {
+            publishPrincipalChanged(member.getId());
+        }
+        return result;
     }
 
     @Override
@@ -190,7 +198,11 @@ public class ApiMemberServiceImpl extends MemberServiceImpl implements ApiMember
 
         member.setPasswordHash(passwordEncoder.encode(newPassword));
         member.setUpdatedTime(LocalDateTime.now());
-        return updateById(member);
+        boolean result = updateById(member);
+        if (result) {
+            publishPrincipalChanged(member.getId());
+        }
+        return result;
     }
 
     @Override
@@ -211,7 +223,11 @@ public class ApiMemberServiceImpl extends MemberServiceImpl implements ApiMember
 
         member.setPasswordHash(passwordEncoder.encode(newPassword));
         member.setUpdatedTime(LocalDateTime.now());
-        return updateById(member);
+        boolean result = updateById(member);
+        if (result) {
+            publishPrincipalChanged(member.getId());
+        }
+        return result;
     }
 
     @Override
@@ -375,6 +391,7 @@ public class ApiMemberServiceImpl extends MemberServiceImpl implements ApiMember
         boolean result = updateById(member);
 
         if (result) {
+            publishPrincipalChanged(memberId);
             log.info("用户名修改成功: memberId={}, oldUsername={}, newUsername={}",
                      memberId, oldUsername, newUsername);
         } else {
@@ -417,4 +434,11 @@ public class ApiMemberServiceImpl extends MemberServiceImpl implements ApiMember
             log.warn("更新会员数缓存失败: {}", e.getMessage());
         }
     }
+
+    /**
+     * 会员资料、用户名或密码变更后失效其认证主体缓存
+     */
+    private void publishPrincipalChanged(Long memberId) {
+        applicationEventPublisher.publishEvent(new PrincipalChangedEvent(this, UserType.MEMBER.getCode(), memberId));
+    }
 }
@@ -1,6 +1,7 @@
 package com.rymcu.mortise.notification.sender;
 
 import com.rymcu.mortise.common.util.Utils;
+import com.rymcu.mortise.core.constant.ExecutorConstant;
 import com.rymcu.mortise.core.spi.SystemConfigStorage;
 import com.rymcu.mortise.notification.entity.NotificationMessage;
 import com.rymcu.mortise.notification.enums.NotificationType;
@@ -117,7 +118,7 @@ public class EmailNotificationSender implements NotificationSender {
         }
     }
 
-    @Async
+    @Async(ExecutorConstant.NOTIFICATION_EXECUTOR)
     @Override
     public void sendAsync(NotificationMessage message) {
         send(message);
@@ -1,5 +1,6 @@
 package com.rymcu.mortise.notification.service.impl;
 
+import com.rymcu.mortise.core.constant.ExecutorConstant;
 import com.rymcu.mortise.notification.entity.NotificationMessage;
 import com.rymcu.mortise.notification.enums.NotificationType;
 import com.rymcu.mortise.notification.service.NotificationService;
@@ -77,7 +78,7 @@ public class NotificationServiceImpl implements NotificationService {
         }
     }
 
-    @Async
+    @Async(ExecutorConstant.NOTIFICATION_EXECUTOR)
     @Override
     public void sendAsync(NotificationMessage message) {
         initSenderMap();
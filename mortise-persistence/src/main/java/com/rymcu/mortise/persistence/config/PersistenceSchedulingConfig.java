@@ -0,0 +1,19 @@
+package com.rymcu.mortise.persistence.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 持久化模块定时任务配置
+ * <p>
+ * 日志写入数据库表时开启定时任务，用于日志表分区的定期维护
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "mortise.log", name = "use-system-storage", havingValue = "false", matchIfMissing = true)
+public class PersistenceSchedulingConfig {
+}
@@ -1,8 +1,15 @@
 package com.rymcu.mortise.persistence.log.mapper;
 
 import com.mybatisflex.core.BaseMapper;
+import com.mybatisflex.core.FlexConsts;
+import com.mybatisflex.core.provider.EntitySqlProvider;
+import com.mybatisflex.core.query.QueryWrapper;
 import com.rymcu.mortise.persistence.log.entity.OperationLog;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.SelectProvider;
+import org.apache.ibatis.cursor.Cursor;
 
 /**
  * 操作日志 Mapper
@@ -12,4 +19,10 @@ import org.apache.ibatis.annotations.Mapper;
 @Mapper
 public interface OperationLogMapper extends BaseMapper<OperationLog> {
 
+    /**
+     * 流式查询（导出用）：通过服务端游标每次取 fetchSize 行，必须在事务内迭代并关闭
+     */
+    @Options(fetchSize = 1000)
+    @SelectProvider(type = EntitySqlProvider.class, method = "selectListByQuery")
+    Cursor<OperationLog> selectCursorWithFetchSize(@Param(FlexConsts.QUERY) QueryWrapper queryWrapper);
 }
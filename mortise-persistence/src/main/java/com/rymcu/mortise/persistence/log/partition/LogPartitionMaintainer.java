@@ -0,0 +1,267 @@
+package com.rymcu.mortise.persistence.log.partition;
+
+import com.rymcu.mortise.log.config.LogPartitionProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 日志分区维护任务
+ * <p>
+ * 应用启动完成后和每天定时执行：为操作日志表、API 日志表预建当前及未来的分区，
+ * 并删除（或解除挂载）结束时间早于保留期的分区。已有分区按 {@code pg_inherits} 中登记的范围识别，
+ * 与已有分区重叠的范围不再创建，因此调整分区粒度后新旧分区可以共存。
+ * </p>
+ * <p>
+ * 多个节点同时执行时通过 PostgreSQL 会话级咨询锁只让一个节点维护；每条 DDL 单独提交并设置
+ * {@code lock_timeout}，拿不到表锁时跳过，留到下次执行。
+ * </p>
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "mortise.log", name = "use-system-storage", havingValue = "false", matchIfMissing = true)
+public class LogPartitionMaintainer {
+
+    private static final String SCHEMA = "mortise";
+
+    private static final List<String> TABLES = List.of("mortise_operation_log", "mortise_api_log");
+
+    /**
+     * 咨询锁 key，取自 "mlogPart" 的 ASCII 字节
+     */
+    private static final long ADVISORY_LOCK_KEY = 0x6D6C6F6750617274L;
+
+    private static final Pattern RANGE_BOUND = Pattern.compile("FROM \\('([^']+)'\\) TO \\('([^']+)'\\)");
+
+    private static final DateTimeFormatter BOUND_FORMAT = new DateTimeFormatterBuilder()
+            .appendPattern("yyyy-MM-dd HH:mm:ss")
+            .optionalStart()
+            .appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true)
+            .optionalEnd()
+            .toFormatter();
+
+    private static final DateTimeFormatter SUFFIX_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final LogPartitionProperties properties;
+
+    public LogPartitionMaintainer(DataSource dataSource, LogPartitionProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${mortise.log.partition.cron:0 30 3 * * *}")
+    public void maintain() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                maintain(connection, LocalDateTime.now());
+                return null;
+            });
+        } catch (DataAccessException e) {
+            log.error("日志分区维护失败", e);
+        }
+    }
+
+    private void maintain(Connection connection, LocalDateTime now) throws SQLException {
+        if (!queryBoolean(connection, "SELECT pg_try_advisory_lock(" + ADVISORY_LOCK_KEY + ")")) {
+            log.debug("其他节点正在维护日志分区，跳过");
+            return;
+        }
+        try {
+            for (String table : TABLES) {
+                if (!isPartitioned(connection, table)) {
+                    log.warn("日志表 {}.{} 不是分区表，跳过分区维护", SCHEMA, table);
+                    continue;
+                }
+                List<Partition> partitions = listPartitions(connection, table);
+                createPartitions(connection, table, partitions, now);
+                retirePartitions(connection, table, partitions, now);
+            }
+        } finally {
+            queryBoolean(connection, "SELECT pg_advisory_unlock(" + ADVISORY_LOCK_KEY + ")");
+        }
+    }
+
+    /**
+     * 预建当前分区及之后 premake 个分区，跳过与已有分区重叠的范围
+     */
+    private void createPartitions(Connection connection, String table, List<Partition> partitions,
+                                  LocalDateTime now) {
+        LocalDateTime from = periodStart(now);
+        for (int i = 0; i <= Math.max(properties.getPremake(), 0); i++) {
+            LocalDateTime to = nextPeriod(from);
+            if (!overlaps(partitions, from, to)) {
+                String name = table + "_p" + from.format(SUFFIX_FORMAT);
+                String sql = "CREATE TABLE " + SCHEMA + "." + name + " PARTITION OF " + SCHEMA + "." + table
+                        + " FOR VALUES FROM ('" + from.format(BOUND_FORMAT) + "') TO ('" + to.format(BOUND_FORMAT) + "')";
+                if (executeDdl(connection, sql)) {
+                    partitions.add(new Partition(name, from, to));
+                    log.info("已创建日志分区: {}.{} [{}, {})", SCHEMA, name, from, to);
+                }
+            }
+            from = to;
+        }
+    }
+
+    /**
+     * 删除或解除挂载结束时间早于保留期的分区
+     */
+    private void retirePartitions(Connection connection, String table, List<Partition> partitions,
+                                  LocalDateTime now) {
+        Duration retention = properties.getRetention();
+        if (retention == null || retention.isZero() || retention.isNegative()) {
+            return;
+        }
+        LocalDateTime cutoff = now.minus(retention);
+        for (Partition partition : partitions) {
+            if (partition.to().isAfter(cutoff)) {
+                continue;
+            }
+            String sql = properties.getRetentionAction() == LogPartitionProperties.RetentionAction.DETACH
+                    ? "ALTER TABLE " + SCHEMA + "." + table + " DETACH PARTITION " + SCHEMA + "." + partition.name()
+                    : "DROP TABLE " + SCHEMA + "." + partition.name();
+            if (executeDdl(connection, sql)) {
+                log.info("已{}过期日志分区: {}.{} [{}, {})",
+                        properties.getRetentionAction() == LogPartitionProperties.RetentionAction.DETACH ? "解除挂载" : "删除",
+                        SCHEMA, partition.name(), partition.from(), partition.to());
+            }
+        }
+    }
+
+    /**
+     * 单独提交一条 DDL，等锁超时或失败时回滚并返回 false
+     */
+    private boolean executeDdl(Connection connection, String sql) {
+        try {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET LOCAL lock_timeout = " + Math.max(properties.getLockTimeout().toMillis(), 1L));
+                statement.execute(sql);
+                connection.commit();
+                return true;
+            } catch (SQLException e) {
+                connection.rollback();
+                // 常见原因：等锁超时；DEFAULT 分区中已有落在该范围内的日志
+                log.warn("日志分区维护语句执行失败，下次重试: {}, {}", sql, e.getMessage());
+                return false;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            log.warn("日志分区维护语句执行失败: {}, {}", sql, e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean isPartitioned(Connection connection, String table) throws SQLException {
+        String sql = "SELECT c.relkind = 'p' FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace"
+                + " WHERE n.nspname = ? AND c.relname = ?";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, SCHEMA);
+            statement.setString(2, table);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    /**
+     * 查询已挂载的范围分区，DEFAULT 分区和无法解析范围的分区不参与维护
+     */
+    private List<Partition> listPartitions(Connection connection, String table) throws SQLException {
+        String sql = "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i"
+                + " JOIN pg_class c ON c.oid = i.inhrelid"
+                + " JOIN pg_class p ON p.oid = i.inhparent"
+                + " JOIN pg_namespace n ON n.oid = p.relnamespace"
+                + " WHERE n.nspname = ? AND p.relname = ?";
+        List<Partition> partitions = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, SCHEMA);
+            statement.setString(2, table);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    Partition partition = parsePartition(rs.getString(1), rs.getString(2));
+                    if (partition != null) {
+                        partitions.add(partition);
+                    }
+                }
+            }
+        }
+        return partitions;
+    }
+
+    private static Partition parsePartition(String name, String bound) {
+        Matcher matcher = bound != null ? RANGE_BOUND.matcher(bound) : null;
+        if (matcher == null || !matcher.find()) {
+            return null;
+        }
+        try {
+            return new Partition(name, LocalDateTime.parse(matcher.group(1), BOUND_FORMAT),
+                    LocalDateTime.parse(matcher.group(2), BOUND_FORMAT));
+        } catch (DateTimeParseException e) {
+            log.warn("无法解析日志分区范围: {} {}", name, bound);
+            return null;
+        }
+    }
+
+    private static boolean overlaps(List<Partition> partitions, LocalDateTime from, LocalDateTime to) {
+        return partitions.stream().anyMatch(p -> p.from().isBefore(to) && from.isBefore(p.to()));
+    }
+
+    private static boolean queryBoolean(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+
+    private LocalDateTime periodStart(LocalDateTime time) {
+        return properties.getGranularity() == LogPartitionProperties.Granularity.DAY
+                ? time.toLocalDate().atStartOfDay()
+                : time.toLocalDate().withDayOfMonth(1).atStartOfDay();
+    }
+
+    private LocalDateTime nextPeriod(LocalDateTime start) {
+        return properties.getGranularity() == LogPartitionProperties.Granularity.DAY
+                ? start.plusDays(1)
+                : start.plusMonths(1);
+    }
+
+    private record Partition(String name, LocalDateTime from, LocalDateTime to) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.rymcu.mortise.persistence.log.storage;
 
+import com.rymcu.mortise.core.constant.ExecutorConstant;
 import com.rymcu.mortise.log.entity.ApiLogEntity;
 import com.rymcu.mortise.log.entity.OperationLogEntity;
 import com.rymcu.mortise.log.spi.LogStorage;
@@ -14,6 +15,7 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -23,7 +25,7 @@ import java.util.stream.Collectors;
  * <p>
  * 功能：
  * 1. 同步/异步保存到数据库
- * 2. 批量保存优化
+ * 2. 批量保存优化（多行 INSERT，由 LogBatchPipeline 攒批调用）
  * 3. 同时输出到日志文件（便于调试）
  * <p>
  * 位置：mortise-persistence 模块（所有业务模块共享）
@@ -74,20 +76,22 @@ public class DatabaseLogStorage implements LogStorage {
         }
     }
 
-    @Async
+    @Async(ExecutorConstant.LOG_EXECUTOR)
     @Override
     public void saveAsync(OperationLogEntity logEntity) {
         save(logEntity);
     }
 
+    /**
+     * insertBatch 生成一条多行 INSERT；不开启事务，失败后逐条降级保存不受已中止事务影响
+     */
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public void saveBatch(List<OperationLogEntity> logs) {
         if (logs == null || logs.isEmpty()) {
             return;
         }
 
-        log.info("批量保存操作日志: count={}", logs.size());
+        log.debug("批量保存操作日志: count={}", logs.size());
 
         try {
             List<OperationLog> dbEntities = logs.stream()
@@ -129,20 +133,22 @@ public class DatabaseLogStorage implements LogStorage {
         }
     }
 
-    @Async
+    @Async(ExecutorConstant.LOG_EXECUTOR)
     @Override
     public void saveApiLogAsync(ApiLogEntity logEntity) {
         saveApiLog(logEntity);
     }
 
+    /**
+     * insertBatch 生成一条多行 INSERT；不开启事务，失败后逐条降级保存不受已中止事务影响
+     */
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public void saveApiLogBatch(List<ApiLogEntity> logs) {
         if (logs == null || logs.isEmpty()) {
             return;
         }
 
-        log.info("批量保存API日志: count={}", logs.size());
+        log.debug("批量保存API日志: count={}", logs.size());
 
         try {
             List<ApiLog> dbEntities = logs.stream()
@@ -159,7 +165,7 @@ public class DatabaseLogStorage implements LogStorage {
     // ==================== 转换方法 ====================
 
     /**
-     * 将 OperationLogEntity 转换为数据库实体
+     * 将 OperationLogEntity 转换为数据库实体，操作时间是分区键，不能为空
      */
     private OperationLog convertToOperationLog(OperationLogEntity entity) {
         return OperationLog.builder()
@@ -170,7 +176,7 @@ public class DatabaseLogStorage implements LogStorage {
                 .operation(entity.getOperation())
                 .operatorId(entity.getOperatorId())
                 .operatorAccount(entity.getOperatorAccount())
-                .operateTime(entity.getOperateTime())
+                .operateTime(entity.getOperateTime() != null ? entity.getOperateTime() : LocalDateTime.now())
                 .method(truncate(entity.getMethod(), 500))
                 .requestUri(truncate(entity.getRequestUri(), 500))
                 .requestMethod(entity.getRequestMethod())
@@ -185,7 +191,7 @@ public class DatabaseLogStorage implements LogStorage {
     }
 
     /**
-     * 将 ApiLogEntity 转换为数据库实体
+     * 将 ApiLogEntity 转换为数据库实体，请求时间是分区键，不能为空
      */
     private ApiLog convertToApiLog(ApiLogEntity entity) {
         return ApiLog.builder()
@@ -197,7 +203,7 @@ public class DatabaseLogStorage implements LogStorage {
                 .methodName(truncate(entity.getMethodName(), 100))
                 .userId(entity.getUserId())
                 .username(truncate(entity.getUsername(), 100))
-                .requestTime(entity.getRequestTime())
+                .requestTime(entity.getRequestTime() != null ? entity.getRequestTime() : LocalDateTime.now())
                 .requestUri(truncate(entity.getRequestUri(), 500))
                 .requestMethod(entity.getRequestMethod())
                 .queryString(entity.getQueryString())
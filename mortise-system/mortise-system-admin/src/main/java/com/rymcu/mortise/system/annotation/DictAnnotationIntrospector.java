@@ -2,7 +2,7 @@ package com.rymcu.mortise.system.annotation;
 
 import com.fasterxml.jackson.databind.introspect.Annotated;
 import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
-import com.rymcu.mortise.system.query.DictQueryService;
+import com.rymcu.mortise.system.query.DictSnapshotService;
 import com.rymcu.mortise.system.serializer.DictSerializer;
 
 /**
@@ -13,17 +13,17 @@ import com.rymcu.mortise.system.serializer.DictSerializer;
  * @desc : com.rymcu.mortise.annotation
  */
 public class DictAnnotationIntrospector extends JacksonAnnotationIntrospector {
-    private final DictQueryService dictQueryService;
+    private final DictSnapshotService dictSnapshotService;
 
-    public DictAnnotationIntrospector(DictQueryService dictQueryService) {
-        this.dictQueryService = dictQueryService;
+    public DictAnnotationIntrospector(DictSnapshotService dictSnapshotService) {
+        this.dictSnapshotService = dictSnapshotService;
     }
 
     @Override
     public Object findSerializer(Annotated a) {
         DictFormat dictFormat = a.getAnnotation(DictFormat.class);
         if (dictFormat != null) {
-            DictSerializer dictSerializer = new DictSerializer(dictQueryService);
+            DictSerializer dictSerializer = new DictSerializer(dictSnapshotService);
             dictSerializer.setDictType(dictFormat.value());
             dictSerializer.setSuffix(dictFormat.suffix());
             dictSerializer.setCover(dictFormat.cover());
@@ -1,7 +1,9 @@
 package com.rymcu.mortise.system.controller;
 
+import com.rymcu.mortise.core.model.CursorPageResult;
 import com.rymcu.mortise.core.model.PageResult;
 import com.rymcu.mortise.core.result.GlobalResult;
+import com.rymcu.mortise.system.controller.export.LogExportFormat;
 import com.rymcu.mortise.system.controller.facade.LogAdminFacade;
 import com.rymcu.mortise.system.controller.vo.ApiLogVO;
 import com.rymcu.mortise.system.controller.vo.OperationLogVO;
@@ -11,12 +13,16 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.io.IOException;
 
 /**
  * 日志管理控制器
@@ -43,6 +49,27 @@ public class LogController {
         return logAdminFacade.listOperationLogs(search);
     }
 
+    @Operation(summary = "游标分页查询操作日志", description = "按操作时间倒序，传入上一页的 nextCursor 查询下一页；过滤条件同分页查询")
+    @GetMapping("/operation/scroll")
+    @PreAuthorize("hasAuthority('system:operation-log:list')")
+    @com.rymcu.mortise.log.annotation.ApiLog(recordParams = false, recordResponseBody = false, value = "查询操作日志")
+    public GlobalResult<CursorPageResult<OperationLogVO>> scrollOperationLogs(
+            @Parameter(description = "查询条件") @Valid LogSearch search) {
+        return logAdminFacade.scrollOperationLogs(search);
+    }
+
+    @Operation(summary = "导出操作日志", description = "按查询条件流式导出，格式 CSV / NDJSON，可选 gzip 压缩")
+    @GetMapping("/operation/export")
+    @PreAuthorize("hasAuthority('system:operation-log:list')")
+    @com.rymcu.mortise.log.annotation.ApiLog(recordParams = false, recordResponseBody = false, value = "导出操作日志")
+    public void exportOperationLogs(
+            @Parameter(description = "查询条件") @Valid LogSearch search,
+            @Parameter(description = "导出格式：CSV / NDJSON") @RequestParam(defaultValue = "CSV") LogExportFormat format,
+            @Parameter(description = "是否 gzip 压缩") @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) throws IOException {
+        logAdminFacade.exportOperationLogs(search, format, gzip, response);
+    }
+
     @Operation(summary = "删除操作日志", description = "根据 ID 删除指定操作日志记录")
     @DeleteMapping("/operation/{id}")
     @PreAuthorize("hasAuthority('system:operation-log:delete')")
@@ -64,6 +91,27 @@ public class LogController {
         return logAdminFacade.listApiLogs(search);
     }
 
+    @Operation(summary = "游标分页查询 API 日志", description = "按请求时间倒序，传入上一页的 nextCursor 查询下一页；过滤条件同分页查询")
+    @GetMapping("/api/scroll")
+    @PreAuthorize("hasAuthority('system:api-log:list')")
+    @com.rymcu.mortise.log.annotation.ApiLog(recordParams = false, recordResponseBody = false, value = "查询 API 日志")
+    public GlobalResult<CursorPageResult<ApiLogVO>> scrollApiLogs(
+            @Parameter(description = "查询条件") @Valid LogSearch search) {
+        return logAdminFacade.scrollApiLogs(search);
+    }
+
+    @Operation(summary = "导出 API 日志", description = "按查询条件流式导出，格式 CSV / NDJSON，可选 gzip 压缩")
+    @GetMapping("/api/export")
+    @PreAuthorize("hasAuthority('system:api-log:list')")
+    @com.rymcu.mortise.log.annotation.ApiLog(recordParams = false, recordResponseBody = false, value = "导出 API 日志")
+    public void exportApiLogs(
+            @Parameter(description = "查询条件") @Valid LogSearch search,
+            @Parameter(description = "导出格式：CSV / NDJSON") @RequestParam(defaultValue = "CSV") LogExportFormat format,
+            @Parameter(description = "是否 gzip 压缩") @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) throws IOException {
+        logAdminFacade.exportApiLogs(search, format, gzip, response);
+    }
+
     @Operation(summary = "删除 API 日志", description = "根据 ID 删除指定 API 日志记录")
     @DeleteMapping("/api/{id}")
     @PreAuthorize("hasAuthority('system:api-log:delete')")
@@ -0,0 +1,65 @@
+package com.rymcu.mortise.system.controller.export;
+
+import com.rymcu.mortise.system.controller.vo.ApiLogVO;
+import com.rymcu.mortise.system.controller.vo.OperationLogVO;
+
+import java.util.List;
+
+/**
+ * 日志导出的 CSV 列定义，表头与 NDJSON 的字段名一致
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+public final class LogExportColumns {
+
+    public static final List<LogExportWriter.Column<OperationLogVO>> OPERATION_LOG = List.of(
+            new LogExportWriter.Column<>("id", OperationLogVO::getId),
+            new LogExportWriter.Column<>("traceId", OperationLogVO::getTraceId),
+            new LogExportWriter.Column<>("clientType", OperationLogVO::getClientType),
+            new LogExportWriter.Column<>("module", OperationLogVO::getModule),
+            new LogExportWriter.Column<>("operation", OperationLogVO::getOperation),
+            new LogExportWriter.Column<>("operatorId", OperationLogVO::getOperatorId),
+            new LogExportWriter.Column<>("operatorAccount", OperationLogVO::getOperatorAccount),
+            new LogExportWriter.Column<>("operateTime", OperationLogVO::getOperateTime),
+            new LogExportWriter.Column<>("method", OperationLogVO::getMethod),
+            new LogExportWriter.Column<>("requestUri", OperationLogVO::getRequestUri),
+            new LogExportWriter.Column<>("requestMethod", OperationLogVO::getRequestMethod),
+            new LogExportWriter.Column<>("params", OperationLogVO::getParams),
+            new LogExportWriter.Column<>("result", OperationLogVO::getResult),
+            new LogExportWriter.Column<>("ip", OperationLogVO::getIp),
+            new LogExportWriter.Column<>("userAgent", OperationLogVO::getUserAgent),
+            new LogExportWriter.Column<>("duration", OperationLogVO::getDuration),
+            new LogExportWriter.Column<>("success", OperationLogVO::getSuccess),
+            new LogExportWriter.Column<>("errorMsg", OperationLogVO::getErrorMsg),
+            new LogExportWriter.Column<>("createdTime", OperationLogVO::getCreatedTime)
+    );
+
+    public static final List<LogExportWriter.Column<ApiLogVO>> API_LOG = List.of(
+            new LogExportWriter.Column<>("id", ApiLogVO::getId),
+            new LogExportWriter.Column<>("traceId", ApiLogVO::getTraceId),
+            new LogExportWriter.Column<>("clientType", ApiLogVO::getClientType),
+            new LogExportWriter.Column<>("apiDescription", ApiLogVO::getApiDescription),
+            new LogExportWriter.Column<>("className", ApiLogVO::getClassName),
+            new LogExportWriter.Column<>("methodName", ApiLogVO::getMethodName),
+            new LogExportWriter.Column<>("userId", ApiLogVO::getUserId),
+            new LogExportWriter.Column<>("username", ApiLogVO::getUsername),
+            new LogExportWriter.Column<>("requestTime", ApiLogVO::getRequestTime),
+            new LogExportWriter.Column<>("requestUri", ApiLogVO::getRequestUri),
+            new LogExportWriter.Column<>("requestMethod", ApiLogVO::getRequestMethod),
+            new LogExportWriter.Column<>("queryString", ApiLogVO::getQueryString),
+            new LogExportWriter.Column<>("requestHeaders", ApiLogVO::getRequestHeaders),
+            new LogExportWriter.Column<>("requestBody", ApiLogVO::getRequestBody),
+            new LogExportWriter.Column<>("responseBody", ApiLogVO::getResponseBody),
+            new LogExportWriter.Column<>("httpStatus", ApiLogVO::getHttpStatus),
+            new LogExportWriter.Column<>("clientIp", ApiLogVO::getClientIp),
+            new LogExportWriter.Column<>("userAgent", ApiLogVO::getUserAgent),
+            new LogExportWriter.Column<>("duration", ApiLogVO::getDuration),
+            new LogExportWriter.Column<>("success", ApiLogVO::getSuccess),
+            new LogExportWriter.Column<>("errorMsg", ApiLogVO::getErrorMsg),
+            new LogExportWriter.Column<>("createdTime", ApiLogVO::getCreatedTime)
+    );
+
+    private LogExportColumns() {
+    }
+}
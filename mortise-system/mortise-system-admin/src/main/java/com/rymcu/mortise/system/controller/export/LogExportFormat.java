@@ -0,0 +1,37 @@
+package com.rymcu.mortise.system.controller.export;
+
+/**
+ * 日志导出格式
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+public enum LogExportFormat {
+
+    /**
+     * 逗号分隔，带表头，UTF-8 BOM 便于 Excel 识别编码
+     */
+    CSV("text/csv", "csv"),
+
+    /**
+     * 每行一个 JSON 对象（Newline Delimited JSON）
+     */
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+
+    private final String extension;
+
+    LogExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,197 @@
+package com.rymcu.mortise.system.controller.export;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 日志导出写入器
+ * <p>
+ * 逐行写入 CSV 或 NDJSON，经固定大小的缓冲区（可选 gzip 压缩）直接写到输出流，不保留已写出的行。
+ * 写入失败（如客户端断开）时抛出 {@link UncheckedIOException}，调用方据此中止读取。
+ * 导出中途失败时调用 {@link #abort()} 代替 {@link #close()}：丢弃未刷出的数据且不写 gzip 结尾，
+ * 客户端收到的文件无法被当作完整文件解压。
+ * </p>
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+public final class LogExportWriter<T> implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+
+    /**
+     * CSV 列定义
+     */
+    public record Column<T>(String header, Function<T, Object> value) {
+    }
+
+    private final LogExportFormat format;
+
+    private final List<Column<T>> columns;
+
+    private final ObjectWriter jsonWriter;
+
+    private final DiscardableGzipOutputStream gzip;
+
+    private final Writer writer;
+
+    private long rows;
+
+    private boolean aborted;
+
+    /**
+     * @param out        输出流，关闭写入器时不会关闭
+     * @param format     导出格式
+     * @param compress   是否 gzip 压缩
+     * @param columns    CSV 列定义
+     * @param jsonWriter NDJSON 每行的序列化器
+     */
+    public LogExportWriter(OutputStream out, LogExportFormat format, boolean compress, List<Column<T>> columns,
+                           ObjectWriter jsonWriter) throws IOException {
+        this.format = format;
+        this.columns = columns;
+        this.jsonWriter = jsonWriter;
+        this.gzip = compress ? new DiscardableGzipOutputStream(new NonClosingOutputStream(out), BUFFER_SIZE) : null;
+        this.writer = new BufferedWriter(new OutputStreamWriter(gzip != null ? gzip : new NonClosingOutputStream(out),
+                StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (format == LogExportFormat.CSV) {
+            writer.write('\uFEFF');
+            writeCsvLine(columns.stream().map(Column::header).map(Object.class::cast).toList());
+        }
+    }
+
+    public void write(T row) {
+        try {
+            if (format == LogExportFormat.CSV) {
+                writeCsvLine(columns.stream().map(column -> column.value().apply(row)).toList());
+            } else {
+                writer.write(jsonWriter.writeValueAsString(row));
+                writer.write('\n');
+            }
+            rows++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * 中止导出：不刷新缓冲区、不写 gzip 结尾，只释放压缩器
+     */
+    public void abort() {
+        aborted = true;
+        if (gzip != null) {
+            gzip.discard();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (aborted) {
+            return;
+        }
+        writer.flush();
+        if (gzip != null) {
+            gzip.finish();
+        }
+        writer.close();
+    }
+
+    private void writeCsvLine(List<Object> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCsvValue(values.get(i));
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * RFC 4180 转义；以公式字符开头的文本前加单引号，防止在表格软件中被当作公式执行
+     */
+    private void writeCsvValue(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!(value instanceof CharSequence)) {
+            writer.write(value instanceof LocalDateTime time ? time.format(TIME_FORMAT) : value.toString());
+            return;
+        }
+        String text = value.toString();
+        if (!text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    /**
+     * 可在不写结尾的情况下释放压缩器的 gzip 输出流
+     */
+    private static final class DiscardableGzipOutputStream extends GZIPOutputStream {
+
+        private DiscardableGzipOutputStream(OutputStream out, int size) throws IOException {
+            super(out, size);
+        }
+
+        void discard() {
+            def.end();
+        }
+    }
+
+    /**
+     * 输出流由容器管理，写入器只负责刷新
+     */
+    private static final class NonClosingOutputStream extends OutputStream {
+
+        private final OutputStream delegate;
+
+        private NonClosingOutputStream(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.flush();
+        }
+    }
+}
@@ -1,18 +1,33 @@
 package com.rymcu.mortise.system.controller.facade;
 
+import com.rymcu.mortise.core.model.CursorPageResult;
 import com.rymcu.mortise.core.model.PageResult;
 import com.rymcu.mortise.core.result.GlobalResult;
+import com.rymcu.mortise.system.controller.export.LogExportFormat;
 import com.rymcu.mortise.system.controller.vo.ApiLogVO;
 import com.rymcu.mortise.system.controller.vo.OperationLogVO;
 import com.rymcu.mortise.system.model.LogSearch;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
 
 public interface LogAdminFacade {
 
     GlobalResult<PageResult<OperationLogVO>> listOperationLogs(LogSearch search);
 
+    GlobalResult<CursorPageResult<OperationLogVO>> scrollOperationLogs(LogSearch search);
+
+    void exportOperationLogs(LogSearch search, LogExportFormat format, boolean gzip, HttpServletResponse response)
+            throws IOException;
+
     GlobalResult<Boolean> deleteOperationLog(Long id);
 
     GlobalResult<PageResult<ApiLogVO>> listApiLogs(LogSearch search);
 
+    GlobalResult<CursorPageResult<ApiLogVO>> scrollApiLogs(LogSearch search);
+
+    void exportApiLogs(LogSearch search, LogExportFormat format, boolean gzip, HttpServletResponse response)
+            throws IOException;
+
     GlobalResult<Boolean> deleteApiLog(Long id);
 }
@@ -3,6 +3,7 @@ package com.rymcu.mortise.system.controller.facade;
 import com.rymcu.mortise.core.result.GlobalResult;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Map;
 
@@ -11,4 +12,6 @@ public interface OAuth2QrcodeAdminFacade {
     GlobalResult<Map<String, String>> getWeChatQRCode(String registrationId, HttpServletRequest request, HttpServletResponse response);
 
     GlobalResult<Map<String, Object>> getStateQRCode(String state);
+
+    SseEmitter streamStateQRCode(String state);
 }
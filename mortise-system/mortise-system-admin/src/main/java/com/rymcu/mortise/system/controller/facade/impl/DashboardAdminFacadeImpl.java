@@ -29,9 +29,9 @@ public class DashboardAdminFacadeImpl implements DashboardAdminFacade {
 
     @Override
     public GlobalResult<DashboardStats> getStats() {
-        Long userCount = getOrCacheUserCount();
-        Long roleCount = getOrCacheRoleCount();
-        Long menuCount = getOrCacheMenuCount();
+        Long userCount = systemCacheService.getOrLoadUserCount(userQueryService::countEnabled);
+        Long roleCount = systemCacheService.getOrLoadRoleCount(roleQueryService::countEnabled);
+        Long menuCount = systemCacheService.getOrLoadMenuCount(menuQueryService::countEnabled);
         Long memberCount = systemCacheService.getMemberCount();
         if (memberCount == null) {
             memberCount = 0L;
@@ -40,31 +40,4 @@ public class DashboardAdminFacadeImpl implements DashboardAdminFacade {
         DashboardStats stats = new DashboardStats(userCount, roleCount, menuCount, memberCount);
         return GlobalResult.success(stats);
     }
-
-    private Long getOrCacheUserCount() {
-        Long count = systemCacheService.getUserCount();
-        if (count == null) {
-            count = userQueryService.countEnabled();
-            systemCacheService.cacheUserCount(count);
-        }
-        return count;
-    }
-
-    private Long getOrCacheRoleCount() {
-        Long count = systemCacheService.getRoleCount();
-        if (count == null) {
-            count = roleQueryService.countEnabled();
-            systemCacheService.cacheRoleCount(count);
-        }
-        return count;
-    }
-
-    private Long getOrCacheMenuCount() {
-        Long count = systemCacheService.getMenuCount();
-        if (count == null) {
-            count = menuQueryService.countEnabled();
-            systemCacheService.cacheMenuCount(count);
-        }
-        return count;
-    }
 }
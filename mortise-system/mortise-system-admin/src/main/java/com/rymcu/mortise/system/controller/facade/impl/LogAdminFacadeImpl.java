@@ -1,23 +1,43 @@
 package com.rymcu.mortise.system.controller.facade.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.rymcu.mortise.core.model.CursorPageResult;
 import com.rymcu.mortise.core.model.PageQuery;
 import com.rymcu.mortise.core.model.PageResult;
 import com.rymcu.mortise.core.result.GlobalResult;
 import com.rymcu.mortise.system.controller.assembler.LogAdminAssembler;
+import com.rymcu.mortise.system.controller.export.LogExportColumns;
+import com.rymcu.mortise.system.controller.export.LogExportFormat;
+import com.rymcu.mortise.system.controller.export.LogExportWriter;
 import com.rymcu.mortise.system.controller.facade.LogAdminFacade;
 import com.rymcu.mortise.system.controller.vo.ApiLogVO;
 import com.rymcu.mortise.system.controller.vo.OperationLogVO;
 import com.rymcu.mortise.system.model.LogSearch;
 import com.rymcu.mortise.system.query.LogQueryService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.function.Consumer;
+
 @Component
 public class LogAdminFacadeImpl implements LogAdminFacade {
 
+    private static final DateTimeFormatter FILE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
     private final LogQueryService logQueryService;
 
-    public LogAdminFacadeImpl(LogQueryService logQueryService) {
+    private final ObjectMapper objectMapper;
+
+    public LogAdminFacadeImpl(LogQueryService logQueryService, ObjectMapper objectMapper) {
         this.logQueryService = logQueryService;
+        this.objectMapper = objectMapper;
     }
 
     @Override
@@ -28,6 +48,22 @@ public class LogAdminFacadeImpl implements LogAdminFacade {
         );
     }
 
+    @Override
+    public GlobalResult<CursorPageResult<OperationLogVO>> scrollOperationLogs(LogSearch search) {
+        return GlobalResult.success(
+                logQueryService.scrollOperationLogs(search).map(LogAdminAssembler::toOperationLogVO)
+        );
+    }
+
+    @Override
+    public void exportOperationLogs(LogSearch search, LogExportFormat format, boolean gzip,
+                                    HttpServletResponse response) throws IOException {
+        export(response, "operation-logs", format, gzip, LogExportColumns.OPERATION_LOG,
+                objectMapper.writerFor(OperationLogVO.class),
+                writer -> logQueryService.exportOperationLogs(search,
+                        view -> writer.write(LogAdminAssembler.toOperationLogVO(view))));
+    }
+
     @Override
     public GlobalResult<Boolean> deleteOperationLog(Long id) {
         return GlobalResult.success(logQueryService.deleteOperationLog(id));
@@ -41,8 +77,55 @@ public class LogAdminFacadeImpl implements LogAdminFacade {
         );
     }
 
+    @Override
+    public GlobalResult<CursorPageResult<ApiLogVO>> scrollApiLogs(LogSearch search) {
+        return GlobalResult.success(
+                logQueryService.scrollApiLogs(search).map(LogAdminAssembler::toApiLogVO)
+        );
+    }
+
+    @Override
+    public void exportApiLogs(LogSearch search, LogExportFormat format, boolean gzip,
+                              HttpServletResponse response) throws IOException {
+        export(response, "api-logs", format, gzip, LogExportColumns.API_LOG, objectMapper.writerFor(ApiLogVO.class),
+                writer -> logQueryService.exportApiLogs(search,
+                        view -> writer.write(LogAdminAssembler.toApiLogVO(view))));
+    }
+
     @Override
     public GlobalResult<Boolean> deleteApiLog(Long id) {
         return GlobalResult.success(logQueryService.deleteApiLog(id));
     }
+
+    /**
+     * 流式导出；中途失败时中止写入器，不输出 gzip 结尾。响应未提交时重置，由全局异常处理返回错误；
+     * 已提交时包装为 {@link IllegalStateException} 抛出，由容器中断连接，客户端不会收到看似完整的文件
+     */
+    private static <T> void export(HttpServletResponse response, String name, LogExportFormat format, boolean gzip,
+                                   List<LogExportWriter.Column<T>> columns, ObjectWriter jsonWriter,
+                                   Consumer<LogExportWriter<T>> rows) throws IOException {
+        LogExportWriter<T> writer = openExport(response, name, format, gzip, columns, jsonWriter);
+        try {
+            rows.accept(writer);
+        } catch (RuntimeException e) {
+            writer.abort();
+            if (response.isCommitted()) {
+                throw new IllegalStateException("日志导出中断: " + name, e);
+            }
+            response.reset();
+            throw e;
+        }
+        writer.close();
+    }
+
+    private static <T> LogExportWriter<T> openExport(HttpServletResponse response, String name, LogExportFormat format,
+                                                     boolean gzip, List<LogExportWriter.Column<T>> columns,
+                                                     ObjectWriter jsonWriter) throws IOException {
+        String fileName = name + "-" + LocalDateTime.now().format(FILE_TIME_FORMAT) + "." + format.getExtension()
+                + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip" : format.getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(fileName).build().toString());
+        return new LogExportWriter<>(response.getOutputStream(), format, gzip, columns, jsonWriter);
+    }
 }
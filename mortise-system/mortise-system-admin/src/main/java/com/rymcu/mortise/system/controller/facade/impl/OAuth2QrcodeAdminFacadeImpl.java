@@ -5,6 +5,7 @@ import com.rymcu.mortise.auth.service.AuthCacheService;
 import com.rymcu.mortise.auth.support.UnifiedOAuth2AuthorizationRequestResolver;
 import com.rymcu.mortise.core.result.GlobalResult;
 import com.rymcu.mortise.system.controller.facade.OAuth2QrcodeAdminFacade;
+import com.rymcu.mortise.web.sse.QrcodeStateSseService;
 import io.micrometer.common.util.StringUtils;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -13,6 +14,7 @@ import org.springframework.security.oauth2.client.registration.ClientRegistratio
 import org.springframework.security.oauth2.client.web.AuthorizationRequestRepository;
 import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
 import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -24,16 +26,19 @@ public class OAuth2QrcodeAdminFacadeImpl implements OAuth2QrcodeAdminFacade {
     private final ClientRegistrationRepository clientRegistrationRepository;
     private final AuthorizationRequestRepository<OAuth2AuthorizationRequest> authorizationRequestRepository;
     private final AuthCacheService authCacheService;
+    private final QrcodeStateSseService qrcodeStateSseService;
 
     public OAuth2QrcodeAdminFacadeImpl(
             UnifiedOAuth2AuthorizationRequestResolver authorizationRequestResolver,
             ClientRegistrationRepository clientRegistrationRepository,
             AuthorizationRequestRepository<OAuth2AuthorizationRequest> authorizationRequestRepository,
-            AuthCacheService authCacheService) {
+            AuthCacheService authCacheService,
+            QrcodeStateSseService qrcodeStateSseService) {
         this.authorizationRequestResolver = authorizationRequestResolver;
         this.clientRegistrationRepository = clientRegistrationRepository;
         this.authorizationRequestRepository = authorizationRequestRepository;
         this.authCacheService = authCacheService;
+        this.qrcodeStateSseService = qrcodeStateSseService;
     }
 
     @Override
@@ -74,4 +79,9 @@ public class OAuth2QrcodeAdminFacadeImpl implements OAuth2QrcodeAdminFacade {
         result.put("qrcodeState", qrcodeState);
         return GlobalResult.success(result);
     }
+
+    @Override
+    public SseEmitter streamStateQRCode(String state) {
+        return qrcodeStateSseService.open(state);
+    }
 }
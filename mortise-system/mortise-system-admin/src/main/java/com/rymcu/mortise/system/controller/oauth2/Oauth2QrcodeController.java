@@ -11,9 +11,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Map;
 
@@ -54,5 +56,13 @@ public class Oauth2QrcodeController {
     public GlobalResult<Map<String, Object>> getStateQRCode(@PathVariable String state) {
         return oauth2QrcodeAdminFacade.getStateQRCode(state);
     }
-}
 
+    @Operation(
+        summary = "订阅OAuth2二维码状态变化",
+        description = "SSE 推送二维码状态：连接建立后立即推送当前状态，之后每次变化推送一个 state 事件，进入终态（2/3/4/-1）后关闭连接。"
+    )
+    @GetMapping(value = "/state/{state}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStateQRCode(@PathVariable String state) {
+        return oauth2QrcodeAdminFacade.streamStateQRCode(state);
+    }
+}
@@ -4,7 +4,7 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.rymcu.mortise.system.model.DictInfo;
-import com.rymcu.mortise.system.query.DictQueryService;
+import com.rymcu.mortise.system.query.DictSnapshotService;
 import lombok.Setter;
 
 import java.io.IOException;
@@ -18,7 +18,7 @@ import java.util.Objects;
  * @desc : com.rymcu.mortise.serializer
  */
 public class DictSerializer extends JsonSerializer<Object> {
-    private final DictQueryService dictQueryService;
+    private final DictSnapshotService dictSnapshotService;
     @Setter
     private String dictType;
     @Setter
@@ -26,14 +26,14 @@ public class DictSerializer extends JsonSerializer<Object> {
     @Setter
     private boolean cover;
 
-    public DictSerializer(DictQueryService dictQueryService) {
-        this.dictQueryService = dictQueryService;
+    public DictSerializer(DictSnapshotService dictSnapshotService) {
+        this.dictSnapshotService = dictSnapshotService;
     }
 
     @Override
     public void serialize(Object value, JsonGenerator jsonGenerator, SerializerProvider serializers) throws IOException {
         if (value != null) {
-            DictInfo dictInfo = dictQueryService.findDictInfo(dictType, String.valueOf(value));
+            DictInfo dictInfo = dictSnapshotService.findDictInfo(dictType, String.valueOf(value));
             if (Objects.nonNull(dictInfo)) {
                 if (cover) {
                     jsonGenerator.writeObject(dictInfo);
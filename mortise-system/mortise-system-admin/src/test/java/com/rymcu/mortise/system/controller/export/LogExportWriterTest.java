@@ -0,0 +1,122 @@
+package com.rymcu.mortise.system.controller.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogExportWriterTest {
+
+    private static final List<LogExportWriter.Column<Row>> COLUMNS = List.of(
+            new LogExportWriter.Column<>("id", Row::id),
+            new LogExportWriter.Column<>("text", Row::text),
+            new LogExportWriter.Column<>("time", Row::time)
+    );
+
+    @Test
+    void csvShouldQuoteSeparatorsQuotesAndLineBreaks() throws IOException {
+        String csv = csv(new Row(1L, "a,b", null), new Row(2L, "say \"hi\"", null), new Row(3L, "line1\nline2", null));
+
+        assertEquals("﻿id,text,time\r\n"
+                + "1,\"a,b\",\r\n"
+                + "2,\"say \"\"hi\"\"\",\r\n"
+                + "3,\"line1\nline2\",\r\n", csv);
+    }
+
+    @Test
+    void csvShouldNeutralizeFormulaPrefixes() throws IOException {
+        String csv = csv(new Row(1L, "=HYPERLINK(\"http://x\")", null), new Row(2L, "+1", null),
+                new Row(3L, "-2", null), new Row(4L, "@SUM(A1)", null), new Row(5L, "\tcmd", null));
+
+        assertEquals("﻿id,text,time\r\n"
+                + "1,\"'=HYPERLINK(\"\"http://x\"\")\",\r\n"
+                + "2,'+1,\r\n"
+                + "3,'-2,\r\n"
+                + "4,'@SUM(A1),\r\n"
+                + "5,'\tcmd,\r\n", csv);
+    }
+
+    @Test
+    void csvShouldNotPrefixNumbersOrPlainText() throws IOException {
+        String csv = csv(new Row(-5L, "plain text", LocalDateTime.of(2026, 5, 1, 8, 30, 15, 123_000_000)));
+
+        assertTrue(csv.endsWith("-5,plain text,2026-05-01 08:30:15.123\r\n"), csv);
+    }
+
+    @Test
+    void ndjsonShouldWriteOneObjectPerLine() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (LogExportWriter<Row> writer = new LogExportWriter<>(out, LogExportFormat.NDJSON, false, COLUMNS,
+                new ObjectMapper().findAndRegisterModules().writerFor(Row.class))) {
+            writer.write(new Row(1L, "a\nb", null));
+            writer.write(new Row(2L, "c", null));
+        }
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"text\":\"a\\nb\""));
+    }
+
+    @Test
+    void closedGzipExportShouldBeComplete() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (LogExportWriter<Row> writer = new LogExportWriter<>(out, LogExportFormat.CSV, true, COLUMNS, null)) {
+            writer.write(new Row(1L, "x", null));
+        }
+
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertTrue(new String(in.readAllBytes(), StandardCharsets.UTF_8).endsWith("1,x,\r\n"));
+        }
+    }
+
+    @Test
+    void abortedGzipExportShouldHaveNoTrailer() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        LogExportWriter<Row> writer = new LogExportWriter<>(out, LogExportFormat.CSV, true, COLUMNS, null);
+        for (int i = 0; i < 20_000; i++) {
+            writer.write(new Row((long) i, "row-" + i, null));
+        }
+
+        writer.abort();
+        writer.close();
+
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertThrows(EOFException.class, in::readAllBytes);
+        }
+    }
+
+    @Test
+    void abortedExportShouldDiscardBufferedRows() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        LogExportWriter<Row> writer = new LogExportWriter<>(out, LogExportFormat.CSV, false, COLUMNS, null);
+        writer.write(new Row(1L, "x", null));
+
+        writer.abort();
+        writer.close();
+
+        assertEquals(0, out.size());
+    }
+
+    private static String csv(Row... rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (LogExportWriter<Row> writer = new LogExportWriter<>(out, LogExportFormat.CSV, false, COLUMNS, null)) {
+            for (Row row : rows) {
+                writer.write(row);
+            }
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    record Row(Long id, String text, LocalDateTime time) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.rymcu.mortise.system.controller.facade.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rymcu.mortise.system.controller.export.LogExportFormat;
+import com.rymcu.mortise.system.model.LogSearch;
+import com.rymcu.mortise.system.query.LogQueryService;
+import com.rymcu.mortise.system.query.model.OperationLogView;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class LogAdminFacadeImplTest {
+
+    private final LogQueryService logQueryService = mock(LogQueryService.class);
+
+    private final LogAdminFacadeImpl facade = new LogAdminFacadeImpl(logQueryService,
+            new ObjectMapper().findAndRegisterModules());
+
+    @Test
+    void successfulExportShouldFinishGzipStream() throws IOException {
+        exportWrites(3, false);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        facade.exportOperationLogs(new LogSearch(), LogExportFormat.CSV, true, response);
+
+        assertEquals("application/gzip", response.getContentType());
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertEquals(4, new String(in.readAllBytes(), StandardCharsets.UTF_8).split("\r\n").length);
+        }
+    }
+
+    @Test
+    void failureBeforeCommitShouldResetResponse() {
+        exportWrites(1, true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThrows(IllegalStateException.class,
+                () -> facade.exportOperationLogs(new LogSearch(), LogExportFormat.CSV, false, response));
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_DISPOSITION));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void failureAfterCommitShouldNotWriteGzipTrailer() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        doAnswer(invocation -> {
+            Consumer<OperationLogView> consumer = invocation.getArgument(1);
+            for (int i = 0; i < 20_000; i++) {
+                consumer.accept(view(i));
+            }
+            response.flushBuffer();
+            throw new IllegalStateException("database connection lost");
+        }).when(logQueryService).exportOperationLogs(any(), any());
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> facade.exportOperationLogs(new LogSearch(), LogExportFormat.CSV, true, response));
+
+        assertEquals("database connection lost", exception.getCause().getMessage());
+        assertTrue(response.isCommitted());
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertThrows(EOFException.class, in::readAllBytes);
+        }
+    }
+
+    private void exportWrites(int rows, boolean fail) {
+        doAnswer(invocation -> {
+            Consumer<OperationLogView> consumer = invocation.getArgument(1);
+            for (int i = 0; i < rows; i++) {
+                consumer.accept(view(i));
+            }
+            if (fail) {
+                throw new IllegalStateException("database connection lost");
+            }
+            return null;
+        }).when(logQueryService).exportOperationLogs(any(), any());
+    }
+
+    private static OperationLogView view(long id) {
+        OperationLogView view = new OperationLogView();
+        view.setId(id);
+        view.setOperation("operation-" + id);
+        return view;
+    }
+}
@@ -2,6 +2,7 @@ package com.rymcu.mortise.system.handler;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rymcu.mortise.core.constant.ExecutorConstant;
 import com.rymcu.mortise.system.handler.event.OidcUserEvent;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
@@ -24,7 +25,7 @@ public class OidcUserEventHandler {
     @Resource
     private ObjectMapper objectMapper;
 
-    @Async
+    @Async(ExecutorConstant.LOGIN_EVENT_EXECUTOR)
     @EventListener
     public void processAccountLastOnlineTimeEvent(OidcUserEvent oidcUserEvent) throws JsonProcessingException {
         OidcUser user = oidcUserEvent.getUser();
@@ -1,5 +1,6 @@
 package com.rymcu.mortise.system.handler;
 
+import com.rymcu.mortise.core.constant.ExecutorConstant;
 import com.rymcu.mortise.system.entity.Role;
 import com.rymcu.mortise.system.handler.event.RegisterEvent;
 import com.rymcu.mortise.system.model.BindUserRoleInfo;
@@ -31,7 +32,7 @@ public class RegisterHandler {
     @Resource
     private RoleQueryService roleQueryService;
 
-    @Async
+    @Async(ExecutorConstant.LOGIN_EVENT_EXECUTOR)
     @TransactionalEventListener
     public void processRegisterEvent(RegisterEvent registerEvent) {
         // 获取默认角色，不再使用硬编码的 "user"
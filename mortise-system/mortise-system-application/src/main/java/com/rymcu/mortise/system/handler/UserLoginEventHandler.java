@@ -1,5 +1,6 @@
 package com.rymcu.mortise.system.handler;
 
+import com.rymcu.mortise.core.constant.ExecutorConstant;
 import com.rymcu.mortise.system.handler.event.UserLoginEvent;
 import com.rymcu.mortise.system.service.command.UserCommandService;
 import jakarta.annotation.Resource;
@@ -22,7 +23,7 @@ public class UserLoginEventHandler {
     @Resource
     private UserCommandService userCommandService;
 
-    @Async
+    @Async(ExecutorConstant.LOGIN_EVENT_EXECUTOR)
     @EventListener
     public void processUserLoginEvent(UserLoginEvent userLoginEvent) {
         userCommandService.updateLastLoginTimeByAccount(userLoginEvent.getAccount());
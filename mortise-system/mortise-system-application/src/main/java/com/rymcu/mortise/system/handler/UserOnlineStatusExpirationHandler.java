@@ -20,6 +20,12 @@ import org.springframework.stereotype.Component;
 @Component
 public class UserOnlineStatusExpirationHandler implements CacheExpirationHandler {
 
+    /**
+     * 用户在线状态缓存键前缀，格式如：mortise:userOnlineStatus:account
+     */
+    private static final String KEY_PREFIX =
+            CacheConstant.CACHE_NAME_PREFIX + SystemCacheConstant.USER_ONLINE_STATUS_CACHE + ProjectConstant.COLON;
+
     @Resource
     private UserCommandService userCommandService;
 
@@ -28,10 +34,15 @@ public class UserOnlineStatusExpirationHandler implements CacheExpirationHandler
         return SystemSpiOrderConstants.HIGH_PRIORITY_ORDER;
     }
 
+    @Override
+    public String getKeyPrefix() {
+        return KEY_PREFIX;
+    }
+
     @Override
     public boolean supports(String expiredKey) {
         // 检查是否为用户在线状态缓存键
-        return expiredKey.contains(CacheConstant.CACHE_NAME_PREFIX + SystemCacheConstant.USER_ONLINE_STATUS_CACHE + ":");
+        return expiredKey.startsWith(KEY_PREFIX);
     }
 
     @Override
@@ -63,9 +74,8 @@ public class UserOnlineStatusExpirationHandler implements CacheExpirationHandler
      * @return 用户账号，如果提取失败则返回 null
      */
     private String extractAccountFromKey(String key) {
-        String prefix = CacheConstant.CACHE_NAME_PREFIX + SystemCacheConstant.USER_ONLINE_STATUS_CACHE + ProjectConstant.COLON;
-        if (key.startsWith(prefix)) {
-            return key.substring(prefix.length());
+        if (key.startsWith(KEY_PREFIX)) {
+            return key.substring(KEY_PREFIX.length());
         }
         return null;
     }
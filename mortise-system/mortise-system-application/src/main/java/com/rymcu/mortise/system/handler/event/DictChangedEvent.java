@@ -0,0 +1,21 @@
+package com.rymcu.mortise.system.handler.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 字典数据变更事件，事务提交后触发字典快照版本递增
+ *
+ * @author ronger
+ */
+@Data
+@AllArgsConstructor
+public class DictChangedEvent {
+
+    /**
+     * 受影响的字典类型编码
+     */
+    private List<String> dictTypeCodes;
+}
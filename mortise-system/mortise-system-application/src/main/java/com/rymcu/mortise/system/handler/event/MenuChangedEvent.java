@@ -0,0 +1,9 @@
+package com.rymcu.mortise.system.handler.event;
+
+/**
+ * 菜单或角色菜单关系变更事件，事务提交后触发角色菜单树版本递增
+ *
+ * @author ronger
+ */
+public class MenuChangedEvent {
+}
@@ -0,0 +1,29 @@
+package com.rymcu.mortise.system.query;
+
+import com.rymcu.mortise.system.model.DictInfo;
+
+/**
+ * 字典快照查询
+ * <p>
+ * 从进程内预加载的字典快照中翻译字典值，供 {@code @DictFormat} 序列化等高频路径使用，正常情况下不产生 I/O。
+ * 字典变更提交后递增快照版本，各节点检测到版本变化后整体重建并原子替换本地快照。
+ * </p>
+ *
+ * @author ronger
+ */
+public interface DictSnapshotService {
+
+    /**
+     * 查询字典信息
+     *
+     * @param dictTypeCode 字典类型编码
+     * @param value        字典值
+     * @return 字典信息，不存在时返回 null
+     */
+    DictInfo findDictInfo(String dictTypeCode, String value);
+
+    /**
+     * 立即按当前版本重建本地快照
+     */
+    void reload();
+}
@@ -1,11 +1,14 @@
 package com.rymcu.mortise.system.query;
 
+import com.rymcu.mortise.core.model.CursorPageResult;
 import com.rymcu.mortise.core.model.PageQuery;
 import com.rymcu.mortise.core.model.PageResult;
 import com.rymcu.mortise.system.model.LogSearch;
 import com.rymcu.mortise.system.query.model.ApiLogView;
 import com.rymcu.mortise.system.query.model.OperationLogView;
 
+import java.util.function.Consumer;
+
 /**
  * 日志读模型查询服务。
  */
@@ -13,9 +16,23 @@ public interface LogQueryService {
 
     PageResult<OperationLogView> findOperationLogs(PageQuery pageQuery, LogSearch search);
 
+    CursorPageResult<OperationLogView> scrollOperationLogs(LogSearch search);
+
+    /**
+     * 按列表查询的过滤条件逐行读取操作日志，不在内存中缓存结果集
+     */
+    void exportOperationLogs(LogSearch search, Consumer<OperationLogView> consumer);
+
     Boolean deleteOperationLog(Long id);
 
     PageResult<ApiLogView> findApiLogs(PageQuery pageQuery, LogSearch search);
 
+    CursorPageResult<ApiLogView> scrollApiLogs(LogSearch search);
+
+    /**
+     * 按列表查询的过滤条件逐行读取 API 日志，不在内存中缓存结果集
+     */
+    void exportApiLogs(LogSearch search, Consumer<ApiLogView> consumer);
+
     Boolean deleteApiLog(Long id);
 }
@@ -21,6 +21,11 @@ public interface MenuQueryService {
 
     List<MenuTreeInfo> findMenuTree(MenuSearch search);
 
+    /**
+     * 查询全部菜单上声明的权限标识（去重）
+     */
+    List<String> findAllPermissions();
+
     long count();
 
     long countEnabled();
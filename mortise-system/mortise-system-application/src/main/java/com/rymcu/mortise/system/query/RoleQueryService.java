@@ -23,6 +23,11 @@ public interface RoleQueryService {
 
     List<User> findUsersByIdRole(Long roleId);
 
+    /**
+     * 查询全部角色的权限标识（去重，不含 ROLE_ 前缀）
+     */
+    List<String> findAllPermissions();
+
     long count();
 
     long countEnabled();
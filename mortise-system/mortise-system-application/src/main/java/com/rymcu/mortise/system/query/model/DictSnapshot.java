@@ -0,0 +1,97 @@
+package com.rymcu.mortise.system.query.model;
+
+import com.rymcu.mortise.system.entity.Dict;
+import com.rymcu.mortise.system.model.DictInfo;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 字典快照
+ * <p>
+ * 全部字典项按 字典类型编码 -> 字典值 -> 字典信息 索引的不可变视图，构建完成后只读，可被任意线程无锁共享。
+ * 同一类型下值重复时保留排序靠前的一项。
+ * </p>
+ *
+ * @author ronger
+ */
+public final class DictSnapshot {
+
+    private final long version;
+
+    private final Map<String, Map<String, DictInfo>> dictionaries;
+
+    private final int size;
+
+    private DictSnapshot(long version, Map<String, Map<String, DictInfo>> dictionaries, int size) {
+        this.version = version;
+        this.dictionaries = dictionaries;
+        this.size = size;
+    }
+
+    /**
+     * 由字典项列表构建快照
+     *
+     * @param version 构建前读取的字典快照版本
+     * @param dicts   全部字典项
+     */
+    public static DictSnapshot of(long version, Collection<Dict> dicts) {
+        Map<String, Map<String, DictInfo>> grouped = new HashMap<>();
+        int size = 0;
+        for (Dict dict : dicts) {
+            if (dict.getDictTypeCode() == null || dict.getValue() == null) {
+                continue;
+            }
+            Map<String, DictInfo> values = grouped.computeIfAbsent(dict.getDictTypeCode(), key -> new HashMap<>());
+            if (values.putIfAbsent(dict.getValue(), toDictInfo(dict)) == null) {
+                size++;
+            }
+        }
+        Map<String, Map<String, DictInfo>> dictionaries = new HashMap<>(grouped.size() * 2);
+        grouped.forEach((typeCode, values) -> dictionaries.put(typeCode, Map.copyOf(values)));
+        return new DictSnapshot(version, Map.copyOf(dictionaries), size);
+    }
+
+    /**
+     * 空快照
+     */
+    public static DictSnapshot empty(long version) {
+        return of(version, List.of());
+    }
+
+    /**
+     * 查询字典信息
+     *
+     * @return 字典信息，不存在时返回 null
+     */
+    public DictInfo find(String dictTypeCode, String value) {
+        if (dictTypeCode == null || value == null) {
+            return null;
+        }
+        Map<String, DictInfo> values = dictionaries.get(dictTypeCode);
+        return values != null ? values.get(value) : null;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    /**
+     * @return 字典项数量
+     */
+    public int size() {
+        return size;
+    }
+
+    private static DictInfo toDictInfo(Dict dict) {
+        DictInfo dictInfo = new DictInfo();
+        dictInfo.setLabel(dict.getLabel());
+        dictInfo.setValue(dict.getValue());
+        dictInfo.setColor(dict.getColor());
+        dictInfo.setIcon(dict.getIcon());
+        dictInfo.setImage(dict.getImage());
+        return dictInfo;
+    }
+}
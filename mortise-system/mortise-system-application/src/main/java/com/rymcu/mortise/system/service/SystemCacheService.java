@@ -5,6 +5,7 @@ import com.rymcu.mortise.system.model.TokenUser;
 
 import java.time.Duration;
 import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * 系统缓存服务接口
@@ -415,6 +416,30 @@ public interface SystemCacheService {
      */
     Long getMemberCount();
 
+    /**
+     * 获取用户数统计，未命中时回源（并发未命中只回源一次，过期前概率性提前重算）
+     *
+     * @param loader 回源逻辑
+     * @return 用户数
+     */
+    Long getOrLoadUserCount(Supplier<Long> loader);
+
+    /**
+     * 获取角色数统计，未命中时回源
+     *
+     * @param loader 回源逻辑
+     * @return 角色数
+     */
+    Long getOrLoadRoleCount(Supplier<Long> loader);
+
+    /**
+     * 获取菜单数统计，未命中时回源
+     *
+     * @param loader 回源逻辑
+     * @return 菜单数
+     */
+    Long getOrLoadMenuCount(Supplier<Long> loader);
+
     // ==================== 邮箱更换验证码缓存 ====================
 
     /**
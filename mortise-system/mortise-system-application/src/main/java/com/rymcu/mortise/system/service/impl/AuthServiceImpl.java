@@ -1,6 +1,8 @@
 package com.rymcu.mortise.system.service.impl;
 
 import com.github.f4b6a3.ulid.UlidCreator;
+import com.rymcu.mortise.auth.enumerate.UserType;
+import com.rymcu.mortise.auth.event.PrincipalChangedEvent;
 import com.rymcu.mortise.auth.service.TokenManager;
 import com.rymcu.mortise.auth.spi.StandardOAuth2UserInfo;
 import com.rymcu.mortise.auth.util.OAuth2ProviderUtils;
@@ -475,6 +477,11 @@ public class AuthServiceImpl implements AuthService {
         } else {
             boolean result = userRepository.updatePasswordByEmail(email, passwordEncoder.encode(password));
             if (result) {
+                User user = userRepository.findByLoginIdentity(email);
+                if (user != null) {
+                    applicationEventPublisher.publishEvent(
+                            new PrincipalChangedEvent(this, UserType.SYSTEM.getCode(), user.getId()));
+                }
                 // 删除已使用的密码重置令牌
                 systemCacheService.removePasswordResetToken(code);
                 return true;
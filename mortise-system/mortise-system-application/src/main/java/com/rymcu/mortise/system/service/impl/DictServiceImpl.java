@@ -6,6 +6,7 @@ import com.rymcu.mortise.core.model.PageQuery;
 import com.rymcu.mortise.core.model.PageResult;
 import com.rymcu.mortise.system.constant.SystemCacheConstant;
 import com.rymcu.mortise.system.entity.Dict;
+import com.rymcu.mortise.system.handler.event.DictChangedEvent;
 import com.rymcu.mortise.system.model.DictInfo;
 import com.rymcu.mortise.system.model.DictSearch;
 import com.rymcu.mortise.system.query.DictQueryService;
@@ -16,9 +17,11 @@ import com.rymcu.mortise.system.service.SystemCacheService;
 import jakarta.annotation.Resource;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -38,6 +41,8 @@ public class DictServiceImpl implements DictService, DictCommandService {
     private SystemCacheService systemCacheService;
     @Resource
     private DictQueryService dictQueryService;
+    @Resource
+    private ApplicationEventPublisher applicationEventPublisher;
 
     @Override
     public PageResult<Dict> findDictList(PageQuery pageQuery, DictSearch search) {
@@ -54,6 +59,7 @@ public class DictServiceImpl implements DictService, DictCommandService {
         boolean result = dictRepository.updateStatus(idDict, status);
         if (result) {
             systemCacheService.removeDictOptions(originalDict.getDictTypeCode());
+            publishDictChanged(List.of(originalDict.getDictTypeCode()));
         }
         return result;
     }
@@ -67,6 +73,7 @@ public class DictServiceImpl implements DictService, DictCommandService {
         boolean result = dictRepository.deleteById(idDict);
         if (result) {
             systemCacheService.removeDictOptions(originalDict.getDictTypeCode());
+            publishDictChanged(List.of(originalDict.getDictTypeCode()));
         }
         return result;
     }
@@ -87,7 +94,7 @@ public class DictServiceImpl implements DictService, DictCommandService {
     }
 
     @Override
-    @Cacheable(value = SystemCacheConstant.DICT_DATA_CACHE, key = "#dictTypeCode")
+    @Cacheable(value = SystemCacheConstant.DICT_DATA_CACHE, key = "#dictTypeCode", sync = true)
     public List<BaseOption> queryDictOptions(String dictTypeCode) {
         @SuppressWarnings("unchecked")
         List<BaseOption> cachedOptions = systemCacheService.getDictOptions(dictTypeCode, List.class);
@@ -113,6 +120,7 @@ public class DictServiceImpl implements DictService, DictCommandService {
         boolean result = dictRepository.deleteByIds(idDictList);
         if (result && !affectedDictTypeCodes.isEmpty()) {
             systemCacheService.removeDictOptionsBatch(affectedDictTypeCodes);
+            publishDictChanged(affectedDictTypeCodes);
         }
         return result;
     }
@@ -125,6 +133,7 @@ public class DictServiceImpl implements DictService, DictCommandService {
         boolean result = dictRepository.save(dict);
         if (result) {
             systemCacheService.removeDictOptions(dictTypeCode);
+            publishDictChanged(Collections.singletonList(dictTypeCode));
         }
         return dict.getId();
     }
@@ -157,7 +166,16 @@ public class DictServiceImpl implements DictService, DictCommandService {
             if (!oldDictTypeCode.equals(dictTypeCode)) {
                 systemCacheService.removeDictOptions(oldDictTypeCode);
             }
+            publishDictChanged(oldDictTypeCode.equals(dictTypeCode)
+                    ? List.of(dictTypeCode) : List.of(dictTypeCode, oldDictTypeCode));
         }
         return result;
     }
+
+    /**
+     * 通知字典快照在事务提交后重建
+     */
+    private void publishDictChanged(List<String> dictTypeCodes) {
+        applicationEventPublisher.publishEvent(new DictChangedEvent(dictTypeCodes));
+    }
 }
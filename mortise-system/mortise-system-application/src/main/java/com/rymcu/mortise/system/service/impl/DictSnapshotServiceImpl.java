@@ -0,0 +1,142 @@
+package com.rymcu.mortise.system.service.impl;
+
+import com.rymcu.mortise.cache.service.CacheVersionService;
+import com.rymcu.mortise.system.constant.SystemCacheConstant;
+import com.rymcu.mortise.system.handler.event.DictChangedEvent;
+import com.rymcu.mortise.system.model.DictInfo;
+import com.rymcu.mortise.system.query.DictSnapshotService;
+import com.rymcu.mortise.system.query.model.DictSnapshot;
+import com.rymcu.mortise.system.repository.DictRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 基于本地不可变快照的字典查询
+ *
+ * <p>启动完成后一次查询预加载全部字典项。每次查询先比较快照版本与
+ * {@link CacheVersionService} 中的当前版本（本地内存读取），一致时直接从快照返回；
+ * 版本变化时由一个线程重新加载并原子替换快照，其他线程在替换前继续使用旧快照。</p>
+ *
+ * <p>快照版本取自加载前读取的版本号，加载期间发生的变更会在下一次查询时再次触发重建。
+ * 尚无可用快照（启动期间或加载失败）时回退为逐条查询数据库。</p>
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class DictSnapshotServiceImpl implements DictSnapshotService {
+
+    private static final String NAMESPACE = SystemCacheConstant.DICT_SNAPSHOT_VERSION_NAMESPACE;
+
+    /**
+     * 重建失败后的重试间隔，避免数据库异常时每次查询都触发重建
+     */
+    private static final long RETRY_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final DictRepository dictRepository;
+
+    private final CacheVersionService cacheVersionService;
+
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    private volatile DictSnapshot snapshot;
+
+    private volatile boolean failed;
+
+    private volatile long failedAtNanos;
+
+    public DictSnapshotServiceImpl(DictRepository dictRepository, CacheVersionService cacheVersionService) {
+        this.dictRepository = dictRepository;
+        this.cacheVersionService = cacheVersionService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        reload();
+    }
+
+    @Override
+    public DictInfo findDictInfo(String dictTypeCode, String value) {
+        DictSnapshot current = currentSnapshot();
+        if (current == null) {
+            return dictRepository.findDictInfo(dictTypeCode, value);
+        }
+        return current.find(dictTypeCode, value);
+    }
+
+    @Override
+    public void reload() {
+        reload(true);
+    }
+
+    private void reload(boolean force) {
+        reloadLock.lock();
+        try {
+            doReload(force);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * 字典变更提交后递增快照版本并立即重建本地快照，其他节点通过版本通知在下一次查询时重建
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDictChanged(DictChangedEvent event) {
+        try {
+            cacheVersionService.bumpVersion(NAMESPACE);
+        } catch (RuntimeException e) {
+            log.warn("字典快照版本递增失败，其他节点可能继续使用旧快照: dictTypeCodes={}", event.getDictTypeCodes(), e);
+        }
+        reload(true);
+    }
+
+    private DictSnapshot currentSnapshot() {
+        DictSnapshot current = snapshot;
+        if (current != null && current.version() == cacheVersionService.currentVersion(NAMESPACE)) {
+            return current;
+        }
+        if (failed && System.nanoTime() - failedAtNanos < RETRY_INTERVAL_NANOS) {
+            return current;
+        }
+        if (current == null) {
+            // 尚无快照时排队等待首次加载，避免并发请求同时全量加载
+            reload(false);
+            return snapshot;
+        }
+        // 已有快照时只由一个线程重建，其余线程继续使用旧快照
+        if (reloadLock.tryLock()) {
+            try {
+                doReload(false);
+            } finally {
+                reloadLock.unlock();
+            }
+        }
+        return snapshot;
+    }
+
+    private void doReload(boolean force) {
+        long version = cacheVersionService.currentVersion(NAMESPACE);
+        DictSnapshot current = snapshot;
+        if (!force && current != null && current.version() == version) {
+            return;
+        }
+        try {
+            DictSnapshot fresh = DictSnapshot.of(version, dictRepository.findAllForSnapshot());
+            snapshot = fresh;
+            failed = false;
+            log.info("字典快照已加载: version={}, size={}", version, fresh.size());
+        } catch (RuntimeException e) {
+            failedAtNanos = System.nanoTime();
+            failed = true;
+            log.warn("字典快照加载失败，{}: {}", current != null ? "继续使用旧快照" : "暂时回退为逐条查询", e.getMessage());
+        }
+    }
+}
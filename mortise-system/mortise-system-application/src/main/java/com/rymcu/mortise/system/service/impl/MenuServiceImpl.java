@@ -1,10 +1,13 @@
 package com.rymcu.mortise.system.service.impl;
 
+import com.rymcu.mortise.auth.enumerate.UserType;
+import com.rymcu.mortise.auth.event.PrincipalChangedEvent;
 import com.rymcu.mortise.common.exception.ServiceException;
 import com.rymcu.mortise.common.model.Link;
 import com.rymcu.mortise.core.model.PageQuery;
 import com.rymcu.mortise.core.model.PageResult;
 import com.rymcu.mortise.system.entity.Menu;
+import com.rymcu.mortise.system.handler.event.MenuChangedEvent;
 import com.rymcu.mortise.system.model.MenuSearch;
 import com.rymcu.mortise.system.model.MenuTreeInfo;
 import com.rymcu.mortise.system.query.MenuQueryService;
@@ -13,17 +16,13 @@ import com.rymcu.mortise.system.service.command.MenuCommandService;
 import com.rymcu.mortise.system.service.MenuService;
 import com.rymcu.mortise.system.service.SystemCacheService;
 import jakarta.annotation.Resource;
-import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * 菜单应用服务
@@ -38,18 +37,17 @@ public class MenuServiceImpl implements MenuService, MenuCommandService {
     private SystemCacheService systemCacheService;
     @Resource
     private MenuQueryService menuQueryService;
+    @Resource
+    private ApplicationEventPublisher applicationEventPublisher;
 
     @Override
     public List<Menu> findMenusByIdUser(Long idUser) {
-        return menuRepository.findMenusByUserId(idUser);
+        return menuQueryService.findMenusByIdUser(idUser);
     }
 
     @Override
     public List<Link> findLinksByIdUser(Long idUser) {
-        return buildLinkTree(
-                menuRepository.findAllLinksByUserId(idUser).stream().collect(Collectors.groupingBy(Menu::getParentId)),
-                0L
-        );
+        return menuQueryService.findLinksByIdUser(idUser);
     }
 
     @Override
@@ -64,13 +62,18 @@ public class MenuServiceImpl implements MenuService, MenuCommandService {
 
     @Override
     public Boolean updateStatus(Long idMenu, Integer status) {
-        return menuRepository.updateStatus(idMenu, status);
+        boolean result = menuRepository.updateStatus(idMenu, status);
+        if (result) {
+            publishMenuChanged();
+        }
+        return result;
     }
 
     @Override
     public Boolean deleteMenu(Long idMenu) {
         boolean result = menuRepository.deleteById(idMenu);
         if (result) {
+            publishMenuChanged();
             systemCacheService.cacheMenuCount(count());
         }
         return result;
@@ -78,7 +81,7 @@ public class MenuServiceImpl implements MenuService, MenuCommandService {
 
     @Override
     public List<MenuTreeInfo> findMenuTree(MenuSearch search) {
-        return buildMenuTree(search.getParentId() != null ? search.getParentId() : 0L);
+        return menuQueryService.findMenuTree(search);
     }
 
     @Override
@@ -88,6 +91,7 @@ public class MenuServiceImpl implements MenuService, MenuCommandService {
         }
         boolean result = menuRepository.deleteByIds(idMenuList);
         if (result) {
+            publishMenuChanged();
             systemCacheService.cacheMenuCount(count());
         }
         return result;
@@ -97,6 +101,7 @@ public class MenuServiceImpl implements MenuService, MenuCommandService {
     @Transactional(rollbackFor = Exception.class)
     public Long createMenu(Menu menu) {
         menuRepository.save(menu);
+        applicationEventPublisher.publishEvent(new MenuChangedEvent());
         systemCacheService.cacheMenuCount(count());
         return menu.getId();
     }
@@ -117,7 +122,11 @@ public class MenuServiceImpl implements MenuService, MenuCommandService {
         oldMenu.setSortNo(menu.getSortNo());
         oldMenu.setParentId(menu.getParentId());
         oldMenu.setUpdatedTime(LocalDateTime.now());
-        return menuRepository.update(oldMenu);
+        boolean result = menuRepository.update(oldMenu);
+        if (result) {
+            publishMenuChanged();
+        }
+        return result;
     }
 
     @Override
@@ -130,38 +139,11 @@ public class MenuServiceImpl implements MenuService, MenuCommandService {
         return menuRepository.countEnabled();
     }
 
-    private List<MenuTreeInfo> buildMenuTree(Long parentId) {
-        List<Menu> menus = menuRepository.findTreeMenus(parentId);
-        List<MenuTreeInfo> result = new ArrayList<>(menus.size());
-        for (Menu menu : menus) {
-            MenuTreeInfo treeInfo = new MenuTreeInfo();
-            BeanUtils.copyProperties(menu, treeInfo);
-            treeInfo.setChildren(buildMenuTree(menu.getId()));
-            result.add(treeInfo);
-        }
-        return result;
-    }
-
-    private List<Link> buildLinkTree(Map<Long, List<Menu>> menusByParentId, Long parentId) {
-        List<Menu> children = menusByParentId.getOrDefault(parentId, Collections.emptyList());
-        List<Link> result = new ArrayList<>(children.size());
-        for (Menu menu : children) {
-            Link link = convertLink(menu);
-            link.setChildren(buildLinkTree(menusByParentId, menu.getId()));
-            result.add(link);
-        }
-        return result;
-    }
-
-    private static Link convertLink(Menu menu) {
-        Link link = new Link();
-        link.setId(menu.getId());
-        link.setLabel(menu.getLabel());
-        link.setParentId(menu.getParentId());
-        link.setTo(menu.getHref());
-        link.setIcon(menu.getIcon());
-        link.setSortNo(menu.getSortNo());
-        link.setStatus(menu.getStatus());
-        return link;
+    /**
+     * 菜单权限标识或状态变更影响所有绑定该菜单的角色，失效角色菜单树和全部系统用户的认证主体缓存
+     */
+    private void publishMenuChanged() {
+        applicationEventPublisher.publishEvent(new MenuChangedEvent());
+        applicationEventPublisher.publishEvent(new PrincipalChangedEvent(this, UserType.SYSTEM.getCode()));
     }
 }
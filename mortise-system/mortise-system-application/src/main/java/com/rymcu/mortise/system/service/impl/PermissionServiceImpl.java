@@ -1,5 +1,7 @@
 package com.rymcu.mortise.system.service.impl;
 
+import com.rymcu.mortise.auth.spi.PermissionSource;
+import com.rymcu.mortise.system.constant.SystemAuthConstants;
 import com.rymcu.mortise.system.entity.Menu;
 import com.rymcu.mortise.system.entity.Role;
 import com.rymcu.mortise.system.query.MenuQueryService;
@@ -9,6 +11,7 @@ import jakarta.annotation.Resource;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -22,7 +25,7 @@ import java.util.Set;
  * @since 2025/9/29
  */
 @Service
-public class PermissionServiceImpl implements PermissionService {
+public class PermissionServiceImpl implements PermissionService, PermissionSource {
 
     @Resource
     private MenuQueryService menuQueryService;
@@ -60,4 +63,17 @@ public class PermissionServiceImpl implements PermissionService {
         }
         return permissions;
     }
+
+    /**
+     * 启动时向权限注册表提供全部菜单权限与角色权限
+     */
+    @Override
+    public Collection<String> loadPermissions() {
+        Set<String> permissions = new HashSet<>(menuQueryService.findAllPermissions());
+        for (String rolePermission : roleQueryService.findAllPermissions()) {
+            permissions.add("ROLE_" + rolePermission);
+        }
+        permissions.add(SystemAuthConstants.DEFAULT_FALLBACK_ROLE);
+        return permissions;
+    }
 }
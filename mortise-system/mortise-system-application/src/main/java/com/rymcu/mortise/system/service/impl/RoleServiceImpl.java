@@ -1,5 +1,7 @@
 package com.rymcu.mortise.system.service.impl;
 
+import com.rymcu.mortise.auth.enumerate.UserType;
+import com.rymcu.mortise.auth.event.PrincipalChangedEvent;
 import com.rymcu.mortise.common.exception.ServiceException;
 import com.rymcu.mortise.common.enumerate.Status;
 import com.rymcu.mortise.core.model.PageQuery;
@@ -7,6 +9,7 @@ import com.rymcu.mortise.core.model.PageResult;
 import com.rymcu.mortise.system.entity.Menu;
 import com.rymcu.mortise.system.entity.Role;
 import com.rymcu.mortise.system.entity.User;
+import com.rymcu.mortise.system.handler.event.MenuChangedEvent;
 import com.rymcu.mortise.system.model.BindRoleMenuInfo;
 import com.rymcu.mortise.system.model.BindRoleUserInfo;
 import com.rymcu.mortise.system.model.RoleSearch;
@@ -18,6 +21,7 @@ import com.rymcu.mortise.system.service.RoleService;
 import com.rymcu.mortise.system.service.SystemCacheService;
 import com.rymcu.mortise.system.service.command.RoleCommandService;
 import jakarta.annotation.Resource;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -49,6 +53,8 @@ public class RoleServiceImpl implements RoleService, RoleCommandService {
     private SystemCacheService systemCacheService;
     @Resource
     private RoleQueryService roleQueryService;
+    @Resource
+    private ApplicationEventPublisher applicationEventPublisher;
 
     @Override
     public List<Role> findRolesByIdUser(Long idUser) {
@@ -68,15 +74,24 @@ public class RoleServiceImpl implements RoleService, RoleCommandService {
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Boolean bindRoleMenu(BindRoleMenuInfo bindRoleMenuInfo) {
-        return roleMenuRepository.replaceMenus(
+        boolean result = roleMenuRepository.replaceMenus(
                 bindRoleMenuInfo.getIdRole(),
                 bindRoleMenuInfo.getIdMenus() == null ? null : new ArrayList<>(bindRoleMenuInfo.getIdMenus())
         );
+        if (result) {
+            applicationEventPublisher.publishEvent(new MenuChangedEvent());
+            publishPrincipalChanged();
+        }
+        return result;
     }
 
     @Override
     public Boolean updateStatus(Long idRole, Integer status) {
-        return roleRepository.updateStatus(idRole, status);
+        boolean result = roleRepository.updateStatus(idRole, status);
+        if (result) {
+            publishPrincipalChanged();
+        }
+        return result;
     }
 
     @Override
@@ -88,6 +103,7 @@ public class RoleServiceImpl implements RoleService, RoleCommandService {
     public Boolean deleteRole(Long idRole) {
         boolean result = roleRepository.deleteById(idRole);
         if (result) {
+            publishPrincipalChanged();
             systemCacheService.cacheRoleCount(count());
         }
         return result;
@@ -100,6 +116,7 @@ public class RoleServiceImpl implements RoleService, RoleCommandService {
         }
         boolean result = roleRepository.deleteByIds(idRoleList);
         if (result) {
+            publishPrincipalChanged();
             systemCacheService.cacheRoleCount(count());
         }
         return result;
@@ -112,10 +129,15 @@ public class RoleServiceImpl implements RoleService, RoleCommandService {
 
     @Override
     public Boolean bindRoleUser(BindRoleUserInfo bindRoleUserInfo) {
-        return userRoleRepository.replaceUsers(
+        boolean result = userRoleRepository.replaceUsers(
                 bindRoleUserInfo.getIdRole(),
                 bindRoleUserInfo.getIdUsers() == null ? null : new ArrayList<>(bindRoleUserInfo.getIdUsers())
         );
+        if (result) {
+            // 被移出该角色的用户不在新名单中，按用户类型整体失效
+            publishPrincipalChanged();
+        }
+        return result;
     }
 
     @Override
@@ -153,7 +175,11 @@ public class RoleServiceImpl implements RoleService, RoleCommandService {
             oldRole.setIsDefault(role.getIsDefault());
         }
         oldRole.setUpdatedTime(LocalDateTime.now());
-        return roleRepository.update(oldRole);
+        boolean result = roleRepository.update(oldRole);
+        if (result) {
+            publishPrincipalChanged();
+        }
+        return result;
     }
 
     @Override
@@ -165,4 +191,11 @@ public class RoleServiceImpl implements RoleService, RoleCommandService {
     public long countEnabled() {
         return roleQueryService.countEnabled();
     }
+
+    /**
+     * 角色变更影响所有持有该角色的系统用户，失效全部系统用户的认证主体缓存
+     */
+    private void publishPrincipalChanged() {
+        applicationEventPublisher.publishEvent(new PrincipalChangedEvent(this, UserType.SYSTEM.getCode()));
+    }
 }
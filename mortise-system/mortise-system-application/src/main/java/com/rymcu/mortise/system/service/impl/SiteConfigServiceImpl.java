@@ -40,7 +40,7 @@ public class SiteConfigServiceImpl implements SiteConfigService {
     }
 
     @Override
-    @Cacheable(cacheNames = SystemCacheConstant.SITE_CONFIG_GROUP_CACHE, key = "#group")
+    @Cacheable(cacheNames = SystemCacheConstant.SITE_CONFIG_GROUP_CACHE, key = "#group", sync = true)
     public SiteConfigGroupVO getGroup(String group) {
         SiteConfigSchema schema = SiteConfigSchema.ofGroup(group);
         return buildGroupVO(schema, loadFromDb(group));
@@ -66,7 +66,7 @@ public class SiteConfigServiceImpl implements SiteConfigService {
     }
 
     @Override
-    @Cacheable(cacheNames = SystemCacheConstant.SITE_CONFIG_PUBLIC_CACHE, key = "'public'")
+    @Cacheable(cacheNames = SystemCacheConstant.SITE_CONFIG_PUBLIC_CACHE, key = "'public'", sync = true)
     public SiteConfigPublicVO getPublicConfig() {
         Map<String, String> allValues = Arrays.stream(SiteConfigSchema.values())
                 .flatMap(schema -> loadFromDb(schema.getGroup()).entrySet().stream())
@@ -11,6 +11,7 @@ import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * 系统缓存服务实现
@@ -86,8 +87,7 @@ public class SystemCacheServiceImpl implements SystemCacheService {
 
     @Override
     public void evictAllDictData() {
-        String pattern = SystemCacheConstant.DICT_DATA_CACHE + ":*";
-        cacheService.deletePattern(pattern);
+        cacheService.deleteNamespace(SystemCacheConstant.DICT_DATA_CACHE);
         log.info("清除所有字典数据缓存");
     }
 
@@ -258,9 +258,9 @@ public class SystemCacheServiceImpl implements SystemCacheService {
     @Override
     public void evictAllUserCache() {
         // 删除所有用户相关的缓存
-        cacheService.deletePattern(SystemCacheConstant.USER_INFO_CACHE + ":*");
-        cacheService.deletePattern(SystemCacheConstant.USER_PERMISSIONS_CACHE + ":*");
-        cacheService.deletePattern(SystemCacheConstant.USER_MENU_CACHE + ":*");
+        cacheService.deleteNamespace(SystemCacheConstant.USER_INFO_CACHE);
+        cacheService.deleteNamespace(SystemCacheConstant.USER_PERMISSIONS_CACHE);
+        cacheService.deleteNamespace(SystemCacheConstant.USER_MENU_CACHE);
         log.info("清除所有用户缓存");
     }
 
@@ -309,10 +309,7 @@ public class SystemCacheServiceImpl implements SystemCacheService {
     @Override
     public void removeDictOptionsBatch(java.util.List<String> dictTypeCodes) {
         if (dictTypeCodes != null && !dictTypeCodes.isEmpty()) {
-            java.util.List<String> keys = dictTypeCodes.stream()
-                    .map(code -> SystemCacheConstant.DICT_OPTIONS_CACHE + ":" + code)
-                    .collect(java.util.stream.Collectors.toList());
-            cacheService.delete(keys);
+            cacheService.multiDelete(SystemCacheConstant.DICT_OPTIONS_CACHE, dictTypeCodes);
             log.debug("批量删除字典选项: count={}", dictTypeCodes.size());
         }
     }
@@ -371,6 +368,30 @@ public class SystemCacheServiceImpl implements SystemCacheService {
         return count != null ? count.longValue() : null;
     }
 
+    @Override
+    public Long getOrLoadUserCount(Supplier<Long> loader) {
+        return getOrLoadCount(SystemCacheConstant.DASHBOARD_USER_COUNT, loader);
+    }
+
+    @Override
+    public Long getOrLoadRoleCount(Supplier<Long> loader) {
+        return getOrLoadCount(SystemCacheConstant.DASHBOARD_ROLE_COUNT, loader);
+    }
+
+    @Override
+    public Long getOrLoadMenuCount(Supplier<Long> loader) {
+        return getOrLoadCount(SystemCacheConstant.DASHBOARD_MENU_COUNT, loader);
+    }
+
+    /**
+     * 统计值以 JSON 数字存储，读回时可能是 Integer，统一按 Number 读取
+     */
+    private Long getOrLoadCount(String cacheName, Supplier<Long> loader) {
+        Number count = cacheService.getOrLoad(cacheName, "value",
+                Duration.ofHours(SystemCacheConstant.DASHBOARD_STATS_EXPIRE_HOURS), Number.class, loader);
+        return count != null ? count.longValue() : null;
+    }
+
     // ==================== 邮箱更换验证码缓存 ====================
 
     @Override
@@ -1,5 +1,8 @@
 package com.rymcu.mortise.system.service.impl;
 
+import com.rymcu.mortise.auth.enumerate.UserType;
+import com.rymcu.mortise.auth.event.PrincipalChangedEvent;
+import com.rymcu.mortise.auth.event.RevokeAllTokensEvent;
 import com.rymcu.mortise.common.exception.BusinessException;
 import com.rymcu.mortise.common.model.Avatar;
 import com.rymcu.mortise.common.util.Utils;
@@ -114,10 +117,14 @@ public class UserServiceImpl implements UserService, UserCommandService {
 
     @Override
     public Boolean bindRoleUser(BindUserRoleInfo bindUserRoleInfo) {
-        return userRoleRepository.replaceRoles(
+        boolean result = userRoleRepository.replaceRoles(
                 bindUserRoleInfo.getIdUser(),
                 bindUserRoleInfo.getIdRoles() == null ? null : new ArrayList<>(bindUserRoleInfo.getIdRoles())
         );
+        if (result) {
+            publishPrincipalChanged(bindUserRoleInfo.getIdUser());
+        }
+        return result;
     }
 
     @Override
@@ -152,7 +159,11 @@ public class UserServiceImpl implements UserService, UserCommandService {
             user.setNickname(checkNickname(userInfo.getNickname()));
             user.setStatus(userInfo.getStatus());
             user.setAvatar(userInfo.getAvatar().getSrc());
-            return userRepository.update(user);
+            boolean result = userRepository.update(user);
+            if (result) {
+                publishPrincipalChanged(user.getId());
+            }
+            return result;
         }
         throw new BusinessException(ResultCode.UNKNOWN_ACCOUNT.getMessage());
     }
@@ -204,15 +215,23 @@ public class UserServiceImpl implements UserService, UserCommandService {
 
     @Override
     public Boolean bindUserRole(BindUserRoleInfo bindUserRoleInfo) {
-        return userRoleRepository.replaceRoles(
+        boolean result = userRoleRepository.replaceRoles(
                 bindUserRoleInfo.getIdUser(),
                 bindUserRoleInfo.getIdRoles() == null ? null : new ArrayList<>(bindUserRoleInfo.getIdRoles())
         );
+        if (result) {
+            publishPrincipalChanged(bindUserRoleInfo.getIdUser());
+        }
+        return result;
     }
 
     @Override
     public Boolean updateStatus(Long idUser, Integer status) {
-        return userRepository.updateStatus(idUser, status);
+        boolean result = userRepository.updateStatus(idUser, status);
+        if (result) {
+            publishPrincipalChanged(idUser);
+        }
+        return result;
     }
 
     @Override
@@ -223,6 +242,8 @@ public class UserServiceImpl implements UserService, UserCommandService {
             String code = String.valueOf(Utils.genCode());
             String password = passwordEncoder.encode(code);
             if (userRepository.updatePasswordById(idUser, password)) {
+                publishPrincipalChanged(idUser);
+                applicationEventPublisher.publishEvent(new RevokeAllTokensEvent(this, user.getAccount()));
                 applicationEventPublisher.publishEvent(new ResetPasswordEvent(user.getEmail(), code));
                 return code;
             }
@@ -233,8 +254,13 @@ public class UserServiceImpl implements UserService, UserCommandService {
 
     @Override
     public Boolean deleteUser(Long idUser) {
+        User user = userRepository.findById(idUser);
         boolean result = userRepository.deleteById(idUser);
         if (result) {
+            publishPrincipalChanged(idUser);
+            if (Objects.nonNull(user)) {
+                applicationEventPublisher.publishEvent(new RevokeAllTokensEvent(this, user.getAccount()));
+            }
             systemCacheService.cacheUserCount(userRepository.count());
         }
         return result;
@@ -247,6 +273,7 @@ public class UserServiceImpl implements UserService, UserCommandService {
         }
         boolean result = userRepository.deleteByIds(idUserList);
         if (result) {
+            idUserList.forEach(this::publishPrincipalChanged);
             systemCacheService.cacheUserCount(userRepository.count());
         }
         return result;
@@ -259,7 +286,11 @@ public class UserServiceImpl implements UserService, UserCommandService {
         if (current == null || !current.getNickname().equals(userProfileInfo.getNickname())) {
             nickname = checkNickname(userProfileInfo.getNickname());
         }
-        return userRepository.updateProfile(userId, nickname, userProfileInfo.getAvatar());
+        boolean result = userRepository.updateProfile(userId, nickname, userProfileInfo.getAvatar());
+        if (result) {
+            publishPrincipalChanged(userId);
+        }
+        return result;
     }
 
     @Override
@@ -295,6 +326,7 @@ public class UserServiceImpl implements UserService, UserCommandService {
         }
         boolean updated = userRepository.updateEmail(userId, newEmail);
         if (updated) {
+            publishPrincipalChanged(userId);
             systemCacheService.removeEmailUpdateCode(userId, newEmail);
             log.info("邮箱更换成功: userId={}, newEmail={}", userId, newEmail);
         }
@@ -316,4 +348,11 @@ public class UserServiceImpl implements UserService, UserCommandService {
     public long countEnabled() {
         return userQueryService.countEnabled();
     }
+
+    /**
+     * 用户信息、角色、状态或密码变更后失效其认证主体缓存
+     */
+    private void publishPrincipalChanged(Long idUser) {
+        applicationEventPublisher.publishEvent(new PrincipalChangedEvent(this, UserType.SYSTEM.getCode(), idUser));
+    }
 }
@@ -120,6 +120,11 @@ public class SystemCacheConstant {
     public static final String MENU_TREE_CACHE = "menu:tree";
     public static final long MENU_TREE_EXPIRE_HOURS = 4;
 
+    /**
+     * 角色菜单树版本命名空间（菜单或角色菜单关系变更后递增，各节点据此丢弃本地菜单树）
+     */
+    public static final String MENU_TREE_VERSION_NAMESPACE = "system:menu-tree";
+
     /**
      * 用户菜单缓存
      */
@@ -152,6 +157,11 @@ public class SystemCacheConstant {
     public static final String DICT_OPTIONS_CACHE = "dict:options";
     public static final long DICT_OPTIONS_EXPIRE_HOURS = 12;
 
+    /**
+     * 字典快照版本命名空间（字典变更后递增，各节点据此重建本地快照）
+     */
+    public static final String DICT_SNAPSHOT_VERSION_NAMESPACE = "system:dict-snapshot";
+
     // ==================== 系统配置缓存 ====================
 
     /**
@@ -304,6 +314,36 @@ public class SystemCacheConstant {
     public static final String SITE_CONFIG_PUBLIC_CACHE = "site:config:public";
     public static final long SITE_CONFIG_PUBLIC_EXPIRE_HOURS = 1;
 
+    // ==================== 本地一级缓存 ====================
+
+    /**
+     * 本地一级缓存（L1）每个缓存名称的最大条目数
+     */
+    public static final long LOCAL_CACHE_MAXIMUM_SIZE = 1000;
+
+    /**
+     * 本地一级缓存（L1）过期时间，兜底跨节点失效通知丢失
+     */
+    public static final long LOCAL_CACHE_EXPIRE_MINUTES = 5;
+
+    // ==================== 紧凑格式类型编号 ====================
+    // 编号写入缓存数据，发布后不可修改或复用
+
+    /**
+     * BaseOption（字典选项）
+     */
+    public static final int COMPACT_TYPE_BASE_OPTION = 64;
+
+    /**
+     * SiteConfigGroupVO（网站配置分组）
+     */
+    public static final int COMPACT_TYPE_SITE_CONFIG_GROUP = 65;
+
+    /**
+     * SiteConfigPublicVO（网站公开配置）
+     */
+    public static final int COMPACT_TYPE_SITE_CONFIG_PUBLIC = 66;
+
     private SystemCacheConstant() {
         // 工具类禁止实例化
     }
@@ -32,4 +32,14 @@ public class LogSearch extends BaseSearch {
      * 是否成功（null=全部, true=成功, false=失败）
      */
     private Boolean success;
+
+    /**
+     * 游标分页：上一页返回的 nextCursor，为空时查询第一页
+     */
+    private String cursor;
+
+    /**
+     * 游标分页：是否返回总数（执行计划估算值，非精确值）
+     */
+    private Boolean withTotal;
 }
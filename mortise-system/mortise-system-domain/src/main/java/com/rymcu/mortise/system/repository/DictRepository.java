@@ -21,6 +21,11 @@ public interface DictRepository {
 
     List<BaseOption> findOptions(String dictTypeCode);
 
+    /**
+     * 一次性查询全部字典项（仅包含字典类型编码与展示字段），用于构建字典快照
+     */
+    List<Dict> findAllForSnapshot();
+
     boolean save(Dict dict);
 
     boolean saveAll(List<Dict> dicts);
@@ -9,14 +9,6 @@ import java.util.List;
  */
 public interface MenuRepository {
 
-    List<Menu> findMenusByUserId(Long userId);
-
-    List<Menu> findLinksByUserIdAndParentId(Long userId, Long parentId);
-
-    List<Menu> findAllLinksByUserId(Long userId);
-
-    List<Menu> findTreeMenus(Long parentId);
-
     Menu findById(Long menuId);
 
     boolean save(Menu menu);
@@ -1,8 +1,13 @@
 package com.rymcu.mortise.system.config;
 
+import com.rymcu.mortise.cache.local.LocalCacheSpec;
+import com.rymcu.mortise.cache.serializer.CompactTypeRegistry;
 import com.rymcu.mortise.cache.spi.CacheConfigurer;
+import com.rymcu.mortise.common.model.BaseOption;
 import com.rymcu.mortise.system.constant.SystemCacheConstant;
 import com.rymcu.mortise.system.constant.SystemSpiOrderConstants;
+import com.rymcu.mortise.system.model.SiteConfigGroupVO;
+import com.rymcu.mortise.system.model.SiteConfigPublicVO;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.stereotype.Component;
@@ -10,6 +15,7 @@ import org.springframework.stereotype.Component;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 系统模块缓存配置器
@@ -141,4 +147,61 @@ public class SystemCacheConfigurer implements CacheConfigurer {
 
         return configs;
     }
+
+    /**
+     * 读多写少的字典、菜单与站点配置启用本地一级缓存
+     */
+    @Override
+    public Map<String, LocalCacheSpec> configureLocalCaches() {
+        LocalCacheSpec spec = LocalCacheSpec.of(SystemCacheConstant.LOCAL_CACHE_MAXIMUM_SIZE,
+                Duration.ofMinutes(SystemCacheConstant.LOCAL_CACHE_EXPIRE_MINUTES));
+        Map<String, LocalCacheSpec> specs = new HashMap<>();
+        specs.put(SystemCacheConstant.DICT_DATA_CACHE, spec);
+        specs.put(SystemCacheConstant.DICT_OPTIONS_CACHE, spec);
+        specs.put(SystemCacheConstant.MENU_TREE_CACHE, spec);
+        specs.put(SystemCacheConstant.SITE_CONFIG_GROUP_CACHE, spec);
+        specs.put(SystemCacheConstant.SITE_CONFIG_PUBLIC_CACHE, spec);
+        return specs;
+    }
+
+    /**
+     * 需要整体驱逐的用户与字典命名空间维护键索引
+     */
+    @Override
+    public Set<String> configureKeyIndexes() {
+        return Set.of(
+                SystemCacheConstant.USER_INFO_CACHE,
+                SystemCacheConstant.USER_PERMISSIONS_CACHE,
+                SystemCacheConstant.USER_MENU_CACHE,
+                SystemCacheConstant.DICT_DATA_CACHE);
+    }
+
+    /**
+     * 字典与站点配置使用紧凑二进制格式，减少 Redis 内存与 L1 未命中时的解码开销
+     */
+    @Override
+    public Set<String> configureCompactCaches() {
+        return Set.of(
+                SystemCacheConstant.DICT_DATA_CACHE,
+                SystemCacheConstant.SITE_CONFIG_GROUP_CACHE,
+                SystemCacheConstant.SITE_CONFIG_PUBLIC_CACHE);
+    }
+
+    /**
+     * 字典与站点配置的 {@code @Cacheable(sync = true)} 启用防击穿回源
+     */
+    @Override
+    public Set<String> configureStampedeProtectedCaches() {
+        return Set.of(
+                SystemCacheConstant.DICT_DATA_CACHE,
+                SystemCacheConstant.SITE_CONFIG_GROUP_CACHE,
+                SystemCacheConstant.SITE_CONFIG_PUBLIC_CACHE);
+    }
+
+    @Override
+    public void registerCompactTypes(CompactTypeRegistry registry) {
+        registry.register(SystemCacheConstant.COMPACT_TYPE_BASE_OPTION, BaseOption.class)
+                .register(SystemCacheConstant.COMPACT_TYPE_SITE_CONFIG_GROUP, SiteConfigGroupVO.class)
+                .register(SystemCacheConstant.COMPACT_TYPE_SITE_CONFIG_PUBLIC, SiteConfigPublicVO.class);
+    }
 }
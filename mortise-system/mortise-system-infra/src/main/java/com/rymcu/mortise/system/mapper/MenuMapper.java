@@ -7,6 +7,7 @@ import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -20,58 +21,20 @@ import java.util.List;
 public interface MenuMapper extends BaseMapper<MenuPO> {
 
     /**
-     * 根据用户ID查询菜单列表（通过用户角色关联）
+     * 根据角色ID集合一次性查询所有授权菜单（含按钮），用于在内存中组装角色菜单树
      */
-    @Select("SELECT id, label, permission FROM mortise_menu tm " +
-            "WHERE del_flag = 0 AND status = 1 " +
-            "AND EXISTS (" +
-            "  SELECT 1 FROM mortise_role_menu trm " +
-            "  WHERE trm.id_mortise_menu = tm.id " +
-            "  AND EXISTS (" +
-            "    SELECT 1 FROM mortise_user_role tur " +
-            "    WHERE tur.id_mortise_role = trm.id_mortise_role " +
-            "    AND tur.id_mortise_user = #{idUser}" +
-            "  )" +
-            ")")
-    List<Menu> findMenusByIdUser(@Param("idUser") Long idUser);
-
-    /**
-     * 根据用户ID和父菜单ID查询菜单链接（树形结构）
-     */
-    @Select("SELECT id, label, permission, parent_id, sort_no, menu_type, icon, href " +
-            "FROM mortise_menu tm " +
-            "WHERE del_flag = 0 AND status = 1 " +
-            "AND menu_type in (0, 1) " +
-            "AND parent_id = #{parentId} " +
-            "AND EXISTS (" +
-            "  SELECT 1 FROM mortise_role_menu trm " +
-            "  WHERE trm.id_mortise_menu = tm.id " +
-            "  AND EXISTS (" +
-            "    SELECT 1 FROM mortise_user_role tur " +
-            "    WHERE tur.id_mortise_role = trm.id_mortise_role " +
-            "    AND tur.id_mortise_user = #{idUser}" +
-            "  )" +
-            ") " +
-            "ORDER BY sort_no ")
-    List<Menu> findLinksByUserIdAndParentId(@Param("idUser") Long idUser, @Param("parentId") Long parentId);
-
-    /**
-     * 根据用户ID一次性查询所有授权菜单链接（避免递归 N+1 查询）
-     */
-    @Select("SELECT id, label, permission, parent_id, sort_no, menu_type, icon, href " +
+    @Select("<script>" +
+            "SELECT id, label, permission, parent_id, sort_no, menu_type, icon, href " +
             "FROM mortise_menu tm " +
             "WHERE del_flag = 0 AND status = 1 " +
-            "AND menu_type in (0, 1) " +
             "AND EXISTS (" +
             "  SELECT 1 FROM mortise_role_menu trm " +
             "  WHERE trm.id_mortise_menu = tm.id " +
-            "  AND EXISTS (" +
-            "    SELECT 1 FROM mortise_user_role tur " +
-            "    WHERE tur.id_mortise_role = trm.id_mortise_role " +
-            "    AND tur.id_mortise_user = #{idUser}" +
-            "  )" +
+            "  AND trm.id_mortise_role IN " +
+            "  <foreach collection='roleIds' item='roleId' open='(' separator=',' close=')'>#{roleId}</foreach>" +
             ") " +
-            "ORDER BY sort_no ")
-    List<Menu> findAllLinksByUserId(@Param("idUser") Long idUser);
+            "ORDER BY sort_no, id" +
+            "</script>")
+    List<Menu> findMenusByRoleIds(@Param("roleIds") Collection<Long> roleIds);
 
 }
@@ -40,4 +40,10 @@ public interface UserRoleMapper extends BaseMapper<UserRolePO> {
             "  AND tur.id_mortise_user = #{idUser}" +
             ")")
     List<Role> findRolesByIdUser(@Param("idUser") Long idUser);
+
+    /**
+     * 根据用户ID查询关联的角色ID，不过滤角色状态
+     */
+    @Select("SELECT id_mortise_role FROM mortise_user_role WHERE id_mortise_user = #{idUser}")
+    List<Long> findRoleIdsByIdUser(@Param("idUser") Long idUser);
 }
@@ -1,47 +1,88 @@
 package com.rymcu.mortise.system.query.impl;
 
-import com.mybatisflex.core.paginate.Page;
+import com.mybatisflex.core.dialect.DialectFactory;
+import com.mybatisflex.core.query.CPI;
 import com.mybatisflex.core.query.QueryColumn;
 import com.mybatisflex.core.query.QueryWrapper;
+import com.mybatisflex.core.row.Db;
+import com.mybatisflex.core.row.Row;
+import com.rymcu.mortise.common.exception.BusinessException;
+import com.rymcu.mortise.core.model.CursorPageResult;
 import com.rymcu.mortise.core.model.PageQuery;
 import com.rymcu.mortise.core.model.PageResult;
+import com.rymcu.mortise.log.config.LogPartitionProperties;
 import com.rymcu.mortise.persistence.log.entity.ApiLog;
 import com.rymcu.mortise.persistence.log.entity.OperationLog;
 import com.rymcu.mortise.persistence.log.mapper.ApiLogMapper;
 import com.rymcu.mortise.persistence.log.mapper.OperationLogMapper;
-import com.rymcu.mortise.system.infra.persistence.FlexPageMapper;
 import com.rymcu.mortise.system.model.LogSearch;
 import com.rymcu.mortise.system.query.LogQueryService;
 import com.rymcu.mortise.system.query.model.ApiLogView;
 import com.rymcu.mortise.system.query.model.OperationLogView;
 import jakarta.annotation.Resource;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 /**
  * 日志读模型查询实现。
+ * <p>
+ * 日志表按时间范围分区，查询总是带上时间下限：未指定开始日期时取结束日期（或当前时间）往前
+ * {@code mortise.log.partition.default-query-window}，保证只扫描相关分区。
+ * </p>
+ * <p>
+ * 关键词在拼接表达式上做 LIKE 匹配，由 pg_trgm GIN 索引支撑（V42__Add_Log_Search_Indexes.sql）；
+ * 游标分页按 (时间, id) 倒序，下一页从上一页最后一条之后继续，不使用 OFFSET。
+ * 总数取自执行计划的估算行数，不执行 COUNT(*)。
+ * </p>
+ * <p>
+ * 导出在只读事务内通过服务端游标逐批读取（PostgreSQL 只有在非自动提交时才按 fetchSize 分批），
+ * 每行交给调用方写出后即可回收，内存占用与导出行数无关。
+ * </p>
  */
 @Service
 public class LogQueryServiceImpl implements LogQueryService {
 
     private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
-    private static final QueryColumn OP_OPERATOR_ACCOUNT = new QueryColumn("operator_account");
-    private static final QueryColumn OP_REQUEST_URI = new QueryColumn("request_uri");
-    private static final QueryColumn OP_OPERATION = new QueryColumn("operation");
+    /**
+     * 游标分页单页最大条数
+     */
+    private static final int MAX_CURSOR_PAGE_SIZE = 200;
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+    /**
+     * 关键词检索表达式，必须与 trigram 索引表达式一致
+     */
+    private static final String OPERATION_LOG_SEARCH =
+            "(coalesce(operator_account, '') || ' ' || coalesce(request_uri, '') || ' ' || coalesce(operation, ''))";
+    private static final String API_LOG_SEARCH =
+            "(coalesce(username, '') || ' ' || coalesce(request_uri, '') || ' ' || coalesce(api_description, ''))";
+
+    private static final QueryColumn ID = new QueryColumn("id");
+
     private static final QueryColumn OP_CLIENT_TYPE = new QueryColumn("client_type");
     private static final QueryColumn OP_MODULE = new QueryColumn("module");
     private static final QueryColumn OP_SUCCESS = new QueryColumn("success");
     private static final QueryColumn OP_OPERATE_TIME = new QueryColumn("operate_time");
 
-    private static final QueryColumn API_USERNAME = new QueryColumn("username");
-    private static final QueryColumn API_REQUEST_URI = new QueryColumn("request_uri");
-    private static final QueryColumn API_DESCRIPTION = new QueryColumn("api_description");
     private static final QueryColumn API_CLIENT_TYPE = new QueryColumn("client_type");
     private static final QueryColumn API_SUCCESS = new QueryColumn("success");
     private static final QueryColumn API_REQUEST_TIME = new QueryColumn("request_time");
@@ -52,29 +93,47 @@ public class LogQueryServiceImpl implements LogQueryService {
     @Resource
     private ApiLogMapper apiLogMapper;
 
+    @Resource
+    private LogPartitionProperties logPartitionProperties;
+
     @Override
     public PageResult<OperationLogView> findOperationLogs(PageQuery pageQuery, LogSearch search) {
-        QueryWrapper qw = QueryWrapper.create();
-        if (StringUtils.isNotBlank(search.getQuery())) {
-            String likeVal = search.getQuery();
-            qw.and(OP_OPERATOR_ACCOUNT.like(likeVal)
-                    .or(OP_REQUEST_URI.like(likeVal))
-                    .or(OP_OPERATION.like(likeVal)));
+        QueryWrapper qw = operationLogQuery(search);
+        long estimatedTotal = estimateRows(qw);
+        qw.orderBy(OP_OPERATE_TIME, false).orderBy(ID, false).limit(offset(pageQuery), pageQuery.getPageSize());
+        return toPageResult(pageQuery, estimatedTotal, operationLogMapper.selectListByQuery(qw), this::toOperationLogView);
+    }
+
+    @Override
+    public CursorPageResult<OperationLogView> scrollOperationLogs(LogSearch search) {
+        QueryWrapper qw = operationLogQuery(search);
+        Long estimatedTotal = Boolean.TRUE.equals(search.getWithTotal()) ? estimateRows(qw) : null;
+        LogCursor cursor = LogCursor.decode(search.getCursor());
+        if (cursor != null) {
+            qw.and("(operate_time, id) < (?, ?)", cursor.time(), cursor.id());
         }
-        qw.and(OP_CLIENT_TYPE.eq(search.getClientType(), StringUtils.isNotBlank(search.getClientType())));
-        qw.and(OP_MODULE.eq(search.getModule(), StringUtils.isNotBlank(search.getModule())));
-        qw.and(OP_SUCCESS.eq(search.getSuccess(), search.getSuccess() != null));
-        if (StringUtils.isNotBlank(search.getStartDate())) {
-            LocalDateTime start = LocalDate.parse(search.getStartDate(), DATE_FMT).atStartOfDay();
-            qw.and(OP_OPERATE_TIME.ge(start));
+        int pageSize = cursorPageSize(search);
+        qw.orderBy(OP_OPERATE_TIME, false).orderBy(ID, false).limit(pageSize + 1);
+        List<OperationLog> rows = operationLogMapper.selectListByQuery(qw);
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            OperationLog last = rows.getLast();
+            nextCursor = new LogCursor(last.getOperateTime(), last.getId()).encode();
         }
-        if (StringUtils.isNotBlank(search.getEndDate())) {
-            LocalDateTime end = LocalDate.parse(search.getEndDate(), DATE_FMT).atTime(LocalTime.MAX);
-            qw.and(OP_OPERATE_TIME.le(end));
+        return CursorPageResult.of(pageSize, rows.stream().map(this::toOperationLogView).toList(), nextCursor,
+                estimatedTotal, true);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportOperationLogs(LogSearch search, Consumer<OperationLogView> consumer) {
+        QueryWrapper qw = operationLogQuery(search).orderBy(OP_OPERATE_TIME, false).orderBy(ID, false);
+        try (Cursor<OperationLog> cursor = operationLogMapper.selectCursorWithFetchSize(qw)) {
+            cursor.forEach(row -> consumer.accept(toOperationLogView(row)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        qw.orderBy(OP_OPERATE_TIME, false);
-        Page<OperationLog> entityPage = operationLogMapper.paginate(FlexPageMapper.toFlexPage(pageQuery), qw);
-        return FlexPageMapper.toPageResult(entityPage, this::toOperationLogView);
     }
 
     @Override
@@ -84,26 +143,42 @@ public class LogQueryServiceImpl implements LogQueryService {
 
     @Override
     public PageResult<ApiLogView> findApiLogs(PageQuery pageQuery, LogSearch search) {
-        QueryWrapper qw = QueryWrapper.create();
-        if (StringUtils.isNotBlank(search.getQuery())) {
-            String likeVal = search.getQuery();
-            qw.and(API_USERNAME.like(likeVal)
-                    .or(API_REQUEST_URI.like(likeVal))
-                    .or(API_DESCRIPTION.like(likeVal)));
+        QueryWrapper qw = apiLogQuery(search);
+        long estimatedTotal = estimateRows(qw);
+        qw.orderBy(API_REQUEST_TIME, false).orderBy(ID, false).limit(offset(pageQuery), pageQuery.getPageSize());
+        return toPageResult(pageQuery, estimatedTotal, apiLogMapper.selectListByQuery(qw), this::toApiLogView);
+    }
+
+    @Override
+    public CursorPageResult<ApiLogView> scrollApiLogs(LogSearch search) {
+        QueryWrapper qw = apiLogQuery(search);
+        Long estimatedTotal = Boolean.TRUE.equals(search.getWithTotal()) ? estimateRows(qw) : null;
+        LogCursor cursor = LogCursor.decode(search.getCursor());
+        if (cursor != null) {
+            qw.and("(request_time, id) < (?, ?)", cursor.time(), cursor.id());
         }
-        qw.and(API_CLIENT_TYPE.eq(search.getClientType(), StringUtils.isNotBlank(search.getClientType())));
-        qw.and(API_SUCCESS.eq(search.getSuccess(), search.getSuccess() != null));
-        if (StringUtils.isNotBlank(search.getStartDate())) {
-            LocalDateTime start = LocalDate.parse(search.getStartDate(), DATE_FMT).atStartOfDay();
-            qw.and(API_REQUEST_TIME.ge(start));
+        int pageSize = cursorPageSize(search);
+        qw.orderBy(API_REQUEST_TIME, false).orderBy(ID, false).limit(pageSize + 1);
+        List<ApiLog> rows = apiLogMapper.selectListByQuery(qw);
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            ApiLog last = rows.getLast();
+            nextCursor = new LogCursor(last.getRequestTime(), last.getId()).encode();
         }
-        if (StringUtils.isNotBlank(search.getEndDate())) {
-            LocalDateTime end = LocalDate.parse(search.getEndDate(), DATE_FMT).atTime(LocalTime.MAX);
-            qw.and(API_REQUEST_TIME.le(end));
+        return CursorPageResult.of(pageSize, rows.stream().map(this::toApiLogView).toList(), nextCursor,
+                estimatedTotal, true);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportApiLogs(LogSearch search, Consumer<ApiLogView> consumer) {
+        QueryWrapper qw = apiLogQuery(search).orderBy(API_REQUEST_TIME, false).orderBy(ID, false);
+        try (Cursor<ApiLog> cursor = apiLogMapper.selectCursorWithFetchSize(qw)) {
+            cursor.forEach(row -> consumer.accept(toApiLogView(row)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        qw.orderBy(API_REQUEST_TIME, false);
-        Page<ApiLog> entityPage = apiLogMapper.paginate(FlexPageMapper.toFlexPage(pageQuery), qw);
-        return FlexPageMapper.toPageResult(entityPage, this::toApiLogView);
     }
 
     @Override
@@ -111,6 +186,94 @@ public class LogQueryServiceImpl implements LogQueryService {
         return apiLogMapper.deleteById(id) > 0;
     }
 
+    private QueryWrapper operationLogQuery(LogSearch search) {
+        QueryWrapper qw = QueryWrapper.create().from(OperationLog.class);
+        appendKeyword(qw, OPERATION_LOG_SEARCH, search.getQuery());
+        qw.and(OP_CLIENT_TYPE.eq(search.getClientType(), StringUtils.isNotBlank(search.getClientType())));
+        qw.and(OP_MODULE.eq(search.getModule(), StringUtils.isNotBlank(search.getModule())));
+        qw.and(OP_SUCCESS.eq(search.getSuccess(), search.getSuccess() != null));
+        appendTimeRange(qw, OP_OPERATE_TIME, search);
+        return qw;
+    }
+
+    private QueryWrapper apiLogQuery(LogSearch search) {
+        QueryWrapper qw = QueryWrapper.create().from(ApiLog.class);
+        appendKeyword(qw, API_LOG_SEARCH, search.getQuery());
+        qw.and(API_CLIENT_TYPE.eq(search.getClientType(), StringUtils.isNotBlank(search.getClientType())));
+        qw.and(API_SUCCESS.eq(search.getSuccess(), search.getSuccess() != null));
+        appendTimeRange(qw, API_REQUEST_TIME, search);
+        return qw;
+    }
+
+    /**
+     * 关键词按字面匹配，转义 LIKE 通配符
+     */
+    private static void appendKeyword(QueryWrapper qw, String searchExpression, String keyword) {
+        if (StringUtils.isBlank(keyword)) {
+            return;
+        }
+        String escaped = keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        qw.and(searchExpression + " LIKE ?", "%" + escaped + "%");
+    }
+
+    /**
+     * 用执行计划估算满足条件的行数
+     */
+    private static long estimateRows(QueryWrapper qw) {
+        String sql = DialectFactory.getDialect().forSelectByQuery(qw);
+        List<Row> plan = Db.selectListBySql("EXPLAIN " + sql, CPI.getValueArray(qw));
+        if (plan.isEmpty() || plan.getFirst().isEmpty()) {
+            return 0L;
+        }
+        Matcher matcher = PLAN_ROWS.matcher(String.valueOf(plan.getFirst().values().iterator().next()));
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : 0L;
+    }
+
+    /**
+     * 页码分页的总数使用估算值；当前页不满时已到末页，总数可以精确算出。
+     * 当前页已满时总数至少比本页末尾多 1，估算偏低时前端仍会显示下一页
+     */
+    private static <S, T> PageResult<T> toPageResult(PageQuery pageQuery, long estimatedTotal, List<S> records,
+                                                     Function<S, T> mapper) {
+        long offset = offset(pageQuery);
+        long totalRow;
+        if (records.size() >= pageQuery.getPageSize()) {
+            totalRow = Math.max(estimatedTotal, offset + pageQuery.getPageSize() + 1);
+        } else if (!records.isEmpty() || offset == 0) {
+            totalRow = offset + records.size();
+        } else {
+            totalRow = Math.max(estimatedTotal, offset);
+        }
+        return PageResult.of(pageQuery, totalRow, records.stream().map(mapper).toList());
+    }
+
+    private static long offset(PageQuery pageQuery) {
+        return (Math.max(pageQuery.getPageNumber(), 1L) - 1) * pageQuery.getPageSize();
+    }
+
+    private static int cursorPageSize(LogSearch search) {
+        Integer pageSize = search.getPageSize();
+        return pageSize == null ? 10 : Math.clamp(pageSize, 1, MAX_CURSOR_PAGE_SIZE);
+    }
+
+    /**
+     * 追加分区键的时间范围条件，开始时间总是有值
+     */
+    private void appendTimeRange(QueryWrapper qw, QueryColumn timeColumn, LogSearch search) {
+        LocalDateTime end = null;
+        if (StringUtils.isNotBlank(search.getEndDate())) {
+            end = LocalDate.parse(search.getEndDate(), DATE_FMT).atTime(LocalTime.MAX);
+            qw.and(timeColumn.le(end));
+        }
+        LocalDateTime start;
+        if (StringUtils.isNotBlank(search.getStartDate())) {
+            start = LocalDate.parse(search.getStartDate(), DATE_FMT).atStartOfDay();
+        } else {
+            start = (end != null ? end : LocalDateTime.now()).minus(logPartitionProperties.getDefaultQueryWindow());
+        }
+        qw.and(timeColumn.ge(start));
+    }
+
     private OperationLogView toOperationLogView(OperationLog operationLog) {
         OperationLogView view = new OperationLogView();
         BeanUtils.copyProperties(operationLog, view);
@@ -122,4 +285,29 @@ public class LogQueryServiceImpl implements LogQueryService {
         BeanUtils.copyProperties(apiLog, view);
         return view;
     }
+
+    /**
+     * 游标：上一页最后一条的 (时间, id)，以 Base64URL 编码对外传递
+     */
+    private record LogCursor(LocalDateTime time, Long id) {
+
+        static LogCursor decode(String cursor) {
+            if (StringUtils.isBlank(cursor)) {
+                return null;
+            }
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = decoded.lastIndexOf('|');
+                return new LogCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                        Long.parseLong(decoded.substring(separator + 1)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+                throw new BusinessException("分页游标无效");
+            }
+        }
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((time + "|" + id).getBytes(StandardCharsets.UTF_8));
+        }
+    }
 }
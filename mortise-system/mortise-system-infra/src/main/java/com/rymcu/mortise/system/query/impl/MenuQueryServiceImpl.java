@@ -0,0 +1,272 @@
+package com.rymcu.mortise.system.query.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mybatisflex.core.paginate.Page;
+import com.mybatisflex.core.query.QueryMethods;
+import com.mybatisflex.core.query.QueryWrapper;
+import com.rymcu.mortise.cache.service.CacheVersionService;
+import com.rymcu.mortise.common.enumerate.MenuType;
+import com.rymcu.mortise.common.model.Link;
+import com.rymcu.mortise.core.model.PageQuery;
+import com.rymcu.mortise.core.model.PageResult;
+import com.rymcu.mortise.system.constant.SystemCacheConstant;
+import com.rymcu.mortise.system.entity.Menu;
+import com.rymcu.mortise.system.handler.event.MenuChangedEvent;
+import com.rymcu.mortise.system.infra.persistence.FlexPageMapper;
+import com.rymcu.mortise.system.mapper.MenuMapper;
+import com.rymcu.mortise.system.mapper.UserRoleMapper;
+import com.rymcu.mortise.system.model.MenuSearch;
+import com.rymcu.mortise.system.model.MenuTreeInfo;
+import com.rymcu.mortise.system.query.MenuQueryService;
+import com.rymcu.mortise.system.repository.MenuRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.rymcu.mortise.system.infra.persistence.entity.table.MenuPOTableDef.MENU_PO;
+
+/**
+ * 菜单读模型查询实现。
+ *
+ * <p>菜单树均由一次查询加载全部相关菜单后在内存中按 parentId 分组组装，不再逐层查询子菜单。
+ * 用户菜单与菜单链接按角色集合缓存为 {@link RoleMenuTree}，角色相同的用户共享同一份数据，
+ * 返回给调用方的菜单与链接树均为副本，调用方修改不会影响缓存；
+ * 缓存键包含 {@link SystemCacheConstant#MENU_TREE_VERSION_NAMESPACE} 的当前版本，
+ * 菜单或角色菜单关系变更后递增版本，各节点的旧条目随之失效并自然淘汰。</p>
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class MenuQueryServiceImpl implements MenuQueryService {
+
+    private static final String NAMESPACE = SystemCacheConstant.MENU_TREE_VERSION_NAMESPACE;
+
+    private static final Long ROOT_PARENT_ID = 0L;
+
+    private static final long MAXIMUM_ROLE_SETS = 1024;
+
+    private final MenuMapper menuMapper;
+
+    private final UserRoleMapper userRoleMapper;
+
+    private final MenuRepository menuRepository;
+
+    private final CacheVersionService cacheVersionService;
+
+    /**
+     * 版本:角色ID集合 -> 角色菜单树
+     */
+    private final Cache<String, RoleMenuTree> roleMenuTrees = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_ROLE_SETS)
+            .expireAfterAccess(Duration.ofHours(SystemCacheConstant.USER_MENU_EXPIRE_HOURS))
+            .build();
+
+    public MenuQueryServiceImpl(MenuMapper menuMapper,
+                                UserRoleMapper userRoleMapper,
+                                MenuRepository menuRepository,
+                                CacheVersionService cacheVersionService) {
+        this.menuMapper = menuMapper;
+        this.userRoleMapper = userRoleMapper;
+        this.menuRepository = menuRepository;
+        this.cacheVersionService = cacheVersionService;
+    }
+
+    @Override
+    public PageResult<Menu> findMenus(PageQuery pageQuery, MenuSearch search) {
+        QueryWrapper queryWrapper = QueryWrapper.create()
+                .select(MENU_PO.ID, MENU_PO.LABEL, MENU_PO.PERMISSION, MENU_PO.HREF, MENU_PO.MENU_TYPE, MENU_PO.PARENT_ID,
+                        MENU_PO.ICON, MENU_PO.SORT_NO, MENU_PO.STATUS, MENU_PO.CREATED_TIME)
+                .where(MENU_PO.LABEL.like(search.getQuery(), StringUtils.isNotBlank(search.getQuery())))
+                .and(MENU_PO.PARENT_ID.eq(search.getParentId(), Objects.nonNull(search.getParentId())))
+                .orderBy(MENU_PO.SORT_NO.asc());
+        Page<Menu> page = menuMapper.paginateAs(FlexPageMapper.toFlexPage(pageQuery), queryWrapper, Menu.class);
+        return FlexPageMapper.toPageResult(page);
+    }
+
+    @Override
+    public List<Menu> findMenusByIdUser(Long userId) {
+        List<Menu> menus = findRoleMenuTree(userId).menus();
+        List<Menu> result = new ArrayList<>(menus.size());
+        for (Menu menu : menus) {
+            result.add(copyMenu(menu));
+        }
+        return result;
+    }
+
+    @Override
+    public List<Link> findLinksByIdUser(Long userId) {
+        return buildTree(findRoleMenuTree(userId).linkMenusByParentId(), ROOT_PARENT_ID,
+                MenuQueryServiceImpl::convertLink, Link::setChildren);
+    }
+
+    @Override
+    public Menu findById(Long menuId) {
+        return menuRepository.findById(menuId);
+    }
+
+    @Override
+    public List<MenuTreeInfo> findMenuTree(MenuSearch search) {
+        List<Menu> menus = menuMapper.selectListByQueryAs(QueryWrapper.create()
+                .select(MENU_PO.ID, MENU_PO.LABEL, MENU_PO.PERMISSION, MENU_PO.PARENT_ID, MENU_PO.SORT_NO,
+                        MENU_PO.MENU_TYPE, MENU_PO.ICON, MENU_PO.HREF, MENU_PO.CREATED_TIME, MENU_PO.UPDATED_TIME, MENU_PO.STATUS)
+                .where(MENU_PO.MENU_TYPE.ne(MenuType.BUTTON.ordinal()))
+                .orderBy(MENU_PO.SORT_NO.asc()), Menu.class);
+        Long parentId = search.getParentId() != null ? search.getParentId() : ROOT_PARENT_ID;
+        return buildTree(groupByParentId(menus), parentId, MenuQueryServiceImpl::convertMenuTreeInfo,
+                MenuTreeInfo::setChildren);
+    }
+
+    @Override
+    public List<String> findAllPermissions() {
+        return menuMapper.selectListByQueryAs(QueryWrapper.create()
+                .select(QueryMethods.distinct(MENU_PO.PERMISSION))
+                .where(MENU_PO.PERMISSION.isNotNull())
+                .and(MENU_PO.PERMISSION.ne("")), String.class);
+    }
+
+    @Override
+    public long count() {
+        return menuRepository.count();
+    }
+
+    @Override
+    public long countEnabled() {
+        return menuRepository.countEnabled();
+    }
+
+    /**
+     * 菜单或角色菜单关系变更提交后递增版本，所有节点的角色菜单树在下一次查询时重建
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        try {
+            cacheVersionService.bumpVersion(NAMESPACE);
+        } catch (RuntimeException e) {
+            log.warn("角色菜单树版本递增失败，清空本节点缓存，其他节点最迟 {} 小时后生效",
+                    SystemCacheConstant.USER_MENU_EXPIRE_HOURS, e);
+            roleMenuTrees.invalidateAll();
+        }
+    }
+
+    private RoleMenuTree findRoleMenuTree(Long userId) {
+        List<Long> roleIds = userRoleMapper.findRoleIdsByIdUser(userId).stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .toList();
+        if (roleIds.isEmpty()) {
+            return RoleMenuTree.EMPTY;
+        }
+        // 先取版本再加载，加载期间发生的变更会使用新的缓存键
+        long version = cacheVersionService.currentVersion(NAMESPACE);
+        String key = version + ":" + roleIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        return roleMenuTrees.get(key, ignored -> loadRoleMenuTree(roleIds));
+    }
+
+    private RoleMenuTree loadRoleMenuTree(List<Long> roleIds) {
+        List<Menu> menus = menuMapper.findMenusByRoleIds(roleIds);
+        List<Menu> linkMenus = menus.stream()
+                .filter(menu -> Objects.equals(menu.getMenuType(), MenuType.FOLDER.ordinal())
+                        || Objects.equals(menu.getMenuType(), MenuType.MENU.ordinal()))
+                .toList();
+        return new RoleMenuTree(List.copyOf(menus), Map.copyOf(groupByParentId(linkMenus)));
+    }
+
+    /**
+     * 按 parentId 分组，组内保持查询返回的排序
+     */
+    private static Map<Long, List<Menu>> groupByParentId(List<Menu> menus) {
+        Map<Long, List<Menu>> menusByParentId = new HashMap<>();
+        for (Menu menu : menus) {
+            Long parentId = menu.getParentId() != null ? menu.getParentId() : ROOT_PARENT_ID;
+            menusByParentId.computeIfAbsent(parentId, key -> new ArrayList<>()).add(menu);
+        }
+        return menusByParentId;
+    }
+
+    /**
+     * 从分组结果组装树，每个菜单只访问一次；父菜单不在结果中的菜单不会出现在树中
+     */
+    private static <T> List<T> buildTree(Map<Long, List<Menu>> menusByParentId, Long parentId,
+                                         Function<Menu, T> converter, ChildrenSetter<T> childrenSetter) {
+        List<Menu> children = menusByParentId.getOrDefault(parentId, Collections.emptyList());
+        List<T> result = new ArrayList<>(children.size());
+        for (Menu menu : children) {
+            T node = converter.apply(menu);
+            childrenSetter.set(node, buildTree(menusByParentId, menu.getId(), converter, childrenSetter));
+            result.add(node);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static MenuTreeInfo convertMenuTreeInfo(Menu menu) {
+        MenuTreeInfo menuTreeInfo = new MenuTreeInfo();
+        menuTreeInfo.setId(menu.getId());
+        menuTreeInfo.setLabel(menu.getLabel());
+        menuTreeInfo.setPermission(menu.getPermission());
+        menuTreeInfo.setParentId(menu.getParentId());
+        menuTreeInfo.setSortNo(menu.getSortNo());
+        menuTreeInfo.setMenuType(menu.getMenuType());
+        menuTreeInfo.setIcon(menu.getIcon());
+        menuTreeInfo.setHref(menu.getHref());
+        menuTreeInfo.setStatus(menu.getStatus());
+        return menuTreeInfo;
+    }
+
+    private static Menu copyMenu(Menu menu) {
+        Menu copy = new Menu();
+        copy.setId(menu.getId());
+        copy.setLabel(menu.getLabel());
+        copy.setPermission(menu.getPermission());
+        copy.setIcon(menu.getIcon());
+        copy.setHref(menu.getHref());
+        copy.setStatus(menu.getStatus());
+        copy.setDelFlag(menu.getDelFlag());
+        copy.setMenuType(menu.getMenuType());
+        copy.setSortNo(menu.getSortNo());
+        copy.setParentId(menu.getParentId());
+        copy.setCreatedTime(menu.getCreatedTime());
+        copy.setUpdatedTime(menu.getUpdatedTime());
+        return copy;
+    }
+
+    private static Link convertLink(Menu menu) {
+        Link link = new Link();
+        link.setId(menu.getId());
+        link.setLabel(menu.getLabel());
+        link.setParentId(menu.getParentId());
+        link.setTo(menu.getHref());
+        link.setIcon(menu.getIcon());
+        link.setSortNo(menu.getSortNo());
+        link.setStatus(menu.getStatus());
+        return link;
+    }
+
+    @FunctionalInterface
+    private interface ChildrenSetter<T> {
+        void set(T node, List<T> children);
+    }
+
+    /**
+     * 角色集合对应的授权菜单（含按钮，用于权限）与按 parentId 分组的目录、菜单，由相同角色的用户共享；
+     * 缓存的实例不直接返回给调用方，读取时复制菜单、重新组装链接树（仅内存操作）
+     */
+    private record RoleMenuTree(List<Menu> menus, Map<Long, List<Menu>> linkMenusByParentId) {
+
+        private static final RoleMenuTree EMPTY = new RoleMenuTree(List.of(), Map.of());
+    }
+}
@@ -73,6 +73,13 @@ public class DictRepositoryImpl implements DictRepository, DictQueryService {
                 .where(DICT_PO.DICT_TYPE_CODE.eq(dictTypeCode)), BaseOption.class);
     }
 
+    @Override
+    public List<Dict> findAllForSnapshot() {
+        return dictMapper.selectListByQueryAs(QueryWrapper.create()
+                .select(DICT_PO.DICT_TYPE_CODE, DICT_PO.LABEL, DICT_PO.VALUE, DICT_PO.ICON, DICT_PO.IMAGE, DICT_PO.COLOR)
+                .orderBy(DICT_PO.DICT_TYPE_CODE.asc(), DICT_PO.SORT_NO.asc(), DICT_PO.ID.asc()), Dict.class);
+    }
+
     @Override
     public List<BaseOption> queryDictOptions(String dictTypeCode) {
         return findOptions(dictTypeCode);
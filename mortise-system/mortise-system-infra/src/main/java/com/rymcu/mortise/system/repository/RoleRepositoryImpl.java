@@ -1,6 +1,7 @@
 package com.rymcu.mortise.system.repository;
 
 import com.mybatisflex.core.paginate.Page;
+import com.mybatisflex.core.query.QueryMethods;
 import com.mybatisflex.core.query.QueryWrapper;
 import com.mybatisflex.core.update.UpdateChain;
 import com.rymcu.mortise.common.enumerate.DefaultFlag;
@@ -138,6 +139,14 @@ public class RoleRepositoryImpl implements RoleRepository, RoleQueryService {
         return roleMapper.deleteBatchByIds(roleIds) > 0;
     }
 
+    @Override
+    public List<String> findAllPermissions() {
+        return roleMapper.selectListByQueryAs(QueryWrapper.create()
+                .select(QueryMethods.distinct(ROLE_PO.PERMISSION))
+                .where(ROLE_PO.PERMISSION.isNotNull())
+                .and(ROLE_PO.PERMISSION.ne("")), String.class);
+    }
+
     @Override
     public long count() {
         return roleMapper.selectCountByQuery(QueryWrapper.create());
@@ -0,0 +1,171 @@
+package com.rymcu.mortise.system.query.impl;
+
+import com.mybatisflex.core.dialect.DialectFactory;
+import com.mybatisflex.core.query.CPI;
+import com.mybatisflex.core.query.QueryWrapper;
+import com.mybatisflex.core.row.Db;
+import com.mybatisflex.core.row.Row;
+import com.rymcu.mortise.common.exception.BusinessException;
+import com.rymcu.mortise.core.model.CursorPageResult;
+import com.rymcu.mortise.core.model.PageQuery;
+import com.rymcu.mortise.core.model.PageResult;
+import com.rymcu.mortise.log.config.LogPartitionProperties;
+import com.rymcu.mortise.persistence.log.entity.OperationLog;
+import com.rymcu.mortise.persistence.log.mapper.ApiLogMapper;
+import com.rymcu.mortise.persistence.log.mapper.OperationLogMapper;
+import com.rymcu.mortise.system.model.LogSearch;
+import com.rymcu.mortise.system.query.model.OperationLogView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedStatic;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class LogQueryServiceImplTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2026, 5, 1, 12, 0);
+
+    private final OperationLogMapper operationLogMapper = mock(OperationLogMapper.class);
+
+    private final LogQueryServiceImpl logQueryService = new LogQueryServiceImpl();
+
+    private MockedStatic<Db> db;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(logQueryService, "operationLogMapper", operationLogMapper);
+        ReflectionTestUtils.setField(logQueryService, "apiLogMapper", mock(ApiLogMapper.class));
+        ReflectionTestUtils.setField(logQueryService, "logPartitionProperties", new LogPartitionProperties());
+        db = mockStatic(Db.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.close();
+    }
+
+    @Test
+    void totalShouldComeFromPlanEstimate() {
+        explainReturns("Seq Scan on mortise_operation_log  (cost=0.00..35.50 rows=1234 width=8)");
+        when(operationLogMapper.selectListByQuery(any(QueryWrapper.class))).thenReturn(operationLogs(10));
+
+        PageResult<OperationLogView> page = logQueryService.findOperationLogs(PageQuery.of(1, 10), new LogSearch());
+
+        assertEquals(1234L, page.getTotalRow());
+        db.verify(() -> Db.selectListBySql(startsWithExplain(), any(Object[].class)));
+    }
+
+    @Test
+    void fullPageShouldReportNextPageWhenEstimateIsLow() {
+        explainReturns("Index Scan  (cost=0.42..8.44 rows=1 width=8)");
+        when(operationLogMapper.selectListByQuery(any(QueryWrapper.class))).thenReturn(operationLogs(10));
+
+        PageResult<OperationLogView> page = logQueryService.findOperationLogs(PageQuery.of(3, 10), new LogSearch());
+
+        assertEquals(31L, page.getTotalRow());
+        assertTrue(page.getHasNext());
+    }
+
+    @Test
+    void partialPageShouldReportExactTotal() {
+        explainReturns("Seq Scan  (cost=0.00..35.50 rows=5000 width=8)");
+        when(operationLogMapper.selectListByQuery(any(QueryWrapper.class))).thenReturn(operationLogs(4));
+
+        PageResult<OperationLogView> page = logQueryService.findOperationLogs(PageQuery.of(3, 10), new LogSearch());
+
+        assertEquals(24L, page.getTotalRow());
+        assertFalse(page.getHasNext());
+    }
+
+    @Test
+    void unparsablePlanShouldEstimateZero() {
+        explainReturns("Result");
+        when(operationLogMapper.selectListByQuery(any(QueryWrapper.class))).thenReturn(List.of());
+
+        assertEquals(0L, logQueryService.findOperationLogs(PageQuery.of(1, 10), new LogSearch()).getTotalRow());
+    }
+
+    @Test
+    void scrollShouldReturnCursorOfLastRowAndSeekFromIt() {
+        LogSearch search = new LogSearch();
+        search.setPageSize(3);
+        when(operationLogMapper.selectListByQuery(any(QueryWrapper.class))).thenReturn(operationLogs(4));
+
+        CursorPageResult<OperationLogView> first = logQueryService.scrollOperationLogs(search);
+
+        assertEquals(3, first.getRecords().size());
+        assertTrue(first.getHasNext());
+        assertNotNull(first.getNextCursor());
+        assertNull(first.getTotalRow());
+        db.verifyNoInteractions();
+
+        search.setCursor(first.getNextCursor());
+        when(operationLogMapper.selectListByQuery(any(QueryWrapper.class))).thenReturn(operationLogs(2));
+
+        CursorPageResult<OperationLogView> second = logQueryService.scrollOperationLogs(search);
+
+        assertFalse(second.getHasNext());
+        assertNull(second.getNextCursor());
+        ArgumentCaptor<QueryWrapper> query = ArgumentCaptor.forClass(QueryWrapper.class);
+        verify(operationLogMapper, times(2)).selectListByQuery(query.capture());
+        QueryWrapper seek = query.getAllValues().getLast();
+        assertTrue(DialectFactory.getDialect().forSelectByQuery(seek).contains("(operate_time, id) < (?, ?)"));
+        List<Object> values = Arrays.asList(CPI.getValueArray(seek));
+        assertTrue(values.contains(BASE_TIME.minusMinutes(2)), "游标应解码出上一页最后一条的时间: " + values);
+        assertTrue(values.contains(3L), "游标应解码出上一页最后一条的 id: " + values);
+    }
+
+    @Test
+    void scrollShouldEstimateTotalOnlyWhenRequested() {
+        explainReturns("Seq Scan  (cost=0.00..35.50 rows=42 width=8)");
+        LogSearch search = new LogSearch();
+        search.setWithTotal(true);
+        when(operationLogMapper.selectListByQuery(any(QueryWrapper.class))).thenReturn(operationLogs(1));
+
+        assertEquals(42L, logQueryService.scrollOperationLogs(search).getTotalRow());
+    }
+
+    @Test
+    void malformedCursorShouldBeRejected() {
+        for (String cursor : new String[]{"not base64!", "bm8tc2VwYXJhdG9y", "MjAyNi0xMy0wMXwx"}) {
+            LogSearch search = new LogSearch();
+            search.setCursor(cursor);
+
+            assertThrows(BusinessException.class, () -> logQueryService.scrollOperationLogs(search), cursor);
+        }
+    }
+
+    private void explainReturns(String plan) {
+        Row row = new Row();
+        row.put("QUERY PLAN", plan);
+        db.when(() -> Db.selectListBySql(startsWithExplain(), any(Object[].class))).thenReturn(List.of(row));
+    }
+
+    private static String startsWithExplain() {
+        return argThat(sql -> sql != null && sql.startsWith("EXPLAIN "));
+    }
+
+    /**
+     * id 从 1 开始、时间每条早 1 分钟，与倒序分页的顺序一致
+     */
+    private static List<OperationLog> operationLogs(int count) {
+        List<OperationLog> logs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            OperationLog operationLog = new OperationLog();
+            operationLog.setId(i + 1L);
+            operationLog.setOperateTime(BASE_TIME.minusMinutes(i));
+            logs.add(operationLog);
+        }
+        return logs;
+    }
+}
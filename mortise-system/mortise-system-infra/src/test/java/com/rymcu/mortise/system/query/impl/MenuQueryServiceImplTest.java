@@ -0,0 +1,124 @@
+package com.rymcu.mortise.system.query.impl;
+
+import com.rymcu.mortise.cache.service.CacheVersionService;
+import com.rymcu.mortise.common.enumerate.MenuType;
+import com.rymcu.mortise.common.model.Link;
+import com.rymcu.mortise.system.constant.SystemCacheConstant;
+import com.rymcu.mortise.system.entity.Menu;
+import com.rymcu.mortise.system.mapper.MenuMapper;
+import com.rymcu.mortise.system.mapper.UserRoleMapper;
+import com.rymcu.mortise.system.repository.MenuRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MenuQueryServiceImplTest {
+
+    private static final String NAMESPACE = SystemCacheConstant.MENU_TREE_VERSION_NAMESPACE;
+
+    private final MenuMapper menuMapper = mock(MenuMapper.class);
+
+    private final UserRoleMapper userRoleMapper = mock(UserRoleMapper.class);
+
+    private final CacheVersionService cacheVersionService = mock(CacheVersionService.class);
+
+    private final MenuQueryServiceImpl menuQueryService = new MenuQueryServiceImpl(menuMapper, userRoleMapper,
+            mock(MenuRepository.class), cacheVersionService);
+
+    @BeforeEach
+    void setUp() {
+        when(cacheVersionService.currentVersion(NAMESPACE)).thenReturn(1L);
+        when(menuMapper.findMenusByRoleIds(List.of(1L, 2L))).thenReturn(List.of(
+                menu(10L, 0L, MenuType.FOLDER, "系统管理", null),
+                menu(11L, 10L, MenuType.MENU, "用户管理", "system:user:list"),
+                menu(12L, 11L, MenuType.BUTTON, "新增用户", "system:user:add")));
+    }
+
+    @Test
+    void usersWithSameRolesShouldShareOneLoad() {
+        when(userRoleMapper.findRoleIdsByIdUser(100L)).thenReturn(List.of(2L, 1L));
+        when(userRoleMapper.findRoleIdsByIdUser(200L)).thenReturn(List.of(1L, 2L, 2L));
+
+        assertEquals(3, menuQueryService.findMenusByIdUser(100L).size());
+        assertEquals(3, menuQueryService.findMenusByIdUser(200L).size());
+        assertEquals(1, menuQueryService.findLinksByIdUser(200L).size());
+
+        verify(menuMapper, times(1)).findMenusByRoleIds(any());
+    }
+
+    @Test
+    void linksShouldNestFoldersAndMenusWithoutButtons() {
+        when(userRoleMapper.findRoleIdsByIdUser(100L)).thenReturn(List.of(1L, 2L));
+
+        List<Link> links = menuQueryService.findLinksByIdUser(100L);
+
+        assertEquals(1, links.size());
+        assertEquals("系统管理", links.get(0).getLabel());
+        assertEquals(1, links.get(0).getChildren().size());
+        assertEquals("用户管理", links.get(0).getChildren().get(0).getLabel());
+        assertTrue(links.get(0).getChildren().get(0).getChildren().isEmpty());
+    }
+
+    @Test
+    void callerChangesShouldNotLeakIntoCache() {
+        when(userRoleMapper.findRoleIdsByIdUser(100L)).thenReturn(List.of(1L, 2L));
+
+        List<Menu> menus = menuQueryService.findMenusByIdUser(100L);
+        menus.get(1).setPermission("tampered");
+        menus.clear();
+        List<Link> links = menuQueryService.findLinksByIdUser(100L);
+        links.get(0).setLabel("tampered");
+        links.get(0).setChildren(List.of());
+
+        List<Menu> reread = menuQueryService.findMenusByIdUser(100L);
+        List<Link> rereadLinks = menuQueryService.findLinksByIdUser(100L);
+        assertEquals(3, reread.size());
+        assertEquals("system:user:list", reread.get(1).getPermission());
+        assertNotSame(reread.get(1), menuQueryService.findMenusByIdUser(100L).get(1));
+        assertEquals("系统管理", rereadLinks.get(0).getLabel());
+        assertEquals(1, rereadLinks.get(0).getChildren().size());
+    }
+
+    @Test
+    void versionBumpShouldReloadRoleMenuTree() {
+        when(userRoleMapper.findRoleIdsByIdUser(100L)).thenReturn(List.of(1L, 2L));
+        menuQueryService.findMenusByIdUser(100L);
+
+        when(cacheVersionService.currentVersion(NAMESPACE)).thenReturn(2L);
+        menuQueryService.findMenusByIdUser(100L);
+
+        verify(menuMapper, times(2)).findMenusByRoleIds(any());
+    }
+
+    @Test
+    void userWithoutRolesShouldNotQueryMenus() {
+        when(userRoleMapper.findRoleIdsByIdUser(anyLong())).thenReturn(List.of());
+
+        assertTrue(menuQueryService.findMenusByIdUser(300L).isEmpty());
+        assertTrue(menuQueryService.findLinksByIdUser(300L).isEmpty());
+
+        verify(menuMapper, never()).findMenusByRoleIds(any());
+    }
+
+    private static Menu menu(Long id, Long parentId, MenuType menuType, String label, String permission) {
+        Menu menu = new Menu();
+        menu.setId(id);
+        menu.setParentId(parentId);
+        menu.setMenuType(menuType.ordinal());
+        menu.setLabel(label);
+        menu.setPermission(permission);
+        return menu;
+    }
+}
@@ -35,9 +35,9 @@ public @interface RateLimit {
 
     /**
      * 超时时间（毫秒）
-     * 0表示不等待，立即返回
+     * 被限流时在该时间内等待可用许可，等待会占用请求线程，需按接口显式开启；默认 0 表示不等待，立即返回
      */
-    long timeoutMillis() default 100;
+    long timeoutMillis() default 0;
 
     /**
      * 限流key的生成策略
@@ -63,7 +63,7 @@ public @interface RateLimit {
 
     /**
      * 降级方法名
-     * 必须在同一个类中，且方法签名相同
+     * 必须在同一个类中，且参数列表相同、返回值类型兼容；启用降级但找不到该方法时首次调用即报错
      */
     String fallbackMethod() default "";
 
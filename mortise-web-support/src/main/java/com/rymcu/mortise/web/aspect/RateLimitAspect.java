@@ -4,26 +4,40 @@ import com.rymcu.mortise.common.exception.BusinessException;
 import com.rymcu.mortise.auth.util.CurrentUserUtils;
 import com.rymcu.mortise.web.annotation.RateLimit;
 import com.rymcu.mortise.web.rate.DistributedRateLimitService;
+import com.rymcu.mortise.web.rate.RateLimitDecision;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodClassKey;
+import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 import jakarta.servlet.http.HttpServletRequest;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 限流切面
  * 基于 Redis 实现分布式限流。
+ * <p>
+ * 被拒绝时默认立即返回；{@link RateLimit#timeoutMillis()} 大于 0 时在该时间内按服务端给出的等待时间重试。仍未获得许可时，
+ * 启用降级则调用 {@link RateLimit#fallbackMethod()}，否则抛出 {@link BusinessException}。
+ * SpEL 表达式、参数名和降级方法按方法与目标类解析一次后缓存。
+ * </p>
  *
  * @author ronger
  */
@@ -38,6 +52,11 @@ public class RateLimitAspect {
     private final DistributedRateLimitService distributedRateLimitService;
     private final HttpServletRequest request;
 
+    /**
+     * 方法与目标类 -> 解析后的限流元数据
+     */
+    private final Map<MethodClassKey, RateLimitMetadata> metadataCache = new ConcurrentHashMap<>();
+
     /**
      * 使用 Optional 兼容未接入缓存的场景。
      */
@@ -55,37 +74,104 @@ public class RateLimitAspect {
             return joinPoint.proceed();
         }
 
-        String rateLimitKey = buildRateLimitKey(joinPoint, rateLimit);
-        boolean permitted = distributedRateLimitService.tryAcquire(
-                rateLimitKey,
-                rateLimit.limitForPeriod(),
-                rateLimit.refreshPeriodSeconds()
-        );
-        if (!permitted) {
-            log.warn("限流触发: key={}, method={}", rateLimitKey, joinPoint.getSignature().toShortString());
-            throw new BusinessException(rateLimit.message());
+        RateLimitMetadata metadata = metadataOf(joinPoint, rateLimit);
+        String rateLimitKey = buildRateLimitKey(joinPoint, rateLimit, metadata);
+        if (acquire(rateLimitKey, rateLimit)) {
+            return joinPoint.proceed();
         }
-        return joinPoint.proceed();
+
+        log.warn("限流触发: key={}, method={}", rateLimitKey, metadata.methodName());
+        if (metadata.fallback() != null) {
+            return invokeFallback(joinPoint, metadata.fallback());
+        }
+        throw new BusinessException(rateLimit.message());
     }
 
-    private String buildRateLimitKey(ProceedingJoinPoint joinPoint, RateLimit rateLimit) {
+    /**
+     * 获取许可，开启等待且等待时间不超过剩余超时时间时休眠后重试
+     */
+    private boolean acquire(String rateLimitKey, RateLimit rateLimit) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(rateLimit.timeoutMillis(), 0L));
+        while (true) {
+            RateLimitDecision decision = distributedRateLimitService.acquire(
+                    rateLimitKey,
+                    rateLimit.limitForPeriod(),
+                    rateLimit.refreshPeriodSeconds()
+            );
+            if (decision.permitted()) {
+                return true;
+            }
+            if (rateLimit.timeoutMillis() <= 0) {
+                return false;
+            }
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (decision.retryAfterMillis() > remainingMillis) {
+                return false;
+            }
+            try {
+                Thread.sleep(decision.retryAfterMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    private Object invokeFallback(ProceedingJoinPoint joinPoint, Method fallback) throws Throwable {
+        try {
+            return fallback.invoke(joinPoint.getTarget(), joinPoint.getArgs());
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private RateLimitMetadata metadataOf(ProceedingJoinPoint joinPoint, RateLimit rateLimit) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Class<?> targetClass = AopUtils.getTargetClass(joinPoint.getTarget());
+        return metadataCache.computeIfAbsent(new MethodClassKey(method, targetClass),
+                key -> resolveMetadata(joinPoint, method, targetClass, rateLimit));
+    }
+
+    private RateLimitMetadata resolveMetadata(ProceedingJoinPoint joinPoint, Method method, Class<?> targetClass,
+                                              RateLimit rateLimit) {
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+
+        Expression keyExpression = rateLimit.keyType() == RateLimit.KeyType.CUSTOM
+                && StringUtils.hasText(rateLimit.keyExpression())
+                ? SPEL_PARSER.parseExpression(rateLimit.keyExpression())
+                : null;
+
+        Method fallback = null;
+        if (rateLimit.enableFallback()) {
+            fallback = ReflectionUtils.findMethod(targetClass, rateLimit.fallbackMethod(), specificMethod.getParameterTypes());
+            if (fallback == null || !specificMethod.getReturnType().isAssignableFrom(fallback.getReturnType())) {
+                throw new IllegalStateException("限流降级方法不存在或签名不一致: " + targetClass.getName()
+                        + "#" + rateLimit.fallbackMethod());
+            }
+            ReflectionUtils.makeAccessible(fallback);
+        }
+
+        return new RateLimitMetadata(joinPoint.getSignature().toShortString(), keyExpression,
+                PARAMETER_NAME_DISCOVERER.getParameterNames(specificMethod), fallback);
+    }
+
+    private String buildRateLimitKey(ProceedingJoinPoint joinPoint, RateLimit rateLimit, RateLimitMetadata metadata) {
         String subjectKey = switch (rateLimit.keyType()) {
             case IP -> resolveClientIp();
-            case METHOD -> joinPoint.getSignature().toShortString();
-            case IP_AND_METHOD -> resolveClientIp() + ":" + joinPoint.getSignature().toShortString();
+            case METHOD -> metadata.methodName();
+            case IP_AND_METHOD -> resolveClientIp() + ":" + metadata.methodName();
             case USER_ID -> String.valueOf(CurrentUserUtils.getUserIdOrDefault(-1L));
             case IP_AND_USER_ID -> resolveClientIp() + ":" + CurrentUserUtils.getUserIdOrDefault(-1L);
-            case CUSTOM -> evaluateCustomKey(joinPoint, rateLimit.keyExpression());
+            case CUSTOM -> evaluateCustomKey(joinPoint, metadata);
         };
         return rateLimit.name() + ":" + subjectKey;
     }
 
-    private String evaluateCustomKey(ProceedingJoinPoint joinPoint, String expression) {
-        if (!StringUtils.hasText(expression)) {
-            return joinPoint.getSignature().toShortString();
+    private String evaluateCustomKey(ProceedingJoinPoint joinPoint, RateLimitMetadata metadata) {
+        if (metadata.keyExpression() == null) {
+            return metadata.methodName();
         }
-        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
-        String[] parameterNames = PARAMETER_NAME_DISCOVERER.getParameterNames(method);
+        String[] parameterNames = metadata.parameterNames();
         Object[] args = joinPoint.getArgs();
         StandardEvaluationContext context = new StandardEvaluationContext();
         if (parameterNames != null) {
@@ -93,7 +179,7 @@ public class RateLimitAspect {
                 context.setVariable(parameterNames[i], args[i]);
             }
         }
-        Object value = SPEL_PARSER.parseExpression(expression).getValue(context);
+        Object value = metadata.keyExpression().getValue(context);
         return value == null ? "null" : value.toString();
     }
 
@@ -108,4 +194,16 @@ public class RateLimitAspect {
         }
         return request.getRemoteAddr();
     }
+
+    /**
+     * 按方法缓存的限流元数据
+     *
+     * @param methodName     方法短签名
+     * @param keyExpression  已解析的自定义 key 表达式，未使用时为 null
+     * @param parameterNames 参数名
+     * @param fallback       降级方法，未启用时为 null
+     */
+    private record RateLimitMetadata(String methodName, Expression keyExpression,
+                                     String[] parameterNames, Method fallback) {
+    }
 }
@@ -0,0 +1,48 @@
+package com.rymcu.mortise.web.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 分布式限流许可租约配置属性
+ * <p>
+ * 开启后每个节点一次向 Redis 预占一批许可在本地消费，租约大小随本地请求速率调整。
+ * 同一 key 在一个租约有效期（限流周期乘以超发容忍度的四分之一）内登记的许可总数不超过
+ * {@code limitForPeriod * overshootTolerance}，过期的租约在本地作废，因此任意窗口内的超发不超过该值；
+ * 容忍度算出的额度不足 2 个许可时退回逐次访问 Redis。
+ * </p>
+ *
+ * <p>配置示例：</p>
+ * <pre>
+ * mortise:
+ *   web:
+ *     rate-limit:
+ *       lease:
+ *         enabled: true
+ *         overshoot-tolerance: 0.1
+ * </pre>
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "mortise.web.rate-limit.lease")
+public class RateLimitLeaseProperties {
+
+    /**
+     * 是否开启许可租约
+     */
+    private boolean enabled = false;
+
+    /**
+     * 允许的超发比例（相对 limitForPeriod），取值 0 ~ 1
+     */
+    private double overshootTolerance = 0.1;
+
+    /**
+     * 本地租约状态最多保留的 key 数
+     */
+    private long maximumKeys = 10_000;
+}
@@ -4,6 +4,7 @@ import com.rymcu.mortise.common.exception.BusinessException;
 import com.rymcu.mortise.common.exception.ServiceException;
 import com.rymcu.mortise.core.result.GlobalResult;
 import com.rymcu.mortise.core.result.ResultCode;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
@@ -161,10 +162,15 @@ public class GlobalExceptionHandler {
 
     /**
      * 处理其他未知异常
+     * 响应已提交（如流式导出中途失败）时无法再写错误响应，原样抛出由容器中断连接
      */
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
-    public GlobalResult<Void> handleException(Exception e) {
+    public GlobalResult<Void> handleException(Exception e, HttpServletResponse response) throws Exception {
+        if (response.isCommitted()) {
+            log.error("系统异常，响应已提交", e);
+            throw e;
+        }
         log.error("系统异常", e);
         return GlobalResult.error(ResultCode.SERVER_ERROR, "系统繁忙，请稍后重试");
     }
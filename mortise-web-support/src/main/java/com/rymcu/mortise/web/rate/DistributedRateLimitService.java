@@ -1,28 +1,136 @@
 package com.rymcu.mortise.web.rate;
 
-import com.rymcu.mortise.cache.service.CacheService;
-import lombok.RequiredArgsConstructor;
+import com.rymcu.mortise.web.config.RateLimitLeaseProperties;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 基于 Redis 的分布式限流服务。
+ * <p>
+ * 采用滑动窗口日志：每个 key 一个有序集合，成员为获得许可的时间（Redis 服务器时钟，微秒），
+ * 任意长度为一个周期的窗口内许可数都不超过上限，不会出现固定窗口在边界处放行两倍请求的情况。
+ * 清理、计数、登记和计算等待时间在一个 Lua 脚本内原子完成。
+ * </p>
+ * <p>
+ * 开启许可租约（{@code mortise.web.rate-limit.lease.enabled}）后，一次脚本调用可登记一批许可，
+ * 由 {@link PermitLeasePool} 在本节点内消费，超发上限见 {@link RateLimitLeaseProperties}。
+ * </p>
  */
 @Service
-@RequiredArgsConstructor
 public class DistributedRateLimitService {
 
-    private static final String KEY_PREFIX = "rate-limit:";
+    /**
+     * 与旧版固定窗口计数器（{@code rate-limit:}）的字符串键区分，避免滚动升级期间类型冲突
+     */
+    private static final String KEY_PREFIX = "rate-limit:window:";
 
-    private final CacheService cacheService;
+    /**
+     * KEYS[1]: 限流 key；ARGV: 窗口长度（微秒）、许可上限、成员唯一前缀、期望许可数、租约有效期（微秒）、租约额度
+     * <p>
+     * 期望多个许可时，按窗口剩余量和最近一个租约有效期内已登记的许可数裁剪，至少给出 1 个。
+     * 返回 {许可数, 0} 表示获得许可，{0, 等待微秒数} 表示被拒绝
+     */
+    private static final DefaultRedisScript<List> SLIDING_WINDOW_SCRIPT = new DefaultRedisScript<>(
+            """
+                    local time = redis.call('TIME')
+                    local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+                    local window = tonumber(ARGV[1])
+                    local limit = tonumber(ARGV[2])
+                    redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window)
+                    local count = redis.call('ZCARD', KEYS[1])
+                    if count >= limit then
+                        local index = count - limit
+                        local freed = redis.call('ZRANGE', KEYS[1], index, index, 'WITHSCORES')
+                        return {0, tonumber(freed[2]) + window - now}
+                    end
+                    local permits = math.min(tonumber(ARGV[4]), limit - count)
+                    if permits > 1 then
+                        local leased = redis.call('ZCOUNT', KEYS[1], now - tonumber(ARGV[5]) + 1, '+inf')
+                        permits = math.max(1, math.min(permits, tonumber(ARGV[6]) - leased))
+                    end
+                    local members = {}
+                    for i = 1, permits do
+                        members[#members + 1] = now
+                        members[#members + 1] = ARGV[3] .. ':' .. i
+                        if #members >= 1000 or i == permits then
+                            redis.call('ZADD', KEYS[1], unpack(members))
+                            members = {}
+                        end
+                    end
+                    redis.call('PEXPIRE', KEYS[1], math.ceil(window / 1000))
+                    return {permits, 0}
+                    """,
+            List.class
+    );
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 许可租约，未开启时为 null
+     */
+    private final PermitLeasePool leasePool;
+
+    public DistributedRateLimitService(StringRedisTemplate stringRedisTemplate,
+                                       RateLimitLeaseProperties leaseProperties) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.leasePool = leaseProperties.isEnabled()
+                ? new PermitLeasePool(this::reserve, leaseProperties.getOvershootTolerance(),
+                leaseProperties.getMaximumKeys())
+                : null;
+    }
 
     public boolean tryAcquire(String key, int limitForPeriod, long refreshPeriodSeconds) {
-        Long current = cacheService.increment(
-                KEY_PREFIX + key,
-                1L,
-                Duration.ofSeconds(Math.max(refreshPeriodSeconds, 1L))
-        );
-        return current != null && current <= limitForPeriod;
+        return acquire(key, limitForPeriod, refreshPeriodSeconds).permitted();
+    }
+
+    /**
+     * 尝试获取一个许可
+     *
+     * @param key                  限流 key
+     * @param limitForPeriod       周期内允许的请求数
+     * @param refreshPeriodSeconds 周期（秒）
+     * @return 判定结果，被拒绝时包含最早可能获得许可的等待时间
+     */
+    public RateLimitDecision acquire(String key, int limitForPeriod, long refreshPeriodSeconds) {
+        if (limitForPeriod <= 0) {
+            return new RateLimitDecision(false, Long.MAX_VALUE);
+        }
+        if (leasePool != null) {
+            return leasePool.acquire(key, limitForPeriod, refreshPeriodSeconds);
+        }
+        return reserve(key, limitForPeriod, refreshPeriodSeconds, 1, 0L, 0).toDecision();
+    }
+
+    /**
+     * 在 Redis 中原子地登记一批许可
+     *
+     * @param key                  限流 key
+     * @param limitForPeriod       周期内允许的请求数
+     * @param refreshPeriodSeconds 周期（秒）
+     * @param permits              期望的许可数
+     * @param leaseMicros          租约有效期（微秒），仅 permits 大于 1 时使用
+     * @param leaseBudget          一个租约有效期内允许登记的许可总数，仅 permits 大于 1 时使用
+     * @return 实际登记的许可数，被拒绝时包含最早可能获得许可的等待时间
+     */
+    PermitReservation reserve(String key, int limitForPeriod, long refreshPeriodSeconds,
+                              int permits, long leaseMicros, int leaseBudget) {
+        long windowMicros = TimeUnit.SECONDS.toMicros(Math.max(refreshPeriodSeconds, 1L));
+        List<?> result = stringRedisTemplate.execute(SLIDING_WINDOW_SCRIPT, List.of(KEY_PREFIX + key),
+                String.valueOf(windowMicros), String.valueOf(limitForPeriod), UUID.randomUUID().toString(),
+                String.valueOf(Math.max(permits, 1)), String.valueOf(leaseMicros), String.valueOf(leaseBudget));
+        if (result == null || result.size() < 2) {
+            throw new IllegalStateException("限流脚本返回结果无效: key=" + key);
+        }
+        int granted = ((Number) result.get(0)).intValue();
+        if (granted > 0) {
+            return new PermitReservation(granted, 0L);
+        }
+        long retryAfterMicros = Math.max(((Number) result.get(1)).longValue(), 0L);
+        return new PermitReservation(0, Math.max(1L, TimeUnit.MICROSECONDS.toMillis(retryAfterMicros + 999)));
     }
 }
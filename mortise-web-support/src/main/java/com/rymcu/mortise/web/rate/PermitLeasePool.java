@@ -0,0 +1,202 @@
+package com.rymcu.mortise.web.rate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 本地许可租约池
+ * <p>
+ * 每个限流 key 持有一个租约：一次从 Redis 预占一批许可，在有效期内由本节点的线程无锁消费，
+ * 耗尽或过期后由一个线程续约，其余线程等待续约结果。被 Redis 拒绝后在给出的等待时间内直接在本地拒绝。
+ * </p>
+ * <p>
+ * 额度为 {@code limit * tolerance}，租约有效期为 {@code 周期 * tolerance / 4}。Redis 端保证同一 key
+ * 在一个租约有效期内登记的许可（含逐个登记的）不超过额度，有效期取额度对应时长的四分之一，
+ * 使满速运行的 key 仍有约四分之三的额度可用于租约；本地在有效期后丢弃剩余许可，所以任意窗口内已登记但尚未使用、
+ * 跨越窗口边界的许可不超过额度，即超发上限。租约大小按上一租约期间观察到的请求速率估算，从 1 个开始逐次最多翻倍增长，空闲的 key 只预占 1 个。
+ * </p>
+ *
+ * @author ronger
+ */
+final class PermitLeasePool {
+
+    /**
+     * 租约有效期相对 {@code 周期 * tolerance} 的缩短倍数
+     */
+    private static final int LEASE_PERIOD_DIVISOR = 4;
+
+    /**
+     * 向 Redis 预占许可
+     */
+    @FunctionalInterface
+    interface Reserver {
+
+        /**
+         * @param key                  限流 key
+         * @param limitForPeriod       周期内允许的请求数
+         * @param refreshPeriodSeconds 周期（秒）
+         * @param permits              期望预占的许可数
+         * @param leaseMicros          租约有效期（微秒）
+         * @param leaseBudget          一个租约有效期内允许登记的许可总数
+         * @return 预占结果
+         */
+        PermitReservation reserve(String key, int limitForPeriod, long refreshPeriodSeconds,
+                                  int permits, long leaseMicros, int leaseBudget);
+    }
+
+    private final Reserver reserver;
+
+    private final double tolerance;
+
+    private final Cache<String, Lease> leases;
+
+    /**
+     * 纳秒时钟，测试时可替换
+     */
+    private final LongSupplier nanoClock;
+
+    PermitLeasePool(Reserver reserver, double tolerance, long maximumKeys) {
+        this(reserver, tolerance, maximumKeys, System::nanoTime);
+    }
+
+    PermitLeasePool(Reserver reserver, double tolerance, long maximumKeys, LongSupplier nanoClock) {
+        this.reserver = reserver;
+        this.nanoClock = nanoClock;
+        this.tolerance = Math.clamp(tolerance, 0D, 1D);
+        this.leases = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+    }
+
+    /**
+     * 获取一个许可
+     *
+     * @param key                  限流 key
+     * @param limitForPeriod       周期内允许的请求数
+     * @param refreshPeriodSeconds 周期（秒）
+     * @return 判定结果
+     */
+    RateLimitDecision acquire(String key, int limitForPeriod, long refreshPeriodSeconds) {
+        int budget = (int) Math.floor(limitForPeriod * tolerance);
+        if (budget < 2) {
+            return reserver.reserve(key, limitForPeriod, refreshPeriodSeconds, 1, 0L, 0).toDecision();
+        }
+        long leaseNanos = (long) (TimeUnit.SECONDS.toNanos(Math.max(refreshPeriodSeconds, 1L)) * tolerance)
+                / LEASE_PERIOD_DIVISOR;
+        return leases.get(key, k -> new Lease())
+                .acquire(key, limitForPeriod, refreshPeriodSeconds, budget, leaseNanos);
+    }
+
+    private final class Lease {
+
+        private final AtomicInteger remaining = new AtomicInteger();
+
+        /**
+         * 本节点在上次续约后的请求数，含被拒绝的请求
+         */
+        private final LongAdder demand = new LongAdder();
+
+        private volatile long expiresAt = nanoClock.getAsLong();
+
+        private volatile long blockedUntil = nanoClock.getAsLong();
+
+        /**
+         * 以下字段仅在持有锁时访问
+         */
+        private long renewedAt;
+
+        private boolean renewed;
+
+        /**
+         * 上次实际获得的许可数
+         */
+        private int lastLeaseSize = 1;
+
+        RateLimitDecision acquire(String key, int limitForPeriod, long refreshPeriodSeconds,
+                                  int budget, long leaseNanos) {
+            demand.increment();
+            if (tryTake()) {
+                return RateLimitDecision.PERMITTED;
+            }
+            RateLimitDecision blocked = checkBlocked();
+            if (blocked != null) {
+                return blocked;
+            }
+            synchronized (this) {
+                if (tryTake()) {
+                    return RateLimitDecision.PERMITTED;
+                }
+                blocked = checkBlocked();
+                if (blocked != null) {
+                    return blocked;
+                }
+                return renew(key, limitForPeriod, refreshPeriodSeconds, budget, leaseNanos);
+            }
+        }
+
+        private boolean tryTake() {
+            if (nanoClock.getAsLong() - expiresAt >= 0) {
+                return false;
+            }
+            int current;
+            do {
+                current = remaining.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!remaining.compareAndSet(current, current - 1));
+            return true;
+        }
+
+        private RateLimitDecision checkBlocked() {
+            long waitNanos = blockedUntil - nanoClock.getAsLong();
+            return waitNanos > 0
+                    ? new RateLimitDecision(false, Math.max(1L, TimeUnit.NANOSECONDS.toMillis(waitNanos)))
+                    : null;
+        }
+
+        private RateLimitDecision renew(String key, int limitForPeriod, long refreshPeriodSeconds,
+                                        int budget, long leaseNanos) {
+            // 有效期从发起预占前开始计算，早于 Redis 登记许可的时间，本地不会晚于 Redis 认定的租约结束
+            long now = nanoClock.getAsLong();
+            int permits = nextLeaseSize(now, budget, leaseNanos);
+            PermitReservation reservation = reserver.reserve(key, limitForPeriod, refreshPeriodSeconds,
+                    permits, TimeUnit.NANOSECONDS.toMicros(leaseNanos), budget);
+            if (!reservation.granted()) {
+                remaining.set(0);
+                blockedUntil = now + TimeUnit.MILLISECONDS.toNanos(reservation.retryAfterMillis());
+                return reservation.toDecision();
+            }
+            lastLeaseSize = reservation.permits();
+            remaining.set(reservation.permits() - 1);
+            expiresAt = now + leaseNanos;
+            return RateLimitDecision.PERMITTED;
+        }
+
+        /**
+         * 按上次续约以来的请求数估算一个租约有效期内的需求：间隔不足一个有效期时最多翻倍，
+         * 避免把租约刚续上就出现的瞬时突发外推成整份额度
+         */
+        private int nextLeaseSize(long now, int budget, long leaseNanos) {
+            long requests = demand.sumThenReset();
+            double size = 1D;
+            if (renewed) {
+                long elapsed = Math.max(now - renewedAt, 1L);
+                size = requests * (double) leaseNanos / elapsed;
+                if (elapsed < leaseNanos) {
+                    size = Math.min(size, 2D * lastLeaseSize);
+                }
+            }
+            renewed = true;
+            renewedAt = now;
+            return (int) Math.clamp(Math.ceil(size), 1D, budget);
+        }
+    }
+}
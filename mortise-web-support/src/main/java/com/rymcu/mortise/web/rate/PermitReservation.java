@@ -0,0 +1,19 @@
+package com.rymcu.mortise.web.rate;
+
+/**
+ * 一次向 Redis 预占许可的结果
+ *
+ * @param permits          实际获得的许可数，0 表示被拒绝
+ * @param retryAfterMillis 被拒绝时，最早可能获得许可的等待时间（毫秒）
+ * @author ronger
+ */
+public record PermitReservation(int permits, long retryAfterMillis) {
+
+    public boolean granted() {
+        return permits > 0;
+    }
+
+    public RateLimitDecision toDecision() {
+        return granted() ? RateLimitDecision.PERMITTED : new RateLimitDecision(false, retryAfterMillis);
+    }
+}
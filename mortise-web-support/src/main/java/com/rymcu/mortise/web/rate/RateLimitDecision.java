@@ -0,0 +1,13 @@
+package com.rymcu.mortise.web.rate;
+
+/**
+ * 限流判定结果
+ *
+ * @param permitted        是否获得许可
+ * @param retryAfterMillis 未获得许可时，最早可能获得许可的等待时间（毫秒）
+ * @author ronger
+ */
+public record RateLimitDecision(boolean permitted, long retryAfterMillis) {
+
+    static final RateLimitDecision PERMITTED = new RateLimitDecision(true, 0L);
+}
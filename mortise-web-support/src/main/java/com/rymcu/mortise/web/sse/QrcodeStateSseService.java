@@ -0,0 +1,122 @@
+package com.rymcu.mortise.web.sse;
+
+import com.rymcu.mortise.auth.constant.AuthCacheConstant;
+import com.rymcu.mortise.auth.enumerate.QrcodeState;
+import com.rymcu.mortise.auth.service.AuthCacheService;
+import com.rymcu.mortise.auth.support.QrcodeStateBroadcaster;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 二维码登录状态 SSE 推送服务
+ * <p>
+ * 为每个等待中的登录页保持一条 SSE 连接：先订阅状态广播，再推送当前状态，之后每次状态变化推送一个
+ * {@code state} 事件（数据为 {@code {"state": ..., "qrcodeState": ...}}，与状态查询接口一致），
+ * 进入终态（已授权、已取消、已过期或状态已清理）后关闭连接。连接最长保持到二维码状态过期。
+ * </p>
+ * <p>
+ * 二维码状态只会向前推进（等待扫码 → 已扫码 → 终态），初始推送与广播回调按状态先后比较，
+ * 不会推送比已推送状态更旧的值，例如读取当前状态后、推送前到达的广播已先推送的情况。
+ * </p>
+ *
+ * @author ronger
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QrcodeStateSseService {
+
+    private static final String EVENT_NAME = "state";
+
+    private static final long TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(AuthCacheConstant.OAUTH2_QRCODE_STATE_EXPIRE_MINUTES);
+
+    private final AuthCacheService authCacheService;
+
+    private final QrcodeStateBroadcaster qrcodeStateBroadcaster;
+
+    /**
+     * 打开指定 state 的状态推送连接
+     *
+     * @param state 二维码 state
+     * @return SSE 连接
+     */
+    public SseEmitter open(String state) {
+        return open(state, new SseEmitter(TIMEOUT_MILLIS));
+    }
+
+    SseEmitter open(String state, SseEmitter emitter) {
+        StateStream stream = new StateStream(state, emitter);
+        // 先订阅再读取当前状态，订阅后的变化都会收到广播；读取与推送之间到达的更新状态由 emit 的先后比较处理
+        Runnable unsubscribe = qrcodeStateBroadcaster.subscribe(state, stream::emit);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(ex -> unsubscribe.run());
+
+        Integer current = authCacheService.getOAuth2QrcodeState(state);
+        stream.emit(current != null ? current : QrcodeStateBroadcaster.STATE_REMOVED);
+        return emitter;
+    }
+
+    static boolean isTerminal(int qrcodeState) {
+        return qrcodeState != QrcodeState.WAITED.getValue() && qrcodeState != QrcodeState.SCANNED.getValue();
+    }
+
+    /**
+     * 状态先后：等待扫码 &lt; 已扫码 &lt; 终态
+     */
+    static int progress(int qrcodeState) {
+        if (qrcodeState == QrcodeState.WAITED.getValue()) {
+            return 0;
+        }
+        return qrcodeState == QrcodeState.SCANNED.getValue() ? 1 : 2;
+    }
+
+    /**
+     * 单条连接的推送状态，串行化初始推送与广播回调，只推送比已推送状态更新的值
+     */
+    private static final class StateStream {
+
+        private final String state;
+
+        private final SseEmitter emitter;
+
+        private Integer lastSent;
+
+        private boolean closed;
+
+        private StateStream(String state, SseEmitter emitter) {
+            this.state = state;
+            this.emitter = emitter;
+        }
+
+        private synchronized void emit(int qrcodeState) {
+            if (closed || (lastSent != null && progress(qrcodeState) <= progress(lastSent))) {
+                return;
+            }
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("state", state);
+            data.put("qrcodeState", qrcodeState);
+            try {
+                emitter.send(SseEmitter.event().name(EVENT_NAME).data(data));
+                lastSent = qrcodeState;
+                if (isTerminal(qrcodeState)) {
+                    closed = true;
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // 客户端已断开或连接已结束
+                log.debug("二维码状态推送失败: state={}, {}", state, e.getMessage());
+                closed = true;
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
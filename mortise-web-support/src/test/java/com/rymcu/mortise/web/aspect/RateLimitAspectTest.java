@@ -0,0 +1,143 @@
+package com.rymcu.mortise.web.aspect;
+
+import com.rymcu.mortise.common.exception.BusinessException;
+import com.rymcu.mortise.web.annotation.RateLimit;
+import com.rymcu.mortise.web.rate.DistributedRateLimitService;
+import com.rymcu.mortise.web.rate.RateLimitDecision;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 限流切面测试
+ */
+class RateLimitAspectTest {
+
+    private DistributedRateLimitService rateLimitService;
+
+    private RateLimitAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        rateLimitService = mock(DistributedRateLimitService.class);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        aspect = new RateLimitAspect(Optional.of(rateLimitService), request);
+    }
+
+    @Test
+    void permittedCallShouldProceedWithIpAndMethodKey() throws Throwable {
+        when(rateLimitService.acquire(anyString(), anyInt(), anyLong())).thenReturn(new RateLimitDecision(true, 0L));
+        ProceedingJoinPoint joinPoint = joinPoint("limited");
+
+        assertEquals("proceeded", aspect.around(joinPoint, rateLimitOf("limited")));
+
+        verify(rateLimitService).acquire(eq("api:10.0.0.1:Target.limited(..)"), eq(5), eq(1L));
+        verify(joinPoint).proceed();
+    }
+
+    @Test
+    void rejectedCallShouldFailFastByDefault() throws Throwable {
+        when(rateLimitService.acquire(anyString(), anyInt(), anyLong())).thenReturn(new RateLimitDecision(false, 500L));
+        ProceedingJoinPoint joinPoint = joinPoint("limited");
+
+        long start = System.nanoTime();
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> aspect.around(joinPoint, rateLimitOf("limited")));
+
+        assertEquals("too many", exception.getMessage());
+        assertTrue(System.nanoTime() - start < 400_000_000L, "默认不应在请求线程上等待");
+        verify(rateLimitService, times(1)).acquire(anyString(), anyInt(), anyLong());
+        verify(joinPoint, never()).proceed();
+    }
+
+    @Test
+    void rejectedCallShouldInvokeFallback() throws Throwable {
+        when(rateLimitService.acquire(anyString(), anyInt(), anyLong())).thenReturn(new RateLimitDecision(false, 500L));
+        ProceedingJoinPoint joinPoint = joinPoint("withFallback");
+
+        assertEquals("fallback", aspect.around(joinPoint, rateLimitOf("withFallback")));
+
+        verify(joinPoint, never()).proceed();
+    }
+
+    @Test
+    void optInTimeoutShouldRetryAfterServerHint() throws Throwable {
+        when(rateLimitService.acquire(anyString(), anyInt(), anyLong()))
+                .thenReturn(new RateLimitDecision(false, 5L), new RateLimitDecision(true, 0L));
+        ProceedingJoinPoint joinPoint = joinPoint("waiting");
+
+        assertEquals("proceeded", aspect.around(joinPoint, rateLimitOf("waiting")));
+
+        verify(rateLimitService, times(2)).acquire(anyString(), anyInt(), anyLong());
+    }
+
+    @Test
+    void optInTimeoutShouldNotWaitBeyondDeadline() throws Throwable {
+        when(rateLimitService.acquire(anyString(), anyInt(), anyLong())).thenReturn(new RateLimitDecision(false, 5_000L));
+        ProceedingJoinPoint joinPoint = joinPoint("waiting");
+
+        assertThrows(BusinessException.class, () -> aspect.around(joinPoint, rateLimitOf("waiting")));
+
+        verify(rateLimitService, times(1)).acquire(anyString(), anyInt(), anyLong());
+    }
+
+    @Test
+    void missingServiceShouldSkipLimiting() throws Throwable {
+        RateLimitAspect withoutService = new RateLimitAspect(Optional.empty(), new MockHttpServletRequest());
+        ProceedingJoinPoint joinPoint = joinPoint("limited");
+
+        assertEquals("proceeded", withoutService.around(joinPoint, rateLimitOf("limited")));
+    }
+
+    private static RateLimit rateLimitOf(String methodName) throws NoSuchMethodException {
+        return Target.class.getDeclaredMethod(methodName).getAnnotation(RateLimit.class);
+    }
+
+    private static ProceedingJoinPoint joinPoint(String methodName) throws Throwable {
+        Method method = Target.class.getDeclaredMethod(methodName);
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(method);
+        when(signature.toShortString()).thenReturn("Target." + methodName + "(..)");
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getTarget()).thenReturn(new Target());
+        when(joinPoint.getArgs()).thenReturn(new Object[0]);
+        when(joinPoint.proceed()).thenReturn("proceeded");
+        return joinPoint;
+    }
+
+    static class Target {
+
+        @RateLimit(name = "api", limitForPeriod = 5, message = "too many")
+        public String limited() {
+            return "proceeded";
+        }
+
+        @RateLimit(name = "api", limitForPeriod = 5, enableFallback = true, fallbackMethod = "fallback")
+        public String withFallback() {
+            return "proceeded";
+        }
+
+        @RateLimit(name = "api", limitForPeriod = 5, timeoutMillis = 200)
+        public String waiting() {
+            return "proceeded";
+        }
+
+        public String fallback() {
+            return "fallback";
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.rymcu.mortise.web.exception;
+
+import com.rymcu.mortise.core.result.GlobalResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    void unknownExceptionShouldBecomeErrorResult() throws Exception {
+        GlobalResult<Void> result = handler.handleException(new IllegalStateException("boom"),
+                new MockHttpServletResponse());
+
+        assertEquals(500, result.getCode());
+    }
+
+    @Test
+    void committedResponseShouldRethrowToContainer() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.flushBuffer();
+        IllegalStateException exception = new IllegalStateException("export aborted");
+
+        assertSame(exception, assertThrows(IllegalStateException.class,
+                () -> handler.handleException(exception, response)));
+    }
+}
@@ -0,0 +1,108 @@
+package com.rymcu.mortise.web.rate;
+
+import com.rymcu.mortise.web.config.RateLimitLeaseProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 分布式限流服务测试
+ * <p>
+ * 校验传给滑动窗口脚本的 KEYS、ARGV 以及对脚本返回值的解析；脚本本身的窗口规则由
+ * {@link PermitLeasePoolTest} 中的内存模拟覆盖。
+ * </p>
+ */
+class DistributedRateLimitServiceTest {
+
+    private StringRedisTemplate redisTemplate;
+
+    private DistributedRateLimitService service;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        service = new DistributedRateLimitService(redisTemplate, new RateLimitLeaseProperties());
+    }
+
+    @Test
+    void grantedResultShouldPermitAndPassWindowArguments() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(List.of(1L, 0L));
+
+        assertTrue(service.acquire("api:1.2.3.4", 10, 2L).permitted());
+
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("rate-limit:window:api:1.2.3.4")),
+                eq("2000000"), eq("10"), anyString(), eq("1"), eq("0"), eq("0"));
+    }
+
+    @Test
+    void rejectedResultShouldRoundWaitUpToMillis() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(List.of(0L, 1_500L));
+
+        RateLimitDecision decision = service.acquire("api", 10, 1L);
+
+        assertFalse(decision.permitted());
+        assertEquals(2L, decision.retryAfterMillis());
+    }
+
+    @Test
+    void rejectedResultShouldWaitAtLeastOneMillisecond() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(List.of(0L, 0L));
+
+        assertEquals(1L, service.acquire("api", 10, 1L).retryAfterMillis());
+    }
+
+    @Test
+    void nonPositiveLimitShouldRejectWithoutCallingRedis() {
+        assertFalse(service.acquire("api", 0, 1L).permitted());
+
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void invalidScriptResultShouldFail() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(null);
+
+        assertThrows(IllegalStateException.class, () -> service.acquire("api", 10, 1L));
+    }
+
+    @Test
+    void reserveShouldPassLeaseBudget() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(List.of(8L, 0L));
+
+        PermitReservation reservation = service.reserve("api", 100, 1L, 16, 50_000L, 20);
+
+        assertEquals(8, reservation.permits());
+        verify(redisTemplate).execute(any(RedisScript.class), anyList(),
+                eq("1000000"), eq("100"), anyString(), eq("16"), eq("50000"), eq("20"));
+    }
+
+    @Test
+    void enabledLeaseShouldReserveBatchesThroughScript() {
+        RateLimitLeaseProperties properties = new RateLimitLeaseProperties();
+        properties.setEnabled(true);
+        properties.setOvershootTolerance(0.1);
+        DistributedRateLimitService leasing = new DistributedRateLimitService(redisTemplate, properties);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenAnswer(invocation -> List.of(Long.parseLong(invocation.getArgument(5)), 0L));
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(leasing.acquire("api", 1_000, 1L).permitted());
+        }
+
+        // 首次预占 1 个，之后按需求翻倍：1 + 2 + 4 + 8 >= 10
+        verify(redisTemplate, atMost(4)).execute(any(RedisScript.class), eq(List.of("rate-limit:window:api")),
+                eq("1000000"), eq("1000"), anyString(), anyString(), eq("25000"), eq("100"));
+        verify(redisTemplate, atLeastOnce()).execute(any(RedisScript.class), anyList(),
+                anyString(), anyString(), anyString(), eq("2"), anyString(), anyString());
+    }
+}
@@ -0,0 +1,106 @@
+package com.rymcu.mortise.web.rate;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 许可租约并发基准：3 个节点、12 个线程争用同一个 key，预占许可模拟一次 50 微秒的 Redis 往返且总是成功
+ *
+ * <p>{@code tolerance=0} 时每次请求都访问 Redis，对应未开启租约；{@code redisCalls} 为预占次数。
+ * {@code test-compile} 后直接执行 {@link #main(String[])}，
+ * 或以测试类路径运行 {@code org.openjdk.jmh.Main PermitLeasePoolBenchmark}。
+ * 预占总是成功，不反映超发；超发上限与节省的 Redis 调用由 {@code PermitLeasePoolTest} 以多线程对有界的模拟窗口断言。</p>
+ *
+ * @author ronger
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(12)
+@Fork(1)
+public class PermitLeasePoolBenchmark {
+
+    private static final int NODES = 3;
+
+    private static final int LIMIT = 100_000;
+
+    private static final long REDIS_ROUND_TRIP_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    @Param({"0", "0.05", "0.1"})
+    private double tolerance;
+
+    private PermitLeasePool[] pools;
+
+    private final AtomicInteger nextNode = new AtomicInteger();
+
+    @Setup
+    public void setup() {
+        pools = new PermitLeasePool[NODES];
+        for (int i = 0; i < NODES; i++) {
+            pools[i] = new PermitLeasePool(PermitLeasePoolBenchmark::reserve, tolerance, 100);
+        }
+    }
+
+    @Benchmark
+    public boolean acquire(Node node, Outcome outcome) {
+        long reservations = RESERVATIONS.get()[0];
+        boolean permitted = node.pool.acquire("benchmark", LIMIT, 1L).permitted();
+        outcome.redisCalls += RESERVATIONS.get()[0] - reservations;
+        return permitted;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PermitLeasePoolBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    /**
+     * 线程所属节点，按线程轮流分配
+     */
+    @State(Scope.Thread)
+    public static class Node {
+
+        private PermitLeasePool pool;
+
+        @Setup
+        public void setup(PermitLeasePoolBenchmark benchmark) {
+            pool = benchmark.pools[benchmark.nextNode.getAndIncrement() % NODES];
+        }
+    }
+
+    /**
+     * 当前线程发起的预占次数，续约在请求线程上执行
+     */
+    private static final ThreadLocal<long[]> RESERVATIONS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private static PermitReservation reserve(String key, int limitForPeriod, long refreshPeriodSeconds,
+                                             int permits, long leaseMicros, int leaseBudget) {
+        RESERVATIONS.get()[0]++;
+        LockSupport.parkNanos(REDIS_ROUND_TRIP_NANOS);
+        return new PermitReservation(Math.max(permits, 1), 0L);
+    }
+
+    /**
+     * 访问 Redis 的次数
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcome {
+
+        public long redisCalls;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            redisCalls = 0;
+        }
+    }
+}
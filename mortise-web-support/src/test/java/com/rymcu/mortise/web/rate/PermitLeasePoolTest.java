@@ -0,0 +1,287 @@
+package com.rymcu.mortise.web.rate;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 许可租约测试
+ * <p>
+ * 所有用例使用手动推进的时钟，{@link SimulatedWindow} 与 {@link PermitLeasePool} 读取同一时间，结果与机器负载无关。
+ * 超发与 Redis 调用次数在多个线程并发请求、按限流脚本规则拒绝超额预占的 {@link SimulatedWindow} 下断言；
+ * 吞吐见 {@link PermitLeasePoolBenchmark}。
+ * </p>
+ */
+class PermitLeasePoolTest {
+
+    private static final int LIMIT = 2_000;
+
+    private static final long PERIOD_SECONDS = 1L;
+
+    private static final long PERIOD_NANOS = TimeUnit.SECONDS.toNanos(PERIOD_SECONDS);
+
+    private static final int SIMULATED_NODES = 3;
+
+    private static final int SIMULATED_THREADS = 6;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    private final SimulatedWindow window = new SimulatedWindow(clock::get);
+
+    @Test
+    void idleKeyShouldReserveSinglePermit() {
+        PermitLeasePool pool = newPool(0.1);
+
+        assertTrue(pool.acquire("idle", LIMIT, PERIOD_SECONDS).permitted());
+
+        assertEquals(1, window.calls());
+        assertEquals(1, window.registered());
+    }
+
+    @Test
+    void smallBudgetShouldReserveEveryPermitFromRedis() {
+        PermitLeasePool pool = newPool(0.1);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(pool.acquire("small", 10, PERIOD_SECONDS).permitted());
+        }
+
+        assertEquals(5, window.calls());
+    }
+
+    @Test
+    void leaseShouldGrowAtMostDoubleWithinBudget() {
+        PermitLeasePool pool = newPool(0.1);
+
+        List<Long> leaseSizes = new ArrayList<>();
+        long registered = 0;
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(pool.acquire("busy", LIMIT, PERIOD_SECONDS).permitted());
+            if (window.registered() > registered) {
+                leaseSizes.add(window.registered() - registered);
+                registered = window.registered();
+            }
+            // 每毫秒一个请求，一个租约有效期（25ms）内约 25 个
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+
+        assertEquals(1L, leaseSizes.getFirst());
+        for (int i = 1; i < leaseSizes.size(); i++) {
+            assertTrue(leaseSizes.get(i) <= Math.max(2 * leaseSizes.get(i - 1), 26), "租约增长过快: " + leaseSizes);
+            assertTrue(leaseSizes.get(i) <= LIMIT / 10, "租约超过额度: " + leaseSizes);
+        }
+        assertTrue(window.calls() < 100, "租约未减少 Redis 调用: " + window.calls());
+    }
+
+    @Test
+    void expiredLeaseShouldDiscardRemainingPermits() {
+        PermitLeasePool pool = newPool(0.1);
+        long leaseNanos = (long) (PERIOD_NANOS * 0.1) / 4;
+        // 连续请求使租约增长到多个许可
+        for (int i = 0; i < 20; i++) {
+            pool.acquire("expire", LIMIT, PERIOD_SECONDS);
+        }
+        long calls = window.calls();
+        long registered = window.registered();
+        assertTrue(pool.acquire("expire", LIMIT, PERIOD_SECONDS).permitted());
+        assertEquals(calls, window.calls(), "租约有效期内应在本地消费");
+
+        clock.addAndGet(leaseNanos);
+
+        assertTrue(pool.acquire("expire", LIMIT, PERIOD_SECONDS).permitted());
+        assertEquals(calls + 1, window.calls(), "过期后应向 Redis 续约");
+        assertTrue(window.registered() > registered);
+    }
+
+    @Test
+    void rejectionShouldBeServedLocallyUntilRetryAfter() {
+        PermitLeasePool pool = newPool(0.5);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(pool.acquire("full", 4, PERIOD_SECONDS).permitted());
+        }
+        long callsBeforeRejection = window.calls();
+
+        RateLimitDecision first = pool.acquire("full", 4, PERIOD_SECONDS);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        RateLimitDecision second = pool.acquire("full", 4, PERIOD_SECONDS);
+
+        assertFalse(first.permitted());
+        assertEquals(1_000L, first.retryAfterMillis());
+        assertFalse(second.permitted());
+        assertEquals(500L, second.retryAfterMillis());
+        assertEquals(callsBeforeRejection + 1, window.calls());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+
+        assertTrue(pool.acquire("full", 4, PERIOD_SECONDS).permitted());
+        assertEquals(callsBeforeRejection + 2, window.calls());
+    }
+
+    @Test
+    void concurrentLeasingShouldStayWithinToleranceAndSaveRedisCalls() throws Exception {
+        SimulationResult baseline = simulate(0D);
+        assertTrue(baseline.maxInWindow() <= LIMIT, "逐次限流超发: " + baseline);
+        for (double tolerance : new double[]{0.05, 0.1, 0.2}) {
+            SimulationResult result = simulate(tolerance);
+
+            assertTrue(result.maxInWindow() <= LIMIT + (int) (LIMIT * tolerance), "超发超过容忍度: " + result);
+            assertTrue(result.callsSaved() > 0.9, "租约未明显减少 Redis 调用: " + result);
+            assertTrue(result.admitted() >= baseline.admitted() * 0.85, "租约造成过多许可浪费: " + result);
+        }
+    }
+
+    private PermitLeasePool newPool(double tolerance) {
+        return new PermitLeasePool(window, tolerance, 100, clock::get);
+    }
+
+    /**
+     * 3 个节点各 2 个线程并发请求同一个 key，合计速率为 1.5 倍限额，持续 3 个周期
+     * <p>
+     * 线程按领取的序号推进模拟时钟，推进时持有写锁，请求在读锁内完成：同一时刻的请求真实并发地争用租约与续约，
+     * 而每个请求从开始到结束看到的时间不变，记录的放行时间即消费许可的时间
+     */
+    private SimulationResult simulate(double tolerance) throws Exception {
+        AtomicLong simulatedClock = new AtomicLong();
+        SimulatedWindow sharedWindow = new SimulatedWindow(simulatedClock::get);
+        List<PermitLeasePool> pools = new ArrayList<>();
+        for (int n = 0; n < SIMULATED_NODES; n++) {
+            pools.add(new PermitLeasePool(sharedWindow, tolerance, 100, simulatedClock::get));
+        }
+        long intervalNanos = PERIOD_NANOS / (LIMIT * 3L / 2);
+        long totalAttempts = 3 * PERIOD_NANOS / intervalNanos;
+        ReadWriteLock clockLock = new ReentrantReadWriteLock();
+        AtomicLong tickets = new AtomicLong();
+        Queue<Long> admitted = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(SIMULATED_THREADS)) {
+            for (int i = 0; i < SIMULATED_THREADS; i++) {
+                PermitLeasePool pool = pools.get(i % SIMULATED_NODES);
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (long ticket = tickets.getAndIncrement(); ticket < totalAttempts;
+                         ticket = tickets.getAndIncrement()) {
+                        if (ticket % SIMULATED_THREADS == 0) {
+                            long tickAt = ticket * intervalNanos;
+                            clockLock.writeLock().lock();
+                            try {
+                                simulatedClock.accumulateAndGet(tickAt, Math::max);
+                            } finally {
+                                clockLock.writeLock().unlock();
+                            }
+                        }
+                        clockLock.readLock().lock();
+                        try {
+                            long now = simulatedClock.get();
+                            if (pool.acquire("simulation", LIMIT, PERIOD_SECONDS).permitted()) {
+                                admitted.add(now);
+                            }
+                        } finally {
+                            clockLock.readLock().unlock();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(30, TimeUnit.SECONDS);
+            }
+        }
+        List<Long> timestamps = new ArrayList<>(admitted);
+        Collections.sort(timestamps);
+        return new SimulationResult(tolerance, totalAttempts, timestamps.size(), sharedWindow.calls(),
+                maxInWindow(timestamps));
+    }
+
+    private static int maxInWindow(List<Long> sortedTimestamps) {
+        int max = 0;
+        int from = 0;
+        for (int to = 0; to < sortedTimestamps.size(); to++) {
+            while (sortedTimestamps.get(to) - sortedTimestamps.get(from) >= PERIOD_NANOS) {
+                from++;
+            }
+            max = Math.max(max, to - from + 1);
+        }
+        return max;
+    }
+
+    private record SimulationResult(double tolerance, long attempts, long admitted, long redisCalls, int maxInWindow) {
+
+        double callsSaved() {
+            return 1D - (double) redisCalls / attempts;
+        }
+    }
+
+    /**
+     * 按限流 Lua 脚本相同的规则在内存中登记许可，多个 {@link PermitLeasePool} 共享同一实例即可模拟多个节点
+     */
+    private static final class SimulatedWindow implements PermitLeasePool.Reserver {
+
+        private final ArrayDeque<Long> entries = new ArrayDeque<>();
+
+        private final LongSupplier nanoClock;
+
+        private long calls;
+
+        private long registered;
+
+        SimulatedWindow(LongSupplier nanoClock) {
+            this.nanoClock = nanoClock;
+        }
+
+        @Override
+        public synchronized PermitReservation reserve(String key, int limitForPeriod, long refreshPeriodSeconds,
+                                                      int permits, long leaseMicros, int leaseBudget) {
+            calls++;
+            long now = nanoClock.getAsLong();
+            long window = TimeUnit.SECONDS.toNanos(refreshPeriodSeconds);
+            while (!entries.isEmpty() && entries.peekFirst() <= now - window) {
+                entries.pollFirst();
+            }
+            if (entries.size() >= limitForPeriod) {
+                long retryNanos = entries.peekFirst() + window - now;
+                return new PermitReservation(0, Math.max(1L, TimeUnit.NANOSECONDS.toMillis(retryNanos + 999_999)));
+            }
+            int granted = Math.min(permits, limitForPeriod - entries.size());
+            if (granted > 1) {
+                long leaseStart = now - TimeUnit.MICROSECONDS.toNanos(leaseMicros);
+                int leased = 0;
+                for (Iterator<Long> it = entries.descendingIterator(); it.hasNext() && it.next() > leaseStart; ) {
+                    leased++;
+                }
+                granted = Math.max(1, Math.min(granted, leaseBudget - leased));
+            }
+            for (int i = 0; i < granted; i++) {
+                entries.addLast(now);
+            }
+            registered += granted;
+            return new PermitReservation(granted, 0L);
+        }
+
+        synchronized long calls() {
+            return calls;
+        }
+
+        synchronized long registered() {
+            return registered;
+        }
+    }
+}
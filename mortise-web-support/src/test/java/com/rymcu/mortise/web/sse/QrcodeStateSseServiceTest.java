@@ -0,0 +1,94 @@
+package com.rymcu.mortise.web.sse;
+
+import com.rymcu.mortise.auth.enumerate.QrcodeState;
+import com.rymcu.mortise.auth.service.AuthCacheService;
+import com.rymcu.mortise.auth.support.QrcodeStateBroadcaster;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class QrcodeStateSseServiceTest {
+
+    private static final String STATE = "state-1";
+
+    private final AuthCacheService authCacheService = mock(AuthCacheService.class);
+
+    private final QrcodeStateBroadcaster broadcaster = createBroadcaster();
+
+    private final QrcodeStateSseService service = new QrcodeStateSseService(authCacheService, broadcaster);
+
+    @Test
+    void broadcastBetweenReadAndInitialSendShouldNotBeFollowedByOlderState() {
+        when(authCacheService.getOAuth2QrcodeState(STATE)).thenAnswer(invocation -> {
+            // 读取当前状态后、初始推送前，扫码状态的广播先到达
+            broadcaster.publish(STATE, QrcodeState.SCANNED.getValue());
+            return QrcodeState.WAITED.getValue();
+        });
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        service.open(STATE, emitter);
+        broadcaster.publish(STATE, QrcodeState.SCANNED.getValue());
+        broadcaster.publish(STATE, QrcodeState.AUTHORIZED.getValue());
+
+        assertEquals(List.of(QrcodeState.SCANNED.getValue(), QrcodeState.AUTHORIZED.getValue()), emitter.states);
+    }
+
+    @Test
+    void initialStateShouldBeSentAndTerminalStateShouldCloseStream() {
+        when(authCacheService.getOAuth2QrcodeState(STATE)).thenReturn(QrcodeState.WAITED.getValue());
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        service.open(STATE, emitter);
+        broadcaster.publish(STATE, QrcodeState.CANCELED.getValue());
+        broadcaster.publish(STATE, QrcodeStateBroadcaster.STATE_REMOVED);
+
+        assertEquals(List.of(QrcodeState.WAITED.getValue(), QrcodeState.CANCELED.getValue()), emitter.states);
+    }
+
+    @Test
+    void missingStateShouldBeSentAsRemoved() {
+        when(authCacheService.getOAuth2QrcodeState(STATE)).thenReturn(null);
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        service.open(STATE, emitter);
+
+        assertEquals(List.of(QrcodeStateBroadcaster.STATE_REMOVED), emitter.states);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static QrcodeStateBroadcaster createBroadcaster() {
+        // 未配置监听容器时广播直接在本地分发
+        QrcodeStateBroadcaster broadcaster = new QrcodeStateBroadcaster(mock(StringRedisTemplate.class),
+                mock(ObjectProvider.class));
+        broadcaster.afterPropertiesSet();
+        return broadcaster;
+    }
+
+    /**
+     * 记录推送的 qrcodeState
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<Integer> states = new ArrayList<>();
+
+        @Override
+        public void send(@NonNull SseEventBuilder builder) {
+            for (ResponseBodyEmitter.DataWithMediaType item : builder.build()) {
+                if (item.getData() instanceof Map<?, ?> data) {
+                    states.add((Integer) data.get("qrcodeState"));
+                }
+            }
+        }
+    }
+}
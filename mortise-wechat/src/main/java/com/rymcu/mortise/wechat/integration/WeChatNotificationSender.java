@@ -1,5 +1,6 @@
 package com.rymcu.mortise.wechat.integration;
 
+import com.rymcu.mortise.core.constant.ExecutorConstant;
 import com.rymcu.mortise.notification.entity.NotificationMessage;
 import com.rymcu.mortise.notification.enums.NotificationType;
 import com.rymcu.mortise.notification.spi.NotificationSender;
@@ -95,7 +96,7 @@ public class WeChatNotificationSender implements NotificationSender {
         }
     }
 
-    @Async
+    @Async(ExecutorConstant.NOTIFICATION_EXECUTOR)
     @Override
     public void sendAsync(NotificationMessage message) {
         send(message);